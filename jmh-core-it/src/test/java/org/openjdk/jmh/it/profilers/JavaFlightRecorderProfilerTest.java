@@ -56,7 +56,36 @@ public class JavaFlightRecorderProfilerTest {
                 .addProfiler(JavaFlightRecorderProfiler.class)
                 .build();
 
-        new Runner(opts).runSingle();
+        RunResult rr = new Runner(opts).runSingle();
+
+        Map<String, Result> sr = rr.getSecondaryResults();
+        String out = ProfilerTestUtils.checkedGet(sr, "jfr").extendedInfo();
+
+        // Without pipelining, the forked VM post-processes its recording under the usual name
+        if (!out.contains("profile.jfr") || out.contains("profile-")) {
+            throw new IllegalStateException("Expected the default recording name:\n" + out);
+        }
+    }
+
+    @Test
+    public void testPipelined() throws RunnerException {
+        Options opts = new OptionsBuilder()
+                .include(Fixtures.getTestMask(this.getClass()))
+                .addProfiler(JavaFlightRecorderProfiler.class)
+                .forks(2)
+                .pipelineProfilers(true)
+                .build();
+
+        RunResult rr = new Runner(opts).runSingle();
+
+        Map<String, Result> sr = rr.getSecondaryResults();
+        String out = ProfilerTestUtils.checkedGet(sr, "jfr").extendedInfo();
+
+        // Every fork dumps and post-processes its own recording
+        int idx = out.indexOf("profile-");
+        if (idx == -1 || out.indexOf("profile-", idx + 1) == -1) {
+            throw new IllegalStateException("Expected recordings from both forks:\n" + out);
+        }
     }
 
 }
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2005, 2013, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.it.rate;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.it.Fixtures;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests the fixed rate mode selected from the command line.
+ */
+@Warmup(iterations = 0)
+@Measurement(iterations = 1, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class FixedRateTest {
+
+    private static final int RATE = 100;
+
+    @Benchmark
+    public void fast() {
+        // nothing to do: every call completes well within its interval
+    }
+
+    @Benchmark
+    public void slow() throws InterruptedException {
+        // twice the schedule interval: the thread falls further behind with every call
+        TimeUnit.MILLISECONDS.sleep(2000 / RATE);
+    }
+
+    private RunResult run(String method) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions opts = new CommandLineOptions(
+                "-bm", "rate",
+                "-tr", String.valueOf(RATE),
+                "-foe", "true",
+                Fixtures.getTestMask(this.getClass()) + "." + method);
+        return new Runner(opts).runSingle();
+    }
+
+    @Test
+    public void testOnSchedule() throws RunnerException, CommandLineOptionException {
+        RunResult rr = run("fast");
+
+        // one second at the target rate: the schedule never runs ahead
+        long ops = rr.getPrimaryResult().getStatistics().getN();
+        Assert.assertTrue("Operations: " + ops, ops >= RATE * 9 / 10);
+        Assert.assertTrue("Operations: " + ops, ops <= RATE * 11 / 10);
+
+        Result misses = rr.getSecondaryResults().get("schedule.misses");
+        Assert.assertNotNull(misses);
+        Assert.assertTrue("Misses: " + misses.getScore(), misses.getScore() < ops / 10);
+    }
+
+    @Test
+    public void testBehindSchedule() throws RunnerException, CommandLineOptionException {
+        RunResult rr = run("slow");
+
+        // every call takes two intervals, so the thread completes half of the scheduled calls
+        long ops = rr.getPrimaryResult().getStatistics().getN();
+        Assert.assertTrue("Operations: " + ops, ops >= RATE / 4);
+        Assert.assertTrue("Operations: " + ops, ops <= RATE * 6 / 10);
+
+        // only the first two calls start within one interval of their schedule
+        Result misses = rr.getSecondaryResults().get("schedule.misses");
+        Assert.assertNotNull(misses);
+        Assert.assertTrue("Misses: " + misses.getScore(), misses.getScore() >= ops - 2);
+    }
+
+}
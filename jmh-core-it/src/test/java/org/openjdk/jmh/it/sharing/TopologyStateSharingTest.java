@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2005, 2013, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.it.sharing;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.it.Fixtures;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.ThreadPlacement;
+import org.openjdk.jmh.util.CpuTopology;
+import org.openjdk.jmh.util.Optional;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests the sharing of {@link Scope#Core} and {@link Scope#NumaNode} states.
+ */
+@RunWith(Parameterized.class)
+public class TopologyStateSharingTest {
+
+    /**
+     * Passes the expected number of threads per state instance to the forked VM.
+     */
+    private static final String VISITORS = "jmh.it.sharing.visitors";
+
+    private static void checkVisitors(Set<Thread> visitors) {
+        int expected = Integer.getInteger(VISITORS);
+        if (Fixtures.expectStableThreads()) {
+            Assert.assertEquals(expected, visitors.size());
+        } else {
+            Assert.assertTrue(visitors.size() >= expected);
+        }
+    }
+
+    @State(Scope.Core)
+    public static class CoreState {
+        final Set<Thread> visitors = Collections.synchronizedSet(new HashSet<>());
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            checkVisitors(visitors);
+        }
+    }
+
+    @State(Scope.NumaNode)
+    public static class NodeState {
+        final Set<Thread> visitors = Collections.synchronizedSet(new HashSet<>());
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            checkVisitors(visitors);
+        }
+    }
+
+    public static class Bench {
+
+        @Benchmark
+        @BenchmarkMode(Mode.All)
+        @Warmup(iterations = 0)
+        @Measurement(iterations = 2, time = 100, timeUnit = TimeUnit.MILLISECONDS)
+        @Fork(1)
+        @Threads(2)
+        public void core(CoreState s) {
+            Fixtures.work();
+            s.visitors.add(Thread.currentThread());
+        }
+
+        @Benchmark
+        @BenchmarkMode(Mode.All)
+        @Warmup(iterations = 0)
+        @Measurement(iterations = 2, time = 100, timeUnit = TimeUnit.MILLISECONDS)
+        @Fork(1)
+        @Threads(2)
+        public void node(NodeState s) {
+            Fixtures.work();
+            s.visitors.add(Thread.currentThread());
+        }
+    }
+
+    @Parameterized.Parameters(name = "{0}, pinned: {1}")
+    public static Collection<Object[]> params() {
+        return Arrays.asList(new Object[][]{
+                // Unpinned threads are assumed to run on their own cores
+                {"core", false, 1},
+                // Unpinned threads are assumed to run on the same node
+                {"node", false, 2},
+                // Threads pinned to the hardware threads of one core share the state
+                {"core", true, 2},
+        });
+    }
+
+    private final String benchmark;
+    private final boolean sameCore;
+    private final int visitors;
+
+    public TopologyStateSharingTest(String benchmark, boolean sameCore, int visitors) {
+        this.benchmark = benchmark;
+        this.sameCore = sameCore;
+        this.visitors = visitors;
+    }
+
+    private static ThreadPlacement siblings() {
+        Assume.assumeFalse("Virtual threads are not pinned", Fixtures.isVirtualExecutor());
+        Optional<CpuTopology> topology = CpuTopology.detect();
+        Assume.assumeTrue("CPU topology is not available", topology.hasValue());
+        for (List<Integer> core : topology.get().getCores()) {
+            if (core.size() >= 2) {
+                return ThreadPlacement.cpus(core.get(0), core.get(1));
+            }
+        }
+        Assume.assumeTrue("No core with two hardware threads", false);
+        return null;
+    }
+
+    @Test
+    public void invokeAPI() throws RunnerException {
+        ThreadPlacement placement = sameCore ? siblings() : ThreadPlacement.NONE;
+        for (int c = 0; c < Fixtures.repetitionCount(); c++) {
+            Options opt = new OptionsBuilder()
+                    .include(Fixtures.getTestMask(Bench.class) + "." + benchmark + "$")
+                    .threadPlacement(placement)
+                    .jvmArgsAppend("-D" + VISITORS + "=" + visitors)
+                    .shouldFailOnError(true)
+                    .build();
+            new Runner(opt).run();
+        }
+    }
+
+}
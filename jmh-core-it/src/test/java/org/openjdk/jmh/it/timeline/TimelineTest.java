@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2005, 2013, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.it.timeline;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.it.Fixtures;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.TimelineResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests the timeline recorded with the command line option.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 2, time = 1, timeUnit = TimeUnit.SECONDS)
+@Threads(1)
+@Fork(1)
+public class TimelineTest {
+
+    private long start;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        start = System.nanoTime();
+    }
+
+    @Benchmark
+    public void test() throws InterruptedException {
+        // fast in the first half of every iteration, five times slower in the second half
+        long elapsed = System.nanoTime() - start;
+        TimeUnit.MILLISECONDS.sleep(elapsed < TimeUnit.MILLISECONDS.toNanos(500) ? 1 : 5);
+    }
+
+    @Test
+    public void invokeCLI() throws RunnerException, CommandLineOptionException {
+        CommandLineOptions opts = new CommandLineOptions(
+                "-tl", "100ms",
+                "-foe", "true",
+                Fixtures.getTestMask(this.getClass()));
+        RunResult rr = new Runner(opts).runSingle();
+
+        Result r = rr.getSecondaryResults().get("timeline");
+        Assert.assertTrue("Timeline result: " + r, r instanceof TimelineResult);
+        double[] timeline = ((TimelineResult) r).getTimeline();
+
+        // ten sub-intervals per iteration, the last one may miss the iteration end
+        Assert.assertTrue("Samples: " + Arrays.toString(timeline), timeline.length >= 2 * 9);
+        Assert.assertTrue("Samples: " + Arrays.toString(timeline), timeline.length <= 2 * 10);
+
+        // the iterations are joined in order, and every iteration goes from fast to slow;
+        // the sub-intervals around the switch are skipped
+        int perIteration = timeline.length / 2;
+        for (int i = 0; i < 2; i++) {
+            int from = (i == 0) ? 0 : timeline.length - perIteration;
+            double[] iteration = Arrays.copyOfRange(timeline, from, from + perIteration);
+            for (int f = 0; f < 3; f++) {
+                for (int s = perIteration - 3; s < perIteration; s++) {
+                    Assert.assertTrue("Samples: " + Arrays.toString(timeline),
+                            iteration[f] > 2 * iteration[s]);
+                }
+            }
+        }
+    }
+
+}
@@ -67,6 +67,17 @@ public class Main {
                 return;
             }
 
+            if (!cmdOptions.getMergeFiles().isEmpty()) {
+                try {
+                    runner.merge(cmdOptions.getMergeFiles());
+                } catch (RunnerException e) {
+                    System.err.print("ERROR: ");
+                    e.printStackTrace(System.err);
+                    System.exit(1);
+                }
+                return;
+            }
+
             try {
                 runner.run();
             } catch (NoBenchmarksException e) {
@@ -89,6 +100,10 @@ public class Main {
                     ex = ex.getCause();
                 }
                 System.exit(1);
+            } catch (RegressionException e) {
+                // Results are already printed, report the regressions only.
+                System.err.println(e.getMessage());
+                System.exit(1);
             } catch (RunnerException e) {
                 System.err.print("ERROR: ");
                 e.printStackTrace(System.err);
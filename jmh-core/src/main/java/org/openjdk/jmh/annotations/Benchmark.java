@@ -63,6 +63,13 @@ import java.lang.annotation.Target;
  *
  * <p>Benchmark method may declare Exceptions and Throwables to throw. Any exception actually
  * raised and thrown will be treated as benchmark failure.</p>
+ *
+ * <p>Benchmark method returning {@link java.util.concurrent.CompletionStage} or
+ * {@link java.util.concurrent.CompletableFuture} is asynchronous: the operation ends when
+ * the returned stage completes, not when the method returns. Each worker thread keeps up to
+ * {@link org.openjdk.jmh.runner.options.Options#getInFlight()} operations outstanding, and
+ * waits for all of them to complete before the iteration ends. Exceptional completion is
+ * treated as benchmark failure.</p>
  */
 @Target(ElementType.METHOD)
 @Retention(RetentionPolicy.RUNTIME)
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2005, 2013, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.annotations;
+
+/**
+ * Parameter space exploration strategy: which combinations of {@link Param} values to run.
+ */
+public enum Exploration {
+
+    /**
+     * <p>Full: every combination of parameter values.</p>
+     *
+     * <p>Every combination becomes the separate entry in the run plan, which is built
+     * before the run starts. For very large parameter spaces, prefer sampling strategies.</p>
+     */
+    FULL,
+
+    /**
+     * <p>Random: the given number of distinct combinations, picked uniformly at random
+     * with the given seed.</p>
+     */
+    RANDOM,
+
+    /**
+     * <p>Latin hypercube: the given number of combinations, such that every value of every
+     * parameter is picked about the same number of times.</p>
+     */
+    LATIN_HYPERCUBE,
+
+    /**
+     * <p>Pairwise: the combinations that cover every pair of values for every pair of
+     * parameters at least once. This is usually much smaller than the full space.</p>
+     */
+    PAIRWISE,
+
+    /**
+     * <p>One factor at a time: the default point with the first value of every parameter,
+     * and then every parameter goes through its other values, while the others stay at
+     * the default point.</p>
+     */
+    ONE_FACTOR_AT_A_TIME,
+
+}
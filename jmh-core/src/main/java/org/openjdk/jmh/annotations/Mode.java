@@ -80,7 +80,23 @@ public enum Mode {
     SingleShotTime("ss", "Single shot invocation time"),
 
     /**
-     * Meta-mode: all the benchmark modes.
+     * <p>Fixed rate: measures the time for each operation issued on a fixed schedule.</p>
+     *
+     * <p>Every worker thread calls {@link Benchmark} methods at the target rate, regardless of
+     * how long the previous calls took, and measures the time for each call from its intended
+     * start time on the schedule. Unlike {@link #SampleTime}, the stalls in the benchmark are
+     * not hidden: the calls that had to wait for the stall count the waiting time, as the
+     * clients issuing the requests at the fixed rate would. This mode also reports the number
+     * of calls that started more than one schedule interval late. This mode is time-based, and
+     * it will run until the iteration time expires.</p>
+     *
+     * @see org.openjdk.jmh.infra.BenchmarkParams#getTargetRate()
+     */
+    FixedRate("rate", "Fixed rate time, time/op"),
+
+    /**
+     * Meta-mode: all the benchmark modes, except {@link #FixedRate}, which needs
+     * the target rate chosen for the workload, and should be requested explicitly.
      * This is mostly useful for internal JMH testing.
      */
     All("all", "All benchmark modes"),
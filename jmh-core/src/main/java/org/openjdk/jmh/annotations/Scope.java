@@ -69,4 +69,44 @@ public enum Scope {
      */
     Thread,
 
+    /**
+     * <p>Core state scope.</p>
+     *
+     * <p>With core scope, all instances of the same type will be shared across all
+     * threads placed on the same physical core, including its SMT siblings. Each core
+     * will be supplied with its own state object. The state object is allocated and
+     * initialized by one of the threads running on that core.</p>
+     *
+     * <p>The threads are placed on cores with the thread placement option, see
+     * {@link org.openjdk.jmh.runner.options.ThreadPlacement}. When threads are not
+     * pinned, every thread is assumed to run on its own core.</p>
+     *
+     * <p>{@link Setup} and {@link TearDown} methods on this state object would be performed
+     * by one of the core threads, and only once per {@link Level}.
+     * No other threads would ever touch the state object.</p>
+     *
+     * @see org.openjdk.jmh.infra.ThreadParams#getCoreIndex()
+     */
+    Core,
+
+    /**
+     * <p>NUMA node state scope.</p>
+     *
+     * <p>With NUMA node scope, all instances of the same type will be shared across all
+     * threads placed on the same NUMA node. Each node will be supplied with its own
+     * state object. The state object is allocated and initialized by one of the threads
+     * running on that node, so that the first touch puts its memory on the local node.</p>
+     *
+     * <p>The threads are placed on nodes with the thread placement option, see
+     * {@link org.openjdk.jmh.runner.options.ThreadPlacement}. When threads are not
+     * pinned, all threads are assumed to run on the same node.</p>
+     *
+     * <p>{@link Setup} and {@link TearDown} methods on this state object would be performed
+     * by one of the node threads, and only once per {@link Level}.
+     * No other threads would ever touch the state object.</p>
+     *
+     * @see org.openjdk.jmh.infra.ThreadParams#getNodeIndex()
+     */
+    NumaNode,
+
 }
@@ -37,6 +37,7 @@ import java.io.*;
 import java.lang.reflect.Field;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * Benchmark generator.
@@ -48,6 +49,7 @@ import java.util.concurrent.TimeUnit;
 public class BenchmarkGenerator {
 
     private static final String JMH_STUB_SUFFIX = "_jmhStub";
+    private static final String JMH_TIMELINE_STUB_SUFFIX = "_jmhTimelineStub";
     private static final String JMH_TESTCLASS_SUFFIX = "_jmhTest";
     protected static final String JMH_GENERATED_SUBPACKAGE = "jmh_generated";
 
@@ -168,7 +170,10 @@ public class BenchmarkGenerator {
                             group.getParams(),
                             group.getOutputTimeUnit(),
                             group.getOperationsPerInvocation(),
-                            group.getTimeout()
+                            group.getTimeout(),
+                            group.getParamExploration(),
+                            group.getParamExplorationSamples(),
+                            group.getParamExplorationSeed()
                     );
 
                     if (entriesByQName.keys().contains(info.userClassQName)) {
@@ -496,10 +501,10 @@ public class BenchmarkGenerator {
         Class<?>[] imports = new Class<?>[]{
                 InfraControl.class, BenchmarkParams.class, IterationParams.class, ThreadParams.class,
                 Blackhole.class, Control.class, BenchmarkTaskResult.class, RawResults.class, ResultRole.class,
-                SampleBuffer.class, Field.class, FailureAssistException.class,
+                SampleBuffer.class, Field.class, FailureAssistException.class, LockSupport.class,
                 Result.class, ThroughputResult.class, AverageTimeResult.class,
                 SampleTimeResult.class, SingleShotResult.class,
-                ScalarResult.class, AggregationPolicy.class
+                ScalarResult.class, AggregationPolicy.class, AsyncWindow.class, Timeline.class
         };
 
         for (Class<?> c : imports) {
@@ -546,6 +551,9 @@ public class BenchmarkGenerator {
             case SingleShotTime:
                 generateSingleShotTime(writer, benchmarkKind, methodGroup, states);
                 break;
+            case FixedRate:
+                generateFixedRate(writer, benchmarkKind, methodGroup, states);
+                break;
             default:
                 throw new AssertionError("Shouldn't be here");
         }
@@ -564,6 +572,7 @@ public class BenchmarkGenerator {
 
             writer.println(ident(2) + "if (threadParams.getSubgroupIndex() == " + subGroup + ") {");
             writer.println(ident(3) + "RawResults res = new RawResults();");
+            asyncWindow(writer, 3, method, null);
 
             iterationProlog(writer, 3, method, states);
 
@@ -580,12 +589,12 @@ public class BenchmarkGenerator {
             writer.println(ident(4) + "if (control.shouldYield) Thread.yield();");
             writer.println(ident(4) + "res.allOps++;");
             writer.println(ident(3) + "}");
+            asyncDrain(writer, 3, method);
             writer.println();
 
             // measurement loop call
             writer.println(ident(3) + "notifyControl.startMeasurement = true;");
-            writer.println(ident(3) + method.getName() + "_" + benchmarkKind.shortLabel() + JMH_STUB_SUFFIX +
-                    "(" + getStubArgs() + prefix(states.getArgList(method)) + ");");
+            emitTimelineSwitch(writer, benchmarkKind, method, states);
             writer.println(ident(3) + "notifyControl.stopMeasurement = true;");
             writer.println();
 
@@ -603,6 +612,7 @@ public class BenchmarkGenerator {
             writer.println(ident(5) + "if (control.shouldYield) Thread.yield();");
             writer.println(ident(5) + "res.allOps++;");
             writer.println(ident(4) + "}");
+            asyncDrain(writer, 4, method);
             writer.println(ident(3) + "} catch (Throwable e) {");
             writer.println(ident(4) + "if (!(e instanceof InterruptedException)) throw e;");
             writer.println(ident(3) + "}");
@@ -658,7 +668,7 @@ public class BenchmarkGenerator {
             compilerControl.defaultForceInline(method);
 
             writer.println(ident(1) + "public static" + (methodGroup.isStrictFP() ? " strictfp" : "") + " void " + methodName + "(" +
-                    getStubTypeArgs() + prefix(states.getTypeArgList(method)) + ") throws Throwable {");
+                    getStubTypeArgs(method) + prefix(states.getTypeArgList(method)) + ") throws Throwable {");
             writer.println(ident(2) + "long operations = 0;");
             writer.println(ident(2) + "long realTime = 0;");
             writer.println(ident(2) + "result.startTime = System.nanoTime();");
@@ -670,11 +680,14 @@ public class BenchmarkGenerator {
 
             writer.println(ident(3) + "operations++;");
             writer.println(ident(2) + "} while(!control.isDone);");
+            asyncDrain(writer, 2, method);
             writer.println(ident(2) + "result.stopTime = System.nanoTime();");
             writer.println(ident(2) + "result.realTime = realTime;");
             writer.println(ident(2) + "result.measuredOps = operations;");
             writer.println(ident(1) + "}");
             writer.println();
+
+            generateTimelineStub(writer, benchmarkKind, methodGroup, method, states);
         }
     }
 
@@ -697,6 +710,7 @@ public class BenchmarkGenerator {
 
             writer.println(ident(2) + "if (threadParams.getSubgroupIndex() == " + subGroup + ") {");
             writer.println(ident(3) + "RawResults res = new RawResults();");
+            asyncWindow(writer, 3, method, null);
 
             iterationProlog(writer, 3, method, states);
 
@@ -713,11 +727,12 @@ public class BenchmarkGenerator {
             writer.println(ident(4) + "if (control.shouldYield) Thread.yield();");
             writer.println(ident(4) + "res.allOps++;");
             writer.println(ident(3) + "}");
+            asyncDrain(writer, 3, method);
             writer.println();
 
             // measurement loop call
             writer.println(ident(3) + "notifyControl.startMeasurement = true;");
-            writer.println(ident(3) + method.getName() + "_" + benchmarkKind.shortLabel() + JMH_STUB_SUFFIX + "(" + getStubArgs() + prefix(states.getArgList(method)) + ");");
+            emitTimelineSwitch(writer, benchmarkKind, method, states);
             writer.println(ident(3) + "notifyControl.stopMeasurement = true;");
             writer.println();
 
@@ -735,6 +750,7 @@ public class BenchmarkGenerator {
             writer.println(ident(5) + "if (control.shouldYield) Thread.yield();");
             writer.println(ident(5) + "res.allOps++;");
             writer.println(ident(4) + "}");
+            asyncDrain(writer, 4, method);
             writer.println(ident(3) + "} catch (Throwable e) {");
             writer.println(ident(4) + "if (!(e instanceof InterruptedException)) throw e;");
             writer.println(ident(3) + "}");
@@ -788,7 +804,7 @@ public class BenchmarkGenerator {
             compilerControl.defaultForceInline(method);
 
             writer.println(ident(1) + "public static" + (methodGroup.isStrictFP() ? " strictfp" : "") + " void " + methodName +
-                    "(" + getStubTypeArgs() + prefix(states.getTypeArgList(method)) + ") throws Throwable {");
+                    "(" + getStubTypeArgs(method) + prefix(states.getTypeArgList(method)) + ") throws Throwable {");
             writer.println(ident(2) + "long operations = 0;");
             writer.println(ident(2) + "long realTime = 0;");
             writer.println(ident(2) + "result.startTime = System.nanoTime();");
@@ -800,22 +816,71 @@ public class BenchmarkGenerator {
 
             writer.println(ident(3) + "operations++;");
             writer.println(ident(2) + "} while(!control.isDone);");
+            asyncDrain(writer, 2, method);
             writer.println(ident(2) + "result.stopTime = System.nanoTime();");
             writer.println(ident(2) + "result.realTime = realTime;");
             writer.println(ident(2) + "result.measuredOps = operations;");
             writer.println(ident(1) + "}");
             writer.println();
+
+            generateTimelineStub(writer, benchmarkKind, methodGroup, method, states);
         }
     }
 
-    private String getStubArgs() {
-        return "control, res, benchmarkParams, iterationParams, threadParams, blackhole, notifyControl";
+    /**
+     * Calls the regular measurement loop, or the one that publishes the operation counts
+     * for the timeline, when the timeline is requested.
+     */
+    private void emitTimelineSwitch(PrintWriter writer, Mode benchmarkKind, MethodInfo method, StateObjectHandler states) {
+        writer.println(ident(3) + "if (control.timeline == null) {");
+        writer.println(ident(4) + method.getName() + "_" + benchmarkKind.shortLabel() + JMH_STUB_SUFFIX +
+                "(" + getStubArgs(method) + prefix(states.getArgList(method)) + ");");
+        writer.println(ident(3) + "} else {");
+        writer.println(ident(4) + method.getName() + "_" + benchmarkKind.shortLabel() + JMH_TIMELINE_STUB_SUFFIX +
+                "(" + getStubArgs(method) + ", control.timeline" + prefix(states.getArgList(method)) + ");");
+        writer.println(ident(3) + "}");
+    }
+
+    /**
+     * Generates the measurement loop that publishes the operation count after every operation.
+     * This is a separate copy of the loop, so that the regular loop is not affected.
+     */
+    private void generateTimelineStub(PrintWriter writer, Mode benchmarkKind, MethodGroup methodGroup, MethodInfo method, StateObjectHandler states) {
+        String methodName = method.getName() + "_" + benchmarkKind.shortLabel() + JMH_TIMELINE_STUB_SUFFIX;
+
+        writer.println(ident(1) + "public static" + (methodGroup.isStrictFP() ? " strictfp" : "") + " void " + methodName +
+                "(" + getStubTypeArgs(method) + ", Timeline timeline" + prefix(states.getTypeArgList(method)) + ") throws Throwable {");
+        writer.println(ident(2) + "long operations = 0;");
+        writer.println(ident(2) + "long realTime = 0;");
+        writer.println(ident(2) + "int slot = threadParams.getThreadIndex();");
+        writer.println(ident(2) + "result.startTime = System.nanoTime();");
+        writer.println(ident(2) + "do {");
+
+        invocationProlog(writer, 3, method, states, true);
+        writer.println(ident(3) + emitCall(method, states) + ';');
+        invocationEpilog(writer, 3, method, states, true);
+
+        writer.println(ident(3) + "operations++;");
+        writer.println(ident(3) + "timeline.publish(slot, operations);");
+        writer.println(ident(2) + "} while(!control.isDone);");
+        asyncDrain(writer, 2, method);
+        writer.println(ident(2) + "result.stopTime = System.nanoTime();");
+        writer.println(ident(2) + "result.realTime = realTime;");
+        writer.println(ident(2) + "result.measuredOps = operations;");
+        writer.println(ident(1) + "}");
+        writer.println();
+    }
+
+    private String getStubArgs(MethodInfo method) {
+        return "control, res, benchmarkParams, iterationParams, threadParams, blackhole, notifyControl" +
+                (isAsync(method) ? ", window" : "");
     }
 
-    private String getStubTypeArgs() {
+    private String getStubTypeArgs(MethodInfo method) {
         return "InfraControl control, RawResults result, " +
                 "BenchmarkParams benchmarkParams, IterationParams iterationParams, ThreadParams threadParams, " +
-                "Blackhole blackhole, Control notifyControl";
+                "Blackhole blackhole, Control notifyControl" +
+                (isAsync(method) ? ", AsyncWindow window" : "");
     }
 
     private void methodProlog(PrintWriter writer) {
@@ -847,6 +912,12 @@ public class BenchmarkGenerator {
 
             writer.println(ident(2) + "if (threadParams.getSubgroupIndex() == " + subGroup + ") {");
             writer.println(ident(3) + "RawResults res = new RawResults();");
+            writer.println(ident(3) + "int targetSamples = control.getDurationMs() * 20;");
+            writer.println(ident(3) + "int batchSize = iterationParams.getBatchSize();");
+            writer.println(ident(3) + "int opsPerInv = benchmarkParams.getOpsPerInvocation();");
+            writer.println(ident(3) + "SampleBuffer buffer = new SampleBuffer(benchmarkParams.getHistogramDigits());");
+            writer.println();
+            asyncWindow(writer, 3, method, "buffer");
 
             iterationProlog(writer, 3, method, states);
 
@@ -863,18 +934,14 @@ public class BenchmarkGenerator {
             writer.println(ident(4) + "if (control.shouldYield) Thread.yield();");
             writer.println(ident(4) + "res.allOps++;");
             writer.println(ident(3) + "}");
+            asyncDrain(writer, 3, method);
             writer.println();
 
-            writer.println(ident(3) + "int targetSamples = control.getDurationMs() * 20;");
-            writer.println(ident(3) + "int batchSize = iterationParams.getBatchSize();");
-            writer.println(ident(3) + "int opsPerInv = benchmarkParams.getOpsPerInvocation();");
-            writer.println(ident(3) + "SampleBuffer buffer = new SampleBuffer();");
-            writer.println();
 
             // measurement loop call
             writer.println(ident(3) + "notifyControl.startMeasurement = true;");
             writer.println(ident(3) + method.getName() + "_" + benchmarkKind.shortLabel() + JMH_STUB_SUFFIX + "(" +
-                    getStubArgs() + ", buffer, targetSamples, opsPerInv, batchSize" + prefix(states.getArgList(method)) + ");");
+                    getStubArgs(method) + ", buffer, targetSamples, opsPerInv, batchSize" + prefix(states.getArgList(method)) + ");");
             writer.println(ident(3) + "notifyControl.stopMeasurement = true;");
             writer.println();
 
@@ -892,6 +959,7 @@ public class BenchmarkGenerator {
             writer.println(ident(5) + "if (control.shouldYield) Thread.yield();");
             writer.println(ident(5) + "res.allOps++;");
             writer.println(ident(4) + "}");
+            asyncDrain(writer, 4, method);
             writer.println(ident(3) + "} catch (Throwable e) {");
             writer.println(ident(4) + "if (!(e instanceof InterruptedException)) throw e;");
             writer.println(ident(3) + "}");
@@ -939,10 +1007,37 @@ public class BenchmarkGenerator {
             compilerControl.defaultForceInline(method);
 
             writer.println(ident(1) + "public static" + (methodGroup.isStrictFP() ? " strictfp" : "") + " void " + methodName + "(" +
-                    getStubTypeArgs() + ", SampleBuffer buffer, int targetSamples, long opsPerInv, int batchSize" + prefix(states.getTypeArgList(method)) + ") throws Throwable {");
+                    getStubTypeArgs(method) + ", SampleBuffer buffer, int targetSamples, long opsPerInv, int batchSize" + prefix(states.getTypeArgList(method)) + ") throws Throwable {");
 
             writer.println(ident(2) + "long realTime = 0;");
             writer.println(ident(2) + "long operations = 0;");
+
+            if (isAsync(method)) {
+                // every completion is recorded by the window, no need to sample
+                writer.println(ident(2) + "window.startRecording();");
+                writer.println(ident(2) + "do {");
+
+                invocationProlog(writer, 3, method, states, true);
+
+                writer.println(ident(3) + "for (int b = 0; b < batchSize; b++) {");
+                writer.println(ident(4) + "if (control.volatileSpoiler) return;");
+                writer.println(ident(4) + emitCall(method, states) + ';');
+                writer.println(ident(3) + "}");
+
+                invocationEpilog(writer, 3, method, states, true);
+
+                writer.println(ident(3) + "operations++;");
+                writer.println(ident(2) + "} while(!control.isDone);");
+                writer.println(ident(2) + "window.drain();");
+                writer.println(ident(2) + "window.stopRecording();");
+
+                writer.println(ident(2) + "result.realTime = realTime;");
+                writer.println(ident(2) + "result.measuredOps = operations;");
+                writer.println(ident(1) + "}");
+                writer.println();
+                continue;
+            }
+
             writer.println(ident(2) + "int rnd = (int)System.nanoTime();");
             writer.println(ident(2) + "int rndMask = 0;");
             writer.println(ident(2) + "long time = 0;");
@@ -983,6 +1078,164 @@ public class BenchmarkGenerator {
         }
     }
 
+    private void generateFixedRate(PrintWriter writer, Mode benchmarkKind, MethodGroup methodGroup, StateObjectHandler states) {
+        writer.println(ident(1) + "public BenchmarkTaskResult " + methodGroup.getName() + "_" + benchmarkKind +
+                "(InfraControl control, ThreadParams threadParams) throws Throwable {");
+
+        methodProlog(writer);
+
+        boolean isSingleMethod = (methodGroup.methods().size() == 1);
+        int subGroup = -1;
+        for (MethodInfo method : methodGroup.methods()) {
+            subGroup++;
+
+            writer.println(ident(2) + "if (threadParams.getSubgroupIndex() == " + subGroup + ") {");
+            writer.println(ident(3) + "RawResults res = new RawResults();");
+            writer.println(ident(3) + "long intervalNs = Math.max(1L, (long) (1_000_000_000L / benchmarkParams.getTargetRate()));");
+            writer.println(ident(3) + "int batchSize = iterationParams.getBatchSize();");
+            writer.println(ident(3) + "int opsPerInv = benchmarkParams.getOpsPerInvocation();");
+            writer.println(ident(3) + "SampleBuffer buffer = new SampleBuffer(benchmarkParams.getHistogramDigits());");
+            writer.println();
+            asyncWindow(writer, 3, method, "buffer");
+
+            iterationProlog(writer, 3, method, states);
+
+            // synchronize iterations prolog: announce ready
+            writer.println(ident(3) + "control.announceWarmupReady();");
+
+            // synchronize iterations prolog: catchup loop
+            writer.println(ident(3) + "while (control.warmupShouldWait) {");
+
+            invocationProlog(writer, 4, method, states, false);
+            writer.println(ident(4) + emitCall(method, states) + ';');
+            invocationEpilog(writer, 4, method, states, false);
+
+            writer.println(ident(4) + "if (control.shouldYield) Thread.yield();");
+            writer.println(ident(4) + "res.allOps++;");
+            writer.println(ident(3) + "}");
+            asyncDrain(writer, 3, method);
+            writer.println();
+
+
+            // measurement loop call
+            writer.println(ident(3) + "notifyControl.startMeasurement = true;");
+            writer.println(ident(3) + method.getName() + "_" + benchmarkKind.shortLabel() + JMH_STUB_SUFFIX + "(" +
+                    getStubArgs(method) + ", buffer, intervalNs, opsPerInv, batchSize" + prefix(states.getArgList(method)) + ");");
+            writer.println(ident(3) + "notifyControl.stopMeasurement = true;");
+            writer.println();
+
+            // synchronize iterations epilog: announce ready
+            writer.println(ident(3) + "control.announceWarmdownReady();");
+
+            // synchronize iterations epilog: catchup loop
+            writer.println(ident(3) + "try {");
+            writer.println(ident(4) + "while (control.warmdownShouldWait) {");
+
+            invocationProlog(writer, 5, method, states, false);
+            writer.println(ident(5) + emitCall(method, states) + ';');
+            invocationEpilog(writer, 5, method, states, false);
+
+            writer.println(ident(5) + "if (control.shouldYield) Thread.yield();");
+            writer.println(ident(5) + "res.allOps++;");
+            writer.println(ident(4) + "}");
+            asyncDrain(writer, 4, method);
+            writer.println(ident(3) + "} catch (Throwable e) {");
+            writer.println(ident(4) + "if (!(e instanceof InterruptedException)) throw e;");
+            writer.println(ident(3) + "}");
+            writer.println(ident(3) + "control.preTearDown();");
+
+            iterationEpilog(writer, 3, method, states);
+
+            // Adjust the operation counts, the same way as in sample time mode.
+            writer.println(ident(3) + "res.allOps += res.measuredOps * batchSize;");
+
+            writer.println(ident(3) + "res.allOps *= opsPerInv;");
+            writer.println(ident(3) + "res.allOps /= batchSize;");
+            writer.println(ident(3) + "res.measuredOps *= opsPerInv;");
+
+            writer.println(ident(3) + "BenchmarkTaskResult results = new BenchmarkTaskResult((long)res.allOps, (long)res.measuredOps);");
+            if (isSingleMethod) {
+                writer.println(ident(3) + "results.add(new SampleTimeResult(ResultRole.PRIMARY, \"" + method.getName() + "\", buffer, benchmarkParams.getTimeUnit()));");
+            } else {
+                writer.println(ident(3) + "results.add(new SampleTimeResult(ResultRole.PRIMARY, \"" + methodGroup.getName() + "\", buffer, benchmarkParams.getTimeUnit()));");
+                writer.println(ident(3) + "results.add(new SampleTimeResult(ResultRole.SECONDARY, \"" + method.getName() + "\", buffer, benchmarkParams.getTimeUnit()));");
+            }
+            writer.println(ident(3) + "results.add(new ScalarResult(\"schedule.misses\", res.scheduleMisses, \"#\", AggregationPolicy.SUM));");
+            addAuxCounters(writer, "SampleTimeResult", states, method);
+
+            methodEpilog(writer);
+
+            writer.println(ident(3) + "return results;");
+            writer.println(ident(2) + "} else");
+        }
+        writer.println(ident(3) + "throw new IllegalStateException();");
+        writer.println(ident(1) + "}");
+
+        writer.println();
+
+        // measurement loop bodies
+        for (MethodInfo method : methodGroup.methods()) {
+            String methodName = method.getName() + "_" + benchmarkKind.shortLabel() + JMH_STUB_SUFFIX;
+            compilerControl.defaultForceInline(method);
+
+            writer.println(ident(1) + "public static" + (methodGroup.isStrictFP() ? " strictfp" : "") + " void " + methodName + "(" +
+                    getStubTypeArgs(method) + ", SampleBuffer buffer, long intervalNs, long opsPerInv, int batchSize" + prefix(states.getTypeArgList(method)) + ") throws Throwable {");
+
+            writer.println(ident(2) + "long operations = 0;");
+            writer.println(ident(2) + "long misses = 0;");
+            writer.println(ident(2) + "long intended = System.nanoTime();");
+            if (isAsync(method)) {
+                writer.println(ident(2) + "window.startRecording();");
+            }
+            writer.println(ident(2) + "do {");
+
+            invocationProlog(writer, 3, method, states, false);
+
+            /*
+               Wait for the intended start time: park while it is far away, and spin when it is close.
+               Operations that are behind the schedule start right away, and their time includes
+               the time they were waiting for the previous operations.
+             */
+            writer.println(ident(3) + "long now = System.nanoTime();");
+            writer.println(ident(3) + "while (now < intended && !control.isDone) {");
+            writer.println(ident(4) + "long left = intended - now;");
+            writer.println(ident(4) + "if (left > 100_000L) {");
+            writer.println(ident(5) + "LockSupport.parkNanos(Math.min(left - 50_000L, 1_000_000L));");
+            writer.println(ident(4) + "}");
+            writer.println(ident(4) + "now = System.nanoTime();");
+            writer.println(ident(3) + "}");
+
+            writer.println(ident(3) + "if (now >= intended) {");
+            writer.println(ident(4) + "if (now - intended > intervalNs) {");
+            writer.println(ident(5) + "misses++;");
+            writer.println(ident(4) + "}");
+            writer.println(ident(4) + "for (int b = 0; b < batchSize; b++) {");
+            writer.println(ident(5) + "if (control.volatileSpoiler) return;");
+            writer.println(ident(5) + emitCall(method, states, "intended") + ';');
+            writer.println(ident(4) + "}");
+            if (!isAsync(method)) {
+                // asynchronous operations are recorded by the window on completion
+                writer.println(ident(4) + "buffer.add((System.nanoTime() - intended) / opsPerInv);");
+            }
+            writer.println(ident(4) + "intended += intervalNs;");
+            writer.println(ident(4) + "operations++;");
+            writer.println(ident(3) + "}");
+
+            invocationEpilog(writer, 3, method, states, false);
+
+            writer.println(ident(2) + "} while(!control.isDone);");
+            if (isAsync(method)) {
+                writer.println(ident(2) + "window.drain();");
+                writer.println(ident(2) + "window.stopRecording();");
+            }
+
+            writer.println(ident(2) + "result.measuredOps = operations;");
+            writer.println(ident(2) + "result.scheduleMisses = misses;");
+            writer.println(ident(1) + "}");
+            writer.println();
+        }
+    }
+
     private void generateSingleShotTime(PrintWriter writer, Mode benchmarkKind, MethodGroup methodGroup, StateObjectHandler states) {
         writer.println(ident(1) + "public BenchmarkTaskResult " + methodGroup.getName() + "_" + benchmarkKind + "(InfraControl control, ThreadParams threadParams) throws Throwable {");
 
@@ -1001,12 +1254,13 @@ public class BenchmarkGenerator {
 
             writer.println(ident(3) + "RawResults res = new RawResults();");
             writer.println(ident(3) + "int batchSize = iterationParams.getBatchSize();");
+            asyncWindow(writer, 3, method, null);
             writer.println();
 
             // measurement loop call
             writer.println(ident(3) + "notifyControl.startMeasurement = true;");
             writer.println(ident(3) + method.getName() + "_" + benchmarkKind.shortLabel() + JMH_STUB_SUFFIX + "(" +
-                    getStubArgs() + ", batchSize" + prefix(states.getArgList(method)) + ");");
+                    getStubArgs(method) + ", batchSize" + prefix(states.getArgList(method)) + ");");
             writer.println();
 
             writer.println(ident(3) + "control.preTearDown();");
@@ -1047,7 +1301,7 @@ public class BenchmarkGenerator {
             compilerControl.defaultForceInline(method);
 
             writer.println(ident(1) + "public static" + (methodGroup.isStrictFP() ? " strictfp" : "") + " void " + methodName +
-                    "(" + getStubTypeArgs() + ", int batchSize" + prefix(states.getTypeArgList(method)) + ") throws Throwable {");
+                    "(" + getStubTypeArgs(method) + ", int batchSize" + prefix(states.getTypeArgList(method)) + ") throws Throwable {");
 
             writer.println(ident(2) + "long realTime = 0;");
             writer.println(ident(2) + "result.startTime = System.nanoTime();");
@@ -1061,6 +1315,7 @@ public class BenchmarkGenerator {
             invocationEpilog(writer, 3, method, states, true);
 
             writer.println(ident(2) + "}");
+            asyncDrain(writer, 2, method);
             writer.println(ident(2) + "result.stopTime = System.nanoTime();");
             writer.println(ident(2) + "result.realTime = realTime;");
             writer.println(ident(1) + "}");
@@ -1109,13 +1364,48 @@ public class BenchmarkGenerator {
     }
 
     private String emitCall(MethodInfo method, StateObjectHandler states) {
-        if ("void".equalsIgnoreCase(method.getReturnType())) {
+        return emitCall(method, states, "System.nanoTime()");
+    }
+
+    private String emitCall(MethodInfo method, StateObjectHandler states, String startTime) {
+        if (isAsync(method)) {
+            return "window.submit(" + startTime + ", " + states.getImplicit("bench").localIdentifier + "." + method.getName() + "(" + states.getBenchmarkArgList(method) + "))";
+        } else if ("void".equalsIgnoreCase(method.getReturnType())) {
             return states.getImplicit("bench").localIdentifier + "." + method.getName() + "(" + states.getBenchmarkArgList(method) + ")";
         } else {
             return "blackhole.consume(" + states.getImplicit("bench").localIdentifier + "." + method.getName() + "(" + states.getBenchmarkArgList(method) + "))";
         }
     }
 
+    /**
+     * Asynchronous benchmark methods return the {@link java.util.concurrent.CompletionStage}, and the generated
+     * code measures the completion of the operation rather than the return from the method.
+     */
+    static boolean isAsync(MethodInfo method) {
+        String type = method.getReturnType();
+        int generic = type.indexOf('<');
+        if (generic != -1) {
+            type = type.substring(0, generic);
+        }
+        type = type.trim();
+        return "java.util.concurrent.CompletionStage".equals(type) ||
+                "java.util.concurrent.CompletableFuture".equals(type);
+    }
+
+    private void asyncWindow(PrintWriter writer, int prefix, MethodInfo method, String buffer) {
+        if (!isAsync(method)) return;
+        if (buffer == null) {
+            writer.println(ident(prefix) + "AsyncWindow window = new AsyncWindow(benchmarkParams.getInFlight());");
+        } else {
+            writer.println(ident(prefix) + "AsyncWindow window = new AsyncWindow(benchmarkParams.getInFlight(), " + buffer + ", benchmarkParams.getOpsPerInvocation());");
+        }
+    }
+
+    private void asyncDrain(PrintWriter writer, int prefix, MethodInfo method) {
+        if (!isAsync(method)) return;
+        writer.println(ident(prefix) + "window.drain();");
+    }
+
     static volatile String[] INDENTS;
     static final Object INDENTS_LOCK = new Object();
 
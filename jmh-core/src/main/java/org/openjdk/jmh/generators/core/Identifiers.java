@@ -71,7 +71,9 @@ class Identifiers {
     public String identifier(Scope scope) {
         switch (scope) {
             case Benchmark:
-            case Group: {
+            case Group:
+            case Core:
+            case NumaNode: {
                 return "G";
             }
             case Thread: {
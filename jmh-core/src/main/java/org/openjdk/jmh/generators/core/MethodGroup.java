@@ -278,6 +278,31 @@ class MethodGroup implements Comparable<MethodGroup> {
         return Optional.none();
     }
 
+    public Optional<Exploration> getParamExploration() {
+        for (ParamExploration ann : getAll(ParamExploration.class)) {
+            return Optional.of(ann.value());
+        }
+        return Optional.none();
+    }
+
+    public Optional<Integer> getParamExplorationSamples() {
+        for (ParamExploration ann : getAll(ParamExploration.class)) {
+            if (ann.samples() != ParamExploration.BLANK_SAMPLES) {
+                return Optional.of(ann.samples());
+            }
+        }
+        return Optional.none();
+    }
+
+    public Optional<Integer> getParamExplorationSeed() {
+        for (ParamExploration ann : getAll(ParamExploration.class)) {
+            if (ann.seed() != ParamExploration.BLANK_SEED) {
+                return Optional.of(ann.seed());
+            }
+        }
+        return Optional.none();
+    }
+
     private <T extends Annotation> Collection<T> getAll(Class<T> annClass) {
         Collection<T> results = new ArrayList<>();
         for (MethodInvocation mi : methods) {
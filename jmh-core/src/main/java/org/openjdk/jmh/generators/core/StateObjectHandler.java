@@ -638,7 +638,7 @@ class StateObjectHandler {
                 }
             }
 
-            if (so.scope == Scope.Benchmark || so.scope == Scope.Group) {
+            if (so.scope != Scope.Thread) {
                 result.add("if (" + so.type + ".setup" + helperLevel + "MutexUpdater.compareAndSet(" + so.localIdentifier + ", 0, 1)) {");
                 result.add("    try {");
                 result.add("        if (control.isFailing) throw new FailureAssistException();");
@@ -678,7 +678,7 @@ class StateObjectHandler {
                 }
             }
 
-            if (so.scope == Scope.Benchmark || so.scope == Scope.Group) {
+            if (so.scope != Scope.Thread) {
                 result.add("if (" + so.type + ".tear" + helperLevel + "MutexUpdater.compareAndSet(" + so.localIdentifier + ", 0, 1)) {");
                 result.add("    try {");
                 result.add("        if (control.isFailing) throw new FailureAssistException();");
@@ -837,21 +837,23 @@ class StateObjectHandler {
         }
 
         for (StateObject so : sos) {
-            if (so.scope != Scope.Group) continue;
+            if (!isPartitioned(so.scope)) continue;
+
+            String idx = partitionIndex(so.scope);
 
             result.add("");
             result.add("static java.util.Map<Integer, " + so.type + "> " + so.fieldIdentifier + "_map = java.util.Collections.synchronizedMap(new java.util.HashMap<Integer, " + so.type + ">());");
             result.add("");
             result.add(so.type + " _jmh_tryInit_" + so.fieldIdentifier + "(InfraControl control" + soDependency_TypeArgs(so) + ") throws Throwable {");
-            result.add("    int groupIdx = threadParams.getGroupIndex();");
-            result.add("    " + so.type + " val = " + so.fieldIdentifier + "_map.get(groupIdx);");
+            result.add("    int " + idx + " = " + partitionAccessor(so.scope) + ";");
+            result.add("    " + so.type + " val = " + so.fieldIdentifier + "_map.get(" + idx + ");");
             result.add("    if (val != null) {");
             result.add("        return val;");
             result.add("    }");
             result.add("    synchronized(this.getClass()) {");
             result.add("        try {");
             result.add("        if (control.isFailing) throw new FailureAssistException();");
-            result.add("        val = " + so.fieldIdentifier + "_map.get(groupIdx);");
+            result.add("        val = " + so.fieldIdentifier + "_map.get(" + idx + ");");
             result.add("        if (val != null) {");
             result.add("            return val;");
             result.add("        }");
@@ -873,7 +875,7 @@ class StateObjectHandler {
                 result.add("        val." + hmi.method.getName() + "(" + Utils.join(args, ",") + ");");
             }
             result.add("        " + "val.ready" + Level.Trial + " = true;");
-            result.add("        " + so.fieldIdentifier + "_map.put(groupIdx, val);");
+            result.add("        " + so.fieldIdentifier + "_map.put(" + idx + ", val);");
             result.add("        } catch (Throwable t) {");
             result.add("            control.isFailing = true;");
             result.add("            throw t;");
@@ -910,14 +912,47 @@ class StateObjectHandler {
         }
 
         for (StateObject so : sos) {
-            if (so.scope != Scope.Group) continue;
+            if (!isPartitioned(so.scope)) continue;
             result.add("synchronized(this.getClass()) {");
-            result.add("    " + so.fieldIdentifier + "_map.remove(threadParams.getGroupIndex());");
+            result.add("    " + so.fieldIdentifier + "_map.remove(" + partitionAccessor(so.scope) + ");");
             result.add("}");
         }
         return result;
     }
 
+    /**
+     * @return true, if the scope shares a separate state instance within each partition of threads
+     */
+    private static boolean isPartitioned(Scope scope) {
+        return scope == Scope.Group || scope == Scope.Core || scope == Scope.NumaNode;
+    }
+
+    private static String partitionIndex(Scope scope) {
+        switch (scope) {
+            case Group:
+                return "groupIdx";
+            case Core:
+                return "coreIdx";
+            case NumaNode:
+                return "nodeIdx";
+            default:
+                throw new GenerationException("Unknown scope: " + scope, null);
+        }
+    }
+
+    private static String partitionAccessor(Scope scope) {
+        switch (scope) {
+            case Group:
+                return "threadParams.getGroupIndex()";
+            case Core:
+                return "threadParams.getCoreIndex()";
+            case NumaNode:
+                return "threadParams.getNodeIndex()";
+            default:
+                throw new GenerationException("Unknown scope: " + scope, null);
+        }
+    }
+
     public List<String> getStateGetters(MethodInfo method) {
         List<String> result = new ArrayList<>();
         for (StateObject so : stateOrder(method, true)) {
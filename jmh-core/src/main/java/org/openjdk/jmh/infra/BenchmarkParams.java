@@ -52,6 +52,26 @@ import java.util.concurrent.TimeUnit;
 public final class BenchmarkParams extends BenchmarkParamsL2 {
     private static final long serialVersionUID = -53511295235994554L;
 
+    /**
+     * Target rate assumed when none is given, operations per second per thread.
+     */
+    public static final double DEFAULT_TARGET_RATE = 1000;
+
+    /**
+     * Histogram precision assumed when none is given, significant digits.
+     */
+    public static final int DEFAULT_HISTOGRAM_DIGITS = 3;
+
+    /**
+     * Operations in flight per thread assumed when none is given.
+     */
+    public static final int DEFAULT_IN_FLIGHT = 1;
+
+    /**
+     * Timeline interval assumed when none is given: the timeline is disabled.
+     */
+    public static final TimeValue DEFAULT_TIMELINE_INTERVAL = TimeValue.NONE;
+
     byte b3_00, b3_01, b3_02, b3_03, b3_04, b3_05, b3_06, b3_07, b3_08, b3_09, b3_0a, b3_0b, b3_0c, b3_0d, b3_0e, b3_0f;
     long b3_10, b3_11, b3_12, b3_13, b3_14, b3_15, b3_16, b3_17, b3_18, b3_19, b3_1a, b3_1b, b3_1c, b3_1d, b3_1e, b3_1f;
     long b3_20, b3_21, b3_22, b3_23, b3_24, b3_25, b3_26, b3_27, b3_28, b3_29, b3_2a, b3_2b, b3_2c, b3_2d, b3_2e, b3_2f;
@@ -65,6 +85,28 @@ public final class BenchmarkParams extends BenchmarkParamsL2 {
                            String jvm, Collection<String> jvmArgs,
                            String jdkVersion, String vmName, String vmVersion, String jmhVersion,
                            TimeValue timeout) {
+        this(benchmark, generatedTarget, synchIterations,
+                threads, threadGroups, threadGroupLabels,
+                forks, warmupForks,
+                warmup, measurement,
+                mode, params,
+                timeUnit, opsPerInvocation,
+                jvm, jvmArgs,
+                jdkVersion, vmName, vmVersion, jmhVersion,
+                timeout, DEFAULT_TARGET_RATE, DEFAULT_HISTOGRAM_DIGITS, DEFAULT_IN_FLIGHT,
+                DEFAULT_TIMELINE_INTERVAL);
+    }
+
+    public BenchmarkParams(String benchmark, String generatedTarget, boolean synchIterations,
+                           int threads, int[] threadGroups, Collection<String> threadGroupLabels,
+                           int forks, int warmupForks,
+                           IterationParams warmup, IterationParams measurement,
+                           Mode mode, WorkloadParams params,
+                           TimeUnit timeUnit, int opsPerInvocation,
+                           String jvm, Collection<String> jvmArgs,
+                           String jdkVersion, String vmName, String vmVersion, String jmhVersion,
+                           TimeValue timeout, double targetRate, int histogramDigits, int inFlight,
+                           TimeValue timelineInterval) {
         super(benchmark, generatedTarget, synchIterations,
                 threads, threadGroups, threadGroupLabels,
                 forks, warmupForks,
@@ -73,7 +115,7 @@ public final class BenchmarkParams extends BenchmarkParamsL2 {
                 timeUnit, opsPerInvocation,
                 jvm, jvmArgs,
                 jdkVersion, vmName, vmVersion, jmhVersion,
-                timeout);
+                timeout, targetRate, histogramDigits, inFlight, timelineInterval);
     }
 }
 
@@ -101,6 +143,10 @@ abstract class BenchmarkParamsL2 extends BenchmarkParamsL1 implements Serializab
     protected final String vmName;
     protected final String vmVersion;
     protected final TimeValue timeout;
+    protected final double targetRate;
+    protected final int histogramDigits;
+    protected final int inFlight;
+    protected final TimeValue timelineInterval;
 
     public BenchmarkParamsL2(String benchmark, String generatedTarget, boolean synchIterations,
                              int threads, int[] threadGroups, Collection<String> threadGroupLabels,
@@ -110,7 +156,8 @@ abstract class BenchmarkParamsL2 extends BenchmarkParamsL1 implements Serializab
                              TimeUnit timeUnit, int opsPerInvocation,
                              String jvm, Collection<String> jvmArgs,
                              String jdkVersion, String vmName, String vmVersion, String jmhVersion,
-                             TimeValue timeout) {
+                             TimeValue timeout, double targetRate, int histogramDigits, int inFlight,
+                             TimeValue timelineInterval) {
         this.benchmark = benchmark;
         this.generatedTarget = generatedTarget;
         this.synchIterations = synchIterations;
@@ -132,6 +179,10 @@ abstract class BenchmarkParamsL2 extends BenchmarkParamsL1 implements Serializab
         this.vmVersion = vmVersion;
         this.jmhVersion = jmhVersion;
         this.timeout = timeout;
+        this.targetRate = targetRate;
+        this.histogramDigits = histogramDigits;
+        this.inFlight = inFlight;
+        this.timelineInterval = timelineInterval;
     }
 
     /**
@@ -141,6 +192,37 @@ abstract class BenchmarkParamsL2 extends BenchmarkParamsL1 implements Serializab
         return timeout;
     }
 
+    /**
+     * @return target rate for {@link Mode#FixedRate}, in operations per second per thread
+     */
+    public double getTargetRate() {
+        return targetRate;
+    }
+
+    /**
+     * @return number of significant digits for latency histograms in {@link Mode#SampleTime}
+     *         and {@link Mode#FixedRate}
+     */
+    public int getHistogramDigits() {
+        return histogramDigits;
+    }
+
+    /**
+     * @return number of asynchronous operations in flight per thread, for benchmark methods
+     *         returning {@link java.util.concurrent.CompletionStage}
+     */
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * @return duration of the sub-intervals to record the operation counts in, for
+     *         {@link Mode#Throughput} and {@link Mode#AverageTime}; zero, if timeline is disabled
+     */
+    public TimeValue getTimelineInterval() {
+        return timelineInterval;
+    }
+
     /**
      * @return do we synchronize iterations?
      */
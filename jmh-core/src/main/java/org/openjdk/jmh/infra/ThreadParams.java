@@ -38,8 +38,17 @@ public final class ThreadParams extends ThreadParamsL2 {
 
     public ThreadParams(int threadIdx, int threadCount, int groupIdx, int groupCount, int subgroupIdx, int subgroupCount,
                         int groupThreadIdx, int groupThreadCount, int subgroupThreadIdx, int subgroupThreadCount) {
+        this(threadIdx, threadCount, groupIdx, groupCount, subgroupIdx, subgroupCount,
+                groupThreadIdx, groupThreadCount, subgroupThreadIdx, subgroupThreadCount,
+                -1, threadIdx, 0);
+    }
+
+    public ThreadParams(int threadIdx, int threadCount, int groupIdx, int groupCount, int subgroupIdx, int subgroupCount,
+                        int groupThreadIdx, int groupThreadCount, int subgroupThreadIdx, int subgroupThreadCount,
+                        int cpu, int coreIdx, int nodeIdx) {
         super(threadIdx, threadCount, groupIdx, groupCount, subgroupIdx, subgroupCount,
-                groupThreadIdx, groupThreadCount, subgroupThreadIdx, subgroupThreadCount);
+                groupThreadIdx, groupThreadCount, subgroupThreadIdx, subgroupThreadCount,
+                cpu, coreIdx, nodeIdx);
     }
 
     /**
@@ -192,6 +201,45 @@ public final class ThreadParams extends ThreadParamsL2 {
         return subgroupThreadIdx;
     }
 
+    /**
+     * Answers the CPU this thread is pinned to.
+     *
+     * <p>Threads are pinned only when the thread placement is requested,
+     * see {@link org.openjdk.jmh.runner.options.ThreadPlacement}.</p>
+     *
+     * @return CPU id; -1, if thread is not pinned
+     */
+    public int getCpu() {
+        return cpu;
+    }
+
+    /**
+     * Answers the index of the physical core this thread is placed on.
+     *
+     * <p>Threads placed on the SMT siblings of the same core share the core index.
+     * When threads are not pinned, every thread is assumed to run on its own core,
+     * and the core index equals the thread index.</p>
+     *
+     * @return physical core index
+     * @see org.openjdk.jmh.annotations.Scope#Core
+     */
+    public int getCoreIndex() {
+        return coreIdx;
+    }
+
+    /**
+     * Answers the index of the NUMA node this thread is placed on.
+     *
+     * <p>When threads are not pinned, or the machine topology is unknown,
+     * all threads are assumed to run on the same node, with index zero.</p>
+     *
+     * @return NUMA node index
+     * @see org.openjdk.jmh.annotations.Scope#NumaNode
+     */
+    public int getNodeIndex() {
+        return nodeIdx;
+    }
+
 }
 
 abstract class ThreadParamsL2 extends ThreadParamsL1 {
@@ -200,9 +248,11 @@ abstract class ThreadParamsL2 extends ThreadParamsL1 {
     protected final int subgroupIdx, subgroupCount;
     protected final int groupThreadIdx, groupThreadCount;
     protected final int subgroupThreadIdx, subgroupThreadCount;
+    protected final int cpu, coreIdx, nodeIdx;
 
     public ThreadParamsL2(int threadIdx, int threadCount, int groupIdx, int groupCount, int subgroupIdx, int subgroupCount,
-                          int groupThreadIdx, int groupThreadCount, int subgroupThreadIdx, int subgroupThreadCount) {
+                          int groupThreadIdx, int groupThreadCount, int subgroupThreadIdx, int subgroupThreadCount,
+                          int cpu, int coreIdx, int nodeIdx) {
         this.threadIdx = threadIdx;
         this.threadCount = threadCount;
         this.groupIdx = groupIdx;
@@ -213,6 +263,9 @@ abstract class ThreadParamsL2 extends ThreadParamsL1 {
         this.groupThreadCount = groupThreadCount;
         this.subgroupThreadIdx = subgroupThreadIdx;
         this.subgroupThreadCount = subgroupThreadCount;
+        this.cpu = cpu;
+        this.coreIdx = coreIdx;
+        this.nodeIdx = nodeIdx;
     }
 }
 
@@ -0,0 +1,286 @@
+/*
+ * Copyright (c) 2005, 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.profile;
+
+import joptsimple.OptionException;
+import joptsimple.OptionParser;
+import joptsimple.OptionSet;
+import joptsimple.OptionSpec;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.results.*;
+import org.openjdk.jmh.runner.IterationType;
+import org.openjdk.jmh.runner.options.IntegerValueConverter;
+import org.openjdk.jmh.util.FileUtils;
+import org.openjdk.jmh.util.HashMultiset;
+import org.openjdk.jmh.util.Multiset;
+import org.openjdk.jmh.util.Multisets;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.*;
+import java.util.jar.Attributes;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+/**
+ * Attributes the allocations to the exact allocation sites in the benchmark code.
+ *
+ * <p>The profiler attaches the {@link AllocationSiteAgent} to the forked VM. The agent
+ * instruments every allocation in the benchmark classes with ASM, and counts the
+ * allocated objects and their sizes per site, in the thread-local counters. Only the
+ * allocations made by the worker threads during the measurement iterations are reported.</p>
+ *
+ * <p>The instrumentation takes its toll on performance, and can affect the escape analysis,
+ * so the primary results are not reliable with this profiler. The allocations made inside
+ * JDK methods are not instrumented.</p>
+ */
+public class AllocationSiteProfiler implements ExternalProfiler, InternalProfiler {
+
+    private final int top;
+
+    private File agentJar;
+    private long[] beforeBytes;
+    private long[] beforeObjects;
+
+    @Override
+    public String getDescription() {
+        return "Allocation sites profiling via bytecode instrumentation";
+    }
+
+    public AllocationSiteProfiler(String initLine) throws ProfilerException {
+        OptionParser parser = new OptionParser();
+        parser.formatHelpWith(new ProfilerOptionFormatter("allocsite"));
+
+        OptionSpec<Integer> optTop = parser.accepts("top", "Number of top allocation sites to show.")
+                .withRequiredArg().withValuesConvertedBy(IntegerValueConverter.POSITIVE).describedAs("int").defaultsTo(10);
+
+        OptionSet set = ProfilerUtils.parseInitLine(initLine, parser);
+
+        try {
+            top = set.valueOf(optTop);
+        } catch (OptionException e) {
+            throw new ProfilerException(e.getMessage());
+        }
+
+        try {
+            Class.forName("org.objectweb.asm.ClassReader");
+        } catch (ClassNotFoundException e) {
+            throw new ProfilerException("ASM is not found on classpath, add org.ow2.asm:asm to the benchmark dependencies");
+        }
+    }
+
+    @Override
+    public Collection<String> addJVMInvokeOptions(BenchmarkParams params) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public Collection<String> addJVMOptions(BenchmarkParams params) {
+        try {
+            if (agentJar == null) {
+                agentJar = createAgentJar();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot create the agent jar", e);
+        }
+        return Collections.singletonList("-javaagent:" + agentJar.getAbsolutePath());
+    }
+
+    /**
+     * The agent classes are already on the forked VM classpath,
+     * the agent jar only needs the manifest that points to them.
+     */
+    private static File createAgentJar() throws IOException {
+        File jar = FileUtils.tempFile(".jar");
+
+        Manifest manifest = new Manifest();
+        Attributes attrs = manifest.getMainAttributes();
+        attrs.put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        attrs.put(new Attributes.Name("Premain-Class"), AllocationSiteAgent.class.getName());
+
+        try (JarOutputStream jos = new JarOutputStream(new FileOutputStream(jar), manifest)) {
+            jos.flush();
+        }
+        return jar;
+    }
+
+    @Override
+    public void beforeTrial(BenchmarkParams benchmarkParams) {
+        // do nothing
+    }
+
+    @Override
+    public Collection<? extends Result> afterTrial(BenchmarkResult br, long pid, File stdOut, File stdErr) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public boolean allowPrintOut() {
+        return true;
+    }
+
+    @Override
+    public boolean allowPrintErr() {
+        return true;
+    }
+
+    @Override
+    public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+        if (iterationParams.getType() != IterationType.MEASUREMENT || !AllocationSiteRecorder.isInstalled()) {
+            return;
+        }
+
+        int sites = AllocationSiteRecorder.sites().size();
+        beforeBytes = new long[sites];
+        beforeObjects = new long[sites];
+        sum(beforeBytes, beforeObjects);
+    }
+
+    @Override
+    public Collection<? extends Result> afterIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams, IterationResult result) {
+        if (iterationParams.getType() != IterationType.MEASUREMENT || !AllocationSiteRecorder.isInstalled()) {
+            return Collections.emptyList();
+        }
+
+        List<String> sites = AllocationSiteRecorder.sites();
+        long[] afterBytes = new long[sites.size()];
+        long[] afterObjects = new long[sites.size()];
+        sum(afterBytes, afterObjects);
+
+        Multiset<String> bytes = new HashMultiset<>();
+        Multiset<String> objects = new HashMultiset<>();
+        for (int s = 0; s < sites.size(); s++) {
+            long b = afterBytes[s] - ((s < beforeBytes.length) ? beforeBytes[s] : 0);
+            long o = afterObjects[s] - ((s < beforeObjects.length) ? beforeObjects[s] : 0);
+            if (o > 0) {
+                bytes.add(sites.get(s), b);
+                objects.add(sites.get(s), o);
+            }
+        }
+
+        long allOps = result.getMetadata().getAllOps();
+
+        Collection<Result> results = new ArrayList<>();
+        results.add(new ScalarResult("alloc.bytes.norm",
+                (allOps != 0) ? 1.0 * bytes.size() / allOps : Double.NaN,
+                "B/op", AggregationPolicy.AVG));
+        results.add(new ScalarResult("alloc.objects.norm",
+                (allOps != 0) ? 1.0 * objects.size() / allOps : Double.NaN,
+                "#/op", AggregationPolicy.AVG));
+        results.add(new SitesResult(bytes, objects, allOps, top));
+        return results;
+    }
+
+    private static void sum(long[] bytes, long[] objects) {
+        for (AllocationSiteRecorder.Counters c : AllocationSiteRecorder.counters()) {
+            String name = c.thread.getName();
+            if (name == null || !name.contains(ThreadCpuProfiler.WORKER_MARKER)) {
+                continue;
+            }
+            for (int s = 0; s < bytes.length; s++) {
+                bytes[s] += c.bytes(s);
+                objects[s] += c.objects(s);
+            }
+        }
+    }
+
+    static class SitesResult extends Result<SitesResult> {
+        private static final long serialVersionUID = 5187298301744939735L;
+
+        private final Multiset<String> bytes;
+        private final Multiset<String> objects;
+        private final long ops;
+        private final int top;
+
+        SitesResult(Multiset<String> bytes, Multiset<String> objects, long ops, int top) {
+            super(ResultRole.SECONDARY, "alloc.sites", of(Double.NaN), "---", AggregationPolicy.AVG);
+            this.bytes = bytes;
+            this.objects = objects;
+            this.ops = ops;
+            this.top = top;
+        }
+
+        @Override
+        protected Aggregator<SitesResult> getThreadAggregator() {
+            return new SitesResultAggregator();
+        }
+
+        @Override
+        protected Aggregator<SitesResult> getIterationAggregator() {
+            return new SitesResultAggregator();
+        }
+
+        @Override
+        public String toString() {
+            return "<delayed till summary>";
+        }
+
+        @Override
+        public String extendedInfo() {
+            StringBuilder sb = new StringBuilder();
+            if (bytes.isEmpty()) {
+                sb.append("No allocations recorded.\n");
+                return sb.toString();
+            }
+            if (ops == 0) {
+                sb.append("No operations recorded.\n");
+                return sb.toString();
+            }
+
+            sb.append(String.format("Top allocation sites, %.3f B/op and %.3f objects/op total:%n%n",
+                    1.0 * bytes.size() / ops, 1.0 * objects.size() / ops));
+            sb.append(String.format("%12s  %12s  %s%n", "B/op", "objects/op", "site"));
+            for (String site : Multisets.countHighest(bytes, top)) {
+                sb.append(String.format("%12.3f  %12.3f  %s%n",
+                        1.0 * bytes.count(site) / ops, 1.0 * objects.count(site) / ops, site));
+            }
+            return sb.toString();
+        }
+    }
+
+    static class SitesResultAggregator implements Aggregator<SitesResult> {
+        @Override
+        public SitesResult aggregate(Collection<SitesResult> results) {
+            Multiset<String> bytes = new HashMultiset<>();
+            Multiset<String> objects = new HashMultiset<>();
+            long ops = 0;
+            int top = 0;
+            for (SitesResult r : results) {
+                for (Map.Entry<String, Long> e : r.bytes.entrySet()) {
+                    bytes.add(e.getKey(), e.getValue());
+                }
+                for (Map.Entry<String, Long> e : r.objects.entrySet()) {
+                    objects.add(e.getKey(), e.getValue());
+                }
+                ops += r.ops;
+                top = r.top;
+            }
+            return new SitesResult(bytes, objects, ops, top);
+        }
+    }
+
+}
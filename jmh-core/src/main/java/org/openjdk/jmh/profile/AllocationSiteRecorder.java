@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2005, 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.profile;
+
+import java.lang.instrument.Instrumentation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Allocation counters updated by the code instrumented by {@link AllocationSiteAgent}.
+ *
+ * <p>Every thread counts into its own counters, so that the allocation path takes
+ * no locks and shares no cache lines with other threads. The counters are registered
+ * once per thread, and read racily by {@link AllocationSiteProfiler}.</p>
+ *
+ * <p>This class is public only because instrumented code calls it, it is not a
+ * user-facing API.</p>
+ */
+public final class AllocationSiteRecorder {
+
+    private static volatile Instrumentation instrumentation;
+
+    private static final List<String> SITES = new ArrayList<>();
+    private static final List<Counters> COUNTERS = new ArrayList<>();
+
+    private static final ThreadLocal<Counters> LOCAL = new ThreadLocal<Counters>() {
+        @Override
+        protected Counters initialValue() {
+            Counters c = new Counters(Thread.currentThread());
+            synchronized (COUNTERS) {
+                COUNTERS.add(c);
+            }
+            return c;
+        }
+    };
+
+    private AllocationSiteRecorder() {
+        // prevent instantiation
+    }
+
+    static void install(Instrumentation inst) {
+        instrumentation = inst;
+    }
+
+    static boolean isInstalled() {
+        return instrumentation != null;
+    }
+
+    /**
+     * Registers a new allocation site.
+     *
+     * @param desc human-readable site description
+     * @return site id to pass to {@link #record(Object, int)}
+     */
+    static int register(String desc) {
+        synchronized (SITES) {
+            SITES.add(desc);
+            return SITES.size() - 1;
+        }
+    }
+
+    static List<String> sites() {
+        synchronized (SITES) {
+            return new ArrayList<>(SITES);
+        }
+    }
+
+    static List<Counters> counters() {
+        synchronized (COUNTERS) {
+            return new ArrayList<>(COUNTERS);
+        }
+    }
+
+    /**
+     * Called by instrumented code after the allocation.
+     *
+     * @param obj allocated object
+     * @param site site id
+     */
+    public static void record(Object obj, int site) {
+        LOCAL.get().add(site, instrumentation.getObjectSize(obj));
+    }
+
+    static final class Counters {
+        final Thread thread;
+
+        // Only the owner thread updates the counters. The arrays are republished
+        // through the volatile write when they grow.
+        private volatile long[] bytes = new long[64];
+        private volatile long[] objects = new long[64];
+
+        Counters(Thread thread) {
+            this.thread = thread;
+        }
+
+        void add(int site, long size) {
+            long[] b = bytes;
+            long[] o = objects;
+            if (site >= b.length) {
+                int len = Math.max(b.length * 2, site + 1);
+                b = Arrays.copyOf(b, len);
+                o = Arrays.copyOf(o, len);
+                bytes = b;
+                objects = o;
+            }
+            b[site] += size;
+            o[site]++;
+        }
+
+        long bytes(int site) {
+            long[] b = bytes;
+            return (site < b.length) ? b[site] : 0;
+        }
+
+        long objects(int site) {
+            long[] o = objects;
+            return (site < o.length) ? o[site] : 0;
+        }
+    }
+
+}
@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) 2005, 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.profile;
+
+import org.objectweb.asm.*;
+
+import java.lang.instrument.ClassFileTransformer;
+import java.security.ProtectionDomain;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Instruments every allocation in the benchmark classes to call
+ * {@link AllocationSiteRecorder#record(Object, int)} with the allocated object.
+ *
+ * <p>The JDK classes and JMH infrastructure are not instrumented: the allocations
+ * made by the JDK code are not attributed to the benchmark call sites.</p>
+ */
+class AllocationSiteTransformer implements ClassFileTransformer {
+
+    private static final String RECORDER = Type.getInternalName(AllocationSiteRecorder.class);
+
+    private static final String[] EXCLUDES = {
+            "org/openjdk/jmh/annotations/",
+            "org/openjdk/jmh/generators/",
+            "org/openjdk/jmh/infra/",
+            "org/openjdk/jmh/profile/",
+            "org/openjdk/jmh/results/",
+            "org/openjdk/jmh/runner/",
+            "org/openjdk/jmh/util/",
+            "org/openjdk/jmh/Main",
+            "org/objectweb/asm/",
+            "joptsimple/",
+            "org/apache/commons/math3/",
+    };
+
+    private final ClassLoader platformLoader = ClassLoader.getSystemClassLoader().getParent();
+
+    @Override
+    public byte[] transform(ClassLoader loader, String className, Class<?> classBeingRedefined,
+                            ProtectionDomain protectionDomain, byte[] classfileBuffer) {
+        if (loader == null || loader == platformLoader || className == null || isExcluded(className)) {
+            return null;
+        }
+
+        try {
+            ClassReader reader = new ClassReader(classfileBuffer);
+            ClassWriter writer = new ClassWriter(reader, ClassWriter.COMPUTE_MAXS);
+            reader.accept(new ClassInstrumenter(writer), 0);
+            return writer.toByteArray();
+        } catch (Throwable t) {
+            // Leave the class alone, failing the class load would fail the benchmark.
+            return null;
+        }
+    }
+
+    static boolean isExcluded(String className) {
+        if (className.contains("/jmh_generated/")) {
+            return true;
+        }
+        for (String prefix : EXCLUDES) {
+            if (className.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static class ClassInstrumenter extends ClassVisitor {
+        private String className;
+        private String sourceFile;
+
+        ClassInstrumenter(ClassVisitor cv) {
+            super(Opcodes.ASM9, cv);
+        }
+
+        @Override
+        public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+            className = name.replace('/', '.');
+            super.visit(version, access, name, signature, superName, interfaces);
+        }
+
+        @Override
+        public void visitSource(String source, String debug) {
+            sourceFile = source;
+            super.visitSource(source, debug);
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+            MethodVisitor mv = super.visitMethod(access, name, descriptor, signature, exceptions);
+            return new MethodInstrumenter(mv, className + "." + name, sourceFile);
+        }
+    }
+
+    private static class MethodInstrumenter extends MethodVisitor {
+        private static final String UNTRACKED = "<untracked>";
+
+        private final String method;
+        private final String sourceFile;
+        private int line;
+
+        /**
+         * Pending NEW instructions, waiting for their constructor calls. {@link #UNTRACKED}
+         * means the NEW was not followed by DUP, and the reference would not be on stack
+         * after the constructor call.
+         */
+        private final Deque<String> pendingNews = new ArrayDeque<>();
+        private boolean afterNew;
+
+        MethodInstrumenter(MethodVisitor mv, String method, String sourceFile) {
+            super(Opcodes.ASM9, mv);
+            this.method = method;
+            this.sourceFile = sourceFile;
+        }
+
+        @Override
+        public void visitLineNumber(int line, Label start) {
+            this.line = line;
+            super.visitLineNumber(line, start);
+        }
+
+        @Override
+        public void visitTypeInsn(int opcode, String type) {
+            resolvePendingNew(false);
+            super.visitTypeInsn(opcode, type);
+            if (opcode == Opcodes.NEW) {
+                pendingNews.push(type);
+                afterNew = true;
+            } else if (opcode == Opcodes.ANEWARRAY) {
+                emitRecord(Type.getObjectType(type).getClassName() + "[]");
+            }
+        }
+
+        @Override
+        public void visitIntInsn(int opcode, int operand) {
+            resolvePendingNew(false);
+            super.visitIntInsn(opcode, operand);
+            if (opcode == Opcodes.NEWARRAY) {
+                emitRecord(primitiveArray(operand));
+            }
+        }
+
+        @Override
+        public void visitMultiANewArrayInsn(String descriptor, int numDimensions) {
+            resolvePendingNew(false);
+            super.visitMultiANewArrayInsn(descriptor, numDimensions);
+            // Only the outermost array is recorded, inner arrays are allocated by the VM.
+            emitRecord(Type.getType(descriptor).getClassName());
+        }
+
+        @Override
+        public void visitInsn(int opcode) {
+            resolvePendingNew(opcode == Opcodes.DUP);
+            super.visitInsn(opcode);
+        }
+
+        @Override
+        public void visitVarInsn(int opcode, int var) {
+            resolvePendingNew(false);
+            super.visitVarInsn(opcode, var);
+        }
+
+        @Override
+        public void visitFieldInsn(int opcode, String owner, String name, String descriptor) {
+            resolvePendingNew(false);
+            super.visitFieldInsn(opcode, owner, name, descriptor);
+        }
+
+        @Override
+        public void visitLdcInsn(Object value) {
+            resolvePendingNew(false);
+            super.visitLdcInsn(value);
+        }
+
+        @Override
+        public void visitJumpInsn(int opcode, Label label) {
+            resolvePendingNew(false);
+            super.visitJumpInsn(opcode, label);
+        }
+
+        @Override
+        public void visitIincInsn(int var, int increment) {
+            resolvePendingNew(false);
+            super.visitIincInsn(var, increment);
+        }
+
+        @Override
+        public void visitTableSwitchInsn(int min, int max, Label dflt, Label... labels) {
+            resolvePendingNew(false);
+            super.visitTableSwitchInsn(min, max, dflt, labels);
+        }
+
+        @Override
+        public void visitLookupSwitchInsn(Label dflt, int[] keys, Label[] labels) {
+            resolvePendingNew(false);
+            super.visitLookupSwitchInsn(dflt, keys, labels);
+        }
+
+        @Override
+        public void visitInvokeDynamicInsn(String name, String descriptor, Handle bsm, Object... bsmArgs) {
+            resolvePendingNew(false);
+            super.visitInvokeDynamicInsn(name, descriptor, bsm, bsmArgs);
+        }
+
+        @Override
+        public void visitMethodInsn(int opcode, String owner, String name, String descriptor, boolean isInterface) {
+            resolvePendingNew(false);
+            super.visitMethodInsn(opcode, owner, name, descriptor, isInterface);
+            if (opcode == Opcodes.INVOKESPECIAL && "<init>".equals(name) && !pendingNews.isEmpty()) {
+                // Constructor calls on "this" (super(...), this(...)) do not have the pending NEW;
+                // the rest match pending NEWs in the stack order.
+                String type = pendingNews.peek();
+                if (type == UNTRACKED) {
+                    pendingNews.pop();
+                } else if (type.equals(owner)) {
+                    pendingNews.pop();
+                    emitRecord(Type.getObjectType(type).getClassName());
+                }
+            }
+        }
+
+        private void resolvePendingNew(boolean dup) {
+            if (afterNew) {
+                afterNew = false;
+                if (!dup) {
+                    pendingNews.pop();
+                    pendingNews.push(UNTRACKED);
+                }
+            }
+        }
+
+        private void emitRecord(String type) {
+            String desc = method + "(" + (sourceFile != null ? sourceFile : "Unknown Source") +
+                    (line > 0 ? ":" + line : "") + "): new " + type;
+            int site = AllocationSiteRecorder.register(desc);
+
+            super.visitInsn(Opcodes.DUP);
+            super.visitLdcInsn(site);
+            super.visitMethodInsn(Opcodes.INVOKESTATIC, RECORDER, "record", "(Ljava/lang/Object;I)V", false);
+        }
+
+        private static String primitiveArray(int operand) {
+            switch (operand) {
+                case Opcodes.T_BOOLEAN: return "boolean[]";
+                case Opcodes.T_CHAR:    return "char[]";
+                case Opcodes.T_FLOAT:   return "float[]";
+                case Opcodes.T_DOUBLE:  return "double[]";
+                case Opcodes.T_BYTE:    return "byte[]";
+                case Opcodes.T_SHORT:   return "short[]";
+                case Opcodes.T_INT:     return "int[]";
+                case Opcodes.T_LONG:    return "long[]";
+                default:
+                    throw new IllegalArgumentException("Unknown array type: " + operand);
+            }
+        }
+    }
+
+}
@@ -51,7 +51,13 @@ import java.util.List;
  *
  * @author Jason Zaugg
  */
-public final class JavaFlightRecorderProfiler implements ExternalProfiler, InternalProfiler {
+public final class JavaFlightRecorderProfiler implements PipelinedProfiler, InternalProfiler {
+
+    /**
+     * Set for forked VMs when profilers are pipelined: the recording is only dumped there,
+     * and the post-processing runs in the host VM after the trial, along with the next fork.
+     */
+    static final String HOST_POST_PROCESS = "jmh.jfr.hostPostProcess";
 
     private final boolean verbose;
     private final File outDir;
@@ -63,7 +69,8 @@ public final class JavaFlightRecorderProfiler implements ExternalProfiler, Inter
     private boolean measurementStarted = false;
     private int measurementIterationCount;
     private String profileName;
-    private final List<File> generated = new ArrayList<>();
+    private final boolean hostPostProcess = Boolean.getBoolean(HOST_POST_PROCESS);
+    private boolean pipelined;
 
     public JavaFlightRecorderProfiler(String initLine) throws ProfilerException {
         OptionParser parser = new OptionParser();
@@ -141,21 +148,29 @@ public final class JavaFlightRecorderProfiler implements ExternalProfiler, Inter
             measurementIterationCount += 1;
             if (measurementIterationCount == iterationParams.getCount()) {
                 File trialOutDir = createTrialOutDir(benchmarkParams);
-                File jfrFile = new File(trialOutDir, "profile.jfr");
+                File jfrFile = new File(trialOutDir, profileFileName(hostPostProcess ? Utils.getPid() : 0));
                 String filenameOption = "filename=" + jfrFile.getAbsolutePath();
                 execute(benchmarkParams.getJvm(), "JFR.stop", Collections.singletonList(filenameOption));
-                generated.add(jfrFile);
-                if (postProcessor != null) {
-                    generated.addAll(postProcessor.postProcess(benchmarkParams, jfrFile));
+                if (hostPostProcess) {
+                    return Collections.emptyList();
                 }
-                return Collections.singletonList(result());
+                return Collections.singletonList(postProcess(benchmarkParams, jfrFile));
             }
         }
 
         return Collections.emptyList();
     }
 
-    private TextResult result() {
+    private TextResult postProcess(BenchmarkParams benchmarkParams, File jfrFile) {
+        List<File> generated = new ArrayList<>();
+        generated.add(jfrFile);
+        if (postProcessor != null) {
+            generated.addAll(postProcessor.postProcess(benchmarkParams, jfrFile));
+        }
+        return result(generated);
+    }
+
+    private TextResult result(List<File> generated) {
         StringWriter output = new StringWriter();
         PrintWriter pw = new PrintWriter(output);
         pw.println("JFR profiler results:");
@@ -168,6 +183,14 @@ public final class JavaFlightRecorderProfiler implements ExternalProfiler, Inter
         return new TextResult(output.toString(), "jfr");
     }
 
+    /**
+     * Pipelined forks dump to their own files: the post-processing for this fork may still
+     * be reading the file, while the next fork is dumping.
+     */
+    private static String profileFileName(long pid) {
+        return (pid != 0) ? "profile-" + pid + ".jfr" : "profile.jfr";
+    }
+
     private File createTrialOutDir(BenchmarkParams benchmarkParams) {
         String fileName = benchmarkParams.id();
         File trialOutDir = new File(this.outDir, fileName);
@@ -240,6 +263,10 @@ public final class JavaFlightRecorderProfiler implements ExternalProfiler, Inter
             args.add("-XX:+FlightRecorder");
         }
 
+        if (pipelined) {
+            args.add("-D" + HOST_POST_PROCESS + "=true");
+        }
+
         return args;
     }
 
@@ -247,9 +274,22 @@ public final class JavaFlightRecorderProfiler implements ExternalProfiler, Inter
     public void beforeTrial(BenchmarkParams benchmarkParams) {
     }
 
+    @Override
+    public void enablePipelining() {
+        pipelined = true;
+    }
+
     @Override
     public Collection<? extends Result> afterTrial(BenchmarkResult br, long pid, File stdOut, File stdErr) {
-        return Collections.emptyList();
+        if (!pipelined) {
+            // forked VM had post-processed the recording itself
+            return Collections.emptyList();
+        }
+        File jfrFile = new File(createTrialOutDir(br.getParams()), profileFileName(pid));
+        if (!jfrFile.exists()) {
+            return Collections.emptyList();
+        }
+        return Collections.singletonList(postProcess(br.getParams(), jfrFile));
     }
 
     @Override
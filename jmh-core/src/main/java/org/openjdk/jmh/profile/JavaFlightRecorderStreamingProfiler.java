@@ -0,0 +1,503 @@
+/*
+ * Copyright (c) 2005, 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.profile;
+
+import joptsimple.OptionException;
+import joptsimple.OptionParser;
+import joptsimple.OptionSet;
+import joptsimple.OptionSpec;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.results.*;
+import org.openjdk.jmh.runner.IterationType;
+import org.openjdk.jmh.runner.options.IntegerValueConverter;
+import org.openjdk.jmh.util.HashMultiset;
+import org.openjdk.jmh.util.Multiset;
+import org.openjdk.jmh.util.Multisets;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Streams the Java Flight Recorder events within the benchmark VM, and aggregates
+ * them into the secondary results for every iteration: compilations, deoptimizations,
+ * safepoints, contended monitor enters and parks of the worker threads, and the
+ * top allocated classes.
+ *
+ * <p>Flight Recorder streaming is only available in JDK 14+. The API is accessed
+ * reflectively to keep the code compilable with lower JDKs.</p>
+ */
+public class JavaFlightRecorderStreamingProfiler implements InternalProfiler {
+
+    static final String COMPILATION = "jdk.Compilation";
+    static final String DEOPTIMIZATION = "jdk.Deoptimization";
+    static final String SAFEPOINT_BEGIN = "jdk.SafepointBegin";
+    static final String VM_OPERATION = "jdk.ExecuteVMOperation";
+    static final String MONITOR_ENTER = "jdk.JavaMonitorEnter";
+    static final String THREAD_PARK = "jdk.ThreadPark";
+    static final String ALLOCATION_SAMPLE = "jdk.ObjectAllocationSample";
+
+    private final Api api;
+    private final Duration threshold;
+    private final int allocRate;
+    private final int topClasses;
+    private final long flushTimeoutMs;
+
+    private final Queue<Sample> samples = new ConcurrentLinkedQueue<>();
+    private final Object flushLock = new Object();
+    private long flushes;
+
+    private Object stream;
+    private Instant start;
+    private int measurementIterations;
+
+    @Override
+    public String getDescription() {
+        return "Java Flight Recorder event streaming (compilations, deopts, safepoints, contention, allocations)";
+    }
+
+    public JavaFlightRecorderStreamingProfiler(String initLine) throws ProfilerException {
+        OptionParser parser = new OptionParser();
+        parser.formatHelpWith(new ProfilerOptionFormatter("jfrstream"));
+
+        OptionSpec<Integer> optThreshold = parser.accepts("threshold", "Record the contended monitor enters " +
+                        "and parks longer than this threshold, in us.")
+                .withRequiredArg().withValuesConvertedBy(IntegerValueConverter.NON_NEGATIVE).describedAs("us").defaultsTo(0);
+
+        OptionSpec<Integer> optAllocRate = parser.accepts("allocRate", "Maximum number of allocation samples " +
+                        "to take per second. Higher rates make the allocation profile more accurate, at the expense " +
+                        "of more overhead.")
+                .withRequiredArg().withValuesConvertedBy(IntegerValueConverter.POSITIVE).describedAs("int").defaultsTo(150);
+
+        OptionSpec<Integer> optTop = parser.accepts("top", "Number of top allocated classes to show.")
+                .withRequiredArg().withValuesConvertedBy(IntegerValueConverter.POSITIVE).describedAs("int").defaultsTo(10);
+
+        OptionSpec<Integer> optFlushTimeout = parser.accepts("flushTimeout", "How long to wait after the " +
+                        "iteration for Flight Recorder to deliver the iteration events, in ms. Flight Recorder " +
+                        "flushes the events about every second, so every measurement iteration takes up to a second " +
+                        "longer, and up to this timeout if the flush is late.")
+                .withRequiredArg().withValuesConvertedBy(IntegerValueConverter.POSITIVE).describedAs("ms").defaultsTo(2000);
+
+        OptionSet set = ProfilerUtils.parseInitLine(initLine, parser);
+
+        try {
+            threshold = Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(set.valueOf(optThreshold)));
+            allocRate = set.valueOf(optAllocRate);
+            topClasses = set.valueOf(optTop);
+            flushTimeoutMs = set.valueOf(optFlushTimeout);
+        } catch (OptionException e) {
+            throw new ProfilerException(e.getMessage());
+        }
+
+        try {
+            api = new Api();
+        } catch (ReflectiveOperationException e) {
+            throw new ProfilerException("Flight Recorder event streaming is not available, JDK 14+ is required: " + e);
+        }
+    }
+
+    @Override
+    public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+        if (iterationParams.getType() != IterationType.MEASUREMENT) {
+            return;
+        }
+        if (stream == null) {
+            stream = startStream();
+            // Let the stream settle, so the first iteration events are delivered
+            awaitFlushes(1);
+        }
+        samples.clear();
+        start = Instant.now();
+    }
+
+    @Override
+    public Collection<? extends Result> afterIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams, IterationResult result) {
+        if (iterationParams.getType() != IterationType.MEASUREMENT) {
+            return Collections.emptyList();
+        }
+
+        Instant end = Instant.now();
+
+        // The next flush delivers the iteration events. If that flush was already in progress
+        // when the iteration ended, the events of its last moments are missed: waiting for
+        // another flush would cost another second per iteration.
+        awaitFlushes(1);
+
+        // Close the stream after the last measurement iteration: with -f 0, the next benchmark
+        // runs in the same VM. If the adaptive policy runs more iterations, they restart the stream.
+        measurementIterations++;
+        if (measurementIterations >= iterationParams.getCount()) {
+            closeStream();
+        }
+
+        long compilations = 0;
+        long compilationNs = 0;
+        long deopts = 0;
+        long safepoints = 0;
+        long safepointNs = 0;
+        long monitors = 0;
+        long monitorNs = 0;
+        long parks = 0;
+        long parkNs = 0;
+        Multiset<String> allocs = new HashMultiset<>();
+
+        Sample s;
+        while ((s = samples.poll()) != null) {
+            // Events that span the iteration boundaries only contribute their overlap
+            // with the iteration, otherwise the parks between iterations would dominate.
+            if (s.end.isBefore(start) || s.start.isAfter(end)) {
+                continue;
+            }
+            Instant from = s.start.isBefore(start) ? start : s.start;
+            Instant to = s.end.isAfter(end) ? end : s.end;
+            long ns = Duration.between(from, to).toNanos();
+
+            switch (s.type) {
+                case COMPILATION:
+                    compilations++;
+                    compilationNs += ns;
+                    break;
+                case DEOPTIMIZATION:
+                    deopts++;
+                    break;
+                case SAFEPOINT_BEGIN:
+                    safepoints++;
+                    safepointNs += ns;
+                    break;
+                case VM_OPERATION:
+                    safepointNs += ns;
+                    break;
+                case MONITOR_ENTER:
+                    monitors++;
+                    monitorNs += ns;
+                    break;
+                case THREAD_PARK:
+                    parks++;
+                    parkNs += ns;
+                    break;
+                case ALLOCATION_SAMPLE:
+                    allocs.add(s.key, s.weight);
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown event: " + s.type);
+            }
+        }
+
+        Collection<Result> results = new ArrayList<>();
+        results.add(new ScalarResult("jfr.compilation.count", compilations, "#", AggregationPolicy.SUM));
+        results.add(new ScalarResult("jfr.compilation.time", toMs(compilationNs), "ms", AggregationPolicy.SUM));
+        results.add(new ScalarResult("jfr.deoptimization.count", deopts, "#", AggregationPolicy.SUM));
+        results.add(new ScalarResult("jfr.safepoint.count", safepoints, "#", AggregationPolicy.SUM));
+        results.add(new ScalarResult("jfr.safepoint.time", toMs(safepointNs), "ms", AggregationPolicy.SUM));
+        results.add(new ScalarResult("jfr.monitor.count", monitors, "#", AggregationPolicy.SUM));
+        results.add(new ScalarResult("jfr.monitor.time", toMs(monitorNs), "ms", AggregationPolicy.SUM));
+        results.add(new ScalarResult("jfr.park.count", parks, "#", AggregationPolicy.SUM));
+        results.add(new ScalarResult("jfr.park.time", toMs(parkNs), "ms", AggregationPolicy.SUM));
+        results.add(new AllocationResult(allocs, topClasses));
+        return results;
+    }
+
+    private static double toMs(long ns) {
+        return ns / 1_000_000.0;
+    }
+
+    private Object startStream() {
+        try {
+            Object rs = api.newStream.newInstance();
+
+            enable(rs, COMPILATION, Duration.ZERO);
+            enable(rs, DEOPTIMIZATION, null);
+            enable(rs, SAFEPOINT_BEGIN, Duration.ZERO);
+            enable(rs, VM_OPERATION, Duration.ZERO);
+            enable(rs, MONITOR_ENTER, threshold);
+            enable(rs, THREAD_PARK, threshold);
+            Object alloc = enable(rs, ALLOCATION_SAMPLE, null);
+            api.with.invoke(alloc, "throttle", allocRate + "/s");
+
+            onEvent(rs, COMPILATION, e -> samples.add(new Sample(COMPILATION, api.startTime(e), api.endTime(e))));
+            onEvent(rs, DEOPTIMIZATION, e -> samples.add(new Sample(DEOPTIMIZATION, api.startTime(e), api.endTime(e))));
+            onEvent(rs, SAFEPOINT_BEGIN, e -> samples.add(new Sample(SAFEPOINT_BEGIN, api.startTime(e), api.endTime(e))));
+            onEvent(rs, VM_OPERATION, e -> {
+                if (api.getBoolean(e, "safepoint")) {
+                    samples.add(new Sample(VM_OPERATION, api.startTime(e), api.endTime(e)));
+                }
+            });
+            onEvent(rs, MONITOR_ENTER, e -> {
+                if (api.isWorker(e)) {
+                    samples.add(new Sample(MONITOR_ENTER, api.startTime(e), api.endTime(e)));
+                }
+            });
+            onEvent(rs, THREAD_PARK, e -> {
+                if (api.isWorker(e)) {
+                    samples.add(new Sample(THREAD_PARK, api.startTime(e), api.endTime(e)));
+                }
+            });
+            onEvent(rs, ALLOCATION_SAMPLE, e ->
+                    samples.add(new Sample(ALLOCATION_SAMPLE, api.startTime(e), api.endTime(e), api.className(e, "objectClass"), api.getLong(e, "weight"))));
+
+            api.onFlush.invoke(rs, (Runnable) () -> {
+                synchronized (flushLock) {
+                    flushes++;
+                    flushLock.notifyAll();
+                }
+            });
+
+            api.startAsync.invoke(rs);
+            return rs;
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Cannot start Flight Recorder event stream", e);
+        }
+    }
+
+    private void closeStream() {
+        try {
+            api.close.invoke(stream);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Cannot close Flight Recorder event stream", e);
+        } finally {
+            stream = null;
+        }
+    }
+
+    private Object enable(Object rs, String event, Duration threshold) throws InvocationTargetException, IllegalAccessException {
+        Object settings = api.enable.invoke(rs, event);
+        settings = api.withoutStackTrace.invoke(settings);
+        if (threshold != null) {
+            settings = api.withThreshold.invoke(settings, threshold);
+        }
+        return settings;
+    }
+
+    private void onEvent(Object rs, String event, Consumer<Object> action) throws InvocationTargetException, IllegalAccessException {
+        api.onEvent.invoke(rs, event, action);
+    }
+
+    private void awaitFlushes(int count) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushTimeoutMs);
+        synchronized (flushLock) {
+            long target = flushes + count;
+            while (flushes < target) {
+                long left = deadline - System.nanoTime();
+                if (left <= 0) {
+                    return;
+                }
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(flushLock, left);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static class Sample {
+        final String type;
+        final Instant start;
+        final Instant end;
+        final String key;
+        final long weight;
+
+        Sample(String type, Instant start, Instant end) {
+            this(type, start, end, null, 0);
+        }
+
+        Sample(String type, Instant start, Instant end, String key, long weight) {
+            this.type = type;
+            this.start = start;
+            this.end = end;
+            this.key = key;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * Reflective access to the Flight Recorder streaming API.
+     */
+    private static class Api {
+        final Constructor<?> newStream;
+        final Method enable;
+        final Method withThreshold;
+        final Method withoutStackTrace;
+        final Method with;
+        final Method onEvent;
+        final Method onFlush;
+        final Method startAsync;
+        final Method close;
+        final Method getStartTime;
+        final Method getEndTime;
+        final Method getThread;
+        final Method getJavaName;
+        final Method getBooleanField;
+        final Method getLongField;
+        final Method getClassField;
+        final Method getClassName;
+
+        Api() throws ReflectiveOperationException {
+            Class<?> rs = Class.forName("jdk.jfr.consumer.RecordingStream");
+            Class<?> es = Class.forName("jdk.jfr.EventSettings");
+            Class<?> re = Class.forName("jdk.jfr.consumer.RecordedEvent");
+            Class<?> ro = Class.forName("jdk.jfr.consumer.RecordedObject");
+            Class<?> rt = Class.forName("jdk.jfr.consumer.RecordedThread");
+            Class<?> rc = Class.forName("jdk.jfr.consumer.RecordedClass");
+
+            newStream = rs.getConstructor();
+            enable = rs.getMethod("enable", String.class);
+            withThreshold = es.getMethod("withThreshold", Duration.class);
+            withoutStackTrace = es.getMethod("withoutStackTrace");
+            with = es.getMethod("with", String.class, String.class);
+            onEvent = rs.getMethod("onEvent", String.class, Consumer.class);
+            onFlush = rs.getMethod("onFlush", Runnable.class);
+            startAsync = rs.getMethod("startAsync");
+            close = rs.getMethod("close");
+            getStartTime = re.getMethod("getStartTime");
+            getEndTime = re.getMethod("getEndTime");
+            getThread = re.getMethod("getThread");
+            getJavaName = rt.getMethod("getJavaName");
+            getBooleanField = ro.getMethod("getBoolean", String.class);
+            getLongField = ro.getMethod("getLong", String.class);
+            getClassField = ro.getMethod("getClass", String.class);
+            getClassName = rc.getMethod("getName");
+        }
+
+        private Object invoke(Method m, Object o, Object... args) {
+            try {
+                return m.invoke(o, args);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        Instant endTime(Object event) {
+            return (Instant) invoke(getEndTime, event);
+        }
+
+        Instant startTime(Object event) {
+            return (Instant) invoke(getStartTime, event);
+        }
+
+        boolean getBoolean(Object event, String field) {
+            return (Boolean) invoke(getBooleanField, event, field);
+        }
+
+        long getLong(Object event, String field) {
+            return (Long) invoke(getLongField, event, field);
+        }
+
+        String className(Object event, String field) {
+            Object klass = invoke(getClassField, event, field);
+            return (klass != null) ? (String) invoke(getClassName, klass) : "<unknown>";
+        }
+
+        boolean isWorker(Object event) {
+            Object thread = invoke(getThread, event);
+            if (thread == null) {
+                return false;
+            }
+            String name = (String) invoke(getJavaName, thread);
+            return name != null && name.contains(ThreadCpuProfiler.WORKER_MARKER);
+        }
+    }
+
+    /**
+     * Allocated bytes by class, as estimated by the allocation samples.
+     */
+    static class AllocationResult extends Result<AllocationResult> {
+        private static final long serialVersionUID = -4419834187322816353L;
+
+        private final Multiset<String> allocs;
+        private final int top;
+
+        AllocationResult(Multiset<String> allocs, int top) {
+            super(ResultRole.SECONDARY, "jfr.alloc", of(Double.NaN), "---", AggregationPolicy.AVG);
+            this.allocs = allocs;
+            this.top = top;
+        }
+
+        @Override
+        protected Aggregator<AllocationResult> getThreadAggregator() {
+            return new AllocationResultAggregator();
+        }
+
+        @Override
+        protected Aggregator<AllocationResult> getIterationAggregator() {
+            return new AllocationResultAggregator();
+        }
+
+        @Override
+        public String toString() {
+            return "<delayed till summary>";
+        }
+
+        @Override
+        public String extendedInfo() {
+            StringBuilder sb = new StringBuilder();
+            long total = allocs.size();
+            if (total == 0) {
+                sb.append("No allocation samples.\n");
+                return sb.toString();
+            }
+            sb.append(String.format("Top allocated classes, estimated from %s of sampled allocations:%n%n",
+                    formatBytes(total)));
+            for (String klass : Multisets.countHighest(allocs, top)) {
+                long bytes = allocs.count(klass);
+                sb.append(String.format("%5.1f%%  %10s  %s%n", bytes * 100.0 / total, formatBytes(bytes), klass));
+            }
+            return sb.toString();
+        }
+
+        private static String formatBytes(long bytes) {
+            if (bytes >= 1024 * 1024) {
+                return String.format("%.1f MB", bytes / 1024.0 / 1024.0);
+            } else if (bytes >= 1024) {
+                return String.format("%.1f KB", bytes / 1024.0);
+            } else {
+                return bytes + " B";
+            }
+        }
+    }
+
+    static class AllocationResultAggregator implements Aggregator<AllocationResult> {
+        @Override
+        public AllocationResult aggregate(Collection<AllocationResult> results) {
+            int top = 0;
+            Multiset<String> sum = new HashMultiset<>();
+            for (AllocationResult r : results) {
+                for (Map.Entry<String, Long> e : r.allocs.entrySet()) {
+                    sum.add(e.getKey(), e.getValue());
+                }
+                top = r.top;
+            }
+            return new AllocationResult(sum, top);
+        }
+    }
+
+}
@@ -30,14 +30,18 @@ import joptsimple.OptionSpec;
 import org.openjdk.jmh.infra.BenchmarkParams;
 import org.openjdk.jmh.util.*;
 
-import java.io.BufferedReader;
+import java.io.File;
 import java.io.FileOutputStream;
-import java.io.FileReader;
 import java.io.IOException;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
+import java.util.stream.Collectors;
 
-public class LinuxPerfAsmProfiler extends AbstractPerfAsmProfiler {
+public class LinuxPerfAsmProfiler extends AbstractPerfAsmProfiler implements PipelinedProfiler {
 
     private final String sampleFrequency;
 
@@ -230,59 +234,199 @@ public class LinuxPerfAsmProfiler extends AbstractPerfAsmProfiler {
 
         List<String> evNames = stripEventNames(requestedEventNames);
 
-        try (FileReader fr = new FileReader(perfParsedData.file());
-             BufferedReader reader = new BufferedReader(fr)) {
-            Deduplicator<MethodDesc> dedup = new Deduplicator<>();
+        try {
+            return parseEvents(perfParsedData.file(), evNames, readFrom, readTo, CHUNK_SIZE);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Size of the "perf script" output chunk that is parsed as a single task.
+     */
+    static final int CHUNK_SIZE = 16 * 1024 * 1024;
+
+    /**
+     * Lines that start in the chunk may end after it. This is how far the chunk parser
+     * is allowed to look past the chunk end to finish the line.
+     */
+    static final int MAX_LINE_LENGTH = 1024 * 1024;
+
+    /**
+     * Parses "perf script" output. The file is memory-mapped in chunks, and the chunks
+     * are parsed in parallel in the common ForkJoin pool. Every chunk handles the lines
+     * that start in that chunk.
+     */
+    static PerfEvents parseEvents(File file, List<String> evNames, double readFrom, double readTo, int chunkSize) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+
+            List<Chunk> chunks = new ArrayList<>();
+            for (long start = 0; start < fileSize; start += chunkSize) {
+                // Map one byte before the chunk to know if the first line starts in this chunk
+                long from = Math.max(0, start - 1);
+                long to = Math.min(fileSize, start + chunkSize + MAX_LINE_LENGTH);
+                ByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+                int begin = (int) (start - from);
+                chunks.add(new Chunk(buf, begin, begin + (int) Math.min(chunkSize, fileSize - start)));
+            }
+
+            final double startTime = firstTime(chunks);
+
+            List<ChunkEvents> parsed = chunks.parallelStream()
+                    .map(c -> parseChunk(c, evNames, startTime, readFrom, readTo))
+                    .collect(Collectors.toList());
+
+            Map<String, LongHashMultiset> merged = new HashMap<>();
+            Map<MethodDesc, long[]> ranges = new HashMap<>();
+            for (String evName : evNames) {
+                merged.put(evName, new LongHashMultiset());
+            }
+            for (ChunkEvents ce : parsed) {
+                for (Map.Entry<String, LongHashMultiset> e : ce.events.entrySet()) {
+                    merged.get(e.getKey()).addAll(e.getValue());
+                }
+                for (Map.Entry<MethodDesc, long[]> e : ce.ranges.entrySet()) {
+                    mergeRange(ranges, e.getKey(), e.getValue()[0], e.getValue()[1]);
+                }
+            }
 
-            Multimap<MethodDesc, Long> methods = new HashMultimap<>();
             Map<String, Multiset<Long>> events = new LinkedHashMap<>();
             for (String evName : evNames) {
-                events.put(evName, new TreeMultiset<>());
+                events.put(evName, merged.get(evName));
+            }
+
+            IntervalMap<MethodDesc> methodMap = new IntervalMap<>();
+            for (Map.Entry<MethodDesc, long[]> e : ranges.entrySet()) {
+                methodMap.add(e.getKey(), e.getValue()[0], e.getValue()[1]);
             }
 
-            Double startTime = null;
+            return new PerfEvents(evNames, events, methodMap);
+        }
+    }
+
+    private static void mergeRange(Map<MethodDesc, long[]> ranges, MethodDesc desc, long min, long max) {
+        long[] range = ranges.get(desc);
+        if (range == null) {
+            ranges.put(desc, new long[]{min, max});
+        } else {
+            range[0] = Math.min(range[0], min);
+            range[1] = Math.max(range[1], max);
+        }
+    }
 
+    /**
+     * Finds the time of the first sample, all sample times are counted from there.
+     */
+    private static double firstTime(List<Chunk> chunks) {
+        for (Chunk chunk : chunks) {
+            LineReader reader = new LineReader(chunk);
             String line;
-            while ((line = reader.readLine()) != null) {
+            while ((line = reader.next()) != null) {
                 PerfLine perfline = parsePerfLine(line);
-                if (perfline == null) {
-                    continue;
+                if (perfline != null) {
+                    return perfline.time();
                 }
+            }
+        }
+        return Double.NaN;
+    }
 
-                if (startTime == null) {
-                    startTime = perfline.time();
-                } else {
-                    if (perfline.time() - startTime < readFrom) {
-                        continue;
-                    }
-                    if (perfline.time() - startTime > readTo) {
-                        continue;
-                    }
-                }
+    private static ChunkEvents parseChunk(Chunk chunk, List<String> evNames, double startTime, double readFrom, double readTo) {
+        ChunkEvents ce = new ChunkEvents(evNames);
 
-                Multiset<Long> evs = events.get(perfline.eventName());
-                if (evs == null) {
-                    // we are not prepared to handle this event, skip
-                    continue;
-                }
+        LineReader reader = new LineReader(chunk);
+        String line;
+        while ((line = reader.next()) != null) {
+            PerfLine perfline = parsePerfLine(line);
+            if (perfline == null) {
+                continue;
+            }
 
-                evs.add(perfline.addr());
-                MethodDesc desc = dedup.dedup(MethodDesc.nativeMethod(perfline.symbol(), perfline.lib()));
-                methods.put(desc, perfline.addr());
+            double time = perfline.time() - startTime;
+            if (time < readFrom || time > readTo) {
+                continue;
             }
 
-            IntervalMap<MethodDesc> methodMap = new IntervalMap<>();
-            for (MethodDesc md : methods.keys()) {
-                Collection<Long> addrs = methods.get(md);
-                methodMap.add(md, Utils.min(addrs), Utils.max(addrs));
+            LongHashMultiset evs = ce.events.get(perfline.eventName());
+            if (evs == null) {
+                // we are not prepared to handle this event, skip
+                continue;
             }
 
-            return new PerfEvents(evNames, events, methodMap);
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+            evs.add(perfline.addr());
+            mergeRange(ce.ranges, MethodDesc.nativeMethod(perfline.symbol(), perfline.lib()), perfline.addr(), perfline.addr());
+        }
+        return ce;
+    }
+
+    private static class ChunkEvents {
+        final Map<String, LongHashMultiset> events = new HashMap<>();
+        final Map<MethodDesc, long[]> ranges = new HashMap<>();
+
+        ChunkEvents(List<String> evNames) {
+            for (String evName : evNames) {
+                events.put(evName, new LongHashMultiset());
+            }
         }
     }
 
+    private static class Chunk {
+        final ByteBuffer buf;
+        final int begin;
+        final int end;
+
+        Chunk(ByteBuffer buf, int begin, int end) {
+            this.buf = buf;
+            this.begin = begin;
+            this.end = end;
+        }
+    }
+
+    /**
+     * Reads the lines that start between the chunk begin and end. The last line
+     * is allowed to extend past the chunk end, up to the end of mapped buffer.
+     */
+    private static class LineReader {
+        private final ByteBuffer buf;
+        private final int end;
+        private int pos;
+        private byte[] bytes = new byte[256];
+
+        LineReader(Chunk chunk) {
+            this.buf = chunk.buf;
+            this.end = chunk.end;
+            this.pos = chunk.begin;
+
+            // The line that started in the previous chunk belongs to that chunk
+            if (pos > 0 && buf.get(pos - 1) != '\n') {
+                while (pos < end && buf.get(pos) != '\n') {
+                    pos++;
+                }
+                pos++;
+            }
+        }
+
+        String next() {
+            if (pos >= end) {
+                return null;
+            }
+
+            int limit = buf.limit();
+            int len = 0;
+            while (pos < limit) {
+                byte b = buf.get(pos++);
+                if (b == '\n') {
+                    break;
+                }
+                if (len == bytes.length) {
+                    bytes = Arrays.copyOf(bytes, len * 2);
+                }
+                bytes[len++] = b;
+            }
+            return new String(bytes, 0, len, StandardCharsets.UTF_8);
+        }
+    }
 
     @Override
     protected String perfBinaryExtension() {
@@ -39,7 +39,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.concurrent.TimeUnit;
 
-public final class LinuxPerfC2CProfiler implements ExternalProfiler {
+public final class LinuxPerfC2CProfiler implements PipelinedProfiler {
 
     protected final TempFile perfBinData;
 
@@ -29,7 +29,9 @@ import joptsimple.OptionParser;
 import joptsimple.OptionSet;
 import joptsimple.OptionSpec;
 import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
 import org.openjdk.jmh.results.*;
+import org.openjdk.jmh.runner.IterationType;
 import org.openjdk.jmh.util.*;
 
 import java.io.BufferedReader;
@@ -39,8 +41,9 @@ import java.io.IOException;
 import java.text.NumberFormat;
 import java.text.ParseException;
 import java.util.*;
+import java.util.regex.Pattern;
 
-public class LinuxPerfNormProfiler implements ExternalProfiler {
+public class LinuxPerfNormProfiler implements PipelinedProfiler, InternalProfiler {
 
     /** This is a non-exhaustive list of events we care about. */
     private static final String[] interestingEvents = new String[]{
@@ -62,6 +65,10 @@ public class LinuxPerfNormProfiler implements ExternalProfiler {
     private final boolean useDefaultStats;
     private final int incrementInterval;
     private final boolean doFilter;
+    private final boolean isControlled;
+
+    private PerfControl hostControl;
+    private final PerfControl forkedControl;
 
     private final Collection<String> supportedEvents = new ArrayList<>();
 
@@ -74,11 +81,13 @@ public class LinuxPerfNormProfiler implements ExternalProfiler {
                 .withRequiredArg().ofType(String.class).withValuesSeparatedBy(",").describedAs("event+");
 
         OptionSpec<Integer> optDelay = parser.accepts("delay",
-                        "Delay collection for a given time, in milliseconds; -1 to detect automatically.")
+                        "Delay collection for a given time, in milliseconds; -1 to detect automatically. " +
+                        "Ignored when the collection is controlled by the benchmark VM.")
                 .withRequiredArg().ofType(Integer.class).describedAs("ms").defaultsTo(-1);
 
         OptionSpec<Integer> optLength = parser.accepts("length",
-                "Do the collection for a given time, in milliseconds; -1 to detect automatically.")
+                "Do the collection for a given time, in milliseconds; -1 to detect automatically. " +
+                "Ignored when the collection is controlled by the benchmark VM.")
                 .withRequiredArg().ofType(Integer.class).describedAs("ms").defaultsTo(-1);
 
         OptionSpec<Integer> optIncrementInterval = parser.accepts("interval",
@@ -94,9 +103,15 @@ public class LinuxPerfNormProfiler implements ExternalProfiler {
                         "Use \"perf stat -d -d -d\" instead of explicit counter list.")
                 .withRequiredArg().ofType(Boolean.class).describedAs("bool").defaultsTo(false);
 
+        OptionSpec<Boolean> optControl = parser.accepts("control",
+                        "Let the benchmark VM enable the collection only during the measurement iterations, " +
+                        "via \"perf stat --control\". Falls back to incremental collection, if perf does not support it.")
+                .withRequiredArg().ofType(Boolean.class).describedAs("bool").defaultsTo(true);
+
         OptionSet set = ProfilerUtils.parseInitLine(initLine, parser);
 
         Collection<String> userEvents;
+        boolean control;
 
         try {
             delayMs = set.valueOf(optDelay);
@@ -105,10 +120,18 @@ public class LinuxPerfNormProfiler implements ExternalProfiler {
             doFilter = set.valueOf(optFilter);
             useDefaultStats = set.valueOf(optDefaultStat);
             userEvents = set.valuesOf(optEvents);
+            control = set.valueOf(optControl);
         } catch (OptionException e) {
             throw new ProfilerException(e.getMessage());
         }
 
+        forkedControl = PerfControl.fromProperty("perfnorm");
+        if (forkedControl != null) {
+            // Running in the forked VM, perf is already set up by the host VM
+            isControlled = true;
+            return;
+        }
+
         Collection<String> msgs = Utils.tryWith(PerfSupport.PERF_EXEC, "stat", "--log-fd", "2", "--field-separator", ",", "echo", "1");
         if (!msgs.isEmpty()) {
             throw new ProfilerException(msgs.toString());
@@ -145,6 +168,8 @@ public class LinuxPerfNormProfiler implements ExternalProfiler {
         if (!useDefaultStats && supportedEvents.isEmpty()) {
             throw new ProfilerException("No supported events.");
         }
+
+        isControlled = control && PerfControl.isSupported();
     }
 
     @Override
@@ -155,12 +180,39 @@ public class LinuxPerfNormProfiler implements ExternalProfiler {
         } else {
             cmd.addAll(Arrays.asList(PerfSupport.PERF_EXEC, "stat", "--log-fd", "2", "--field-separator", ",", "--event", Utils.join(supportedEvents, ",")));
         }
-        cmd.addAll(Arrays.asList("-I", String.valueOf(incrementInterval)));
+        if (isControlled) {
+            try {
+                hostControl = PerfControl.create("perfnorm");
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            cmd.addAll(hostControl.perfOptions());
+        } else {
+            cmd.addAll(Arrays.asList("-I", String.valueOf(incrementInterval)));
+        }
         return cmd;
     }
 
     @Override
     public Collection<String> addJVMOptions(BenchmarkParams params) {
+        if (hostControl != null) {
+            return Collections.singletonList(hostControl.jvmOption());
+        }
+        return Collections.emptyList();
+    }
+
+    @Override
+    public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+        if (forkedControl != null && iterationParams.getType() == IterationType.MEASUREMENT) {
+            forkedControl.enable();
+        }
+    }
+
+    @Override
+    public Collection<? extends Result> afterIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams, IterationResult result) {
+        if (forkedControl != null && iterationParams.getType() == IterationType.MEASUREMENT) {
+            forkedControl.disable();
+        }
         return Collections.emptyList();
     }
 
@@ -171,6 +223,9 @@ public class LinuxPerfNormProfiler implements ExternalProfiler {
 
     @Override
     public Collection<? extends Result> afterTrial(BenchmarkResult br, long pid, File stdOut, File stdErr) {
+        if (isControlled) {
+            return processControlled(br, stdErr);
+        }
         return process(br, stdOut, stdErr);
     }
 
@@ -318,33 +373,100 @@ public class LinuxPerfNormProfiler implements ExternalProfiler {
                 return emptyResults();
             }
 
-            Collection<Result> results = new ArrayList<>();
+            Map<String, Double> perOp = new HashMap<>();
             for (String key : finalThroughputs.keySet()) {
-                results.add(new PerfResult(key, "#/op", finalThroughputs.get(key) / opsThroughput));
+                perOp.put(key, finalThroughputs.get(key) / opsThroughput);
             }
+            return results(perOp);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 
-            // Also figure out IPC/CPI, if enough counters available:
-            {
-                Double c1 = finalThroughputs.get("cycles");
-                Double c2 = finalThroughputs.get("cycles:u");
+    private static final Pattern COUNT_PATTERN = Pattern.compile("[0-9]+([.,][0-9]+)?");
 
-                Double i1 = finalThroughputs.get("instructions");
-                Double i2 = finalThroughputs.get("instructions:u");
+    /**
+     * When perf is controlled by the benchmark VM, it only counts during the measurement
+     * iterations, and the final counters can be normalized by the measurement ops directly.
+     */
+    private Collection<? extends Result> processControlled(BenchmarkResult br, File stdErr) {
+        Map<String, Double> counts = new HashMap<>();
 
-                Double cycles = (c1 != null) ? c1 : c2;
-                Double instructions = (i1 != null) ? i1 : i2;
+        try (FileReader fr = new FileReader(stdErr);
+             BufferedReader reader = new BufferedReader(fr)) {
 
-                if (cycles != null && instructions != null &&
-                       cycles != 0 && instructions != 0) {
-                    results.add(new PerfResult("CPI", "clks/insn", cycles / instructions));
-                    results.add(new PerfResult("IPC", "insns/clk", instructions / cycles));
+            NumberFormat nf = NumberFormat.getInstance();
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("#")) continue;
+
+                // count,unit,event,<others>
+                String[] split = line.split(",");
+                if (split.length < 3) {
+                    continue;
                 }
-            }
 
-            return results;
+                String count = split[0].trim();
+                String event = split[2].trim();
+
+                // Skip "<not counted>", "<not supported>", and the VM output
+                if (!COUNT_PATTERN.matcher(count).matches() || event.isEmpty()) {
+                    continue;
+                }
+
+                try {
+                    counts.put(event, nf.parse(count).doubleValue());
+                } catch (ParseException e) {
+                    // do nothing, skip the line
+                }
+            }
         } catch (IOException e) {
             throw new IllegalStateException(e);
         }
+
+        BenchmarkResultMetaData md = br.getMetadata();
+        if (md == null) {
+            return emptyResults();
+        }
+
+        long ops = md.getMeasurementOps();
+        if (ops == 0) {
+            return emptyResults();
+        }
+
+        Map<String, Double> perOp = new HashMap<>();
+        for (String key : counts.keySet()) {
+            perOp.put(key, counts.get(key) / ops);
+        }
+        return results(perOp);
+    }
+
+    private static Collection<? extends Result> results(Map<String, Double> perOp) {
+        Collection<Result> results = new ArrayList<>();
+        for (String key : perOp.keySet()) {
+            results.add(new PerfResult(key, "#/op", perOp.get(key)));
+        }
+
+        // Also figure out IPC/CPI, if enough counters available:
+        {
+            Double c1 = perOp.get("cycles");
+            Double c2 = perOp.get("cycles:u");
+
+            Double i1 = perOp.get("instructions");
+            Double i2 = perOp.get("instructions:u");
+
+            Double cycles = (c1 != null) ? c1 : c2;
+            Double instructions = (i1 != null) ? i1 : i2;
+
+            if (cycles != null && instructions != null &&
+                   cycles != 0 && instructions != 0) {
+                results.add(new PerfResult("CPI", "clks/insn", cycles / instructions));
+                results.add(new PerfResult("IPC", "insns/clk", instructions / cycles));
+            }
+        }
+
+        return results;
     }
 
     private static Set<PerfResult> emptyResults() {
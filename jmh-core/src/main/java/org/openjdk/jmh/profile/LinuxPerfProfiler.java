@@ -29,7 +29,9 @@ import joptsimple.OptionParser;
 import joptsimple.OptionSet;
 import joptsimple.OptionSpec;
 import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
 import org.openjdk.jmh.results.*;
+import org.openjdk.jmh.runner.IterationType;
 import org.openjdk.jmh.util.ScoreFormatter;
 import org.openjdk.jmh.util.Utils;
 
@@ -45,33 +47,53 @@ import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-public class LinuxPerfProfiler implements ExternalProfiler {
+public class LinuxPerfProfiler implements PipelinedProfiler, InternalProfiler {
 
     private final boolean isDelayed;
+    private final boolean isControlled;
     private final int delayMs;
     private final List<String> events;
 
+    private PerfControl hostControl;
+    private final PerfControl forkedControl;
+
     public LinuxPerfProfiler(String initLine) throws ProfilerException {
         OptionParser parser = new OptionParser();
         parser.formatHelpWith(new ProfilerOptionFormatter("perf"));
 
         OptionSpec<Integer> optDelay = parser.accepts("delay",
-                "Delay collection for a given time, in milliseconds; -1 to detect automatically.")
+                "Delay collection for a given time, in milliseconds; -1 to detect automatically. " +
+                "Ignored when the collection is controlled by the benchmark VM.")
                 .withRequiredArg().ofType(Integer.class).describedAs("ms").defaultsTo(-1);
 
+        OptionSpec<Boolean> optControl = parser.accepts("control",
+                "Let the benchmark VM enable the collection only during the measurement iterations, " +
+                "via \"perf stat --control\". Falls back to delayed collection, if perf does not support it.")
+                .withRequiredArg().ofType(Boolean.class).describedAs("bool").defaultsTo(true);
+
         OptionSpec<String> optEvents = parser.accepts("events",
                         "Events to gather.")
                 .withRequiredArg().ofType(String.class).withValuesSeparatedBy(",").describedAs("event");
 
         OptionSet set = ProfilerUtils.parseInitLine(initLine, parser);
 
+        boolean control;
         try {
             events = set.valuesOf(optEvents);
             delayMs = set.valueOf(optDelay);
+            control = set.valueOf(optControl);
         } catch (OptionException e) {
             throw new ProfilerException(e.getMessage());
         }
 
+        forkedControl = PerfControl.fromProperty("perf");
+        if (forkedControl != null) {
+            // Running in the forked VM, perf is already set up by the host VM
+            isDelayed = true;
+            isControlled = true;
+            return;
+        }
+
         Collection<String> msgs = Utils.tryWith(PerfSupport.PERF_EXEC, "stat", "--log-fd", "2", "echo", "1");
         if (!msgs.isEmpty()) {
             throw new ProfilerException(msgs.toString());
@@ -79,6 +101,7 @@ public class LinuxPerfProfiler implements ExternalProfiler {
 
         Collection<String> delay = Utils.tryWith(PerfSupport.PERF_EXEC, "stat", "--log-fd", "2", "--delay", "1", "echo", "1");
         isDelayed = delay.isEmpty();
+        isControlled = control && PerfControl.isSupported();
     }
 
     @Override
@@ -94,7 +117,14 @@ public class LinuxPerfProfiler implements ExternalProfiler {
 
         List<String> invokeOptions = new ArrayList<>(Arrays.asList(PerfSupport.PERF_EXEC, "stat", "--log-fd", "2"));
 
-        if (isDelayed) {
+        if (isControlled) {
+            try {
+                hostControl = PerfControl.create("perf");
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            invokeOptions.addAll(hostControl.perfOptions());
+        } else if (isDelayed) {
             invokeOptions.add("--delay");
             invokeOptions.add(String.valueOf(delay));
         }
@@ -110,6 +140,24 @@ public class LinuxPerfProfiler implements ExternalProfiler {
 
     @Override
     public Collection<String> addJVMOptions(BenchmarkParams params) {
+        if (hostControl != null) {
+            return Collections.singletonList(hostControl.jvmOption());
+        }
+        return Collections.emptyList();
+    }
+
+    @Override
+    public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+        if (forkedControl != null && iterationParams.getType() == IterationType.MEASUREMENT) {
+            forkedControl.enable();
+        }
+    }
+
+    @Override
+    public Collection<? extends Result> afterIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams, IterationResult result) {
+        if (forkedControl != null && iterationParams.getType() == IterationType.MEASUREMENT) {
+            forkedControl.disable();
+        }
         return Collections.emptyList();
     }
 
@@ -181,7 +229,7 @@ public class LinuxPerfProfiler implements ExternalProfiler {
                 }
             }
 
-            if (!isDelayed) {
+            if (!isDelayed && !isControlled) {
                 pw.println();
                 pw.println("WARNING: Your system uses old \"perf\", which can not delay data collection.\n" +
                         "Therefore, perf performance data includes benchmark warmup.");
@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2005, 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.profile;
+
+import org.openjdk.jmh.util.FileUtils;
+import org.openjdk.jmh.util.Utils;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives the "perf stat --control fifo:" interface, so that perf only counts
+ * during the measurement iterations.
+ *
+ * <p>The host VM creates the control and acknowledgement FIFOs for every fork,
+ * starts perf with the counting disabled, and passes the FIFO paths to the
+ * forked VM with the system property. The forked VM then enables and disables
+ * the counting around the measurement iterations, and waits for perf to acknowledge
+ * every command.</p>
+ */
+class PerfControl {
+
+    private static final String PROPERTY_PREFIX = "jmh.perf.control.";
+
+    /**
+     * How long to wait for perf to acknowledge the command.
+     */
+    private static final long ACK_TIMEOUT_MS = 10_000;
+
+    /**
+     * How often to check for the acknowledgement. perf replies within microseconds,
+     * and the commands are sent at the iteration boundaries, so the wait should be short.
+     */
+    private static final long POLL_INTERVAL_NS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final String label;
+    private final File ctl;
+    private final File ack;
+
+    private OutputStream ctlStream;
+    private BufferedReader ackReader;
+
+    private PerfControl(String label, File ctl, File ack) {
+        this.label = label;
+        this.ctl = ctl;
+        this.ack = ack;
+    }
+
+    /**
+     * Checks if the current "perf" supports the control FIFOs.
+     *
+     * @return true, if supported
+     */
+    static boolean isSupported() {
+        try {
+            PerfControl c = create("sense");
+            Collection<String> msgs = Utils.tryWith(PerfSupport.PERF_EXEC, "stat", "--log-fd", "2",
+                    "--delay", "-1", "--control", c.controlArg(), "echo", "1");
+            c.ctl.delete();
+            c.ack.delete();
+            return msgs.isEmpty();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Creates the new FIFOs for the forked VM. Called in the host VM.
+     *
+     * @param label profiler label, distinguishes the profilers that run together
+     * @return perf control
+     * @throws IOException if FIFOs cannot be created
+     */
+    static PerfControl create(String label) throws IOException {
+        return new PerfControl(label, mkfifo(".ctl"), mkfifo(".ack"));
+    }
+
+    /**
+     * Picks up the FIFOs created by the host VM. Called in the forked VM.
+     *
+     * @param label profiler label
+     * @return perf control; null, if perf is not controlled
+     */
+    static PerfControl fromProperty(String label) {
+        String prop = System.getProperty(PROPERTY_PREFIX + label);
+        if (prop == null) {
+            return null;
+        }
+        String[] paths = prop.split(File.pathSeparator);
+        if (paths.length != 2) {
+            throw new IllegalStateException("Cannot parse perf control paths: " + prop);
+        }
+        return new PerfControl(label, new File(paths[0]), new File(paths[1]));
+    }
+
+    private static File mkfifo(String suffix) throws IOException {
+        File file = FileUtils.tempFile(suffix);
+        if (!file.delete()) {
+            throw new IOException("Cannot delete " + file);
+        }
+        Collection<String> msgs = Utils.tryWith("mkfifo", file.getAbsolutePath());
+        if (!msgs.isEmpty()) {
+            throw new IOException("Cannot create FIFO " + file + ": " + msgs);
+        }
+        return file;
+    }
+
+    private String controlArg() {
+        return "fifo:" + ctl.getAbsolutePath() + "," + ack.getAbsolutePath();
+    }
+
+    /**
+     * @return perf options that start perf with disabled counting, waiting for the commands
+     */
+    List<String> perfOptions() {
+        return Arrays.asList("--delay", "-1", "--control", controlArg());
+    }
+
+    /**
+     * @return JVM option that passes the FIFOs to the forked VM
+     */
+    String jvmOption() {
+        return "-D" + PROPERTY_PREFIX + label + "=" + ctl.getAbsolutePath() + File.pathSeparator + ack.getAbsolutePath();
+    }
+
+    void enable() {
+        command("enable", ACK_TIMEOUT_MS);
+    }
+
+    void disable() {
+        command("disable", ACK_TIMEOUT_MS);
+    }
+
+    void command(String cmd, long timeoutMs) {
+        try {
+            if (ctlStream == null) {
+                // perf holds both FIFOs open for read and write, these do not block
+                ctlStream = new FileOutputStream(ctl);
+                ackReader = new BufferedReader(new InputStreamReader(new FileInputStream(ack), StandardCharsets.US_ASCII));
+            }
+            ctlStream.write((cmd + "\n").getBytes(StandardCharsets.US_ASCII));
+            ctlStream.flush();
+
+            String reply = readReply(TimeUnit.MILLISECONDS.toNanos(timeoutMs));
+            if (reply == null) {
+                throw new IllegalStateException("perf did not acknowledge \"" + cmd + "\" in " + timeoutMs +
+                        " ms, is it still running?");
+            }
+            if (!reply.startsWith("ack")) {
+                throw new IllegalStateException("perf did not acknowledge \"" + cmd + "\": " + reply);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot send \"" + cmd + "\" to perf", e);
+        }
+    }
+
+    /**
+     * Reads the reply line without blocking past the timeout: perf may have died, and nobody would
+     * ever write to the FIFO again.
+     *
+     * @return reply; null, if there was no complete reply in time
+     */
+    private String readReply(long timeoutNs) throws IOException {
+        long deadline = System.nanoTime() + timeoutNs;
+        StringBuilder sb = new StringBuilder();
+        while (true) {
+            while (ackReader.ready()) {
+                int c = ackReader.read();
+                if (c == '\n') {
+                    return sb.toString();
+                }
+                // perf writes "ack\n\0": the trailing NUL ends up in front of the next reply
+                if (c != '\0') {
+                    sb.append((char) c);
+                }
+            }
+            if (System.nanoTime() - deadline > 0) {
+                return null;
+            }
+            LockSupport.parkNanos(POLL_INTERVAL_NS);
+        }
+    }
+
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2005, 2013, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.profile;
+
+/**
+ * External profiler which post-processing can be pipelined with the next trial.
+ *
+ * <p>When harness is asked to pipeline profilers, {@link #afterTrial} for these profilers
+ * may run in background, at low priority, while the next trial is already running. To make
+ * this safe, harness instantiates the fresh profiler for every trial, and implementations
+ * should not share any mutable state, including temporary files, between the instances.
+ * {@link #afterTrial} should also not rely on anything that lives past the forked VM, except
+ * the files it was handed and the files it had created itself.</p>
+ */
+public interface PipelinedProfiler extends ExternalProfiler {
+
+    /**
+     * Harness calls this before the trial, if {@link #afterTrial} for this instance
+     * is going to run in background. Profilers may use this to move the work from the
+     * forked VM to {@link #afterTrial}. This method executes before the benchmark JVM
+     * options are polled.
+     */
+    default void enablePipelining() {
+        // Do nothing by default
+    }
+
+}
@@ -164,11 +164,14 @@ public class ProfilerFactory {
 
     static {
         BUILT_IN = new TreeMap<>();
+        BUILT_IN.put("allocsite", AllocationSiteProfiler.class);
         BUILT_IN.put("async",    AsyncProfiler.class);
         BUILT_IN.put("cl",       ClassloaderProfiler.class);
         BUILT_IN.put("comp",     CompilerProfiler.class);
+        BUILT_IN.put("cpu",      ThreadCpuProfiler.class);
         BUILT_IN.put("gc",       GCProfiler.class);
         BUILT_IN.put("jfr",      JavaFlightRecorderProfiler.class);
+        BUILT_IN.put("jfrstream", JavaFlightRecorderStreamingProfiler.class);
         BUILT_IN.put("stack",    StackProfiler.class);
         BUILT_IN.put("perf",     LinuxPerfProfiler.class);
         BUILT_IN.put("perfnorm", LinuxPerfNormProfiler.class);
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2005, 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.profile;
+
+import joptsimple.OptionException;
+import joptsimple.OptionParser;
+import joptsimple.OptionSet;
+import joptsimple.OptionSpec;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.results.*;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.*;
+
+/**
+ * Reports the CPU time consumed by benchmark worker threads, sampled via
+ * {@link ThreadMXBean} at iteration boundaries.
+ *
+ * <p>Virtual threads are not visible to {@link ThreadMXBean}. When no platform
+ * worker threads are found, the profiler accounts the default virtual thread
+ * scheduler carriers instead, unless told otherwise.
+ */
+public class ThreadCpuProfiler implements InternalProfiler {
+
+    static final String WORKER_MARKER = "-jmh-worker-";
+    static final String CARRIER_PREFIX = "ForkJoinPool-";
+    static final String CARRIER_MARKER = "-worker-";
+
+    private final ThreadMXBean bean;
+    private final boolean carriersEnabled;
+
+    private Map<Long, long[]> before;
+    private long beforeTime;
+
+    @Override
+    public String getDescription() {
+        return "Per-thread CPU time profiling via standard MBeans";
+    }
+
+    public ThreadCpuProfiler(String initLine) throws ProfilerException {
+        OptionParser parser = new OptionParser();
+        parser.formatHelpWith(new ProfilerOptionFormatter(ThreadCpuProfiler.class.getCanonicalName()));
+
+        OptionSpec<Boolean> optCarriers = parser.accepts("carriers", "Account the virtual thread carriers " +
+                        "when no platform worker threads are found.")
+                .withRequiredArg().ofType(Boolean.class).describedAs("bool").defaultsTo(true);
+
+        OptionSet set = ProfilerUtils.parseInitLine(initLine, parser);
+
+        try {
+            carriersEnabled = set.valueOf(optCarriers);
+        } catch (OptionException e) {
+            throw new ProfilerException(e.getMessage());
+        }
+
+        bean = ManagementFactory.getThreadMXBean();
+        if (!bean.isThreadCpuTimeSupported()) {
+            throw new ProfilerException("Thread CPU time measurement is not supported by this JVM");
+        }
+        try {
+            if (!bean.isThreadCpuTimeEnabled()) {
+                bean.setThreadCpuTimeEnabled(true);
+            }
+        } catch (UnsupportedOperationException | SecurityException e) {
+            throw new ProfilerException("Cannot enable thread CPU time measurement: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+        before = snapshot();
+        beforeTime = System.nanoTime();
+    }
+
+    @Override
+    public Collection<? extends Result> afterIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams, IterationResult iResult) {
+        long afterTime = System.nanoTime();
+        Map<Long, long[]> after = snapshot();
+
+        long wallTime = afterTime - beforeTime;
+        long cpuTime = 0;
+        long userTime = 0;
+        double minUtil = Double.POSITIVE_INFINITY;
+        double maxUtil = 0;
+
+        for (Map.Entry<Long, long[]> e : after.entrySet()) {
+            long[] a = e.getValue();
+            long[] b = before.get(e.getKey());
+            long cpu = a[0] - ((b != null) ? b[0] : 0);
+            long user = a[1] - ((b != null) ? b[1] : 0);
+            cpuTime += cpu;
+            userTime += user;
+
+            double util = (wallTime > 0) ? 100.0 * cpu / wallTime : Double.NaN;
+            minUtil = Math.min(minUtil, util);
+            maxUtil = Math.max(maxUtil, util);
+        }
+
+        List<Result> results = new ArrayList<>();
+
+        int threads = after.size();
+        if (threads == 0) {
+            return results;
+        }
+
+        long sysTime = Math.max(0, cpuTime - userTime);
+
+        results.add(new ScalarResult("cpu.threads", threads, "#", AggregationPolicy.MAX));
+        results.add(new ScalarResult("cpu.utilization", (wallTime > 0) ? 100.0 * cpuTime / wallTime / threads : Double.NaN, "%", AggregationPolicy.AVG));
+        results.add(new ScalarResult("cpu.utilization.min", minUtil, "%", AggregationPolicy.MIN));
+        results.add(new ScalarResult("cpu.utilization.max", maxUtil, "%", AggregationPolicy.MAX));
+        results.add(new ScalarResult("cpu.user", (cpuTime > 0) ? 100.0 * userTime / cpuTime : Double.NaN, "%", AggregationPolicy.AVG));
+
+        long allOps = iResult.getMetadata().getAllOps();
+        if (allOps != 0) {
+            results.add(new ScalarResult("cpu.time.norm", 1.0 * cpuTime / allOps, "ns/op", AggregationPolicy.AVG));
+            results.add(new ScalarResult("cpu.user.norm", 1.0 * userTime / allOps, "ns/op", AggregationPolicy.AVG));
+            results.add(new ScalarResult("cpu.sys.norm", 1.0 * sysTime / allOps, "ns/op", AggregationPolicy.AVG));
+        }
+
+        return results;
+    }
+
+    /**
+     * Captures CPU and user times of threads that execute the workload.
+     * @return thread id -> {cpu time, user time}, ns
+     */
+    private Map<Long, long[]> snapshot() {
+        ThreadInfo[] infos = bean.getThreadInfo(bean.getAllThreadIds());
+
+        Map<Long, long[]> workers = capture(infos, false);
+        if (workers.isEmpty() && carriersEnabled) {
+            workers = capture(infos, true);
+        }
+        return workers;
+    }
+
+    private Map<Long, long[]> capture(ThreadInfo[] infos, boolean carriers) {
+        Map<Long, long[]> result = new HashMap<>();
+        for (ThreadInfo info : infos) {
+            if (info == null) continue;
+            if (!(carriers ? isCarrier(info.getThreadName()) : isWorker(info.getThreadName()))) continue;
+
+            long id = info.getThreadId();
+            long cpu = bean.getThreadCpuTime(id);
+            long user = bean.getThreadUserTime(id);
+            if (cpu < 0 || user < 0) {
+                // thread had died in between
+                continue;
+            }
+            result.put(id, new long[]{cpu, user});
+        }
+        return result;
+    }
+
+    static boolean isWorker(String name) {
+        return name != null && name.contains(WORKER_MARKER);
+    }
+
+    static boolean isCarrier(String name) {
+        return name != null && name.startsWith(CARRIER_PREFIX) && name.contains(CARRIER_MARKER);
+    }
+
+}
@@ -43,7 +43,7 @@ public class AverageTimeResult extends Result<AverageTimeResult> {
                 TimeValue.tuToString(tu) + "/op");
     }
 
-    AverageTimeResult(ResultRole mode, String label, Statistics value, String unit) {
+    public AverageTimeResult(ResultRole mode, String label, Statistics value, String unit) {
         super(mode, label, value, unit, AggregationPolicy.AVG);
     }
 
@@ -36,14 +36,22 @@ public class BenchmarkResultMetaData implements Serializable {
     private final long stopTime;
     private final long warmupOps;
     private final long measurementOps;
+    private final int warmupIterations;
+    private String threadPlacement;
 
     public BenchmarkResultMetaData(long warmupTime, long measurementTime, long stopTime, long warmupOps, long measurementOps) {
+        this(warmupTime, measurementTime, stopTime, warmupOps, measurementOps, -1);
+    }
+
+    public BenchmarkResultMetaData(long warmupTime, long measurementTime, long stopTime, long warmupOps, long measurementOps,
+                                   int warmupIterations) {
         this.startTime = Long.MIN_VALUE;
         this.warmupTime = warmupTime;
         this.measurementTime = measurementTime;
         this.stopTime = stopTime;
         this.warmupOps = warmupOps;
         this.measurementOps = measurementOps;
+        this.warmupIterations = warmupIterations;
     }
 
     public long getStartTime() {
@@ -73,6 +81,24 @@ public class BenchmarkResultMetaData implements Serializable {
         return warmupOps;
     }
 
+    /**
+     * @return number of warmup iterations actually done; -1, if unknown
+     */
+    public int getWarmupIterations() {
+        return warmupIterations;
+    }
+
+    /**
+     * @return CPUs the worker threads were pinned to, in thread index order, e.g. "0,2,4,6"; null, if unpinned
+     */
+    public String getThreadPlacement() {
+        return threadPlacement;
+    }
+
+    public void setThreadPlacement(String threadPlacement) {
+        this.threadPlacement = threadPlacement;
+    }
+
     public void adjustStart(long startTime) {
         this.startTime = startTime;
     }
@@ -31,6 +31,7 @@ public class RawResults {
     public long realTime;
     public long startTime;
     public long stopTime;
+    public long scheduleMisses;
 
     public long getTime() {
         return (realTime > 0) ? realTime : (stopTime - startTime);
@@ -25,12 +25,11 @@
 package org.openjdk.jmh.results;
 
 import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.util.Multimap;
+import org.openjdk.jmh.util.TreeMultimap;
 
 import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Comparator;
-import java.util.Map;
+import java.util.*;
 
 /**
  * Complete run result.
@@ -90,6 +89,27 @@ public class RunResult implements Serializable {
         return params;
     }
 
+    /**
+     * Merges the results of separate runs. Results for the same benchmark, mode and parameters
+     * are combined as if they came from the different forks of a single run, and their scores
+     * are aggregated again from all the iterations.
+     *
+     * @param results results to merge
+     * @return merged results, one per benchmark, mode and parameters
+     */
+    public static SortedSet<RunResult> merge(Collection<RunResult> results) {
+        Multimap<BenchmarkParams, BenchmarkResult> byParams = new TreeMultimap<>();
+        for (RunResult r : results) {
+            byParams.putAll(r.getParams(), r.getBenchmarkResults());
+        }
+
+        SortedSet<RunResult> merged = new TreeSet<>(DEFAULT_SORT_COMPARATOR);
+        for (BenchmarkParams key : byParams.keys()) {
+            merged.add(new RunResult(key, byParams.get(key)));
+        }
+        return merged;
+    }
+
     public static final Comparator<RunResult> DEFAULT_SORT_COMPARATOR = Comparator.comparing(o -> o.params);
 
 }
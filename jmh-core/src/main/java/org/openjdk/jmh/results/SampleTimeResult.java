@@ -28,6 +28,7 @@ import org.openjdk.jmh.runner.options.TimeValue;
 import org.openjdk.jmh.util.SampleBuffer;
 import org.openjdk.jmh.util.Statistics;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.concurrent.TimeUnit;
@@ -57,6 +58,13 @@ public class SampleTimeResult extends Result<SampleTimeResult> {
         this.outputTimeUnit = outputTimeUnit;
     }
 
+    /**
+     * @return histogram of the samples, in nanoseconds
+     */
+    public SampleBuffer getBuffer() {
+        return buffer;
+    }
+
     private static Statistics of(SampleBuffer buffer, TimeUnit outputTimeUnit) {
         double tuMultiplier = 1.0D * outputTimeUnit.convert(1, TimeUnit.DAYS) / TimeUnit.NANOSECONDS.convert(1, TimeUnit.DAYS);
         return buffer.getStatistics(tuMultiplier);
@@ -100,10 +108,10 @@ public class SampleTimeResult extends Result<SampleTimeResult> {
 
         @Override
         public SampleTimeResult aggregate(Collection<SampleTimeResult> results) {
-            SampleBuffer buffer = new SampleBuffer();
+            Collection<SampleBuffer> buffers = new ArrayList<>();
             TimeUnit tu = null;
             for (SampleTimeResult r : results) {
-                buffer.addAll(r.buffer);
+                buffers.add(r.buffer);
                 if (tu == null) {
                     tu = r.outputTimeUnit;
                 } else if (!tu.equals(r.outputTimeUnit)){
@@ -113,7 +121,7 @@ public class SampleTimeResult extends Result<SampleTimeResult> {
             return new SampleTimeResult(
                     AggregatorUtils.aggregateRoles(results),
                     AggregatorUtils.aggregateLabels(results),
-                    buffer,
+                    SampleBuffer.merge(buffers),
                     AggregatorUtils.aggregateUnits(results),
                     tu
             );
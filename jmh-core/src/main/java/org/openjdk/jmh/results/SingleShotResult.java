@@ -48,7 +48,7 @@ public class SingleShotResult extends Result<SingleShotResult> {
                 TimeValue.tuToString(outputTimeUnit) + "/op");
     }
 
-    SingleShotResult(ResultRole mode, String label, Statistics s, String unit) {
+    public SingleShotResult(ResultRole mode, String label, Statistics s, String unit) {
         super(mode, label, s, unit, AggregationPolicy.AVG);
     }
 
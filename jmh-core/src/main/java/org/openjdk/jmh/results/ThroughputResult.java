@@ -44,7 +44,7 @@ public class ThroughputResult extends Result<ThroughputResult> {
                 AggregationPolicy.SUM);
     }
 
-    ThroughputResult(ResultRole role, String label, Statistics s, String unit, AggregationPolicy policy) {
+    public ThroughputResult(ResultRole role, String label, Statistics s, String unit, AggregationPolicy policy) {
         super(role, label, s, unit, policy);
     }
 
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.results;
+
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.openjdk.jmh.util.ListStatistics;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Result class that holds the throughput in the consecutive sub-intervals of the iteration.
+ *
+ * <p>The score is the average throughput over the sub-intervals, and the statistics
+ * show how much it varied within the iteration. Aggregating the results joins their
+ * timelines.</p>
+ */
+public class TimelineResult extends Result<TimelineResult> {
+    private static final long serialVersionUID = -3866712834508862717L;
+
+    private final double[] timeline;
+
+    public TimelineResult(ResultRole role, String label, double[] timeline, TimeUnit outputTimeUnit) {
+        this(role, label, timeline, "ops/" + TimeValue.tuToString(outputTimeUnit));
+    }
+
+    public TimelineResult(ResultRole role, String label, double[] timeline, String unit) {
+        super(role, label, new ListStatistics(timeline), unit, AggregationPolicy.AVG);
+        this.timeline = timeline;
+    }
+
+    /**
+     * @return throughput in every sub-interval, in order
+     */
+    public double[] getTimeline() {
+        return timeline.clone();
+    }
+
+    @Override
+    protected Aggregator<TimelineResult> getThreadAggregator() {
+        return new JoiningAggregator();
+    }
+
+    @Override
+    protected Aggregator<TimelineResult> getIterationAggregator() {
+        return new JoiningAggregator();
+    }
+
+    /**
+     * Joins the timelines.
+     */
+    static class JoiningAggregator implements Aggregator<TimelineResult> {
+        @Override
+        public TimelineResult aggregate(Collection<TimelineResult> results) {
+            int size = 0;
+            for (TimelineResult r : results) {
+                size += r.timeline.length;
+            }
+            double[] joined = new double[size];
+            int pos = 0;
+            for (TimelineResult r : results) {
+                System.arraycopy(r.timeline, 0, joined, pos, r.timeline.length);
+                pos += r.timeline.length;
+            }
+            return new TimelineResult(
+                    AggregatorUtils.aggregateRoles(results),
+                    AggregatorUtils.aggregateLabels(results),
+                    joined,
+                    AggregatorUtils.aggregateUnits(results)
+            );
+        }
+    }
+
+}
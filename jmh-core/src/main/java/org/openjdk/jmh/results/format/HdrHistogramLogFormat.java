@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2005, 2014, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.results.format;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.BenchmarkResult;
+import org.openjdk.jmh.results.BenchmarkResultMetaData;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.SampleTimeResult;
+import org.openjdk.jmh.util.SampleBuffer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+
+/*
+ * Writes the latency histograms of every measurement iteration in the HdrHistogram
+ * interval log format, version 1.3: every histogram is tagged with the benchmark id,
+ * and encoded in the compressed V2 encoding. Results without histograms are skipped.
+ */
+class HdrHistogramLogFormat implements ResultFormat {
+
+    static final int ENCODING_COOKIE = 0x1c849303 | 0x10;
+    static final int COMPRESSED_ENCODING_COOKIE = 0x1c849304 | 0x10;
+
+    /**
+     * HdrHistogram log tools expect the interval maximums in milliseconds,
+     * while values are recorded in nanoseconds.
+     */
+    private static final double MAX_VALUE_UNIT_RATIO = 1_000_000.0;
+
+    private final PrintStream out;
+
+    public HdrHistogramLogFormat(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void writeOut(Collection<RunResult> results) {
+        long baseTime = Long.MAX_VALUE;
+        for (RunResult runResult : results) {
+            for (BenchmarkResult br : runResult.getBenchmarkResults()) {
+                BenchmarkResultMetaData md = br.getMetadata();
+                if (md != null) {
+                    baseTime = Math.min(baseTime, md.getMeasurementTime());
+                }
+            }
+        }
+        if (baseTime == Long.MAX_VALUE) {
+            baseTime = 0;
+        }
+
+        out.println("#[Histogram log format version 1.3]");
+        out.println(String.format(Locale.ROOT, "#[StartTime: %.3f (seconds since epoch), %s]", baseTime / 1000.0, new Date(baseTime)));
+        out.println("\"StartTimestamp\",\"Interval_Length\",\"Interval_Max\",\"Interval_Compressed_Histogram\"");
+
+        for (RunResult runResult : results) {
+            BenchmarkParams params = runResult.getParams();
+            String tag = params.id();
+            double length = params.getMeasurement().getTime().convertTo(TimeUnit.MILLISECONDS) / 1000.0;
+
+            for (BenchmarkResult br : runResult.getBenchmarkResults()) {
+                BenchmarkResultMetaData md = br.getMetadata();
+                double start = (md != null) ? (md.getMeasurementTime() - baseTime) / 1000.0 : 0;
+                for (IterationResult ir : br.getIterationResults()) {
+                    Result r = ir.getPrimaryResult();
+                    if (r instanceof SampleTimeResult) {
+                        SampleBuffer buffer = ((SampleTimeResult) r).getBuffer();
+                        out.println(String.format(Locale.ROOT, "Tag=%s,%.3f,%.3f,%.3f,%s",
+                                tag, start, length,
+                                maxValue(buffer) / MAX_VALUE_UNIT_RATIO,
+                                Base64.getEncoder().encodeToString(encodeCompressed(buffer))));
+                    }
+                    start += length;
+                }
+            }
+        }
+    }
+
+    /**
+     * @param buffer buffer
+     * @return highest value that is equivalent to the largest recorded sample
+     */
+    static long maxValue(SampleBuffer buffer) {
+        long[] max = new long[1];
+        int bits = buffer.getPrecisionBits();
+        buffer.forEach((value, count) -> {
+            int bucket = Math.max(0, Long.SIZE - bits - Long.numberOfLeadingZeros(value));
+            max[0] = value + (1L << bucket) - 1;
+        });
+        return max[0];
+    }
+
+    static byte[] encodeCompressed(SampleBuffer buffer) {
+        byte[] encoded = encode(buffer);
+
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        deflater.setInput(encoded);
+        deflater.finish();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        byte[] chunk = new byte[4096];
+        while (!deflater.finished()) {
+            int len = deflater.deflate(chunk);
+            compressed.write(chunk, 0, len);
+        }
+        deflater.end();
+
+        ByteBuffer bb = ByteBuffer.allocate(8 + compressed.size());
+        bb.putInt(COMPRESSED_ENCODING_COOKIE);
+        bb.putInt(compressed.size());
+        bb.put(compressed.toByteArray());
+        return bb.array();
+    }
+
+    /**
+     * Encodes the buffer in V2 encoding: the header, followed by the counts array in ZigZag LEB128,
+     * where the runs of zero counts are collapsed to the negative run lengths.
+     */
+    static byte[] encode(SampleBuffer buffer) {
+        int digits = buffer.getSignificantDigits();
+        if (SampleBuffer.precisionBits(digits) != buffer.getPrecisionBits()) {
+            // Re-bucket with the precision that has the exact HdrHistogram counterpart. This is
+            // coarser than the buffer, but the header should not claim the digits we do not have.
+            SampleBuffer exact = new SampleBuffer(digits);
+            exact.addAll(buffer);
+            buffer = exact;
+        }
+
+        int bits = buffer.getPrecisionBits();
+        ByteArrayOutputStream counts = new ByteArrayOutputStream();
+        long[] nextIndex = new long[1];
+        buffer.forEach((value, count) -> {
+            int bucket = Math.max(0, Long.SIZE - bits - Long.numberOfLeadingZeros(value));
+            long subBucket = value >> bucket;
+            long index = (bucket == 0) ? subBucket : ((long) (bucket + 1) << (bits - 1)) + subBucket - (1L << (bits - 1));
+            long zeros = index - nextIndex[0];
+            if (zeros > 1) {
+                putZigZag(counts, -zeros);
+            } else if (zeros == 1) {
+                putZigZag(counts, 0);
+            }
+            putZigZag(counts, count);
+            nextIndex[0] = index + 1;
+        });
+
+        ByteBuffer bb = ByteBuffer.allocate(40 + counts.size());
+        bb.putInt(ENCODING_COOKIE);
+        bb.putInt(counts.size());
+        bb.putInt(0); // normalizing index offset
+        bb.putInt(digits);
+        bb.putLong(1); // lowest discernible value
+        bb.putLong(Math.max(2, maxValue(buffer))); // highest trackable value
+        bb.putDouble(1.0); // integer to double conversion ratio
+        bb.put(counts.toByteArray());
+        return bb.array();
+    }
+
+    private static void putZigZag(ByteArrayOutputStream out, long value) {
+        long v = (value << 1) ^ (value >> 63);
+        for (int i = 0; i < 8; i++) {
+            if ((v & ~0x7FL) == 0) {
+                out.write((int) v);
+                return;
+            }
+            out.write((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.write((int) v);
+    }
+
+}
@@ -24,11 +24,15 @@
  */
 package org.openjdk.jmh.results.format;
 
+import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.infra.BenchmarkParams;
 import org.openjdk.jmh.results.BenchmarkResult;
+import org.openjdk.jmh.results.BenchmarkResultMetaData;
 import org.openjdk.jmh.results.IterationResult;
 import org.openjdk.jmh.results.Result;
 import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.TimelineResult;
+import org.openjdk.jmh.runner.Defaults;
 import org.openjdk.jmh.util.Statistics;
 import org.openjdk.jmh.util.Utils;
 
@@ -45,115 +49,200 @@ class JSONResultFormat implements ResultFormat {
             Boolean.parseBoolean(System.getProperty("jmh.json.rawData", "true"));
 
     private final PrintStream out;
+    private final boolean lines;
 
     public JSONResultFormat(PrintStream out) {
+        this(out, false);
+    }
+
+    /**
+     * @param out target stream
+     * @param lines true, to write the JSON Lines: one compact JSON object per benchmark per line;
+     *              false, to write the single pretty-printed JSON array
+     */
+    public JSONResultFormat(PrintStream out, boolean lines) {
         this.out = out;
+        this.lines = lines;
     }
 
     @Override
     public void writeOut(Collection<RunResult> results) {
-        StringWriter sw = new StringWriter();
-        PrintWriter pw = new PrintWriter(sw);
+        // Render and write out one benchmark at a time: the text for the entire
+        // document can easily be larger than all the results it was built from.
+        if (lines) {
+            for (RunResult runResult : results) {
+                out.println(compact(render(runResult)));
+            }
+            return;
+        }
 
+        out.print("[\n");
         boolean first = true;
-
-        pw.println("[");
         for (RunResult runResult : results) {
-            BenchmarkParams params = runResult.getParams();
-
             if (first) {
                 first = false;
-                pw.println();
             } else {
-                pw.println(",");
+                out.print(",\n");
             }
+            String s = tidy(render(runResult), 1);
+            out.print(s.substring(0, s.length() - 1));
+        }
+        if (!first) {
+            out.print("\n");
+        }
+        out.print("]\n\n");
+        out.println();
+    }
 
-            pw.println("{");
-            pw.println("\"jmhVersion\" : \"" + params.getJmhVersion() + "\",");
-            pw.println("\"benchmark\" : \"" + params.getBenchmark() + "\",");
-            pw.println("\"mode\" : \"" + params.getMode().shortLabel() + "\",");
-            pw.println("\"threads\" : " + params.getThreads() + ",");
-            pw.println("\"forks\" : " + params.getForks() + ",");
-            pw.println("\"jvm\" : " + toJsonString(params.getJvm()) + ",");
-            // if empty, write an empty array.
-            pw.println("\"jvmArgs\" : [");
-            printStringArray(pw, params.getJvmArgs());
-            pw.println("],");
-            pw.println("\"jdkVersion\" : " + toJsonString(params.getJdkVersion()) + ",");
-            pw.println("\"vmName\" : " + toJsonString(params.getVmName()) + ",");
-            pw.println("\"vmVersion\" : " + toJsonString(params.getVmVersion()) + ",");
-            pw.println("\"warmupIterations\" : " + params.getWarmup().getCount() + ",");
-            pw.println("\"warmupTime\" : \"" + params.getWarmup().getTime() + "\",");
-            pw.println("\"warmupBatchSize\" : " + params.getWarmup().getBatchSize() + ",");
-            pw.println("\"measurementIterations\" : " + params.getMeasurement().getCount() + ",");
-            pw.println("\"measurementTime\" : \"" + params.getMeasurement().getTime() + "\",");
-            pw.println("\"measurementBatchSize\" : " + params.getMeasurement().getBatchSize() + ",");
-
-            if (!params.getParamsKeys().isEmpty()) {
-                pw.println("\"params\" : {");
-                pw.println(emitParams(params));
-                pw.println("},");
-            }
+    private String render(RunResult runResult) {
+        StringWriter sw = new StringWriter();
+        PrintWriter pw = new PrintWriter(sw);
 
-            Result primaryResult = runResult.getPrimaryResult();
-            pw.println("\"primaryMetric\" : {");
-            pw.println("\"score\" : " + emit(primaryResult.getScore()) + ",");
-            pw.println("\"scoreError\" : " + emit(primaryResult.getScoreError()) + ",");
-            pw.println("\"scoreConfidence\" : " + emit(primaryResult.getScoreConfidence()) + ",");
-            pw.println(emitPercentiles(primaryResult.getStatistics()));
-            pw.println("\"scoreUnit\" : \"" + primaryResult.getScoreUnit() + "\",");
-
-            switch (params.getMode()) {
-                case SampleTime:
-                    pw.println("\"rawDataHistogram\" :");
-                    pw.println(getRawData(runResult, true));
-                    break;
-                default:
-                    pw.println("\"rawData\" :");
-                    pw.println(getRawData(runResult, false));
-            }
+        BenchmarkParams params = runResult.getParams();
 
-            pw.println("},"); // primaryMetric end
-
-            Collection<String> secondaries = new ArrayList<>();
-            for (Map.Entry<String, Result> e : runResult.getSecondaryResults().entrySet()) {
-                String secondaryName = e.getKey();
-                Result result = e.getValue();
-
-                StringBuilder sb = new StringBuilder();
-                sb.append("\"").append(secondaryName).append("\" : {");
-                sb.append("\"score\" : ").append(emit(result.getScore())).append(",");
-                sb.append("\"scoreError\" : ").append(emit(result.getScoreError())).append(",");
-                sb.append("\"scoreConfidence\" : ").append(emit(result.getScoreConfidence())).append(",");
-                sb.append(emitPercentiles(result.getStatistics()));
-                sb.append("\"scoreUnit\" : \"").append(result.getScoreUnit()).append("\",");
-                sb.append("\"rawData\" : ");
-
-                Collection<String> l2 = new ArrayList<>();
-                for (BenchmarkResult benchmarkResult : runResult.getBenchmarkResults()) {
-                    Collection<String> scores = new ArrayList<>();
-                    for (IterationResult r : benchmarkResult.getIterationResults()) {
-                        Result rr = r.getSecondaryResults().get(secondaryName);
-                        if (rr != null) {
-                            scores.add(emit(rr.getScore()));
-                        }
+        pw.println("{");
+        pw.println("\"jmhVersion\" : \"" + params.getJmhVersion() + "\",");
+        pw.println("\"benchmark\" : \"" + params.getBenchmark() + "\",");
+        pw.println("\"mode\" : \"" + params.getMode().shortLabel() + "\",");
+        pw.println("\"threads\" : " + params.getThreads() + ",");
+        String placement = getThreadPlacement(runResult);
+        if (placement != null) {
+            pw.println("\"threadPlacement\" : " + placement + ",");
+        }
+        pw.println("\"forks\" : " + params.getForks() + ",");
+        pw.println("\"jvm\" : " + toJsonString(params.getJvm()) + ",");
+        // if empty, write an empty array.
+        pw.println("\"jvmArgs\" : [");
+        printStringArray(pw, params.getJvmArgs());
+        pw.println("],");
+        pw.println("\"jdkVersion\" : " + toJsonString(params.getJdkVersion()) + ",");
+        pw.println("\"vmName\" : " + toJsonString(params.getVmName()) + ",");
+        pw.println("\"vmVersion\" : " + toJsonString(params.getVmVersion()) + ",");
+        pw.println("\"warmupIterations\" : " + params.getWarmup().getCount() + ",");
+        pw.println("\"warmupTime\" : \"" + params.getWarmup().getTime() + "\",");
+        pw.println("\"warmupBatchSize\" : " + params.getWarmup().getBatchSize() + ",");
+        String warmupUsed = getWarmupIterationsUsed(runResult);
+        if (warmupUsed != null) {
+            pw.println("\"warmupIterationsUsed\" : " + warmupUsed + ",");
+        }
+        pw.println("\"measurementIterations\" : " + params.getMeasurement().getCount() + ",");
+        pw.println("\"measurementTime\" : \"" + params.getMeasurement().getTime() + "\",");
+        pw.println("\"measurementBatchSize\" : " + params.getMeasurement().getBatchSize() + ",");
+        if (params.getMode() == Mode.FixedRate) {
+            pw.println("\"targetRate\" : " + emit(params.getTargetRate()) + ",");
+        }
+        if (params.getMode() == Mode.SampleTime || params.getMode() == Mode.FixedRate) {
+            pw.println("\"histogramDigits\" : " + params.getHistogramDigits() + ",");
+        }
+        if (params.getInFlight() != Defaults.IN_FLIGHT) {
+            pw.println("\"inFlight\" : " + params.getInFlight() + ",");
+        }
+        if (params.getTimelineInterval().getTime() > 0) {
+            pw.println("\"timelineInterval\" : \"" + params.getTimelineInterval() + "\",");
+        }
+
+        if (!params.getParamsKeys().isEmpty()) {
+            pw.println("\"params\" : {");
+            pw.println(emitParams(params));
+            pw.println("},");
+        }
+
+        Result primaryResult = runResult.getPrimaryResult();
+        pw.println("\"primaryMetric\" : {");
+        pw.println("\"score\" : " + emit(primaryResult.getScore()) + ",");
+        pw.println("\"scoreError\" : " + emit(primaryResult.getScoreError()) + ",");
+        pw.println("\"scoreConfidence\" : " + emit(primaryResult.getScoreConfidence()) + ",");
+        pw.println(emitPercentiles(primaryResult.getStatistics()));
+        pw.println("\"scoreUnit\" : \"" + primaryResult.getScoreUnit() + "\",");
+
+        switch (params.getMode()) {
+            case SampleTime:
+            case FixedRate:
+                pw.println(emitPercentileSpectrum(primaryResult.getStatistics()));
+                pw.print("\"rawDataHistogram\" : ");
+                pw.println(getRawData(runResult, true));
+                break;
+            default:
+                pw.print("\"rawData\" : ");
+                pw.println(getRawData(runResult, false));
+        }
+
+        pw.println("},"); // primaryMetric end
+
+        Collection<String> secondaries = new ArrayList<>();
+        for (Map.Entry<String, Result> e : runResult.getSecondaryResults().entrySet()) {
+            String secondaryName = e.getKey();
+            Result result = e.getValue();
+
+            StringBuilder sb = new StringBuilder();
+            sb.append("\"").append(secondaryName).append("\" : {");
+            sb.append("\"score\" : ").append(emit(result.getScore())).append(",");
+            sb.append("\"scoreError\" : ").append(emit(result.getScoreError())).append(",");
+            sb.append("\"scoreConfidence\" : ").append(emit(result.getScoreConfidence())).append(",");
+            sb.append(emitPercentiles(result.getStatistics()));
+            sb.append("\"scoreUnit\" : \"").append(result.getScoreUnit()).append("\",");
+            sb.append("\"rawData\" : ");
+
+            Collection<String> l2 = new ArrayList<>();
+            for (BenchmarkResult benchmarkResult : runResult.getBenchmarkResults()) {
+                Collection<String> scores = new ArrayList<>();
+                for (IterationResult r : benchmarkResult.getIterationResults()) {
+                    Result rr = r.getSecondaryResults().get(secondaryName);
+                    if (rr != null) {
+                        scores.add(emit(rr.getScore()));
                     }
-                    l2.add(printMultiple(scores, "[", "]"));
                 }
+                l2.add(printMultiple(scores, "[", "]"));
+            }
+
+            sb.append(printMultiple(l2, "[", "]"));
 
-                sb.append(printMultiple(l2, "[", "]"));
-                sb.append("}");
-                secondaries.add(sb.toString());
+            if (result instanceof TimelineResult) {
+                sb.append(",");
+                sb.append("\"rawDataTimeline\" : ");
+                sb.append(getTimelineData(runResult, secondaryName));
             }
-            pw.println("\"secondaryMetrics\" : {");
-            pw.println(printMultiple(secondaries, "", ""));
-            pw.println("}");
+            sb.append("}");
+            secondaries.add(sb.toString());
+        }
+        pw.println("\"secondaryMetrics\" : {");
+        pw.println(printMultiple(secondaries, "", ""));
+        pw.println("}");
+
+        pw.print("}"); // benchmark end
 
-            pw.print("}"); // benchmark end
+        pw.flush();
+        return sw.toString();
+    }
+
+    private String getWarmupIterationsUsed(RunResult runResult) {
+        Collection<String> forks = new ArrayList<>();
+        for (BenchmarkResult benchmarkResult : runResult.getBenchmarkResults()) {
+            BenchmarkResultMetaData md = benchmarkResult.getMetadata();
+            if (md == null || md.getWarmupIterations() < 0) {
+                return null;
+            }
+            forks.add(String.valueOf(md.getWarmupIterations()));
         }
-        pw.println("]");
+        if (forks.isEmpty()) {
+            return null;
+        }
+        return printMultiple(forks, "[", "]");
+    }
 
-        out.println(tidy(sw.toString()));
+    private String getThreadPlacement(RunResult runResult) {
+        Collection<String> forks = new ArrayList<>();
+        for (BenchmarkResult benchmarkResult : runResult.getBenchmarkResults()) {
+            BenchmarkResultMetaData md = benchmarkResult.getMetadata();
+            if (md == null || md.getThreadPlacement() == null) {
+                return null;
+            }
+            forks.add(toJsonString(md.getThreadPlacement()));
+        }
+        if (forks.isEmpty()) {
+            return null;
+        }
+        return printMultiple(forks, "[", "]");
     }
 
     private String getRawData(RunResult runResult, boolean histogram) {
@@ -182,6 +271,23 @@ class JSONResultFormat implements ResultFormat {
         return sb.toString();
     }
 
+    private String getTimelineData(RunResult runResult, String name) {
+        Collection<String> runs = new ArrayList<>();
+        if (PRINT_RAW_DATA) {
+            for (BenchmarkResult benchmarkResult : runResult.getBenchmarkResults()) {
+                Collection<String> iterations = new ArrayList<>();
+                for (IterationResult r : benchmarkResult.getIterationResults()) {
+                    Result rr = r.getSecondaryResults().get(name);
+                    if (rr instanceof TimelineResult) {
+                        iterations.add(emit(((TimelineResult) rr).getTimeline()));
+                    }
+                }
+                runs.add(printMultiple(iterations, "[", "]"));
+            }
+        }
+        return printMultiple(runs, "[", "]");
+    }
+
     private String emitParams(BenchmarkParams params) {
         StringBuilder sb = new StringBuilder();
         boolean isFirst = true;
@@ -197,6 +303,23 @@ class JSONResultFormat implements ResultFormat {
         return sb.toString();
     }
 
+    /**
+     * Emits the percentiles the same way HdrHistogram percentile distribution does: every next
+     * percentile halves the distance to 100, until there are not enough samples to tell them apart.
+     */
+    private String emitPercentileSpectrum(Statistics stats) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("\"scorePercentileSpectrum\" : {");
+        sb.append("\"").append(emit(0.0)).append("\" : ").append(emit(stats.getPercentile(0.0)));
+        for (double tail = 0.5; tail * stats.getN() >= 1; tail /= 2) {
+            double p = 100 * (1 - tail);
+            sb.append(",\"").append(emit(p)).append("\" : ").append(emit(stats.getPercentile(p)));
+        }
+        sb.append(",\"").append(emit(100.0)).append("\" : ").append(emit(stats.getPercentile(100.0)));
+        sb.append("},");
+        return sb.toString();
+    }
+
     private String emitPercentiles(Statistics stats) {
         StringBuilder sb = new StringBuilder();
         sb.append("\"scorePercentiles\" : {");
@@ -278,6 +401,10 @@ class JSONResultFormat implements ResultFormat {
     }
 
     static String tidy(String s) {
+        return tidy(s, 0);
+    }
+
+    static String tidy(String s, int baseIdent) {
         s = s.replaceAll("\r", "");
         s = s.replaceAll("\n", " ");
         s = s.replaceAll(",", ",\n");
@@ -288,26 +415,13 @@ class JSONResultFormat implements ResultFormat {
         s = s.replaceAll("\\]\n,\n", "],\n");
         s = s.replaceAll("\\}\n,\n", "},\n");
         s = s.replaceAll("\n( *)\n", "\n");
-
-        // Keep these inline:
-        s = s.replaceAll(";", ",");
-        s = s.replaceAll("\\<", "[");
-        s = s.replaceAll("\\>", "]");
-        // translate back from string escaping to keep all string characters intact
-        s = s.replaceAll("&:", ";");
-        s = s.replaceAll("&'", "\\\\\"");
-        s = s.replaceAll("&\\(", "{");
-        s = s.replaceAll("&\\)", "}");
-        s = s.replaceAll("&-", "<");
-        s = s.replaceAll("&=", ">");
-        s = s.replaceAll("&/", "\\\\\\\\");
-        s = s.replaceAll("&&", "&");
+        s = unescape(s);
 
         String[] lines = s.split("\n");
 
         StringBuilder sb = new StringBuilder();
 
-        int ident = 0;
+        int ident = baseIdent;
         String prevL = null;
         for (String l : lines) {
             if (prevL != null && (prevL.endsWith("{") || prevL.endsWith("["))) {
@@ -328,6 +442,31 @@ class JSONResultFormat implements ResultFormat {
         return sb.toString();
     }
 
+    /**
+     * Compacts the rendered text to the single line.
+     */
+    static String compact(String s) {
+        s = s.replaceAll("[\r\n]", "");
+        return unescape(s);
+    }
+
+    private static String unescape(String s) {
+        // Keep these inline:
+        s = s.replaceAll(";", ",");
+        s = s.replaceAll("\\<", "[");
+        s = s.replaceAll("\\>", "]");
+        // translate back from string escaping to keep all string characters intact
+        s = s.replaceAll("&:", ";");
+        s = s.replaceAll("&'", "\\\\\"");
+        s = s.replaceAll("&\\(", "{");
+        s = s.replaceAll("&\\)", "}");
+        s = s.replaceAll("&-", "<");
+        s = s.replaceAll("&=", ">");
+        s = s.replaceAll("&/", "\\\\\\\\");
+        s = s.replaceAll("&&", "&");
+        return s;
+    }
+
     private String printMultiple(Collection<String> elements, String leftBracket, String rightBracket) {
         StringBuilder sb = new StringBuilder();
         sb.append(leftBracket);
@@ -0,0 +1,695 @@
+/*
+ * Copyright (c) 2005, 2013, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.results.format;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.results.*;
+import org.openjdk.jmh.runner.Defaults;
+import org.openjdk.jmh.runner.IterationType;
+import org.openjdk.jmh.runner.WorkloadParams;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.openjdk.jmh.util.ListStatistics;
+import org.openjdk.jmh.util.SampleBuffer;
+import org.openjdk.jmh.util.SingletonStatistics;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads the results written with {@link ResultFormatType#JSON} and {@link ResultFormatType#JSONL}
+ * formats back into {@link RunResult}-s.
+ *
+ * <p>Every element of the raw data becomes the iteration result, and every raw data row
+ * becomes the benchmark result, so that the aggregated scores are computed the same way
+ * as in the original run. The original types of the secondary results are not recorded:
+ * these are restored as {@link ScalarResult}-s with the aggregation policy that matches
+ * the recorded score, or as the throughput and average time results, if only these match
+ * the recorded score. Text results cannot be restored, and are skipped.
+ *
+ * <p>Parameter values order is not recorded either: the reader orders them as they first
+ * appear, and keeps the order across all files it reads. Use the same reader instance
+ * to read the files which results are to be compared or merged.
+ */
+public class JSONResultReader {
+
+    private static final AggregationPolicy[] POLICIES = {
+            AggregationPolicy.AVG, AggregationPolicy.SUM, AggregationPolicy.MAX, AggregationPolicy.MIN
+    };
+
+    /**
+     * Parameter name -> parameter value -> parameter value order.
+     */
+    private final Map<String, Map<String, Integer>> paramOrders = new HashMap<>();
+
+    /**
+     * Reads the results from the file.
+     *
+     * @param file file to read
+     * @return results, in the file order
+     * @throws IOException if file cannot be read, or it does not contain the JMH results
+     */
+    public Collection<RunResult> read(String file) throws IOException {
+        try (Reader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+            try {
+                return read(reader);
+            } catch (IOException e) {
+                throw new IOException(file + ": " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Reads the results from the reader: either the JSON array of benchmark results,
+     * or the sequence of benchmark results, one per line.
+     *
+     * @param reader reader to read from
+     * @return results, in the reader order
+     * @throws IOException if results cannot be read
+     */
+    public Collection<RunResult> read(Reader reader) throws IOException {
+        Collection<RunResult> results = new ArrayList<>();
+        Parser parser = new Parser(reader);
+        Object value;
+        while ((value = parser.next()) != null) {
+            if (value instanceof List) {
+                for (Object v : (List<?>) value) {
+                    results.add(toRunResult(asObject(v, "benchmark result")));
+                }
+            } else {
+                results.add(toRunResult(asObject(value, "benchmark result")));
+            }
+        }
+        return results;
+    }
+
+    private RunResult toRunResult(Map<String, Object> json) throws IOException {
+        Map<String, Object> primary = asObject(json.get("primaryMetric"), "primaryMetric");
+        String unit = asString(primary.get("scoreUnit"), "scoreUnit");
+        BenchmarkParams params = toParams(json, toTimeUnit(unit));
+
+        String benchmark = params.getBenchmark();
+        String label = benchmark.substring(benchmark.lastIndexOf('.') + 1);
+
+        List<List<IterationResult>> forks = new ArrayList<>();
+        if (params.getMode() == Mode.SampleTime || params.getMode() == Mode.FixedRate) {
+            for (Object fork : asList(primary.get("rawDataHistogram"), "rawDataHistogram")) {
+                List<IterationResult> iterations = new ArrayList<>();
+                for (Object iter : asList(fork, "rawDataHistogram")) {
+                    SampleBuffer buffer = new SampleBuffer(params.getHistogramDigits());
+                    long nsMultiplier = TimeUnit.NANOSECONDS.convert(1, params.getTimeUnit());
+                    for (Object item : asList(iter, "rawDataHistogram")) {
+                        List<Object> pair = asList(item, "rawDataHistogram");
+                        if (pair.size() != 2) {
+                            throw new IOException("Malformed rawDataHistogram for " + benchmark);
+                        }
+                        long ns = Math.round(asDouble(pair.get(0)) * nsMultiplier);
+                        long count = (long) asDouble(pair.get(1));
+                        buffer.add(ns, count);
+                    }
+                    iterations.add(newIteration(params,
+                            new SampleTimeResult(ResultRole.PRIMARY, label, buffer, params.getTimeUnit())));
+                }
+                forks.add(iterations);
+            }
+        } else {
+            for (Object fork : asList(primary.get("rawData"), "rawData")) {
+                List<IterationResult> iterations = new ArrayList<>();
+                for (Object score : asList(fork, "rawData")) {
+                    iterations.add(newIteration(params, newPrimary(params.getMode(), label, asDouble(score), unit)));
+                }
+                forks.add(iterations);
+            }
+        }
+
+        int totalIterations = 0;
+        for (List<IterationResult> iterations : forks) {
+            totalIterations += iterations.size();
+        }
+        if (totalIterations == 0) {
+            throw new IOException("No raw data for " + benchmark + ", was it written with -Djmh.json.rawData=false?");
+        }
+
+        // These are derived from the primary result again.
+        Set<String> derivatives = forks.get(0).isEmpty() ?
+                Collections.<String>emptySet() :
+                forks.get(0).get(0).getSecondaryResults().keySet();
+
+        List<Result> benchmarkLevel = new ArrayList<>();
+
+        Object secondaryMetrics = json.get("secondaryMetrics");
+        if (secondaryMetrics != null) {
+            for (Map.Entry<String, Object> e : asObject(secondaryMetrics, "secondaryMetrics").entrySet()) {
+                String name = e.getKey();
+                if (derivatives.contains(name)) {
+                    continue;
+                }
+
+                Map<String, Object> metric = asObject(e.getValue(), name);
+                double score = asDouble(metric.get("score"));
+                String metricUnit = asString(metric.get("scoreUnit"), "scoreUnit");
+
+                if (metric.containsKey("rawDataTimeline")) {
+                    List<Object> timelineForks = asList(metric.get("rawDataTimeline"), "rawDataTimeline");
+                    for (int f = 0; f < timelineForks.size() && f < forks.size(); f++) {
+                        List<Object> values = asList(timelineForks.get(f), "rawDataTimeline");
+                        List<IterationResult> iterations = forks.get(f);
+                        for (int i = 0; i < values.size() && i < iterations.size(); i++) {
+                            List<Object> timeline = asList(values.get(i), "rawDataTimeline");
+                            double[] ds = new double[timeline.size()];
+                            for (int c = 0; c < ds.length; c++) {
+                                ds[c] = asDouble(timeline.get(c));
+                            }
+                            iterations.get(i).addResult(new TimelineResult(ResultRole.SECONDARY, name, ds, metricUnit));
+                        }
+                    }
+                    continue;
+                }
+
+                List<List<Double>> raw = new ArrayList<>();
+                ListStatistics stats = new ListStatistics();
+                for (Object fork : asList(metric.get("rawData"), "rawData")) {
+                    List<Double> values = new ArrayList<>();
+                    for (Object v : asList(fork, "rawData")) {
+                        double d = asDouble(v);
+                        values.add(d);
+                        stats.addValue(d);
+                    }
+                    raw.add(values);
+                }
+
+                if (stats.getN() == 0) {
+                    // Recorded for the entire benchmark, not for the iterations.
+                    if (!Double.isNaN(score)) {
+                        benchmarkLevel.add(new ScalarResult(name, score, metricUnit, AggregationPolicy.AVG));
+                    }
+                    continue;
+                }
+
+                // Scalar results aggregation fills the iterations that miss the result with zeros,
+                // other results aggregate only the iterations that have them.
+                ListStatistics filled = new ListStatistics();
+                for (List<Double> values : raw) {
+                    for (double v : values) {
+                        filled.addValue(v);
+                    }
+                }
+                for (long c = filled.getN(); c < totalIterations; c++) {
+                    filled.addValue(0);
+                }
+                AggregationPolicy policy = inferPolicy(filled, score);
+                boolean typed = (policy == null) && (inferPolicy(stats, score) == AggregationPolicy.AVG);
+
+                for (int f = 0; f < raw.size() && f < forks.size(); f++) {
+                    List<Double> values = raw.get(f);
+                    List<IterationResult> iterations = forks.get(f);
+                    for (int i = 0; i < values.size() && i < iterations.size(); i++) {
+                        iterations.get(i).addResult(newSecondary(name, values.get(i), metricUnit, policy, typed));
+                    }
+                }
+            }
+        }
+
+        List<Object> warmupUsed = null;
+        if (json.containsKey("warmupIterationsUsed")) {
+            warmupUsed = asList(json.get("warmupIterationsUsed"), "warmupIterationsUsed");
+        }
+
+        List<Object> placement = null;
+        if (json.containsKey("threadPlacement")) {
+            placement = asList(json.get("threadPlacement"), "threadPlacement");
+        }
+
+        Collection<BenchmarkResult> benchmarkResults = new ArrayList<>();
+        for (int f = 0; f < forks.size(); f++) {
+            BenchmarkResultMetaData md = null;
+            if (warmupUsed != null && f < warmupUsed.size()) {
+                md = new BenchmarkResultMetaData(0, 0, 0, 0, 0, (int) asDouble(warmupUsed.get(f)));
+            }
+            if (placement != null && f < placement.size()) {
+                if (md == null) {
+                    md = new BenchmarkResultMetaData(0, 0, 0, 0, 0);
+                }
+                md.setThreadPlacement(asString(placement.get(f), "threadPlacement"));
+            }
+            BenchmarkResult br = new BenchmarkResult(params, forks.get(f), md);
+            if (f == 0) {
+                for (Result r : benchmarkLevel) {
+                    br.addBenchmarkResult(r);
+                }
+            }
+            benchmarkResults.add(br);
+        }
+
+        return new RunResult(params, benchmarkResults);
+    }
+
+    private static IterationResult newIteration(BenchmarkParams params, Result primary) {
+        IterationResult ir = new IterationResult(params, params.getMeasurement(), null);
+        ir.addResult(primary);
+        return ir;
+    }
+
+    private static Result newPrimary(Mode mode, String label, double score, String unit) throws IOException {
+        switch (mode) {
+            case Throughput:
+                return new ThroughputResult(ResultRole.PRIMARY, label, new SingletonStatistics(score), unit, AggregationPolicy.SUM);
+            case AverageTime:
+                return new AverageTimeResult(ResultRole.PRIMARY, label, new SingletonStatistics(score), unit);
+            case SingleShotTime:
+                return new SingleShotResult(ResultRole.PRIMARY, label, new SingletonStatistics(score), unit);
+            default:
+                throw new IOException("Unknown benchmark mode: " + mode);
+        }
+    }
+
+    private static Result newSecondary(String label, double score, String unit, AggregationPolicy policy, boolean typed) {
+        if (typed) {
+            if (unit.startsWith("ops/")) {
+                return new ThroughputResult(ResultRole.SECONDARY, label, new SingletonStatistics(score), unit, AggregationPolicy.SUM);
+            }
+            if (unit.endsWith("/op")) {
+                return new AverageTimeResult(ResultRole.SECONDARY, label, new SingletonStatistics(score), unit);
+            }
+        }
+        return new ScalarResult(label, score, unit, (policy != null) ? policy : AggregationPolicy.AVG);
+    }
+
+    /**
+     * @return aggregation policy that yields the score; null, if there is none
+     */
+    private static AggregationPolicy inferPolicy(ListStatistics stats, double score) {
+        for (AggregationPolicy policy : POLICIES) {
+            double v;
+            switch (policy) {
+                case AVG:
+                    v = stats.getMean();
+                    break;
+                case SUM:
+                    v = stats.getSum();
+                    break;
+                case MAX:
+                    v = stats.getMax();
+                    break;
+                case MIN:
+                    v = stats.getMin();
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown aggregation policy: " + policy);
+            }
+            if (v == score || Math.abs(v - score) <= 1e-9 * Math.max(Math.abs(v), Math.abs(score))) {
+                return policy;
+            }
+        }
+        return null;
+    }
+
+    private BenchmarkParams toParams(Map<String, Object> json, TimeUnit tu) throws IOException {
+        String benchmark = asString(json.get("benchmark"), "benchmark");
+        String modeLabel = asString(json.get("mode"), "mode");
+
+        Mode mode;
+        try {
+            mode = Mode.deepValueOf(modeLabel);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            throw new IOException("Unknown benchmark mode: " + modeLabel, e);
+        }
+
+        WorkloadParams workloadParams = new WorkloadParams();
+        Object params = json.get("params");
+        if (params != null) {
+            for (Map.Entry<String, Object> e : asObject(params, "params").entrySet()) {
+                String value = asString(e.getValue(), e.getKey());
+                workloadParams.put(e.getKey(), value, paramOrder(e.getKey(), value));
+            }
+        }
+
+        List<String> jvmArgs = new ArrayList<>();
+        for (Object arg : asList(json.get("jvmArgs"), "jvmArgs")) {
+            jvmArgs.add(asString(arg, "jvmArgs"));
+        }
+
+        int threads = asInt(json.get("threads"), "threads");
+
+        Object targetRate = json.get("targetRate");
+        Object histogramDigits = json.get("histogramDigits");
+        Object inFlight = json.get("inFlight");
+        Object timelineInterval = json.get("timelineInterval");
+
+        return new BenchmarkParams(
+                benchmark,
+                benchmark + "_" + mode,
+                Defaults.SYNC_ITERATIONS,
+                threads,
+                new int[]{threads},
+                Collections.<String>emptyList(),
+                asInt(json.get("forks"), "forks"),
+                0,
+                new IterationParams(IterationType.WARMUP,
+                        asInt(json.get("warmupIterations"), "warmupIterations"),
+                        toTime(asString(json.get("warmupTime"), "warmupTime")),
+                        asInt(json.get("warmupBatchSize"), "warmupBatchSize")),
+                new IterationParams(IterationType.MEASUREMENT,
+                        asInt(json.get("measurementIterations"), "measurementIterations"),
+                        toTime(asString(json.get("measurementTime"), "measurementTime")),
+                        asInt(json.get("measurementBatchSize"), "measurementBatchSize")),
+                mode,
+                workloadParams,
+                tu,
+                Defaults.OPS_PER_INVOCATION,
+                asString(json.get("jvm"), "jvm"),
+                jvmArgs,
+                asString(json.get("jdkVersion"), "jdkVersion"),
+                asString(json.get("vmName"), "vmName"),
+                asString(json.get("vmVersion"), "vmVersion"),
+                asString(json.get("jmhVersion"), "jmhVersion"),
+                Defaults.TIMEOUT,
+                (targetRate != null) ? asDouble(targetRate) : Defaults.TARGET_RATE,
+                (histogramDigits != null) ? asInt(histogramDigits, "histogramDigits") : Defaults.HISTOGRAM_DIGITS,
+                (inFlight != null) ? asInt(inFlight, "inFlight") : Defaults.IN_FLIGHT,
+                (timelineInterval != null) ? toTime(asString(timelineInterval, "timelineInterval")) : Defaults.TIMELINE_INTERVAL);
+    }
+
+    private int paramOrder(String name, String value) {
+        Map<String, Integer> orders = paramOrders.get(name);
+        if (orders == null) {
+            orders = new HashMap<>();
+            paramOrders.put(name, orders);
+        }
+        Integer order = orders.get(value);
+        if (order == null) {
+            order = orders.size();
+            orders.put(value, order);
+        }
+        return order;
+    }
+
+    private static TimeValue toTime(String s) throws IOException {
+        if (s.equals(TimeValue.NONE.toString())) {
+            return TimeValue.NONE;
+        }
+        try {
+            return TimeValue.fromString(s);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Cannot parse time value: " + s, e);
+        }
+    }
+
+    /**
+     * Recovers the time unit from the score unit, e.g. "ops/ms" or "us/op".
+     */
+    private static TimeUnit toTimeUnit(String unit) throws IOException {
+        int idx = unit.indexOf('/');
+        if (idx != -1) {
+            String tu = unit.startsWith("ops/") ? unit.substring(idx + 1) : unit.substring(0, idx);
+            for (TimeUnit t : TimeUnit.values()) {
+                if (TimeValue.tuToString(t).equals(tu)) {
+                    return t;
+                }
+            }
+        }
+        throw new IOException("Cannot recover time unit from score unit: " + unit);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> asObject(Object o, String what) throws IOException {
+        if (o instanceof Map) {
+            return (Map<String, Object>) o;
+        }
+        throw new IOException("Expected object for " + what + ", got " + o);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object> asList(Object o, String what) throws IOException {
+        if (o instanceof List) {
+            return (List<Object>) o;
+        }
+        throw new IOException("Expected array for " + what + ", got " + o);
+    }
+
+    private static String asString(Object o, String what) throws IOException {
+        if (o instanceof String) {
+            return (String) o;
+        }
+        throw new IOException("Expected string for " + what + ", got " + o);
+    }
+
+    private static int asInt(Object o, String what) throws IOException {
+        if (o instanceof Double) {
+            return ((Double) o).intValue();
+        }
+        throw new IOException("Expected number for " + what + ", got " + o);
+    }
+
+    /**
+     * Numbers, and special values that {@link JSONResultFormat} writes as strings.
+     */
+    private static double asDouble(Object o) throws IOException {
+        if (o instanceof Double) {
+            return (Double) o;
+        }
+        if ("NaN".equals(o)) {
+            return Double.NaN;
+        }
+        if ("+INF".equals(o)) {
+            return Double.POSITIVE_INFINITY;
+        }
+        if ("-INF".equals(o)) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        throw new IOException("Expected number, got " + o);
+    }
+
+    /**
+     * Minimal JSON parser: objects become {@link LinkedHashMap}-s, arrays become {@link ArrayList}-s,
+     * and numbers become {@link Double}-s.
+     */
+    private static class Parser {
+        private final Reader reader;
+        private int pos;
+        private int peeked = -2;
+
+        Parser(Reader reader) {
+            this.reader = reader;
+        }
+
+        /**
+         * @return next top-level value; null, if there are no more values
+         */
+        Object next() throws IOException {
+            skipWhitespace();
+            if (peek() == -1) {
+                return null;
+            }
+            return value();
+        }
+
+        private int peek() throws IOException {
+            if (peeked == -2) {
+                peeked = reader.read();
+            }
+            return peeked;
+        }
+
+        private int read() throws IOException {
+            int c = peek();
+            peeked = -2;
+            pos++;
+            return c;
+        }
+
+        private void skipWhitespace() throws IOException {
+            while (Character.isWhitespace(peek())) {
+                read();
+            }
+        }
+
+        private void expect(char expected) throws IOException {
+            int c = read();
+            if (c != expected) {
+                throw error("expected '" + expected + "'", c);
+            }
+        }
+
+        private IOException error(String message, int c) {
+            return new IOException("Malformed JSON at offset " + (pos - 1) + ": " + message + ", got " +
+                    ((c == -1) ? "end of input" : "'" + (char) c + "'"));
+        }
+
+        private Object value() throws IOException {
+            skipWhitespace();
+            int c = peek();
+            switch (c) {
+                case '{':
+                    return object();
+                case '[':
+                    return array();
+                case '"':
+                    return string();
+                case 't':
+                    literal("true");
+                    return Boolean.TRUE;
+                case 'f':
+                    literal("false");
+                    return Boolean.FALSE;
+                case 'n':
+                    literal("null");
+                    return null;
+                default:
+                    if (c == '-' || (c >= '0' && c <= '9')) {
+                        return number();
+                    }
+                    throw error("expected value", read());
+            }
+        }
+
+        private Map<String, Object> object() throws IOException {
+            Map<String, Object> result = new LinkedHashMap<>();
+            expect('{');
+            skipWhitespace();
+            if (peek() == '}') {
+                read();
+                return result;
+            }
+            while (true) {
+                skipWhitespace();
+                String key = string();
+                skipWhitespace();
+                expect(':');
+                result.put(key, value());
+                skipWhitespace();
+                int c = read();
+                if (c == '}') {
+                    return result;
+                }
+                if (c != ',') {
+                    throw error("expected ',' or '}'", c);
+                }
+            }
+        }
+
+        private List<Object> array() throws IOException {
+            List<Object> result = new ArrayList<>();
+            expect('[');
+            skipWhitespace();
+            if (peek() == ']') {
+                read();
+                return result;
+            }
+            while (true) {
+                result.add(value());
+                skipWhitespace();
+                int c = read();
+                if (c == ']') {
+                    return result;
+                }
+                if (c != ',') {
+                    throw error("expected ',' or ']'", c);
+                }
+            }
+        }
+
+        private String string() throws IOException {
+            expect('"');
+            StringBuilder sb = new StringBuilder();
+            while (true) {
+                int c = read();
+                switch (c) {
+                    case -1:
+                        throw error("unterminated string", c);
+                    case '"':
+                        return sb.toString();
+                    case '\\':
+                        int e = read();
+                        switch (e) {
+                            case '"':
+                            case '\\':
+                            case '/':
+                                sb.append((char) e);
+                                break;
+                            case 'b':
+                                sb.append('\b');
+                                break;
+                            case 'f':
+                                sb.append('\f');
+                                break;
+                            case 'n':
+                                sb.append('\n');
+                                break;
+                            case 'r':
+                                sb.append('\r');
+                                break;
+                            case 't':
+                                sb.append('\t');
+                                break;
+                            case 'u':
+                                char[] hex = new char[4];
+                                for (int i = 0; i < 4; i++) {
+                                    hex[i] = (char) read();
+                                }
+                                try {
+                                    sb.append((char) Integer.parseInt(new String(hex), 16));
+                                } catch (NumberFormatException nfe) {
+                                    throw error("bad unicode escape", e);
+                                }
+                                break;
+                            default:
+                                throw error("bad escape", e);
+                        }
+                        break;
+                    default:
+                        sb.append((char) c);
+                }
+            }
+        }
+
+        private Double number() throws IOException {
+            StringBuilder sb = new StringBuilder();
+            int c = peek();
+            while (c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E' || (c >= '0' && c <= '9')) {
+                sb.append((char) read());
+                c = peek();
+            }
+            try {
+                return Double.valueOf(sb.toString());
+            } catch (NumberFormatException nfe) {
+                throw new IOException("Malformed JSON at offset " + pos + ": bad number " + sb);
+            }
+        }
+
+        private void literal(String literal) throws IOException {
+            for (int i = 0; i < literal.length(); i++) {
+                int c = read();
+                if (c != literal.charAt(i)) {
+                    throw error("expected " + literal, c);
+                }
+            }
+        }
+    }
+
+}
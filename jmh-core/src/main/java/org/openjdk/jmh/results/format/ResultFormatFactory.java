@@ -26,6 +26,8 @@ package org.openjdk.jmh.results.format;
 
 import org.openjdk.jmh.results.RunResult;
 
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.PrintStream;
 import java.util.Collection;
@@ -43,7 +45,7 @@ public class ResultFormatFactory {
     public static ResultFormat getInstance(final ResultFormatType type, final String file) {
         return results -> {
             try {
-                PrintStream pw = new PrintStream(file, "UTF-8");
+                PrintStream pw = new PrintStream(new BufferedOutputStream(new FileOutputStream(file)), false, "UTF-8");
                 ResultFormat rf = getInstance(type, pw);
                 rf.writeOut(results);
                 pw.flush();
@@ -78,8 +80,12 @@ public class ResultFormatFactory {
                 return new XSVResultFormat(out, ";");
             case JSON:
                 return new JSONResultFormat(out);
+            case JSONL:
+                return new JSONResultFormat(out, true);
             case LATEX:
                 return new LaTeXResultFormat(out);
+            case HLOG:
+                return new HdrHistogramLogFormat(out);
             default:
                 throw new IllegalStateException("Unsupported result format: " + type);
         }
@@ -30,6 +30,8 @@ public enum ResultFormatType {
     CSV,
     SCSV,
     JSON,
+    JSONL,
     LATEX,
+    HLOG,
 
 }
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.runner;
+
+import org.apache.commons.math3.distribution.TDistribution;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.util.Statistics;
+
+/**
+ * Decides when measurement has collected enough data to reach the target error.
+ */
+class AdaptivePolicy {
+
+    /**
+     * Confidence level for the error, matches the one used for reporting the score error.
+     */
+    static final double CONFIDENCE = 0.999;
+
+    private final double targetError;
+    private final int maxIterations;
+    private final int maxForks;
+
+    private AdaptivePolicy(double targetError, int maxIterations, int maxForks) {
+        this.targetError = targetError;
+        this.maxIterations = maxIterations;
+        this.maxForks = maxForks;
+    }
+
+    /**
+     * @param options options to use
+     * @return policy, or null if adaptive measurement is not requested
+     */
+    static AdaptivePolicy fromOptions(Options options) {
+        if (!options.getTargetRelativeError().hasValue()) {
+            return null;
+        }
+        return new AdaptivePolicy(
+                options.getTargetRelativeError().get(),
+                options.getMaxMeasurementIterations().orElse(Defaults.MAX_MEASUREMENT_ITERATIONS),
+                options.getMaxForkCount().orElse(Defaults.MAX_FORKS));
+    }
+
+    double getTargetError() {
+        return targetError;
+    }
+
+    int getMaxIterations(int minIterations) {
+        return Math.max(minIterations, maxIterations);
+    }
+
+    int getMaxForks(int minForks) {
+        return Math.max(minForks, maxForks);
+    }
+
+    /**
+     * @param stats statistics over the collected scores
+     * @return relative error of the mean; NaN, if not enough data
+     */
+    static double relativeError(Statistics stats) {
+        return stats.getMeanErrorAt(CONFIDENCE) / Math.abs(stats.getMean());
+    }
+
+    /**
+     * @param stats statistics over the collected scores
+     * @return true, if collected data already meets the target error
+     */
+    boolean isConverged(Statistics stats) {
+        return relativeError(stats) <= targetError;
+    }
+
+    /**
+     * Projects the relative error after one more sample, assuming the mean and
+     * the standard deviation stay the same. This allows to decide in advance
+     * if the next iteration is going to be the last one.
+     *
+     * @param stats statistics over the collected scores
+     * @return true, if one more sample is projected to meet the target error
+     */
+    boolean isConvergedWithNext(Statistics stats) {
+        long n = stats.getN() + 1;
+        if (n <= 2) {
+            return false;
+        }
+        TDistribution tDist = new TDistribution(n - 1);
+        double a = tDist.inverseCumulativeProbability(1 - (1 - CONFIDENCE) / 2);
+        double error = a * stats.getStandardDeviation() / Math.sqrt(n);
+        return error / Math.abs(stats.getMean()) <= targetError;
+    }
+
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.runner;
+
+import org.openjdk.jmh.util.SampleBuffer;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Tracks the asynchronous operations of a single worker thread.
+ *
+ * <p>The generated code submits every {@link CompletionStage} returned by the benchmark
+ * method here. Submission blocks until the number of outstanding operations drops below
+ * the in-flight limit, so the worker keeps exactly that many operations outstanding.
+ * Completions are counted and, if the window records latencies, their time since the
+ * operation start is added to the histogram.</p>
+ */
+public final class AsyncWindow {
+
+    private static final int SPIN_LIMIT = 100;
+    private static final long PARK_NS = 100_000L;
+
+    private final int limit;
+    private final SampleBuffer buffer;
+    private final long opsPerInv;
+    private final Thread owner;
+    private final AtomicInteger outstanding;
+
+    private volatile boolean recording;
+    private volatile Throwable failure;
+
+    /**
+     * @param limit maximum number of outstanding operations
+     */
+    public AsyncWindow(int limit) {
+        this(limit, null, 1);
+    }
+
+    /**
+     * @param limit maximum number of outstanding operations
+     * @param buffer histogram to record the completion latencies to; null, to skip latencies
+     * @param opsPerInv number of operations per single asynchronous operation
+     */
+    public AsyncWindow(int limit, SampleBuffer buffer, long opsPerInv) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Operations in flight should be positive: " + limit);
+        }
+        this.limit = limit;
+        this.buffer = buffer;
+        this.opsPerInv = opsPerInv;
+        this.owner = Thread.currentThread();
+        this.outstanding = new AtomicInteger();
+    }
+
+    /**
+     * Starts recording the completion latencies of the operations submitted from now on.
+     */
+    public void startRecording() {
+        recording = true;
+    }
+
+    /**
+     * Stops recording the completion latencies of the operations submitted from now on.
+     */
+    public void stopRecording() {
+        recording = false;
+    }
+
+    /**
+     * Registers the operation, and waits until there is room for the next one.
+     *
+     * @param startTime operation start time, as given by {@link System#nanoTime()}
+     * @param stage operation
+     * @throws Throwable if any of the completed operations have failed, or the thread is interrupted
+     */
+    public void submit(long startTime, CompletionStage<?> stage) throws Throwable {
+        if (stage == null) {
+            throw new NullPointerException("Asynchronous benchmark method returned null");
+        }
+        outstanding.incrementAndGet();
+        boolean record = recording && (buffer != null);
+        stage.whenComplete((r, t) -> complete(startTime, record, t));
+        await(limit - 1);
+    }
+
+    /**
+     * Waits until all the submitted operations complete.
+     *
+     * @throws Throwable if any of the completed operations have failed, or the thread is interrupted
+     */
+    public void drain() throws Throwable {
+        await(0);
+    }
+
+    /**
+     * @return number of operations currently outstanding
+     */
+    public int outstanding() {
+        return outstanding.get();
+    }
+
+    private void complete(long startTime, boolean record, Throwable t) {
+        if (record) {
+            long latency = (System.nanoTime() - startTime) / opsPerInv;
+            synchronized (buffer) {
+                buffer.add(latency);
+            }
+        }
+        if (t != null && failure == null) {
+            failure = (t instanceof CompletionException && t.getCause() != null) ? t.getCause() : t;
+        }
+        if (outstanding.decrementAndGet() < limit) {
+            LockSupport.unpark(owner);
+        }
+    }
+
+    private void await(int max) throws Throwable {
+        int spins = 0;
+        while (outstanding.get() > max) {
+            if (spins++ < SPIN_LIMIT) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(PARK_NS);
+            }
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+        Throwable t = failure;
+        if (t != null) {
+            throw t;
+        }
+    }
+
+}
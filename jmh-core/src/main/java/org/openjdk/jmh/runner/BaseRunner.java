@@ -32,6 +32,7 @@ import org.openjdk.jmh.results.BenchmarkResultMetaData;
 import org.openjdk.jmh.results.IterationResult;
 import org.openjdk.jmh.runner.format.OutputFormat;
 import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.util.ListStatistics;
 import org.openjdk.jmh.util.Multimap;
 import org.openjdk.jmh.util.TreeMultimap;
 import org.openjdk.jmh.util.Utils;
@@ -173,7 +174,7 @@ abstract class BaseRunner {
         }
     }
 
-    private long estimateTimeSingleFork(BenchmarkParams params) {
+    protected long estimateTimeSingleFork(BenchmarkParams params) {
         IterationParams wp = params.getWarmup();
         IterationParams mp = params.getMeasurement();
 
@@ -211,7 +212,7 @@ abstract class BaseRunner {
         out.println("");
     }
 
-    private String formatDuration(long nanos) {
+    protected String formatDuration(long nanos) {
         long days = TimeUnit.NANOSECONDS.toDays(nanos);
         nanos -= days * TimeUnit.DAYS.toNanos(1);
 
@@ -250,6 +251,13 @@ abstract class BaseRunner {
 
         // warmup
         IterationParams wp = benchParams.getWarmup();
+
+        // Steady state detection may cut the warmup short. Only do this when there are
+        // measurement iterations following, as the last iteration runs trial-level teardowns.
+        SteadyStateDetector steadyState = (benchParams.getMeasurement().getCount() > 0) ?
+                SteadyStateDetector.fromOptions(options) : null;
+
+        int warmupIterations = 0;
         for (int i = 1; i <= wp.getCount(); i++) {
             // will run system gc if we should
             if (runSystemGC()) {
@@ -263,13 +271,31 @@ abstract class BaseRunner {
             out.iterationResult(benchParams, wp, i, ir);
 
             allWarmup += ir.getMetadata().getAllOps();
+            warmupIterations = i;
+
+            if (steadyState != null) {
+                steadyState.add(ir.getPrimaryResult().getScore());
+                if (i < wp.getCount() && steadyState.isSteady()) {
+                    out.println("# Warmup reached steady state after " + i + " iterations");
+                    break;
+                }
+            }
         }
 
         long measurementTime = System.currentTimeMillis();
 
         // measurement
         IterationParams mp = benchParams.getMeasurement();
-        for (int i = 1; i <= mp.getCount(); i++) {
+
+        // With target error set, the iteration count is the minimum, and we continue
+        // until the error converges. The last iteration runs the trial-level teardowns,
+        // so we have to decide it is the last one before running it.
+        AdaptivePolicy policy = AdaptivePolicy.fromOptions(options);
+        int maxCount = (policy != null) ? policy.getMaxIterations(mp.getCount()) : mp.getCount();
+        ListStatistics scores = new ListStatistics();
+
+        boolean isLastIteration = (mp.getCount() == 0);
+        for (int i = 1; !isLastIteration; i++) {
             // will run system gc if we should
             if (runSystemGC()) {
                 out.verbosePrintln("System.gc() executed");
@@ -279,22 +305,34 @@ abstract class BaseRunner {
             out.iteration(benchParams, mp, i);
 
             boolean isFirstIteration = (benchParams.getWarmup().getCount() == 0) && (i == 1);
-            boolean isLastIteration = (i == mp.getCount());
+            isLastIteration = (i >= maxCount) ||
+                    (i >= mp.getCount() && (policy == null || policy.isConvergedWithNext(scores)));
             IterationResult ir = handler.runIteration(benchParams, mp, isFirstIteration, isLastIteration);
             out.iterationResult(benchParams, mp, i, ir);
 
             allMeasurement += ir.getMetadata().getAllOps();
+            scores.addValue(ir.getPrimaryResult().getScore());
 
             if (acceptor != null) {
                 acceptor.accept(ir);
             }
         }
 
+        if (policy != null && mp.getCount() > 0) {
+            out.verbosePrintln(String.format("Measurement stopped after %d iterations, relative error is %.2f%% (target: %.2f%%)",
+                    scores.getN(), AdaptivePolicy.relativeError(scores) * 100, policy.getTargetError() * 100));
+        }
+
         long stopTime = System.currentTimeMillis();
 
         BenchmarkResultMetaData md = new BenchmarkResultMetaData(
                 warmupTime, measurementTime, stopTime,
-                allWarmup, allMeasurement);
+                allWarmup, allMeasurement, warmupIterations);
+
+        int[] placement = handler.getPlacement();
+        if (placement != null) {
+            md.setThreadPlacement(ThreadAffinity.describe(placement));
+        }
 
         if (acceptor != null) {
             acceptor.acceptMeta(md);
@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.runner;
+
+import org.apache.commons.math3.distribution.NormalDistribution;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.BenchmarkResult;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.format.OutputFormat;
+import org.openjdk.jmh.util.ClassUtils;
+
+import java.util.*;
+
+/**
+ * Compares the run results against the baseline results. Every benchmark is matched
+ * with the baseline by benchmark name, mode and parameters, and the measurement
+ * iteration scores of both are compared with the two-sided Mann-Whitney U test.
+ */
+class BaselineComparison {
+
+    /**
+     * Confidence level for the verdicts.
+     */
+    static final double CONFIDENCE = 0.99;
+
+    enum Verdict {
+        IMPROVED,
+        REGRESSED,
+        UNCHANGED,
+        NO_BASELINE,
+    }
+
+    static class Comparison {
+        private final BenchmarkParams params;
+        private final String unit;
+        private final double baselineScore;
+        private final double score;
+        private final double change;
+        private final double delta;
+        private final double pValue;
+        private final Verdict verdict;
+
+        Comparison(BenchmarkParams params, String unit, double baselineScore, double score,
+                   double change, double delta, double pValue, Verdict verdict) {
+            this.params = params;
+            this.unit = unit;
+            this.baselineScore = baselineScore;
+            this.score = score;
+            this.change = change;
+            this.delta = delta;
+            this.pValue = pValue;
+            this.verdict = verdict;
+        }
+
+        BenchmarkParams getParams() {
+            return params;
+        }
+
+        /**
+         * @return relative change of the median score against the baseline
+         */
+        double getChange() {
+            return change;
+        }
+
+        /**
+         * @return Cliff's delta: probability that the score is above the baseline,
+         * minus the probability that it is below; from -1 to 1
+         */
+        double getDelta() {
+            return delta;
+        }
+
+        double getPValue() {
+            return pValue;
+        }
+
+        Verdict getVerdict() {
+            return verdict;
+        }
+    }
+
+    /**
+     * Compares the results against the baseline.
+     *
+     * @param baseline baseline results; results for the same benchmark are pooled together
+     * @param results current results
+     * @param threshold minimal relative change of the median score to report the change
+     * @return comparisons, in the order of current results
+     */
+    static List<Comparison> compare(Collection<RunResult> baseline, Collection<RunResult> results, double threshold) {
+        Map<String, List<Double>> baseScores = new HashMap<>();
+        for (RunResult r : baseline) {
+            List<Double> scores = baseScores.get(r.getParams().id());
+            if (scores == null) {
+                scores = new ArrayList<>();
+                baseScores.put(r.getParams().id(), scores);
+            }
+            scores.addAll(scores(r));
+        }
+
+        List<Comparison> comparisons = new ArrayList<>();
+        for (RunResult r : results) {
+            BenchmarkParams params = r.getParams();
+            String unit = r.getPrimaryResult().getScoreUnit();
+            List<Double> scores = scores(r);
+            List<Double> base = baseScores.get(params.id());
+            if (base == null || base.isEmpty() || scores.isEmpty()) {
+                comparisons.add(new Comparison(params, unit, Double.NaN, median(scores),
+                        Double.NaN, Double.NaN, Double.NaN, Verdict.NO_BASELINE));
+                continue;
+            }
+            comparisons.add(compare(params, unit, base, scores, threshold));
+        }
+        return comparisons;
+    }
+
+    static Comparison compare(BenchmarkParams params, String unit, List<Double> base, List<Double> scores, double threshold) {
+        double baseMedian = median(base);
+        double median = median(scores);
+        double change = (median - baseMedian) / Math.abs(baseMedian);
+
+        int n1 = scores.size();
+        int n2 = base.size();
+        double u = uStatistic(scores, base);
+        double delta = 2 * u / ((double) n1 * n2) - 1;
+        double pValue = pValue(scores, base, u);
+
+        Verdict verdict = Verdict.UNCHANGED;
+        if (pValue < 1 - CONFIDENCE && !(Math.abs(change) < threshold)) {
+            // Throughput is better when higher, all other modes measure time.
+            boolean higher = delta > 0;
+            boolean better = (params.getMode() == Mode.Throughput) == higher;
+            verdict = better ? Verdict.IMPROVED : Verdict.REGRESSED;
+        }
+
+        return new Comparison(params, unit, baseMedian, median, change, delta, pValue, verdict);
+    }
+
+    /**
+     * @return the number of (x, y) pairs where x is above y, ties count as one half
+     */
+    static double uStatistic(List<Double> xs, List<Double> ys) {
+        double u = 0;
+        for (double x : xs) {
+            for (double y : ys) {
+                if (x > y) {
+                    u += 1;
+                } else if (x == y) {
+                    u += 0.5;
+                }
+            }
+        }
+        return u;
+    }
+
+    /**
+     * Two-sided p-value from the normal approximation, with tie and continuity corrections.
+     */
+    static double pValue(List<Double> xs, List<Double> ys, double u) {
+        int n1 = xs.size();
+        int n2 = ys.size();
+        int n = n1 + n2;
+
+        Map<Double, Integer> ties = new HashMap<>();
+        for (double v : xs) {
+            Integer c = ties.get(v);
+            ties.put(v, (c == null) ? 1 : c + 1);
+        }
+        for (double v : ys) {
+            Integer c = ties.get(v);
+            ties.put(v, (c == null) ? 1 : c + 1);
+        }
+        double tieSum = 0;
+        for (int t : ties.values()) {
+            tieSum += (double) t * t * t - t;
+        }
+
+        double variance = (n < 2) ? 0 : (double) n1 * n2 / 12 * ((n + 1) - tieSum / ((double) n * (n - 1)));
+        if (!(variance > 0)) {
+            return 1.0;
+        }
+
+        double diff = Math.max(0, Math.abs(u - (double) n1 * n2 / 2) - 0.5);
+        double z = diff / Math.sqrt(variance);
+        return Math.min(1.0, 2 * new NormalDistribution().cumulativeProbability(-z));
+    }
+
+    static void print(OutputFormat out, String baselineFile, List<Comparison> comparisons, double threshold) {
+        out.println("");
+        out.println("# Baseline: " + baselineFile + ", Mann-Whitney U test at " + String.format("%.0f%%", CONFIDENCE * 100) +
+                " confidence" + ((threshold > 0) ? String.format(", changes under %.2f%% are ignored", threshold * 100) : ""));
+        out.println("");
+
+        Set<String> names = new TreeSet<>();
+        for (Comparison c : comparisons) {
+            names.add(c.params.getBenchmark());
+        }
+        Map<String, String> dense = ClassUtils.denseClassNames(names);
+
+        SummaryTable table = new SummaryTable(
+                new String[]{"Benchmark", "Mode", "Baseline", "Score", "Units", "Change", "Delta", "p-value", "Verdict"},
+                0, 4, 8);
+        for (Comparison c : comparisons) {
+            table.addRow(
+                    dense.get(c.params.getBenchmark()) + SummaryTable.paramsLabel(c.params, null),
+                    c.params.getMode().shortLabel(),
+                    SummaryTable.format("%.3f", c.baselineScore),
+                    SummaryTable.format("%.3f", c.score),
+                    c.unit,
+                    SummaryTable.format("%+.2f%%", c.change * 100),
+                    SummaryTable.format("%+.2f", c.delta),
+                    SummaryTable.format("%.4f", c.pValue),
+                    c.verdict.toString());
+        }
+        table.print(out);
+    }
+
+    private static List<Double> scores(RunResult result) {
+        List<Double> scores = new ArrayList<>();
+        for (BenchmarkResult br : result.getBenchmarkResults()) {
+            for (IterationResult ir : br.getIterationResults()) {
+                scores.add(ir.getPrimaryResult().getScore());
+            }
+        }
+        return scores;
+    }
+
+    private static double median(List<Double> values) {
+        if (values.isEmpty()) {
+            return Double.NaN;
+        }
+        List<Double> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        int n = sorted.size();
+        return (n % 2 == 1) ? sorted.get(n / 2) : (sorted.get(n / 2 - 1) + sorted.get(n / 2)) / 2;
+    }
+
+}
@@ -33,10 +33,14 @@ import org.openjdk.jmh.profile.ProfilerFactory;
 import org.openjdk.jmh.results.*;
 import org.openjdk.jmh.runner.format.OutputFormat;
 import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.ThreadPlacement;
 import org.openjdk.jmh.runner.options.TimeValue;
 import org.openjdk.jmh.util.ClassUtils;
+import org.openjdk.jmh.util.CpuTopology;
+import org.openjdk.jmh.util.Optional;
 import org.openjdk.jmh.util.Utils;
 
+import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.*;
@@ -59,6 +63,12 @@ class BenchmarkHandler {
 
     private final BlockingQueue<ThreadParams> tps;
 
+    /**
+     * CPU for every thread index; null, if threads are not pinned
+     */
+    private final int[] placement;
+    private final ConcurrentMap<Thread, Integer> pinned;
+
     private final OutputFormat out;
     private final List<InternalProfiler> profilers;
     private final List<InternalProfiler> profilersRev;
@@ -79,14 +89,23 @@ class BenchmarkHandler {
 
         int threads = executionParams.getThreads();
 
+        this.out = out;
+
+        List<ThreadParams> params = distributeThreads(threads, executionParams.getThreadGroups());
+        List<CpuTopology.Cpu> topology = new ArrayList<>();
+        placement = placeThreads(options.getThreadPlacement().orElse(Defaults.THREAD_PLACEMENT), params, topology);
+        if (placement != null) {
+            params = ThreadAffinity.place(params, placement, topology);
+        }
+        pinned = new ConcurrentHashMap<>();
+
         tps = new ArrayBlockingQueue<>(threads);
-        tps.addAll(distributeThreads(threads, executionParams.getThreadGroups()));
+        tps.addAll(params);
 
         workerDataBarrier = new CyclicBarrier(threads, this::captureUnusedWorkerData);
         workerData = new ConcurrentHashMap<>();
         unusedWorkerData = new ArrayBlockingQueue<>(threads);
 
-        this.out = out;
         try {
             executor = EXECUTOR_TYPE.createExecutor(threads, executionParams.getBenchmark());
         } catch (Exception e) {
@@ -130,6 +149,48 @@ class BenchmarkHandler {
         return result;
     }
 
+    private int[] placeThreads(ThreadPlacement tp, List<ThreadParams> params, List<CpuTopology.Cpu> topology) {
+        if (tp.getPolicy() == ThreadPlacement.Policy.NONE) {
+            return null;
+        }
+        if (EXECUTOR_TYPE == ExecutorType.VIRTUAL) {
+            out.println("# WARNING: Thread placement is not supported for virtual threads, running unpinned.");
+            return null;
+        }
+        try {
+            Optional<CpuTopology> detected = CpuTopology.detect();
+            if (detected.hasValue()) {
+                topology.addAll(detected.get().getCpus());
+            } else if (tp.getPolicy() != ThreadPlacement.Policy.LIST) {
+                // explicit CPU lists do not need the topology
+                throw new IOException("CPU topology is not available");
+            }
+            int[] cpus = ThreadAffinity.assign(tp, topology, params);
+            out.println("# Thread placement: " + tp + ", CPUs: " + ThreadAffinity.describe(cpus));
+            return cpus;
+        } catch (IOException e) {
+            out.println("# WARNING: Thread placement is not available, running unpinned: " + e.getMessage());
+            return null;
+        } catch (IllegalArgumentException e) {
+            out.println("# WARNING: " + e.getMessage() + ", threads are not pinned.");
+            return null;
+        }
+    }
+
+    /**
+     * @return CPU for every thread index; null, if threads are not pinned
+     */
+    public int[] getPlacement() {
+        return (placement == null) ? null : placement.clone();
+    }
+
+    private void pin(Thread worker, int cpu) throws IOException {
+        Integer prev = pinned.put(worker, cpu);
+        if (prev == null || prev != cpu) {
+            CpuTopology.pinCurrentThread(Collections.singleton(cpu));
+        }
+    }
+
     public static Method findBenchmarkMethod(Class<?> clazz, String methodName) {
         Method method = null;
         for (Method m : ClassUtils.enumerateMethods(clazz)) {
@@ -276,6 +337,7 @@ class BenchmarkHandler {
     public void shutdown() {
         // No transient data is shared between benchmarks, purge it.
         workerData.clear();
+        pinned.clear();
 
         if (executor == null) {
             return;
@@ -316,11 +378,13 @@ class BenchmarkHandler {
         // result object to accumulate the results in
         List<Result> iterationResults = new ArrayList<>();
 
+        Timeline timeline = Timeline.forParams(benchmarkParams);
+
         InfraControl control = new InfraControl(benchmarkParams, params,
                 preSetupBarrier, preTearDownBarrier,
                 isFirstIteration, isLastIteration,
                 EXECUTOR_TYPE.shouldYield(),
-                new Control());
+                new Control(), timeline);
 
         // preparing the worker runnables
         BenchmarkTask[] runners = new BenchmarkTask[numThreads];
@@ -351,7 +415,9 @@ class BenchmarkHandler {
                 break;
             default:
                 try {
-                    Future<BenchmarkTaskResult> failing = srv.poll(runtime.convertTo(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+                    Future<BenchmarkTaskResult> failing = (timeline == null) ?
+                            srv.poll(runtime.convertTo(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS) :
+                            pollWithTimeline(srv, runtime, timeline);
                     if (failing != null) {
                         // Oops, some task has exited prematurely, without isDone check.
                         // Must be an exception. Record the failing result, and lift the
@@ -431,6 +497,12 @@ class BenchmarkHandler {
 
         IterationResult result = new IterationResult(benchmarkParams, params, new IterationResultMetaData(allOps, measuredOps));
         result.addResults(iterationResults);
+        if (timeline != null) {
+            Result tr = timeline.getResult(benchmarkParams, params);
+            if (tr != null) {
+                result.addResult(tr);
+            }
+        }
 
         // profilers stop when after all threads are confirmed to be
         // finished to capture the edge behaviors; or, on a failure path
@@ -444,6 +516,29 @@ class BenchmarkHandler {
     }
 
 
+    /**
+     * Waits for the iteration time to expire, like {@link CompletionService#poll(long, TimeUnit)} does,
+     * and records the timeline ticks while waiting.
+     */
+    private static Future<BenchmarkTaskResult> pollWithTimeline(CompletionService<BenchmarkTaskResult> srv,
+                                                                TimeValue runtime, Timeline timeline) throws InterruptedException {
+        timeline.start();
+        long deadline = System.nanoTime() + runtime.convertTo(TimeUnit.NANOSECONDS);
+        while (true) {
+            long now = System.nanoTime();
+            if (now >= timeline.nextTick()) {
+                timeline.tick();
+            }
+            if (now >= deadline) {
+                return null;
+            }
+            Future<BenchmarkTaskResult> failing = srv.poll(Math.min(deadline, timeline.nextTick()) - now, TimeUnit.NANOSECONDS);
+            if (failing != null) {
+                return failing;
+            }
+        }
+    }
+
     private WorkerData getWorkerData(Thread worker) throws Exception {
         // See if there is a good worker data for us already, use it.
         WorkerData wd = workerData.remove(worker);
@@ -524,6 +619,11 @@ class BenchmarkHandler {
                 // poll the current data, or instantiate in this thread, if needed
                 WorkerData wd = control.firstIteration ? newWorkerData(runner) : getWorkerData(runner);
 
+                // (re)pin the executor thread, if it runs the data placed elsewhere
+                if (wd.params.getCpu() >= 0) {
+                    pin(runner, wd.params.getCpu());
+                }
+
                 return (BenchmarkTaskResult) method.invoke(wd.instance, control, wd.params);
             } catch (Throwable e) {
                 // about to fail the iteration;
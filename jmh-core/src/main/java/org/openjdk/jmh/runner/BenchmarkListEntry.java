@@ -24,6 +24,7 @@
  */
 package org.openjdk.jmh.runner;
 
+import org.openjdk.jmh.annotations.Exploration;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.runner.options.TimeValue;
 import org.openjdk.jmh.util.Optional;
@@ -61,6 +62,9 @@ public class BenchmarkListEntry implements Comparable<BenchmarkListEntry> {
     private final Optional<TimeUnit> tu;
     private final Optional<Integer> opsPerInvocation;
     private final Optional<TimeValue> timeout;
+    private final Optional<Exploration> paramExploration;
+    private final Optional<Integer> paramExplorationSamples;
+    private final Optional<Integer> paramExplorationSeed;
 
     private WorkloadParams workloadParams;
 
@@ -71,7 +75,8 @@ public class BenchmarkListEntry implements Comparable<BenchmarkListEntry> {
                               Optional<Integer> forks, Optional<Integer> warmupForks,
                               Optional<String> jvm, Optional<Collection<String>> jvmArgs, Optional<Collection<String>> jvmArgsPrepend, Optional<Collection<String>> jvmArgsAppend,
                               Optional<Map<String, String[]>> params, Optional<TimeUnit> tu, Optional<Integer> opsPerInv,
-                              Optional<TimeValue> timeout) {
+                              Optional<TimeValue> timeout, Optional<Exploration> paramExploration,
+                              Optional<Integer> paramExplorationSamples, Optional<Integer> paramExplorationSeed) {
         this.userClassQName = userClassQName;
         this.generatedClassQName = generatedClassQName;
         this.method = method;
@@ -96,6 +101,9 @@ public class BenchmarkListEntry implements Comparable<BenchmarkListEntry> {
         this.tu = tu;
         this.opsPerInvocation = opsPerInv;
         this.timeout = timeout;
+        this.paramExploration = paramExploration;
+        this.paramExplorationSamples = paramExplorationSamples;
+        this.paramExplorationSeed = paramExplorationSeed;
     }
 
     public BenchmarkListEntry(String line) {
@@ -130,6 +138,17 @@ public class BenchmarkListEntry implements Comparable<BenchmarkListEntry> {
         this.tu                     = reader.nextOptionalTimeUnit();
         this.opsPerInvocation       = reader.nextOptionalInt();
         this.timeout                = reader.nextOptionalTimeValue();
+
+        // Benchmark lists generated by older versions do not have these.
+        if (reader.hasNext()) {
+            this.paramExploration        = toExploration(reader.nextOptionalString());
+            this.paramExplorationSamples = reader.nextOptionalInt();
+            this.paramExplorationSeed    = reader.nextOptionalInt();
+        } else {
+            this.paramExploration        = Optional.none();
+            this.paramExplorationSamples = Optional.none();
+            this.paramExplorationSeed    = Optional.none();
+        }
     }
 
     public String toLine() {
@@ -158,6 +177,10 @@ public class BenchmarkListEntry implements Comparable<BenchmarkListEntry> {
         writer.putOptionalTimeUnit(tu);
         writer.putOptionalInt(opsPerInvocation);
         writer.putOptionalTimeValue(timeout);
+        writer.putOptionalString(paramExploration.hasValue() ?
+                Optional.of(paramExploration.get().name()) : Optional.<String>none());
+        writer.putOptionalInt(paramExplorationSamples);
+        writer.putOptionalInt(paramExplorationSeed);
 
         return writer.toString();
     }
@@ -170,7 +193,7 @@ public class BenchmarkListEntry implements Comparable<BenchmarkListEntry> {
                 forks, warmupForks,
                 jvm, jvmArgs, jvmArgsPrepend, jvmArgsAppend,
                 params, tu, opsPerInvocation,
-                timeout);
+                timeout, paramExploration, paramExplorationSamples, paramExplorationSeed);
     }
 
     public BenchmarkListEntry cloneWith(WorkloadParams p) {
@@ -181,7 +204,7 @@ public class BenchmarkListEntry implements Comparable<BenchmarkListEntry> {
                 forks, warmupForks,
                 jvm, jvmArgs, jvmArgsPrepend, jvmArgsAppend,
                 params, tu, opsPerInvocation,
-                timeout);
+                timeout, paramExploration, paramExplorationSamples, paramExplorationSeed);
         br.workloadParams = p;
         return br;
     }
@@ -330,4 +353,23 @@ public class BenchmarkListEntry implements Comparable<BenchmarkListEntry> {
         return timeout;
     }
 
+    public Optional<Exploration> getParamExploration() {
+        return paramExploration;
+    }
+
+    public Optional<Integer> getParamExplorationSamples() {
+        return paramExplorationSamples;
+    }
+
+    public Optional<Integer> getParamExplorationSeed() {
+        return paramExplorationSeed;
+    }
+
+    private static Optional<Exploration> toExploration(Optional<String> name) {
+        if (name.hasValue()) {
+            return Optional.of(Exploration.valueOf(name.get()));
+        }
+        return Optional.none();
+    }
+
 }
@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.runner;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.runner.format.OutputFormat;
+import org.openjdk.jmh.util.FileUtils;
+import org.openjdk.jmh.util.JDKVersion;
+import org.openjdk.jmh.util.ListStatistics;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dynamic class data sharing (AppCDS) archives for forked VMs. The first fork for every
+ * distinct JVM and JVM arguments dumps the archive with all classes it had loaded at exit,
+ * and the later forks start with that archive mapped in. Forks that start while the archive
+ * is being dumped run without it.
+ */
+class ClassDataSharing {
+
+    /**
+     * Dynamic archives are available since JDK 13.
+     */
+    private static final int MIN_JDK = 13;
+
+    private static final String DUMP_OPTION = "-XX:ArchiveClassesAtExit=";
+    private static final String SHARE_OPTION = "-XX:SharedArchiveFile=";
+
+    /**
+     * Dumping VM warns about every class it skips, do not mix that into the benchmark output.
+     */
+    private static final String QUIET_OPTION = "-Xlog:cds=off";
+
+    private final Map<List<String>, Archive> archives = new HashMap<>();
+    private final ListStatistics startupWithout = new ListStatistics();
+    private final ListStatistics startupWith = new ListStatistics();
+    private final Set<String> unsupported = new TreeSet<>();
+
+    /**
+     * Adds the archive options to the forked VM command.
+     *
+     * @param params benchmark parameters the fork runs
+     * @param command forked VM command
+     * @return command to launch the forked VM with
+     */
+    synchronized List<String> prepare(BenchmarkParams params, List<String> command) {
+        if (JDKVersion.parseMajor(params.getJdkVersion()) < MIN_JDK) {
+            unsupported.add(params.getJvm() + " does not support dynamic archives (JDK " + MIN_JDK + "+ required)");
+            return command;
+        }
+
+        String dir = findClassDirectory(command);
+        if (dir != null) {
+            unsupported.add("classpath has the non-empty directory " + dir + ", only JARs can be archived");
+            return command;
+        }
+
+        List<String> key = new ArrayList<>();
+        key.add(params.getJvm());
+        key.addAll(params.getJvmArgs());
+
+        List<String> opts = new ArrayList<>();
+        Archive archive = archives.get(key);
+        if (archive == null) {
+            try {
+                File file = FileUtils.tempFile("jsa");
+                // let the forked VM create the archive file
+                file.delete();
+                archive = new Archive(file);
+            } catch (IOException e) {
+                archive = new Archive(null);
+                archive.state = State.FAILED;
+            }
+            archives.put(key, archive);
+            if (archive.state != State.DUMPING) {
+                return command;
+            }
+            opts.add(QUIET_OPTION);
+            opts.add(DUMP_OPTION + archive.file.getAbsolutePath());
+        } else if (archive.state == State.READY) {
+            opts.add(QUIET_OPTION);
+            opts.add(SHARE_OPTION + archive.file.getAbsolutePath());
+        } else {
+            return command;
+        }
+
+        // JVM options go right before the main class
+        List<String> result = new ArrayList<>(command);
+        int idx = result.indexOf(ForkedMain.class.getName());
+        result.addAll((idx >= 0) ? idx : 0, opts);
+        return result;
+    }
+
+    /**
+     * VM refuses to archive the classes loaded from directories, and fails to start.
+     *
+     * @param command forked VM command
+     * @return first non-empty classpath directory; null, if there are none
+     */
+    private static String findClassDirectory(List<String> command) {
+        int idx = command.indexOf("-cp");
+        if (idx < 0 || idx + 1 >= command.size()) {
+            return null;
+        }
+        String cp = command.get(idx + 1).replace("\"", "");
+        for (String entry : cp.split(File.pathSeparator)) {
+            String[] list = new File(entry).list();
+            if (list != null && list.length > 0) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Accounts for the finished fork.
+     *
+     * @param command command the forked VM was launched with
+     * @param startTime {@link System#nanoTime()} before the VM launch
+     * @param readyTime {@link System#nanoTime()} when the VM was ready to run the benchmark; 0, if never
+     */
+    synchronized void forkFinished(List<String> command, long startTime, long readyTime) {
+        boolean shared = false;
+        for (String opt : command) {
+            if (opt.startsWith(DUMP_OPTION)) {
+                File file = new File(opt.substring(DUMP_OPTION.length()));
+                for (Archive archive : archives.values()) {
+                    if (file.equals(archive.file)) {
+                        archive.state = (file.length() > 0) ? State.READY : State.FAILED;
+                    }
+                }
+            }
+            if (opt.startsWith(SHARE_OPTION)) {
+                shared = true;
+            }
+        }
+
+        if (readyTime > startTime) {
+            double ms = TimeUnit.NANOSECONDS.toMicros(readyTime - startTime) / 1000.0;
+            if (shared) {
+                startupWith.addValue(ms);
+            } else {
+                startupWithout.addValue(ms);
+            }
+        }
+    }
+
+    void printSummary(OutputFormat out) {
+        for (String reason : unsupported) {
+            out.println("# CDS: " + reason + ", forks ran without archives");
+        }
+        for (Archive archive : archives.values()) {
+            if (archive.state == State.FAILED) {
+                out.println("# CDS: failed to create the archive, some forks ran without it");
+                break;
+            }
+        }
+        if (startupWith.getN() > 0 && startupWithout.getN() > 0) {
+            out.println(String.format("# CDS: VM startup took %.0f ms without archive (%d forks), %.0f ms with archive (%d forks), saved %.0f ms per fork",
+                    startupWithout.getMean(), startupWithout.getN(),
+                    startupWith.getMean(), startupWith.getN(),
+                    startupWithout.getMean() - startupWith.getMean()));
+        }
+    }
+
+    private enum State {
+        DUMPING,
+        READY,
+        FAILED,
+    }
+
+    private static class Archive {
+        private final File file;
+        private State state;
+
+        Archive(File file) {
+            this.file = file;
+            this.state = State.DUMPING;
+        }
+    }
+
+}
@@ -24,8 +24,12 @@
  */
 package org.openjdk.jmh.runner;
 
+import org.openjdk.jmh.annotations.Exploration;
 import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.infra.BenchmarkParams;
 import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.options.ForkSchedule;
+import org.openjdk.jmh.runner.options.ThreadPlacement;
 import org.openjdk.jmh.runner.options.TimeValue;
 import org.openjdk.jmh.runner.options.VerboseMode;
 import org.openjdk.jmh.runner.options.WarmupMode;
@@ -57,6 +61,11 @@ public class Defaults {
      */
     public static final TimeValue WARMUP_TIME = TimeValue.seconds(10);
 
+    /**
+     * Number of recent warmup iterations to analyze for steady state.
+     */
+    public static final int WARMUP_STEADY_STATE_WINDOW = 5;
+
     /**
      * Number of measurement iterations.
      */
@@ -77,11 +86,26 @@ public class Defaults {
      */
     public static final TimeValue MEASUREMENT_TIME = TimeValue.seconds(10);
 
+    /**
+     * Maximum number of measurement iterations, when target error is set.
+     */
+    public static final int MAX_MEASUREMENT_ITERATIONS = 50;
+
     /**
      * Number of measurement threads.
      */
     public static final int THREADS = 1;
 
+    /**
+     * Should JMH run benchmarks with the ladder of thread counts?
+     */
+    public static final boolean THREAD_SCALING = false;
+
+    /**
+     * Default {@link org.openjdk.jmh.runner.options.ThreadPlacement} for worker threads.
+     */
+    public static final ThreadPlacement THREAD_PLACEMENT = ThreadPlacement.NONE;
+
     /**
      * Number of forks in which we measure the workload.
      */
@@ -92,6 +116,41 @@ public class Defaults {
      */
     public static final int WARMUP_FORKS = 0;
 
+    /**
+     * Maximum number of forks, when target error is set.
+     */
+    public static final int MAX_FORKS = 10;
+
+    /**
+     * Number of forked VMs to run concurrently.
+     */
+    public static final int PARALLEL_FORKS = 1;
+
+    /**
+     * Should JMH start the next forked VM ahead of time?
+     */
+    public static final boolean STANDBY_FORKS = false;
+
+    /**
+     * Should JMH create and use the class data sharing archive for forked VMs?
+     */
+    public static final boolean CLASS_DATA_SHARING = false;
+
+    /**
+     * Should JMH run the external profilers post-processing in background, while the next fork runs?
+     */
+    public static final boolean PIPELINE_PROFILERS = false;
+
+    /**
+     * Default {@link org.openjdk.jmh.runner.options.ForkSchedule}.
+     */
+    public static final ForkSchedule FORK_SCHEDULE = ForkSchedule.SEQUENTIAL;
+
+    /**
+     * Minimal relative change against the baseline to report.
+     */
+    public static final double BASELINE_THRESHOLD = 0.0;
+
     /**
      * Should JMH fail on benchmark error?
      */
@@ -142,11 +201,46 @@ public class Defaults {
      */
     public static final Integer OPS_PER_INVOCATION = 1;
 
+    /**
+     * Default {@link org.openjdk.jmh.annotations.Exploration} for benchmark parameters.
+     */
+    public static final Exploration PARAM_EXPLORATION = Exploration.FULL;
+
+    /**
+     * Number of parameter combinations for the sampling exploration strategies.
+     */
+    public static final int PARAM_EXPLORATION_SAMPLES = 20;
+
+    /**
+     * Random seed for the sampling exploration strategies.
+     */
+    public static final int PARAM_EXPLORATION_SEED = 0;
+
     /**
      * Default timeout.
      */
     public static final TimeValue TIMEOUT = TimeValue.minutes(10);
 
+    /**
+     * Default target rate for {@link org.openjdk.jmh.annotations.Mode#FixedRate}, operations per second per thread.
+     */
+    public static final double TARGET_RATE = BenchmarkParams.DEFAULT_TARGET_RATE;
+
+    /**
+     * Default number of significant digits for latency histograms.
+     */
+    public static final int HISTOGRAM_DIGITS = BenchmarkParams.DEFAULT_HISTOGRAM_DIGITS;
+
+    /**
+     * Default number of asynchronous operations in flight per thread.
+     */
+    public static final int IN_FLIGHT = BenchmarkParams.DEFAULT_IN_FLIGHT;
+
+    /**
+     * Default timeline interval: zero, the timeline is disabled.
+     */
+    public static final TimeValue TIMELINE_INTERVAL = BenchmarkParams.DEFAULT_TIMELINE_INTERVAL;
+
     /**
      * Default benchmarks to include.
      */
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.runner;
+
+import org.openjdk.jmh.runner.options.ForkSchedule;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Orders the forks of several benchmarks according to the fork schedule.
+ */
+class ForkInterleaving {
+
+    /**
+     * Computes the run order for the forks. Every benchmark runs its forks in
+     * their natural order, so warmup forks still come first.
+     *
+     * @param forks number of forks for every benchmark
+     * @param schedule fork schedule
+     * @param seed seed for {@link ForkSchedule#RANDOM}
+     * @return {benchmark index, fork index} pairs, in run order
+     */
+    static List<int[]> order(int[] forks, ForkSchedule schedule, long seed) {
+        List<int[]> result = new ArrayList<>();
+
+        if (!schedule.isInterleaved()) {
+            for (int b = 0; b < forks.length; b++) {
+                for (int f = 0; f < forks[b]; f++) {
+                    result.add(new int[]{b, f});
+                }
+            }
+            return result;
+        }
+
+        int rounds = 0;
+        for (int f : forks) {
+            rounds = Math.max(rounds, f);
+        }
+
+        Random random = new Random(seed);
+        List<Integer> benchmarks = new ArrayList<>();
+        for (int r = 0; r < rounds; r++) {
+            benchmarks.clear();
+            for (int b = 0; b < forks.length; b++) {
+                if (r < forks[b]) {
+                    benchmarks.add(b);
+                }
+            }
+            if (schedule == ForkSchedule.RANDOM) {
+                Collections.shuffle(benchmarks, random);
+            }
+            for (int b : benchmarks) {
+                result.add(new int[]{b, r});
+            }
+        }
+        return result;
+    }
+
+}
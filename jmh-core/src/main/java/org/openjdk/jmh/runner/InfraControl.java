@@ -46,7 +46,15 @@ public final class InfraControl extends InfraControlL2 {
                         boolean firstIteration, boolean lastIteration,
                         boolean shouldYield,
                         Control notifyControl) {
-        super(benchmarkParams, iterationParams, preSetup, preTearDown, firstIteration, lastIteration, shouldYield, notifyControl);
+        this(benchmarkParams, iterationParams, preSetup, preTearDown, firstIteration, lastIteration, shouldYield, notifyControl, null);
+    }
+
+    public InfraControl(BenchmarkParams benchmarkParams, IterationParams iterationParams,
+                        CountDownLatch preSetup, CountDownLatch preTearDown,
+                        boolean firstIteration, boolean lastIteration,
+                        boolean shouldYield,
+                        Control notifyControl, Timeline timeline) {
+        super(benchmarkParams, iterationParams, preSetup, preTearDown, firstIteration, lastIteration, shouldYield, notifyControl, timeline);
     }
 
     /**
@@ -143,6 +151,11 @@ abstract class InfraControlL2 extends InfraControlL1 {
     public final IterationParams iterationParams;
     public final Control notifyControl;
 
+    /**
+     * Timeline to publish the operation counts to; null, if timeline is disabled.
+     */
+    public final Timeline timeline;
+
     private final boolean shouldSynchIterations;
     private final int threads;
 
@@ -150,7 +163,7 @@ abstract class InfraControlL2 extends InfraControlL1 {
                           CountDownLatch preSetup, CountDownLatch preTearDown,
                           boolean firstIteration, boolean lastIteration,
                           boolean shouldYield,
-                          Control notifyControl) {
+                          Control notifyControl, Timeline timeline) {
         warmupVisited = new AtomicInteger();
         warmdownVisited = new AtomicInteger();
 
@@ -164,6 +177,7 @@ abstract class InfraControlL2 extends InfraControlL1 {
         warmdownShouldWait = shouldSynchIterations;
 
         this.notifyControl = notifyControl;
+        this.timeline = timeline;
 
         this.preSetup = preSetup;
         this.preTearDown = preTearDown;
@@ -0,0 +1,326 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.runner;
+
+import org.openjdk.jmh.annotations.Exploration;
+
+import java.util.*;
+
+/**
+ * Space of benchmark parameter combinations. Sampling strategies only build the chosen
+ * combinations, so the full space is not held in memory for them. {@link Exploration#FULL}
+ * iterates the space lazily too, but the runner keeps every combination in the run plan.
+ */
+class ParamSpace {
+
+    private final List<String> names;
+    private final List<List<String>> values;
+
+    ParamSpace() {
+        this.names = new ArrayList<>();
+        this.values = new ArrayList<>();
+    }
+
+    void add(String name, Collection<String> vals) {
+        if (vals.isEmpty()) {
+            throw new IllegalArgumentException("No values for parameter " + name);
+        }
+        names.add(name);
+        values.add(new ArrayList<>(vals));
+    }
+
+    /**
+     * @return number of combinations in the full space; {@link Long#MAX_VALUE} if it overflows
+     */
+    long size() {
+        long size = 1;
+        for (List<String> vs : values) {
+            if (size > Long.MAX_VALUE / vs.size()) {
+                return Long.MAX_VALUE;
+            }
+            size *= vs.size();
+        }
+        return size;
+    }
+
+    /**
+     * Explores the parameter space.
+     *
+     * @param strategy exploration strategy
+     * @param samples number of combinations for the sampling strategies
+     * @param seed random seed for the sampling strategies
+     * @return combinations
+     */
+    Iterable<WorkloadParams> explore(Exploration strategy, int samples, long seed) {
+        switch (strategy) {
+            case FULL:
+                return full();
+            case RANDOM:
+                if (samples >= size()) {
+                    return full();
+                }
+                return toParams(random(samples, seed));
+            case LATIN_HYPERCUBE:
+                return toParams(latinHypercube(samples, seed));
+            case PAIRWISE:
+                return toParams(pairwise());
+            case ONE_FACTOR_AT_A_TIME:
+                return toParams(oneFactorAtATime());
+            default:
+                throw new IllegalStateException("Unknown exploration strategy: " + strategy);
+        }
+    }
+
+    /**
+     * @return all combinations, the last parameter changes the fastest; combinations
+     *         are generated on demand, but callers building the run plan keep them all
+     */
+    Iterable<WorkloadParams> full() {
+        return () -> new Iterator<WorkloadParams>() {
+            private int[] next = new int[names.size()];
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public WorkloadParams next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                WorkloadParams result = toParams(next);
+
+                int[] cur = next.clone();
+                int k = cur.length - 1;
+                while (k >= 0 && ++cur[k] == values.get(k).size()) {
+                    cur[k] = 0;
+                    k--;
+                }
+                next = (k >= 0) ? cur : null;
+
+                return result;
+            }
+        };
+    }
+
+    /**
+     * @return distinct combinations, uniformly at random
+     */
+    List<int[]> random(int samples, long seed) {
+        Random random = new Random(seed);
+        Set<List<Integer>> seen = new HashSet<>();
+        List<int[]> result = new ArrayList<>();
+        while (result.size() < samples) {
+            int[] point = new int[names.size()];
+            List<Integer> key = new ArrayList<>();
+            for (int k = 0; k < point.length; k++) {
+                point[k] = random.nextInt(values.get(k).size());
+                key.add(point[k]);
+            }
+            if (seen.add(key)) {
+                result.add(point);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return combinations from the Latin hypercube: every parameter has its values
+     * spread evenly over the samples, with the independent random order
+     */
+    List<int[]> latinHypercube(int samples, long seed) {
+        Random random = new Random(seed);
+
+        int[][] strata = new int[names.size()][];
+        for (int k = 0; k < strata.length; k++) {
+            List<Integer> perm = new ArrayList<>();
+            for (int i = 0; i < samples; i++) {
+                perm.add(i);
+            }
+            Collections.shuffle(perm, random);
+
+            strata[k] = new int[samples];
+            int m = values.get(k).size();
+            for (int i = 0; i < samples; i++) {
+                strata[k][i] = (int) ((long) perm.get(i) * m / samples);
+            }
+        }
+
+        Set<List<Integer>> seen = new HashSet<>();
+        List<int[]> result = new ArrayList<>();
+        for (int i = 0; i < samples; i++) {
+            int[] point = new int[names.size()];
+            List<Integer> key = new ArrayList<>();
+            for (int k = 0; k < point.length; k++) {
+                point[k] = strata[k][i];
+                key.add(point[k]);
+            }
+            if (seen.add(key)) {
+                result.add(point);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Greedy all-pairs cover: every new combination starts from the first uncovered pair,
+     * and picks the values for other parameters that cover the most uncovered pairs.
+     *
+     * @return combinations that cover every pair of values for every pair of parameters
+     */
+    List<int[]> pairwise() {
+        int n = names.size();
+        if (n < 2) {
+            // No pairs to cover: every value once, which is the full space.
+            return oneFactorAtATime();
+        }
+
+        // uncovered[i][j][a * m_j + b]: pair (i = a, j = b), for i < j, is not covered yet.
+        boolean[][][] uncovered = new boolean[n][n][];
+        int left = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                uncovered[i][j] = new boolean[values.get(i).size() * values.get(j).size()];
+                Arrays.fill(uncovered[i][j], true);
+                left += uncovered[i][j].length;
+            }
+        }
+
+        List<int[]> result = new ArrayList<>();
+        int si = 0;
+        int sj = 1;
+        while (left > 0) {
+            // Find the first uncovered pair to seed the new combination.
+            int seedPair = -1;
+            while (seedPair < 0) {
+                boolean[] pairs = uncovered[si][sj];
+                for (int p = 0; p < pairs.length; p++) {
+                    if (pairs[p]) {
+                        seedPair = p;
+                        break;
+                    }
+                }
+                if (seedPair < 0) {
+                    if (++sj == n) {
+                        si++;
+                        sj = si + 1;
+                    }
+                }
+            }
+
+            int[] point = new int[n];
+            boolean[] assigned = new boolean[n];
+            point[si] = seedPair / values.get(sj).size();
+            point[sj] = seedPair % values.get(sj).size();
+            assigned[si] = true;
+            assigned[sj] = true;
+
+            for (int k = 0; k < n; k++) {
+                if (assigned[k]) {
+                    continue;
+                }
+                int best = 0;
+                int bestGain = -1;
+                for (int v = 0; v < values.get(k).size(); v++) {
+                    int gain = 0;
+                    for (int o = 0; o < n; o++) {
+                        if (assigned[o] && isUncovered(uncovered, o, point[o], k, v)) {
+                            gain++;
+                        }
+                    }
+                    if (gain > bestGain) {
+                        best = v;
+                        bestGain = gain;
+                    }
+                }
+                point[k] = best;
+                assigned[k] = true;
+            }
+
+            for (int i = 0; i < n; i++) {
+                for (int j = i + 1; j < n; j++) {
+                    int p = point[i] * values.get(j).size() + point[j];
+                    if (uncovered[i][j][p]) {
+                        uncovered[i][j][p] = false;
+                        left--;
+                    }
+                }
+            }
+            result.add(point);
+        }
+        return result;
+    }
+
+    private boolean isUncovered(boolean[][][] uncovered, int i, int a, int j, int b) {
+        if (i < j) {
+            return uncovered[i][j][a * values.get(j).size() + b];
+        } else {
+            return uncovered[j][i][b * values.get(i).size() + a];
+        }
+    }
+
+    /**
+     * @return the default point with the first value of every parameter, then the points
+     * that differ from the default point in exactly one parameter
+     */
+    List<int[]> oneFactorAtATime() {
+        List<int[]> result = new ArrayList<>();
+        result.add(new int[names.size()]);
+        for (int k = 0; k < names.size(); k++) {
+            for (int v = 1; v < values.get(k).size(); v++) {
+                int[] point = new int[names.size()];
+                point[k] = v;
+                result.add(point);
+            }
+        }
+        return result;
+    }
+
+    private Iterable<WorkloadParams> toParams(final List<int[]> points) {
+        return () -> new Iterator<WorkloadParams>() {
+            private final Iterator<int[]> it = points.iterator();
+
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public WorkloadParams next() {
+                return toParams(it.next());
+            }
+        };
+    }
+
+    private WorkloadParams toParams(int[] point) {
+        WorkloadParams p = new WorkloadParams();
+        for (int k = 0; k < point.length; k++) {
+            p.put(names.get(k), values.get(k).get(point[k]), point[k]);
+        }
+        return p;
+    }
+
+}
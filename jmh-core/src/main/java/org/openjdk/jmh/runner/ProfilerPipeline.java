@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.runner;
+
+import org.openjdk.jmh.profile.PipelinedProfiler;
+import org.openjdk.jmh.results.BenchmarkResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.runner.format.OutputFormat;
+import org.openjdk.jmh.util.CpuTopology;
+import org.openjdk.jmh.util.Optional;
+import org.openjdk.jmh.util.TempFile;
+import org.openjdk.jmh.util.Utils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs {@link PipelinedProfiler#afterTrial} in background, while the next fork runs.
+ * Post-processing runs in the single low-priority thread. When there are enough cores,
+ * the last core is reserved for that thread, and forks are pinned to the rest of them.
+ * Results are attached to their benchmark results on {@link #join()}.
+ */
+class ProfilerPipeline {
+
+    private static final String THREAD_NAME = "jmh-profiler-postprocess";
+
+    private final List<Pending> pending = new ArrayList<>();
+    private List<Integer> forkCpus;
+    private List<Integer> reservedCpus;
+    private ExecutorService executor;
+
+    ProfilerPipeline(OutputFormat out) {
+        Optional<CpuTopology> topology = CpuTopology.detect();
+        if (topology.hasValue()) {
+            List<List<Integer>> cores = topology.get().getCores();
+            if (cores.size() >= 2) {
+                List<Integer> rest = new ArrayList<>();
+                for (List<Integer> core : cores.subList(0, cores.size() - 1)) {
+                    rest.addAll(core);
+                }
+                if (Utils.tryWith("taskset", "-c", CpuTopology.formatList(rest), "true").isEmpty()) {
+                    forkCpus = rest;
+                    reservedCpus = cores.get(cores.size() - 1);
+                }
+            }
+        }
+
+        if (forkCpus != null) {
+            out.println("# Profiler post-processing runs in background on CPUs " + CpuTopology.formatList(reservedCpus) +
+                    ", forks are pinned to CPUs " + CpuTopology.formatList(forkCpus));
+        } else {
+            out.println("# Profiler post-processing runs in background at low priority, forks are not pinned");
+        }
+        out.println("");
+    }
+
+    /**
+     * @return CPUs to pin the forks to; null, if forks should not be pinned
+     */
+    List<Integer> getForkCpus() {
+        return forkCpus;
+    }
+
+    /**
+     * Schedules the post-processing for the finished fork. Profilers run in the given order,
+     * and fork output files are deleted once they are done.
+     *
+     * @param br benchmark result to attach the profiler results to
+     * @param pid pid that the forked JVM had
+     * @param profilers profilers to post-process with
+     * @param stdOut fork standard output
+     * @param stdErr fork standard error
+     */
+    void submit(BenchmarkResult br, long pid, List<PipelinedProfiler> profilers, TempFile stdOut, TempFile stdErr) {
+        if (executor == null) {
+            executor = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(() -> {
+                    deprioritize(reservedCpus);
+                    r.run();
+                }, THREAD_NAME);
+                t.setDaemon(true);
+                t.setPriority(Thread.MIN_PRIORITY);
+                return t;
+            });
+        }
+
+        Future<List<Result>> f = executor.submit(() -> {
+            try {
+                List<Result> results = new ArrayList<>();
+                for (PipelinedProfiler profiler : profilers) {
+                    results.addAll(profiler.afterTrial(br, pid, stdOut.file(), stdErr.file()));
+                }
+                return results;
+            } finally {
+                stdOut.delete();
+                stdErr.delete();
+            }
+        });
+        pending.add(new Pending(br, f));
+    }
+
+    /**
+     * Waits for all scheduled post-processing, and attaches the results.
+     * Rethrows the first failure, after all post-processing is done.
+     */
+    void join() {
+        RuntimeException failure = null;
+        for (Pending p : pending) {
+            try {
+                for (Result r : p.future.get()) {
+                    p.br.addBenchmarkResult(r);
+                }
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = (e.getCause() instanceof RuntimeException) ?
+                            (RuntimeException) e.getCause() :
+                            new IllegalStateException(e.getCause());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (failure == null) {
+                    failure = new IllegalStateException(e);
+                }
+            }
+        }
+        pending.clear();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Waits for all scheduled post-processing, and discards the results.
+     */
+    void discard() {
+        try {
+            join();
+        } catch (RuntimeException e) {
+            // Do nothing, the benchmark had already failed.
+        }
+    }
+
+    void shutdown() {
+        discard();
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+
+    /**
+     * Java cannot change the niceness or affinity of the thread, but on Linux both are
+     * per-thread, and can be changed with external tools given the native thread id.
+     * Processes the profilers spawn from this thread inherit both. Best effort.
+     */
+    private static void deprioritize(List<Integer> cpus) {
+        if (!Utils.isLinux()) {
+            return;
+        }
+        try {
+            Utils.tryWith("renice", "-n", "19", "-p", Utils.getNativeThreadId());
+            if (cpus != null) {
+                CpuTopology.pinCurrentThread(cpus);
+            }
+        } catch (IOException e) {
+            // Do nothing, post-processing would run at normal priority.
+        }
+    }
+
+    private static class Pending {
+        private final BenchmarkResult br;
+        private final Future<List<Result>> future;
+
+        Pending(BenchmarkResult br, Future<List<Result>> future) {
+            this.br = br;
+            this.future = future;
+        }
+    }
+
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.runner;
+
+import org.openjdk.jmh.results.RunResult;
+
+import java.util.Collection;
+
+/**
+ * Thrown when some benchmarks regress against the baseline. The run itself
+ * has completed, and its results are available.
+ */
+public class RegressionException extends RunnerException {
+    private static final long serialVersionUID = -2904829348021748716L;
+
+    private final transient Collection<RunResult> results;
+
+    public RegressionException(String message, Collection<RunResult> results) {
+        super(message);
+        this.results = results;
+    }
+
+    /**
+     * @return run results
+     */
+    public Collection<RunResult> getResults() {
+        return results;
+    }
+}
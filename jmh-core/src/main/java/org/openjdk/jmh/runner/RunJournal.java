@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.runner;
+
+import org.openjdk.jmh.results.RunResult;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Append-only journal of benchmark results. Every record is the serialized
+ * {@link RunResult}, prefixed with its length, and is synced to disk before
+ * {@link #append(RunResult)} returns. A partially written record at the end
+ * of the journal, e.g. after the crash mid-write, is dropped on the next open.
+ */
+class RunJournal implements Closeable {
+
+    private final FileOutputStream fos;
+    private final DataOutputStream dos;
+
+    RunJournal(String file) throws IOException {
+        long validLength = scan(new File(file), null);
+        fos = new FileOutputStream(file, true);
+        fos.getChannel().truncate(validLength);
+        dos = new DataOutputStream(new BufferedOutputStream(fos));
+    }
+
+    /**
+     * Reads the results from the journal.
+     * @param file journal file
+     * @return results, in the order they were appended
+     * @throws IOException if journal is not readable
+     */
+    static List<RunResult> read(String file) throws IOException {
+        List<RunResult> results = new ArrayList<>();
+        scan(new File(file), results);
+        return results;
+    }
+
+    private static long scan(File file, Collection<RunResult> results) throws IOException {
+        if (!file.exists()) {
+            return 0;
+        }
+
+        long validLength = 0;
+        try (DataInputStream dis = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            while (true) {
+                int len;
+                try {
+                    len = dis.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+
+                if (len <= 0) {
+                    break;
+                }
+
+                byte[] buf = new byte[len];
+                try {
+                    dis.readFully(buf);
+                } catch (EOFException e) {
+                    break;
+                }
+
+                try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(buf))) {
+                    RunResult r = (RunResult) ois.readObject();
+                    if (results != null) {
+                        results.add(r);
+                    }
+                } catch (ClassNotFoundException | ClassCastException e) {
+                    throw new IOException("Unexpected journal record in " + file + " at offset " + validLength, e);
+                } catch (ObjectStreamException e) {
+                    break;
+                }
+
+                validLength += 4 + len;
+            }
+        }
+        return validLength;
+    }
+
+    synchronized void append(RunResult result) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject(result);
+        }
+
+        dos.writeInt(bos.size());
+        bos.writeTo(dos);
+        dos.flush();
+        fos.getFD().sync();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        dos.close();
+    }
+
+}
@@ -24,15 +24,20 @@
  */
 package org.openjdk.jmh.runner;
 
+import org.openjdk.jmh.annotations.Exploration;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.Threads;
 import org.openjdk.jmh.infra.BenchmarkParams;
 import org.openjdk.jmh.infra.IterationParams;
 import org.openjdk.jmh.profile.ExternalProfiler;
+import org.openjdk.jmh.profile.PipelinedProfiler;
 import org.openjdk.jmh.profile.ProfilerException;
 import org.openjdk.jmh.profile.ProfilerFactory;
 import org.openjdk.jmh.results.*;
+import org.openjdk.jmh.results.format.ResultFormat;
+import org.openjdk.jmh.results.format.JSONResultReader;
 import org.openjdk.jmh.results.format.ResultFormatFactory;
+import org.openjdk.jmh.results.format.ResultFormatType;
 import org.openjdk.jmh.runner.format.OutputFormat;
 import org.openjdk.jmh.runner.format.OutputFormatFactory;
 import org.openjdk.jmh.runner.link.BinaryLinkServer;
@@ -47,7 +52,7 @@ import java.nio.channels.OverlappingFileLockException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.*;
 import java.util.jar.*;
 import java.util.zip.*;
 
@@ -68,6 +73,12 @@ public class Runner extends BaseRunner {
 
     private final BenchmarkList list;
     private int cpuCount;
+    private RunJournal journal;
+    private PrintStream resultStream;
+    private StandbyFork standby;
+    private ProfilerPipeline pipeline;
+    private ClassDataSharing cds;
+    private ResultFormat streamingResultFormat;
 
     /**
      * Create runner with the custom OutputFormat.
@@ -234,19 +245,12 @@ public class Runner extends BaseRunner {
             throw failedException;
         }
 
-        // If user requested the result file in one way or the other, touch the result file,
-        // and prepare to write it out after the run.
-        String resultFile = null;
-        if (options.getResult().hasValue() || options.getResultFormat().hasValue()) {
-            resultFile = options.getResult().orElse(
-                        Defaults.RESULT_FILE_PREFIX + "." +
-                                options.getResultFormat().orElse(Defaults.RESULT_FORMAT).toString().toLowerCase()
-                    );
-            try {
-                FileUtils.touch(resultFile);
-            } catch (IOException e) {
-                throw new RunnerException("Can not touch the result file: " + resultFile);
-            }
+        String resultFile = touchResultFile();
+
+        // Read the baseline before the run, so that the broken baseline fails fast.
+        Collection<RunResult> baseline = null;
+        if (options.getBaseline().hasValue()) {
+            baseline = readResults(options.getBaseline().get(), new JSONResultReader());
         }
 
         SortedSet<BenchmarkListEntry> benchmarks = list.find(out, options.getIncludes(), options.getExcludes());
@@ -279,6 +283,8 @@ public class Runner extends BaseRunner {
                 if (br.getMode() == Mode.All) {
                     for (Mode mode : Mode.values()) {
                         if (mode == Mode.All) continue;
+                        // Fixed rate needs the target rate chosen for the workload, should be asked for explicitly
+                        if (mode == Mode.FixedRate) continue;
                         newBenchmarks.add(br.cloneWith(mode));
                     }
                 } else {
@@ -290,7 +296,10 @@ public class Runner extends BaseRunner {
             benchmarks.addAll(newBenchmarks);
         }
 
-        // clone with all parameters
+        // clone with all parameters; ParamSpace generates the combinations lazily, but
+        // the selected combinations still become the entries of the run plan, since sorting,
+        // sharding, resume and ETA all need the complete plan. FULL exploration therefore
+        // holds the entire Cartesian product in memory, use sampling strategies for the large spaces.
         {
             List<BenchmarkListEntry> newBenchmarks = new ArrayList<>();
             for (BenchmarkListEntry br : benchmarks) {
@@ -306,25 +315,254 @@ public class Runner extends BaseRunner {
             benchmarks.addAll(newBenchmarks);
         }
 
-        Collection<RunResult> results = runBenchmarks(benchmarks);
+        // clone with all thread counts in the scaling ladder
+        if (options.shouldScaleThreads().orElse(Defaults.THREAD_SCALING)) {
+            List<BenchmarkListEntry> newBenchmarks = new ArrayList<>();
+            Set<String> announced = new HashSet<>();
+            for (BenchmarkListEntry br : benchmarks) {
+                List<BenchmarkListEntry> steps = scaleThreads(br);
+                if (announced.add(br.getUsername() + " (" + br.getMode().shortLabel() + ")")) {
+                    List<String> counts = new ArrayList<>();
+                    for (BenchmarkListEntry step : steps) {
+                        counts.add(step.getWorkloadParams().get(ThreadScaling.PARAM));
+                    }
+                    out.println("# Thread scaling for " + br.getUsername() + " (" + br.getMode().shortLabel() + "): " +
+                            Utils.join(counts, ", ") + " threads");
+                }
+                newBenchmarks.addAll(steps);
+            }
+            benchmarks.clear();
+            benchmarks.addAll(newBenchmarks);
+        }
+
+        // If user requested the shard, keep only the benchmarks assigned to it.
+        // This goes before resume, so that the assignment does not depend on the progress.
+        if (options.getShard().hasValue()) {
+            selectShard(benchmarks, options.getShard().get());
+        }
+
+        // If user requested to resume, pick up the results from the journal,
+        // and skip the benchmarks that already have them.
+        List<RunResult> resumed = Collections.emptyList();
+        if (options.getResume().hasValue()) {
+            String resumeFile = options.getResume().get();
+            try {
+                resumed = RunJournal.read(resumeFile);
+            } catch (IOException e) {
+                throw new RunnerException("Can not read the journal file: " + resumeFile, e);
+            }
+
+            Set<String> done = new HashSet<>();
+            for (RunResult r : resumed) {
+                done.add(r.getParams().id());
+            }
+
+            int total = benchmarks.size();
+            Iterator<BenchmarkListEntry> it = benchmarks.iterator();
+            while (it.hasNext()) {
+                if (done.contains(newBenchmarkParams(it.next(), ActionMode.UNDEF).id())) {
+                    it.remove();
+                }
+            }
+
+            out.println("# Resuming from " + resumeFile + ": " + (total - benchmarks.size()) + " of " + total +
+                    " benchmarks are already done");
+            out.println("");
+        }
+
+        // If user requested the journal, append the results there as benchmarks complete.
+        // Resumed runs continue the same journal by default.
+        Optional<String> journalFile = options.getJournal().orAnother(options.getResume());
+        if (journalFile.hasValue()) {
+            try {
+                journal = new RunJournal(journalFile.get());
+            } catch (IOException e) {
+                throw new RunnerException("Can not open the journal file: " + journalFile.get(), e);
+            }
+        }
+
+        // Line-oriented result formats do not need the entire set of results at once:
+        // append the results to the result file as benchmarks complete.
+        ResultFormatType resultFormat = options.getResultFormat().orElse(Defaults.RESULT_FORMAT);
+        if (resultFile != null && resultFormat == ResultFormatType.JSONL) {
+            try {
+                resultStream = new PrintStream(new BufferedOutputStream(new FileOutputStream(resultFile)), false, "UTF-8");
+            } catch (IOException e) {
+                throw new RunnerException("Can not open the result file: " + resultFile, e);
+            }
+            streamingResultFormat = ResultFormatFactory.getInstance(resultFormat, resultStream);
+            streamingResultFormat.writeOut(resumed);
+            resultStream.flush();
+        }
+
+        Collection<RunResult> results;
+        try {
+            results = runBenchmarks(benchmarks, resumed);
+        } finally {
+            if (journal != null) {
+                try {
+                    journal.close();
+                } catch (IOException e) {
+                    // ignore
+                }
+                journal = null;
+            }
+            if (resultStream != null) {
+                resultStream.close();
+                resultStream = null;
+                streamingResultFormat = null;
+            }
+        }
 
         // If user requested the result file, write it out.
         if (resultFile != null) {
-            ResultFormatFactory.getInstance(
-                        options.getResultFormat().orElse(Defaults.RESULT_FORMAT),
-                        resultFile
-            ).writeOut(results);
+            if (resultFormat != ResultFormatType.JSONL) {
+                ResultFormatFactory.getInstance(resultFormat, resultFile).writeOut(results);
+            }
 
             out.println("");
             out.println("Benchmark result is saved to " + resultFile);
         }
 
+        List<String> regressed = new ArrayList<>();
+        if (baseline != null) {
+            List<BaselineComparison.Comparison> comparisons = BaselineComparison.compare(baseline, results,
+                    options.getBaselineThreshold().orElse(Defaults.BASELINE_THRESHOLD));
+            BaselineComparison.print(out, options.getBaseline().get(), comparisons,
+                    options.getBaselineThreshold().orElse(Defaults.BASELINE_THRESHOLD));
+            for (BaselineComparison.Comparison c : comparisons) {
+                if (c.getVerdict() == BaselineComparison.Verdict.REGRESSED) {
+                    regressed.add(c.getParams().id());
+                }
+            }
+        }
+
         out.flush();
         out.close();
 
+        if (!regressed.isEmpty()) {
+            throw new RegressionException(regressed.size() + " benchmark(s) regressed against the baseline: " +
+                    Utils.join(regressed, ", "), results);
+        }
+
         return results;
     }
 
+    /**
+     * If user requested the result file in one way or the other, touch the result file,
+     * and prepare to write it out after the run.
+     *
+     * @return result file name; null, if no result file is requested
+     * @throws RunnerException if result file cannot be touched
+     */
+    private String touchResultFile() throws RunnerException {
+        String resultFile = null;
+        if (options.getResult().hasValue() || options.getResultFormat().hasValue()) {
+            resultFile = options.getResult().orElse(
+                        Defaults.RESULT_FILE_PREFIX + "." +
+                                options.getResultFormat().orElse(Defaults.RESULT_FORMAT).toString().toLowerCase()
+                    );
+            try {
+                FileUtils.touch(resultFile);
+            } catch (IOException e) {
+                throw new RunnerException("Can not touch the result file: " + resultFile);
+            }
+        }
+        return resultFile;
+    }
+
+    /**
+     * Merge the results from the given journal or JSON result files, e.g. the ones recorded by the
+     * different shards of the same run, or by the repeated runs. Results for the same benchmark
+     * are aggregated together, as if they came from the different forks of a single run.
+     * Merged results are printed, and written to the result file, if requested.
+     *
+     * @param files journal or JSON result files to merge
+     * @return merged results
+     * @throws RunnerException if files cannot be read
+     */
+    public Collection<RunResult> merge(Collection<String> files) throws RunnerException {
+        String resultFile = touchResultFile();
+
+        JSONResultReader jsonReader = new JSONResultReader();
+        List<RunResult> results = new ArrayList<>();
+        for (String file : files) {
+            results.addAll(readResults(file, jsonReader));
+        }
+
+        out.startRun();
+        SortedSet<RunResult> runResults = RunResult.merge(results);
+        out.endRun(runResults);
+
+        if (resultFile != null) {
+            ResultFormatFactory.getInstance(options.getResultFormat().orElse(Defaults.RESULT_FORMAT), resultFile)
+                    .writeOut(runResults);
+
+            out.println("");
+            out.println("Benchmark result is saved to " + resultFile);
+        }
+
+        out.flush();
+        out.close();
+
+        return runResults;
+    }
+
+    private static Collection<RunResult> readResults(String file, JSONResultReader jsonReader) throws RunnerException {
+        if (!new File(file).exists()) {
+            throw new RunnerException("Can not find the result file: " + file);
+        }
+        try {
+            if (isJSON(file)) {
+                return jsonReader.read(file);
+            } else {
+                return RunJournal.read(file);
+            }
+        } catch (IOException e) {
+            throw new RunnerException("Can not read the result file: " + file, e);
+        }
+    }
+
+    /**
+     * Journals are binary, JSON results start with the array or the object.
+     */
+    private static boolean isJSON(String file) throws IOException {
+        try (InputStream is = new BufferedInputStream(new FileInputStream(file))) {
+            int c;
+            do {
+                c = is.read();
+            } while (c != -1 && Character.isWhitespace(c));
+            return c == '[' || c == '{';
+        }
+    }
+
+    private void selectShard(SortedSet<BenchmarkListEntry> benchmarks, Shard shard) {
+        List<BenchmarkListEntry> entries = new ArrayList<>(benchmarks);
+
+        long[] times = new long[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            BenchmarkParams params = newBenchmarkParams(entries.get(i), ActionMode.WARMUP_MEASUREMENT);
+            times[i] = (Math.max(1, params.getForks()) + params.getWarmupForks()) * estimateTimeSingleFork(params);
+        }
+
+        int[] assignment = ShardAssignment.assign(times, shard.getCount());
+
+        long totalTime = 0;
+        long shardTime = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            totalTime += times[i];
+            if (assignment[i] == shard.getIndex() - 1) {
+                shardTime += times[i];
+            } else {
+                benchmarks.remove(entries.get(i));
+            }
+        }
+
+        out.println("# Shard " + shard + ": " + benchmarks.size() + " of " + entries.size() + " benchmarks, " +
+                "projected time " + formatDuration(shardTime) + " of " + formatDuration(totalTime));
+        out.println("");
+    }
+
     private List<ActionPlan> getActionPlans(Set<BenchmarkListEntry> benchmarks) {
         ActionPlan base = new ActionPlan(ActionType.FORKED);
 
@@ -386,23 +624,18 @@ public class Runner extends BaseRunner {
     private BenchmarkParams newBenchmarkParams(BenchmarkListEntry benchmark, ActionMode mode) {
         int[] threadGroups = options.getThreadGroups().orElse(benchmark.getThreadGroups());
 
-        int threads = options.getThreads().orElse(
-                benchmark.getThreads().orElse(
-                        Defaults.THREADS));
-
-        if (threads == Threads.MAX || threads == Threads.HALF_MAX) {
-            if (cpuCount == 0) {
-                out.print("# Detecting actual CPU count: ");
-                cpuCount = Utils.figureOutHotCPUs();
-                out.println(cpuCount + " detected");
-            }
-            if (threads == Threads.HALF_MAX) {
-                threads = (cpuCount + 1) / 2;
-            } else {
-                threads = cpuCount;
-            }
+        int threads;
+        WorkloadParams workloadParams = benchmark.getWorkloadParams();
+        if (options.shouldScaleThreads().orElse(Defaults.THREAD_SCALING) &&
+                workloadParams != null && workloadParams.containsKey(ThreadScaling.PARAM)) {
+            threads = Integer.parseInt(workloadParams.get(ThreadScaling.PARAM));
+            threadGroups = ThreadScaling.scaleGroups(threadGroups, threads);
+        } else {
+            threads = resolveThreads(options.getThreads().orElse(
+                    benchmark.getThreads().orElse(
+                            Defaults.THREADS)));
+            threads = Utils.roundUp(threads, Utils.sum(threadGroups));
         }
-        threads = Utils.roundUp(threads, Utils.sum(threadGroups));
 
         boolean synchIterations = (benchmark.getMode() != Mode.SingleShotTime) &&
                 options.shouldSyncIterations().orElse(Defaults.SYNC_ITERATIONS);
@@ -499,12 +732,56 @@ public class Runner extends BaseRunner {
                 warmup, measurement, benchmark.getMode(), benchmark.getWorkloadParams(), timeUnit, opsPerInvocation,
                 jvm, jvmArgs,
                 jdkVersion, vmName, vmVersion, Version.getPlainVersion(),
-                timeout);
+                timeout, options.getTargetRate().orElse(Defaults.TARGET_RATE),
+                options.getHistogramDigits().orElse(Defaults.HISTOGRAM_DIGITS),
+                options.getInFlight().orElse(Defaults.IN_FLIGHT),
+                options.getTimelineInterval().orElse(Defaults.TIMELINE_INTERVAL));
     }
 
-    private List<WorkloadParams> explodeAllParams(BenchmarkListEntry br) throws RunnerException {
+    /**
+     * Resolves the special thread counts to the actual number of threads.
+     */
+    private int resolveThreads(int threads) {
+        if (threads == Threads.MAX || threads == Threads.HALF_MAX) {
+            if (cpuCount == 0) {
+                out.print("# Detecting actual CPU count: ");
+                cpuCount = Utils.figureOutHotCPUs();
+                out.println(cpuCount + " detected");
+            }
+            // concurrent forks split the CPUs between themselves
+            int forkCpus = Math.max(1, cpuCount / options.getParallelForks().orElse(Defaults.PARALLEL_FORKS));
+            if (threads == Threads.HALF_MAX) {
+                threads = (forkCpus + 1) / 2;
+            } else {
+                threads = forkCpus;
+            }
+        }
+        return threads;
+    }
+
+    private List<BenchmarkListEntry> scaleThreads(BenchmarkListEntry br) throws RunnerException {
+        if (br.getParams().hasValue() && br.getParams().get().containsKey(ThreadScaling.PARAM)) {
+            throw new RunnerException("Benchmark \"" + br.getUsername() +
+                    "\" defines the parameter \"" + ThreadScaling.PARAM + "\", which thread scaling uses for the thread count.\n" +
+                    "Rename the parameter, or run without thread scaling.");
+        }
+
+        int[] threadGroups = options.getThreadGroups().orElse(br.getThreadGroups());
+        int maxThreads = resolveThreads(options.getThreads().orElse(Threads.MAX));
+        List<Integer> ladder = ThreadScaling.ladder(maxThreads, Utils.sum(threadGroups));
+
+        List<BenchmarkListEntry> steps = new ArrayList<>();
+        for (int i = 0; i < ladder.size(); i++) {
+            WorkloadParams p = (br.getWorkloadParams() != null) ? br.getWorkloadParams().copy() : new WorkloadParams();
+            p.put(ThreadScaling.PARAM, String.valueOf(ladder.get(i)), i);
+            steps.add(br.cloneWith(p));
+        }
+        return steps;
+    }
+
+    private Iterable<WorkloadParams> explodeAllParams(BenchmarkListEntry br) throws RunnerException {
         Map<String, String[]> benchParams = br.getParams().orElse(Collections.<String, String[]>emptyMap());
-        List<WorkloadParams> ps = new ArrayList<>();
+        ParamSpace space = new ParamSpace();
         for (Map.Entry<String, String[]> e : benchParams.entrySet()) {
             String k = e.getKey();
             String[] vals = e.getValue();
@@ -514,48 +791,86 @@ public class Runner extends BaseRunner {
                         "\" defines the parameter \"" + k + "\", but no default values.\n" +
                         "Define the default values within the annotation, or provide the parameter values at runtime.");
             }
-            if (ps.isEmpty()) {
-                int idx = 0;
-                for (String v : values) {
-                    WorkloadParams al = new WorkloadParams();
-                    al.put(k, v, idx);
-                    ps.add(al);
-                    idx++;
-                }
-            } else {
-                List<WorkloadParams> newPs = new ArrayList<>();
-                for (WorkloadParams p : ps) {
-                    int idx = 0;
-                    for (String v : values) {
-                        WorkloadParams al = p.copy();
-                        al.put(k, v, idx);
-                        newPs.add(al);
-                        idx++;
-                    }
-                }
-                ps = newPs;
+            space.add(k, values);
+        }
+
+        Exploration strategy = options.getParamExploration().orElse(
+                br.getParamExploration().orElse(Defaults.PARAM_EXPLORATION));
+        int samples = options.getParamExplorationSamples().orElse(
+                br.getParamExplorationSamples().orElse(Defaults.PARAM_EXPLORATION_SAMPLES));
+        int seed = options.getParamExplorationSeed().orElse(
+                br.getParamExplorationSeed().orElse(Defaults.PARAM_EXPLORATION_SEED));
+
+        if (samples < 1) {
+            throw new RunnerException("Benchmark \"" + br.getUsername() +
+                    "\" requests " + samples + " parameter samples, but it should be positive.");
+        }
+
+        Iterable<WorkloadParams> ps = space.explore(strategy, samples, seed);
+        if (strategy != Exploration.FULL) {
+            int count = 0;
+            for (WorkloadParams ignored : ps) {
+                count++;
             }
+            long size = space.size();
+            out.println("# Parameter exploration for " + br.getUsername() + " (" + br.getMode().shortLabel() + "): " +
+                    strategy + ", " + count + " of " + ((size == Long.MAX_VALUE) ? "too many" : String.valueOf(size)) +
+                    " combinations");
         }
         return ps;
     }
 
-    private Collection<RunResult> runBenchmarks(SortedSet<BenchmarkListEntry> benchmarks) throws RunnerException {
+    private Collection<RunResult> runBenchmarks(SortedSet<BenchmarkListEntry> benchmarks, Collection<RunResult> resumed) throws RunnerException {
         out.startRun();
 
         Multimap<BenchmarkParams, BenchmarkResult> results = new TreeMultimap<>();
+        for (RunResult r : resumed) {
+            results.putAll(r.getParams(), r.getBenchmarkResults());
+        }
+
         List<ActionPlan> plan = getActionPlans(benchmarks);
 
         etaBeforeBenchmarks(plan);
 
+        cds = options.shouldUseClassDataSharing().orElse(Defaults.CLASS_DATA_SHARING) ?
+                new ClassDataSharing() : null;
+
         try {
-            for (ActionPlan r : plan) {
+            List<ActionPlan> sequentialPlan = plan;
+
+            int parallelForks = options.getParallelForks().orElse(Defaults.PARALLEL_FORKS);
+            ForkSchedule schedule = options.getForkSchedule().orElse(Defaults.FORK_SCHEDULE);
+            if (parallelForks > 1 || schedule.isInterleaved()) {
+                if (!ProfilerFactory.getSupportedExternal(options.getProfilers()).isEmpty()) {
+                    out.println("# WARNING: External profilers cannot run with concurrent or interleaved forks, forks would run one after another.");
+                    out.println("");
+                } else {
+                    List<ActionPlan> forkedPlan = new ArrayList<>();
+                    sequentialPlan = new ArrayList<>();
+                    for (ActionPlan r : plan) {
+                        if (r.getType() == ActionType.FORKED) {
+                            forkedPlan.add(r);
+                        } else {
+                            sequentialPlan.add(r);
+                        }
+                    }
+
+                    Multimap<BenchmarkParams, BenchmarkResult> res = runConcurrently(forkedPlan, parallelForks, schedule);
+                    for (BenchmarkParams br : res.keys()) {
+                        results.putAll(br, res.get(br));
+                    }
+                }
+            }
+
+            for (int i = 0; i < sequentialPlan.size(); i++) {
+                ActionPlan r = sequentialPlan.get(i);
                 Multimap<BenchmarkParams, BenchmarkResult> res;
                 switch (r.getType()) {
                     case EMBEDDED:
                         res = runBenchmarksEmbedded(r);
                         break;
                     case FORKED:
-                        res = runSeparate(r);
+                        res = runSeparate(r, nextForkedParams(sequentialPlan, i));
                         break;
                     default:
                         throw new IllegalStateException("Unknown action plan type: " + r.getType());
@@ -563,16 +878,66 @@ public class Runner extends BaseRunner {
 
                 for (BenchmarkParams br : res.keys()) {
                     results.putAll(br, res.get(br));
+                    persistResults(br, res.get(br));
                 }
             }
 
             etaAfterBenchmarks();
 
+            if (cds != null) {
+                cds.printSummary(out);
+            }
+
             SortedSet<RunResult> runResults = mergeRunResults(results);
+
+            // Derived scaling results go into the results, and should be there before printing them.
+            List<ThreadScaling.Series> scaling = Collections.emptyList();
+            if (options.shouldScaleThreads().orElse(Defaults.THREAD_SCALING)) {
+                scaling = ThreadScaling.analyze(runResults);
+            }
+
             out.endRun(runResults);
+
+            if (!scaling.isEmpty()) {
+                ThreadScaling.print(out, scaling);
+            }
             return runResults;
         } catch (BenchmarkException be) {
             throw new RunnerException("Benchmark caught the exception", be);
+        } finally {
+            discardStandby();
+            discardPipeline();
+        }
+    }
+
+    private BenchmarkParams nextForkedParams(List<ActionPlan> plans, int current) {
+        for (int i = current + 1; i < plans.size(); i++) {
+            ActionPlan r = plans.get(i);
+            if (r.getType() == ActionType.FORKED) {
+                return r.getMeasurementActions().get(0).getParams();
+            }
+        }
+        return null;
+    }
+
+    private void persistResults(BenchmarkParams params, Collection<BenchmarkResult> benchResults) {
+        if (benchResults.isEmpty()) {
+            return;
+        }
+
+        RunResult runResult = new RunResult(params, benchResults);
+
+        if (journal != null) {
+            try {
+                journal.append(runResult);
+            } catch (IOException e) {
+                throw new BenchmarkException(e);
+            }
+        }
+
+        if (streamingResultFormat != null) {
+            streamingResultFormat.writeOut(Collections.singleton(runResult));
+            resultStream.flush();
         }
     }
 
@@ -584,7 +949,7 @@ public class Runner extends BaseRunner {
         return result;
     }
 
-    private Multimap<BenchmarkParams, BenchmarkResult> runSeparate(ActionPlan actionPlan) {
+    private Multimap<BenchmarkParams, BenchmarkResult> runSeparate(ActionPlan actionPlan, BenchmarkParams nextParams) {
         Multimap<BenchmarkParams, BenchmarkResult> results = new HashMultimap<>();
 
         if (actionPlan.getMeasurementActions().size() != 1) {
@@ -593,14 +958,14 @@ public class Runner extends BaseRunner {
 
         BinaryLinkServer server = null;
         try {
-            server = new BinaryLinkServer(options, out);
-
-            server.setPlan(actionPlan);
-
             BenchmarkParams params = actionPlan.getMeasurementActions().get(0).getParams();
 
             List<ExternalProfiler> profilers = ProfilerFactory.getSupportedExternal(options.getProfilers());
 
+            // External profilers need to see the fork from its very start.
+            boolean useStandby = profilers.isEmpty() &&
+                    options.shouldUseStandbyForks().orElse(Defaults.STANDBY_FORKS);
+
             boolean printOut = true;
             boolean printErr = true;
             for (ExternalProfiler prof : profilers) {
@@ -611,6 +976,17 @@ public class Runner extends BaseRunner {
             List<ExternalProfiler> profilersRev = new ArrayList<>(profilers);
             Collections.reverse(profilersRev);
 
+            // Pipelined profilers post-process the fork in background, while the next fork runs.
+            boolean pipelined = false;
+            if (options.shouldPipelineProfilers().orElse(Defaults.PIPELINE_PROFILERS)) {
+                for (ExternalProfiler prof : profilers) {
+                    pipelined |= (prof instanceof PipelinedProfiler);
+                }
+            }
+            if (pipelined && pipeline == null) {
+                pipeline = new ProfilerPipeline(out);
+            }
+
             boolean forcePrint = options.verbosity().orElse(Defaults.VERBOSITY).equalsOrHigherThan(VerboseMode.EXTRA);
             printOut = forcePrint || printOut;
             printErr = forcePrint || printErr;
@@ -622,9 +998,44 @@ public class Runner extends BaseRunner {
             int warmupForkCount = params.getWarmupForks();
             int totalForks = warmupForkCount + forkCount;
 
+            // With target error set, the fork count is the minimum, and we continue
+            // forking until the fork-to-fork error converges.
+            AdaptivePolicy policy = AdaptivePolicy.fromOptions(options);
+            ListStatistics forkScores = new ListStatistics();
+
             for (int i = 0; i < totalForks; i++) {
                 boolean warmupFork = (i < warmupForkCount);
-                List<String> forkedString  = getForkedMainCommand(params, profilers, server.getHost(), server.getPort());
+
+                if (pipelined && i > 0) {
+                    // Previous instances may still be busy with the previous fork, take the fresh ones.
+                    profilers = ProfilerFactory.getSupportedExternal(options.getProfilers());
+                    profilersRev = new ArrayList<>(profilers);
+                    Collections.reverse(profilersRev);
+                }
+                if (pipelined) {
+                    for (ExternalProfiler prof : profilers) {
+                        if (prof instanceof PipelinedProfiler) {
+                            ((PipelinedProfiler) prof).enablePipelining();
+                        }
+                    }
+                }
+
+                StandbyFork fork = useStandby ? acquireStandby(params, profilers) : null;
+                if (fork == null && server == null) {
+                    server = new BinaryLinkServer(options, out);
+                    server.setPlan(actionPlan);
+                }
+                BinaryLinkServer link = (fork != null) ? fork.getServer() : server;
+
+                List<String> forkedString;
+                if (fork != null) {
+                    forkedString = fork.getCommand();
+                } else if (pipelined && pipeline.getForkCpus() != null) {
+                    List<Integer> cpus = pipeline.getForkCpus();
+                    forkedString = getForkedMainCommand(params, profilers, server.getHost(), server.getPort(), cpus, cpus.size());
+                } else {
+                    forkedString = getForkedMainCommand(params, profilers, server.getHost(), server.getPort());
+                }
 
                 etaBeforeBenchmark();
 
@@ -633,7 +1044,7 @@ public class Runner extends BaseRunner {
                     out.println("# Warmup Fork: " + (i + 1) + " of " + warmupForkCount);
                 } else {
                     out.verbosePrintln("Forking using command: " + forkedString);
-                    out.println("# Fork: " + (i + 1 - warmupForkCount) + " of " + forkCount);
+                    out.println("# Fork: " + (i + 1 - warmupForkCount) + " of " + forkCountLabel(params, policy));
                 }
 
                 TempFile stdErr = FileUtils.weakTempFile("stderr");
@@ -656,21 +1067,49 @@ public class Runner extends BaseRunner {
                 }
 
                 long startTime = System.currentTimeMillis();
+                boolean handedOff = false;
+
+                List<IterationResult> result;
+                if (fork != null) {
+                    fork.activate(actionPlan, out);
+
+                    // Current fork is in its warmup now, start the next one in background.
+                    standby = startStandby((i + 1 < totalForks) ? params : nextParams, profilers);
+
+                    try {
+                        result = awaitFork(link, fork.getProcess(), fork.getLaunchCommand(), fork.getStartTime(),
+                                fork.getErrDrainer(), fork.getOutDrainer(),
+                                fork.getStdOut().file(), fork.getStdErr().file(), out);
+                    } finally {
+                        fork.close();
+                    }
+                } else {
+                    result = doFork(params, server, forkedString, stdOut.file(), stdErr.file(), printOut, printErr, out);
+                }
 
-                List<IterationResult> result = doFork(server, forkedString, stdOut.file(), stdErr.file(), printOut, printErr);
                 if (!result.isEmpty()) {
-                    long pid = server.getClientPid();
+                    long pid = link.getClientPid();
 
-                    BenchmarkResultMetaData md = server.getMetadata();
+                    BenchmarkResultMetaData md = link.getMetadata();
                     if (md != null) {
                         md.adjustStart(startTime);
                     }
 
                     BenchmarkResult br = new BenchmarkResult(params, result, md);
 
-                    if (!profilersRev.isEmpty()) {
+                    List<ExternalProfiler> immediate = new ArrayList<>();
+                    List<PipelinedProfiler> deferred = new ArrayList<>();
+                    for (ExternalProfiler profiler : profilersRev) {
+                        if (pipelined && profiler instanceof PipelinedProfiler) {
+                            deferred.add((PipelinedProfiler) profiler);
+                        } else {
+                            immediate.add(profiler);
+                        }
+                    }
+
+                    if (!immediate.isEmpty()) {
                         out.print("# Processing profiler results: ");
-                        for (ExternalProfiler profiler : profilersRev) {
+                        for (ExternalProfiler profiler : immediate) {
                             out.print(profiler.getClass().getSimpleName() + " ");
                             for (Result profR : profiler.afterTrial(br, pid, stdOut.file(), stdErr.file())) {
                                 br.addBenchmarkResult(profR);
@@ -679,17 +1118,41 @@ public class Runner extends BaseRunner {
                         out.println("");
                     }
 
+                    if (!deferred.isEmpty()) {
+                        out.print("# Processing profiler results in background: ");
+                        for (ExternalProfiler profiler : deferred) {
+                            out.print(profiler.getClass().getSimpleName() + " ");
+                        }
+                        out.println("");
+                        pipeline.submit(br, pid, deferred, stdOut, stdErr);
+                        handedOff = true;
+                    }
+
                     if (!warmupFork) {
                         results.put(params, br);
+                        forkScores.addValue(br.getPrimaryResult().getScore());
                     }
                 }
 
                 etaAfterBenchmark(params);
                 out.println("");
 
-                // we know these are not needed anymore, proactively delete
-                stdOut.delete();
-                stdErr.delete();
+                // we know these are not needed anymore, proactively delete;
+                // background post-processing deletes them when done
+                if (!handedOff) {
+                    stdOut.delete();
+                    stdErr.delete();
+                }
+
+                if (i == totalForks - 1 && needMoreForks(params, policy, forkScores, totalForks - warmupForkCount)) {
+                    totalForks++;
+                }
+            }
+
+            if (pipelined) {
+                out.println("# Waiting for background profiler results");
+                pipeline.join();
+                out.println("");
             }
 
             out.endBenchmark(new RunResult(params, results.get(params)).getAggregatedResult());
@@ -707,17 +1170,399 @@ public class Runner extends BaseRunner {
             if (server != null) {
                 server.terminate();
             }
+            if (pipeline != null) {
+                // background post-processing still uses the temp files
+                pipeline.discard();
+            }
+            FileUtils.purgeTemps();
+        }
+
+        return results;
+    }
+
+    /**
+     * Takes the standby VM, if it was started with the command matching the given benchmark,
+     * or starts the new one.
+     */
+    private StandbyFork acquireStandby(BenchmarkParams params, List<ExternalProfiler> profilers) {
+        StandbyFork fork = standby;
+        standby = null;
+        if (fork != null) {
+            BinaryLinkServer server = fork.getServer();
+            if (fork.isAlive() && fork.getCommand().equals(
+                    getForkedMainCommand(params, profilers, server.getHost(), server.getPort()))) {
+                return fork;
+            }
+            fork.discard();
+        }
+        return startStandby(params, profilers);
+    }
+
+    private StandbyFork startStandby(BenchmarkParams params, List<ExternalProfiler> profilers) {
+        if (params == null) {
+            return null;
+        }
+
+        BinaryLinkServer server = null;
+        try {
+            server = new BinaryLinkServer(options, out);
+            List<String> command = getForkedMainCommand(params, profilers, server.getHost(), server.getPort());
+            return new StandbyFork(server, command, (cds != null) ? cds.prepare(params, command) : command);
+        } catch (IOException e) {
+            out.verbosePrintln("Cannot start the standby VM: " + e.getMessage());
+            if (server != null) {
+                server.terminate();
+            }
+            return null;
+        }
+    }
+
+    private void discardPipeline() {
+        if (pipeline != null) {
+            pipeline.shutdown();
+            pipeline = null;
+        }
+    }
+
+    private void discardStandby() {
+        if (standby != null) {
+            standby.discard();
+            standby = null;
+        }
+    }
+
+    private Multimap<BenchmarkParams, BenchmarkResult> runConcurrently(List<ActionPlan> plans, int parallelForks,
+                                                                       ForkSchedule schedule) {
+        Multimap<BenchmarkParams, BenchmarkResult> results = new HashMultimap<>();
+        if (plans.isEmpty()) {
+            return results;
+        }
+
+        BlockingQueue<ForkSlot> slots = new LinkedBlockingQueue<>((parallelForks > 1) ?
+                allocateForkSlots(parallelForks) :
+                Collections.singletonList(new ForkSlot(null, 0)));
+
+        ExecutorService executor = Executors.newFixedThreadPool(slots.size(), r -> {
+            Thread t = new Thread(r, "jmh-fork-worker");
+            t.setDaemon(true);
+            return t;
+        });
+
+        try {
+            CompletionService<ForkOutcome> completion = new ExecutorCompletionService<>(executor);
+
+            // Forks start running right away, start the clock for ETA.
+            etaBeforeBenchmark();
+            out.println("");
+
+            AdaptivePolicy policy = AdaptivePolicy.fromOptions(options);
+
+            Map<BenchmarkParams, ActionPlan> actionPlans = new HashMap<>();
+            Map<BenchmarkParams, List<ForkOutcome>> outcomes = new HashMap<>();
+            Map<BenchmarkParams, Integer> plannedForks = new HashMap<>();
+            List<BenchmarkParams> benchParams = new ArrayList<>();
+            for (ActionPlan actionPlan : plans) {
+                if (actionPlan.getMeasurementActions().size() != 1) {
+                    throw new IllegalStateException("Expect only single benchmark in the action plan, but was " + actionPlan.getMeasurementActions().size());
+                }
+
+                BenchmarkParams params = actionPlan.getMeasurementActions().get(0).getParams();
+                actionPlans.put(params, actionPlan);
+                outcomes.put(params, new ArrayList<>());
+                plannedForks.put(params, params.getWarmupForks() + params.getForks());
+                benchParams.add(params);
+            }
+
+            int[] forks = new int[benchParams.size()];
+            for (int b = 0; b < forks.length; b++) {
+                forks[b] = plannedForks.get(benchParams.get(b));
+            }
+
+            long seed = options.getForkScheduleSeed().orElse(System.nanoTime());
+            List<int[]> order = ForkInterleaving.order(forks, schedule, seed);
+            if (schedule == ForkSchedule.RANDOM) {
+                out.println("# Interleaving " + order.size() + " forks of " + forks.length + " benchmarks in " + schedule + " order, seed " + seed);
+                out.println("");
+            } else if (schedule.isInterleaved()) {
+                out.println("# Interleaving " + order.size() + " forks of " + forks.length + " benchmarks in " + schedule + " order");
+                out.println("");
+            }
+
+            // Workers pick up the forks in submission order.
+            int totalJobs = 0;
+            for (int[] job : order) {
+                BenchmarkParams params = benchParams.get(job[0]);
+                ActionPlan actionPlan = actionPlans.get(params);
+                int forkIdx = job[1];
+                completion.submit(() -> runConcurrentFork(actionPlan, params, forkIdx, slots));
+                totalJobs++;
+            }
+
+            // Report the benchmarks as soon as all their forks are complete. This keeps
+            // the human-readable output in the same shape as for the sequential forks.
+            for (int c = 0; c < totalJobs; c++) {
+                ForkOutcome outcome = completion.take().get();
+
+                BenchmarkParams params = outcome.params;
+                List<ForkOutcome> done = outcomes.get(params);
+                done.add(outcome);
+
+                if (schedule.isInterleaved()) {
+                    out.println("# Completed fork " + (c + 1) + " of " + totalJobs + ": " + params.id());
+                }
+
+                int planned = plannedForks.get(params);
+                if (done.size() == planned) {
+                    ListStatistics forkScores = new ListStatistics();
+                    boolean failed = false;
+                    for (ForkOutcome o : done) {
+                        failed |= (o.exception != null);
+                        if (!o.warmupFork && o.result != null) {
+                            forkScores.addValue(o.result.getPrimaryResult().getScore());
+                        }
+                    }
+
+                    if (!failed && needMoreForks(params, policy, forkScores, planned - params.getWarmupForks())) {
+                        ActionPlan actionPlan = actionPlans.get(params);
+                        plannedForks.put(params, planned + 1);
+                        completion.submit(() -> runConcurrentFork(actionPlan, params, planned, slots));
+                        totalJobs++;
+                    } else {
+                        done.sort(Comparator.comparingInt(o -> o.forkIdx));
+                        reportConcurrentForks(params, done, results);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            results.clear();
+            throw new BenchmarkException(e);
+        } catch (ExecutionException e) {
+            results.clear();
+            throw new BenchmarkException(e.getCause());
+        } finally {
+            executor.shutdownNow();
             FileUtils.purgeTemps();
         }
 
         return results;
     }
 
-    private List<IterationResult> doFork(BinaryLinkServer reader, List<String> commandString,
-                                                              File stdOut, File stdErr, boolean printOut, boolean printErr) {
+    private void reportConcurrentForks(BenchmarkParams params, List<ForkOutcome> forks, Multimap<BenchmarkParams, BenchmarkResult> results) {
+        out.startBenchmark(params);
+        out.println("");
+
+        BenchmarkException failure = null;
+        List<BenchmarkResult> benchResults = new ArrayList<>();
+        for (ForkOutcome fork : forks) {
+            etaBeforeBenchmark();
+            try {
+                out.write(fork.output);
+            } catch (IOException e) {
+                // output is best-effort
+            }
+            if (fork.exception != null) {
+                if (failure == null) {
+                    failure = fork.exception;
+                } else {
+                    failure.addSuppressed(fork.exception);
+                }
+            } else if (fork.result != null && !fork.warmupFork) {
+                benchResults.add(fork.result);
+            }
+            etaAfterBenchmark(params);
+            out.println("");
+        }
+
+        if (failure != null) {
+            if (options.shouldFailOnError().orElse(Defaults.FAIL_ON_ERROR)) {
+                out.println("Benchmark had encountered error, and fail on error was requested");
+                throw failure;
+            }
+            benchResults.clear();
+        }
+
+        results.putAll(params, benchResults);
+        persistResults(params, benchResults);
+        out.endBenchmark(new RunResult(params, benchResults).getAggregatedResult());
+    }
+
+    private ForkOutcome runConcurrentFork(ActionPlan actionPlan, BenchmarkParams params, int forkIdx,
+                                          BlockingQueue<ForkSlot> slots) throws InterruptedException {
+        int warmupForkCount = params.getWarmupForks();
+        boolean warmupFork = (forkIdx < warmupForkCount);
+
+        // Collect the fork output separately, and print it out when the fork is reported.
+        ByteArrayOutputStream buf = new ByteArrayOutputStream();
+        OutputFormat forkOut;
+        try {
+            forkOut = OutputFormatFactory.createFormatInstance(
+                    new PrintStream(buf, true, Utils.guessConsoleEncoding().name()),
+                    options.verbosity().orElse(Defaults.VERBOSITY));
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+
+        ForkSlot slot = slots.take();
+        BinaryLinkServer server = null;
+        try {
+            server = new BinaryLinkServer(options, forkOut);
+            server.setPlan(actionPlan);
+
+            List<String> forkedString = getForkedMainCommand(params, Collections.<ExternalProfiler>emptyList(),
+                    server.getHost(), server.getPort(), slot.cpus, slot.cpuCount);
+
+            String slotDesc;
+            if (slot.cpus != null) {
+                slotDesc = ", CPUs: " + CpuTopology.formatList(slot.cpus);
+            } else if (slot.cpuCount > 0) {
+                slotDesc = ", CPUs: " + slot.cpuCount + " of any";
+            } else {
+                slotDesc = "";
+            }
+
+            if (warmupFork) {
+                forkOut.verbosePrintln("Warmup forking using command: " + forkedString);
+                forkOut.println("# Warmup Fork: " + (forkIdx + 1) + " of " + warmupForkCount + slotDesc);
+            } else {
+                forkOut.verbosePrintln("Forking using command: " + forkedString);
+                forkOut.println("# Fork: " + (forkIdx + 1 - warmupForkCount) + " of " +
+                        forkCountLabel(params, AdaptivePolicy.fromOptions(options)) + slotDesc);
+            }
+
+            TempFile stdErr = FileUtils.weakTempFile("stderr");
+            TempFile stdOut = FileUtils.weakTempFile("stdout");
+
+            long startTime = System.currentTimeMillis();
+
+            List<IterationResult> result = doFork(params, server, forkedString, stdOut.file(), stdErr.file(), true, true, forkOut);
+
+            BenchmarkResult br = null;
+            if (!result.isEmpty()) {
+                BenchmarkResultMetaData md = server.getMetadata();
+                if (md != null) {
+                    md.adjustStart(startTime);
+                }
+                br = new BenchmarkResult(params, result, md);
+            }
+
+            stdOut.delete();
+            stdErr.delete();
+
+            forkOut.flush();
+            return new ForkOutcome(params, forkIdx, warmupFork, br, null, buf.toByteArray());
+        } catch (IOException e) {
+            forkOut.flush();
+            return new ForkOutcome(params, forkIdx, warmupFork, null, new BenchmarkException(e), buf.toByteArray());
+        } catch (BenchmarkException e) {
+            forkOut.flush();
+            return new ForkOutcome(params, forkIdx, warmupFork, null, e, buf.toByteArray());
+        } finally {
+            if (server != null) {
+                server.terminate();
+            }
+            slots.add(slot);
+        }
+    }
+
+    private boolean needMoreForks(BenchmarkParams params, AdaptivePolicy policy, ListStatistics forkScores, int forks) {
+        if (policy == null || forks >= policy.getMaxForks(params.getForks())) {
+            return false;
+        }
+        if (policy.isConverged(forkScores)) {
+            return false;
+        }
+        double error = AdaptivePolicy.relativeError(forkScores);
+        if (Double.isNaN(error)) {
+            out.println("# Not enough forks to estimate fork-to-fork error, adding another fork");
+        } else {
+            out.println(String.format("# Fork-to-fork error is %.2f%% (target: %.2f%%), adding another fork",
+                    error * 100, policy.getTargetError() * 100));
+        }
+        out.println("");
+        return true;
+    }
+
+    private String forkCountLabel(BenchmarkParams params, AdaptivePolicy policy) {
+        if (policy == null) {
+            return String.valueOf(params.getForks());
+        }
+        return params.getForks() + ".." + policy.getMaxForks(params.getForks());
+    }
+
+    private List<ForkSlot> allocateForkSlots(int parallelForks) {
+        List<ForkSlot> result = new ArrayList<>();
+
+        Optional<CpuTopology> topology = CpuTopology.detect();
+        if (topology.hasValue()) {
+            int cpus = topology.get().size();
+            int count = Math.min(parallelForks, cpus);
+            if (count < parallelForks) {
+                out.println("# WARNING: Only " + cpus + " CPUs are available, running " + count + " concurrent forks instead of " + parallelForks);
+            }
+
+            List<List<Integer>> sets = topology.get().partition(count);
+            if (Utils.tryWith("taskset", "-c", CpuTopology.formatList(sets.get(0)), "true").isEmpty()) {
+                out.println("# Running " + count + " concurrent forks, each pinned to its own CPU set");
+                for (List<Integer> set : sets) {
+                    result.add(new ForkSlot(set, set.size()));
+                }
+                out.println("");
+                return result;
+            }
+            out.println("# WARNING: Cannot pin forks to CPUs with taskset, concurrent forks are not pinned.");
+        } else {
+            out.println("# WARNING: CPU topology is not available, concurrent forks are not pinned.");
+        }
+
+        int cpus = Runtime.getRuntime().availableProcessors();
+        int count = Math.min(parallelForks, cpus);
+        if (count < parallelForks) {
+            out.println("# WARNING: Only " + cpus + " CPUs are available, running " + count + " concurrent forks instead of " + parallelForks);
+        }
+        for (int c = 0; c < count; c++) {
+            result.add(new ForkSlot(null, cpus / count));
+        }
+        out.println("");
+        return result;
+    }
+
+    private static class ForkSlot {
+        private final List<Integer> cpus;
+        private final int cpuCount;
+
+        ForkSlot(List<Integer> cpus, int cpuCount) {
+            this.cpus = cpus;
+            this.cpuCount = cpuCount;
+        }
+    }
+
+    private static class ForkOutcome {
+        private final BenchmarkParams params;
+        private final int forkIdx;
+        private final boolean warmupFork;
+        private final BenchmarkResult result;
+        private final BenchmarkException exception;
+        private final byte[] output;
+
+        ForkOutcome(BenchmarkParams params, int forkIdx, boolean warmupFork, BenchmarkResult result, BenchmarkException exception, byte[] output) {
+            this.params = params;
+            this.forkIdx = forkIdx;
+            this.warmupFork = warmupFork;
+            this.result = result;
+            this.exception = exception;
+            this.output = output;
+        }
+    }
+
+    private List<IterationResult> doFork(BenchmarkParams params, BinaryLinkServer reader, List<String> commandString,
+                                         File stdOut, File stdErr, boolean printOut, boolean printErr,
+                                         OutputFormat out) {
         try (FileOutputStream fosErr = new FileOutputStream(stdErr);
              FileOutputStream fosOut = new FileOutputStream(stdOut)) {
-            ProcessBuilder pb = new ProcessBuilder(commandString);
+            List<String> command = (cds != null) ? cds.prepare(params, commandString) : commandString;
+            long startTime = System.nanoTime();
+
+            ProcessBuilder pb = new ProcessBuilder(command);
             Process p = pb.start();
 
             // drain streams, else we might lock up
@@ -735,6 +1580,18 @@ public class Runner extends BaseRunner {
             errDrainer.start();
             outDrainer.start();
 
+            return awaitFork(reader, p, command, startTime, errDrainer, outDrainer, stdOut, stdErr, out);
+        } catch (IOException ex) {
+            out.println("<failed to invoke the VM, caught IOException: " + ex.getMessage() + ">");
+            out.println("");
+            throw new BenchmarkException(ex);
+        }
+    }
+
+    private List<IterationResult> awaitFork(BinaryLinkServer reader, Process p, List<String> command, long startTime,
+                                            InputStreamDrainer errDrainer, InputStreamDrainer outDrainer,
+                                            File stdOut, File stdErr, OutputFormat out) {
+        try {
             int ecode = p.waitFor();
 
             errDrainer.join();
@@ -744,6 +1601,10 @@ public class Runner extends BaseRunner {
             // before starting the next benchmark
             reader.waitFinish();
 
+            if (cds != null) {
+                cds.forkFinished(command, startTime, reader.getPlanRequestTime());
+            }
+
             if (ecode != 0) {
                 out.println("<forked VM failed with exit code " + ecode + ">");
                 out.println("<stdout last='" + TAIL_LINES_ON_ERROR + " lines'>");
@@ -772,10 +1633,11 @@ public class Runner extends BaseRunner {
             }
 
         } catch (IOException ex) {
-            out.println("<failed to invoke the VM, caught IOException: " + ex.getMessage() + ">");
+            out.println("<failed to read the VM output, caught IOException: " + ex.getMessage() + ">");
             out.println("");
             throw new BenchmarkException(ex);
         } catch (InterruptedException ex) {
+            p.destroy();
             out.println("<host VM has been interrupted waiting for forked VM: " + ex.getMessage() + ">");
             out.println("");
             throw new BenchmarkException(ex);
@@ -788,6 +1650,18 @@ public class Runner extends BaseRunner {
      * @return
      */
     List<String> getForkedMainCommand(BenchmarkParams benchmark, List<ExternalProfiler> profilers, String host, int port) {
+        return getForkedMainCommand(benchmark, profilers, host, port, null, 0);
+    }
+
+    /**
+     * @param host host VM host
+     * @param port host VM port
+     * @param cpus CPUs to pin the forked VM to; null, if forked VM should not be pinned
+     * @param cpuCount CPU count to report to the forked VM; 0, if default count should be used
+     * @return
+     */
+    List<String> getForkedMainCommand(BenchmarkParams benchmark, List<ExternalProfiler> profilers, String host, int port,
+                                      List<Integer> cpus, int cpuCount) {
         // Poll profilers for options
         List<String> javaInvokeOptions = new ArrayList<>();
         List<String> javaOptions = new ArrayList<>();
@@ -798,12 +1672,24 @@ public class Runner extends BaseRunner {
 
         List<String> command = new ArrayList<>();
 
+        // pin to the requested CPUs, if needed
+        if (cpus != null) {
+            command.add("taskset");
+            command.add("-c");
+            command.add(CpuTopology.formatList(cpus));
+        }
+
         // prefix java invoke options, if any profiler wants it
         command.addAll(javaInvokeOptions);
 
         // use supplied jvm, if given
         command.add(benchmark.getJvm());
 
+        // report the CPU count, if needed; user-supplied jvm args can still override it
+        if (cpuCount > 0) {
+            command.add("-XX:ActiveProcessorCount=" + cpuCount);
+        }
+
         // use supplied jvm args, if given
         command.addAll(benchmark.getJvmArgs());
 
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.runner;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Assigns the benchmarks to shards. The assignment depends only on the projected
+ * times and the order of the benchmarks, so every host computes the same one.
+ */
+class ShardAssignment {
+
+    /**
+     * Balances the projected times over the shards: the longest benchmarks go first,
+     * each to the least loaded shard.
+     *
+     * @param times projected time for every benchmark
+     * @param count number of shards
+     * @return shard index, from 0 to count - 1, for every benchmark
+     */
+    static int[] assign(final long[] times, int count) {
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < times.length; i++) {
+            order.add(i);
+        }
+
+        // Stable sort: benchmarks with equal times keep their original order.
+        Collections.sort(order, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer o1, Integer o2) {
+                return Long.compare(times[o2], times[o1]);
+            }
+        });
+
+        long[] loads = new long[count];
+        int[] result = new int[times.length];
+        for (int i : order) {
+            int min = 0;
+            for (int s = 1; s < count; s++) {
+                if (loads[s] < loads[min]) {
+                    min = s;
+                }
+            }
+            loads[min] += times[i];
+            result[i] = min;
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.runner;
+
+import org.openjdk.jmh.runner.format.OutputFormat;
+import org.openjdk.jmh.runner.link.BinaryLinkServer;
+import org.openjdk.jmh.util.FileUtils;
+import org.openjdk.jmh.util.InputStreamDrainer;
+import org.openjdk.jmh.util.TempFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Forked VM started ahead of time. The VM connects to its own binary link server,
+ * and parks waiting for the action plan, until it is either activated with the plan,
+ * or discarded. The output the VM produces while parked is held back until activation.
+ */
+class StandbyFork {
+
+    private final BinaryLinkServer server;
+    private final List<String> command;
+    private final List<String> launchCommand;
+    private final long startTime;
+    private final TempFile stdOut;
+    private final TempFile stdErr;
+    private final FileOutputStream fosOut;
+    private final FileOutputStream fosErr;
+    private final ParkedOutputStream parkedOut;
+    private final ParkedOutputStream parkedErr;
+    private final Process process;
+    private final InputStreamDrainer outDrainer;
+    private final InputStreamDrainer errDrainer;
+
+    /**
+     * @param server binary link server the VM connects to
+     * @param command forked VM command, to match the later forks against
+     * @param launchCommand command to actually launch the VM with
+     * @throws IOException if VM cannot be launched
+     */
+    StandbyFork(BinaryLinkServer server, List<String> command, List<String> launchCommand) throws IOException {
+        this.server = server;
+        this.command = command;
+        this.launchCommand = launchCommand;
+
+        stdOut = FileUtils.weakTempFile("stdout");
+        stdErr = FileUtils.weakTempFile("stderr");
+        fosOut = new FileOutputStream(stdOut.file());
+        fosErr = new FileOutputStream(stdErr.file());
+        parkedOut = new ParkedOutputStream();
+        parkedErr = new ParkedOutputStream();
+
+        try {
+            startTime = System.nanoTime();
+            process = new ProcessBuilder(launchCommand).start();
+        } catch (IOException e) {
+            FileUtils.safelyClose(fosOut);
+            FileUtils.safelyClose(fosErr);
+            throw e;
+        }
+
+        // drain streams, else we might lock up
+        outDrainer = new InputStreamDrainer(process.getInputStream(), fosOut);
+        errDrainer = new InputStreamDrainer(process.getErrorStream(), fosErr);
+        outDrainer.addOutputStream(parkedOut);
+        errDrainer.addOutputStream(parkedErr);
+        outDrainer.start();
+        errDrainer.start();
+    }
+
+    BinaryLinkServer getServer() {
+        return server;
+    }
+
+    List<String> getCommand() {
+        return command;
+    }
+
+    List<String> getLaunchCommand() {
+        return launchCommand;
+    }
+
+    long getStartTime() {
+        return startTime;
+    }
+
+    Process getProcess() {
+        return process;
+    }
+
+    InputStreamDrainer getOutDrainer() {
+        return outDrainer;
+    }
+
+    InputStreamDrainer getErrDrainer() {
+        return errDrainer;
+    }
+
+    TempFile getStdOut() {
+        return stdOut;
+    }
+
+    TempFile getStdErr() {
+        return stdErr;
+    }
+
+    boolean isAlive() {
+        return process.isAlive();
+    }
+
+    /**
+     * Lets the VM run the given plan, and starts forwarding its output.
+     * @param plan action plan to run
+     * @param out output to forward the VM stdout and stderr to
+     */
+    void activate(ActionPlan plan, OutputFormat out) {
+        parkedOut.release(new OutputFormatAdapter(out));
+        parkedErr.release(new OutputFormatAdapter(out));
+        server.setPlan(plan);
+    }
+
+    /**
+     * Kills the VM that was never activated, and releases its resources.
+     */
+    void discard() {
+        process.destroyForcibly();
+        try {
+            process.waitFor();
+            outDrainer.join();
+            errDrainer.join();
+        } catch (InterruptedException e) {
+            // ignore
+        }
+        close();
+    }
+
+    /**
+     * Releases the resources, once the VM had finished.
+     */
+    void close() {
+        server.terminate();
+        FileUtils.safelyClose(fosOut);
+        FileUtils.safelyClose(fosErr);
+        stdOut.delete();
+        stdErr.delete();
+    }
+
+    /**
+     * Buffers the output until released, then writes through.
+     */
+    private static class ParkedOutputStream extends OutputStream {
+        private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private OutputStream target;
+
+        synchronized void release(OutputStream target) {
+            this.target = target;
+            try {
+                buffer.writeTo(target);
+            } catch (IOException e) {
+                // output is best-effort
+            }
+            buffer = null;
+        }
+
+        @Override
+        public synchronized void write(int b) throws IOException {
+            if (target != null) {
+                target.write(b);
+            } else {
+                buffer.write(b);
+            }
+        }
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) throws IOException {
+            if (target != null) {
+                target.write(b, off, len);
+            } else {
+                buffer.write(b, off, len);
+            }
+        }
+    }
+
+}
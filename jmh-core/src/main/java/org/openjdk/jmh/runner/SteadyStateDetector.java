@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.runner;
+
+import org.openjdk.jmh.runner.options.Options;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Detects the steady state in warmup iteration scores. The steady state is reached when
+ * the scores in the window of recent iterations are both stable (low relative standard
+ * deviation) and flat (low relative drift, as estimated by the least squares slope).
+ */
+class SteadyStateDetector {
+
+    private final double threshold;
+    private final int window;
+    private final List<Double> scores;
+
+    SteadyStateDetector(double threshold, int window) {
+        this.threshold = threshold;
+        this.window = window;
+        this.scores = new ArrayList<>();
+    }
+
+    /**
+     * @param options options to use
+     * @return detector, or null if steady state detection is not requested
+     */
+    static SteadyStateDetector fromOptions(Options options) {
+        if (!options.getWarmupSteadyStateThreshold().hasValue()) {
+            return null;
+        }
+        return new SteadyStateDetector(
+                options.getWarmupSteadyStateThreshold().get(),
+                options.getWarmupSteadyStateWindow().orElse(Defaults.WARMUP_STEADY_STATE_WINDOW));
+    }
+
+    void add(double score) {
+        scores.add(score);
+    }
+
+    boolean isSteady() {
+        if (scores.size() < window) {
+            return false;
+        }
+
+        List<Double> w = scores.subList(scores.size() - window, scores.size());
+
+        double sum = 0;
+        for (double s : w) {
+            sum += s;
+        }
+        double mean = sum / window;
+        if (mean == 0 || Double.isNaN(mean) || Double.isInfinite(mean)) {
+            return false;
+        }
+
+        // Least squares fit against the iteration index, x = 0..(window-1).
+        double xMean = (window - 1) / 2.0;
+        double sxx = 0;
+        double sxy = 0;
+        double ss = 0;
+        for (int x = 0; x < window; x++) {
+            double dx = x - xMean;
+            double dy = w.get(x) - mean;
+            sxx += dx * dx;
+            sxy += dx * dy;
+            ss += dy * dy;
+        }
+
+        double deviation = Math.sqrt(ss / (window - 1)) / Math.abs(mean);
+        double drift = Math.abs(sxy / sxx * (window - 1)) / Math.abs(mean);
+
+        return deviation <= threshold && drift <= threshold;
+    }
+
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.runner;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.runner.format.OutputFormat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plain text table for the summaries printed after the run.
+ * Every column is as wide as its widest cell; numbers go right-aligned.
+ */
+class SummaryTable {
+
+    private final List<String[]> rows = new ArrayList<>();
+    private final boolean[] left;
+
+    /**
+     * @param header column names
+     * @param leftColumns indices of the columns with names and labels, which go left-aligned
+     */
+    SummaryTable(String[] header, int... leftColumns) {
+        this.left = new boolean[header.length];
+        for (int c : leftColumns) {
+            left[c] = true;
+        }
+        rows.add(header);
+    }
+
+    void addRow(String... row) {
+        if (row.length != left.length) {
+            throw new IllegalArgumentException("Expected " + left.length + " cells, got " + row.length);
+        }
+        rows.add(row);
+    }
+
+    void print(OutputFormat out) {
+        int[] widths = new int[left.length];
+        for (String[] row : rows) {
+            for (int i = 0; i < row.length; i++) {
+                widths[i] = Math.max(widths[i], row[i].length());
+            }
+        }
+
+        for (String[] row : rows) {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < row.length; i++) {
+                if (i > 0) {
+                    sb.append("  ");
+                }
+                sb.append(String.format("%" + (left[i] ? "-" : "") + widths[i] + "s", row[i]));
+            }
+            out.println(sb.toString().trim());
+        }
+    }
+
+    /**
+     * @param params benchmark parameters
+     * @param skipKey parameter to leave out, e.g. the one the rows vary; null to list all
+     * @return parameters to append to the benchmark name, e.g. " (size=10, mode=fast)"; empty, if none
+     */
+    static String paramsLabel(BenchmarkParams params, String skipKey) {
+        StringBuilder sb = new StringBuilder();
+        for (String key : params.getParamsKeys()) {
+            if (key.equals(skipKey)) {
+                continue;
+            }
+            sb.append((sb.length() == 0) ? " (" : ", ");
+            sb.append(key).append("=").append(params.getParam(key));
+        }
+        if (sb.length() > 0) {
+            sb.append(")");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @return the value formatted, or "N/A" if it is not a number
+     */
+    static String format(String format, double v) {
+        return Double.isNaN(v) ? "N/A" : String.format(format, v);
+    }
+
+}
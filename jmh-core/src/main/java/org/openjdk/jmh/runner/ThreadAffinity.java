@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.runner;
+
+import org.openjdk.jmh.infra.ThreadParams;
+import org.openjdk.jmh.runner.options.ThreadPlacement;
+import org.openjdk.jmh.util.CpuTopology.Cpu;
+
+import java.util.*;
+
+/**
+ * Places the worker threads on CPUs of the {@link org.openjdk.jmh.util.CpuTopology}.
+ */
+class ThreadAffinity {
+
+    /**
+     * Assigns CPUs to threads.
+     * @param placement placement policy
+     * @param topology available CPUs
+     * @param threads thread parameters
+     * @return CPU for every thread index; null, if threads should not be pinned
+     * @throws IllegalArgumentException if there are less CPUs than threads
+     */
+    static int[] assign(ThreadPlacement placement, List<Cpu> topology, List<ThreadParams> threads) {
+        if (placement.getPolicy() == ThreadPlacement.Policy.NONE) {
+            return null;
+        }
+
+        // Threads pinned to the same CPU would run one after another, and that
+        // breaks the measurement instead of making it more reliable.
+        Set<Integer> available = new HashSet<>();
+        if (placement.getPolicy() == ThreadPlacement.Policy.LIST) {
+            for (int cpu : placement.getCpus()) {
+                available.add(cpu);
+            }
+        } else {
+            for (Cpu c : topology) {
+                available.add(c.getId());
+            }
+        }
+        if (threads.size() > available.size()) {
+            throw new IllegalArgumentException("Only " + available.size() + " CPUs are available for " + threads.size() + " threads");
+        }
+
+        int[] result = new int[threads.size()];
+
+        switch (placement.getPolicy()) {
+            case LIST: {
+                int[] cpus = placement.getCpus();
+                Set<Integer> used = new HashSet<>();
+                int next = 0;
+                List<ThreadParams> ordered = new ArrayList<>(threads);
+                ordered.sort(Comparator.comparingInt(ThreadParams::getThreadIndex));
+                for (ThreadParams tp : ordered) {
+                    // skip the duplicate entries in the list
+                    while (!used.add(cpus[next])) {
+                        next++;
+                    }
+                    result[tp.getThreadIndex()] = cpus[next++];
+                }
+                return result;
+            }
+            case SOCKET: {
+                SortedMap<Integer, List<Cpu>> sockets = new TreeMap<>();
+                for (Cpu c : topology) {
+                    sockets.computeIfAbsent(c.getPackage(), k -> new ArrayList<>()).add(c);
+                }
+                List<List<Cpu>> lists = new ArrayList<>(sockets.values());
+                for (List<Cpu> l : lists) {
+                    l.sort(Comparator.<Cpu>comparingInt(Cpu::getSibling)
+                            .thenComparingInt(Cpu::getCore)
+                            .thenComparingInt(Cpu::getId));
+                }
+                int[] taken = new int[lists.size()];
+
+                List<ThreadParams> ordered = new ArrayList<>(threads);
+                ordered.sort(Comparator.comparingInt(ThreadParams::getThreadIndex));
+                for (ThreadParams tp : ordered) {
+                    int s = tp.getGroupThreadIndex() % lists.size();
+                    // the socket is full, spill to the next one; there are enough CPUs in total
+                    while (taken[s] >= lists.get(s).size()) {
+                        s = (s + 1) % lists.size();
+                    }
+                    result[tp.getThreadIndex()] = lists.get(s).get(taken[s]++).getId();
+                }
+                return result;
+            }
+            default: {
+                List<Cpu> order = new ArrayList<>(topology);
+                order.sort(comparator(placement.getPolicy()));
+                for (ThreadParams tp : threads) {
+                    result[tp.getThreadIndex()] = order.get(tp.getThreadIndex()).getId();
+                }
+                return result;
+            }
+        }
+    }
+
+    /**
+     * Records the placement in thread parameters.
+     * CPUs missing from the topology are assumed to be the distinct cores on the first node.
+     *
+     * @param threads thread parameters
+     * @param cpus CPU for every thread index
+     * @param topology known CPUs
+     * @return thread parameters with CPU, core and node indices
+     */
+    static List<ThreadParams> place(List<ThreadParams> threads, int[] cpus, List<Cpu> topology) {
+        // Number the cores the same way CpuTopology.getCores() groups them
+        List<Cpu> sorted = new ArrayList<>(topology);
+        Collections.sort(sorted);
+        Map<Integer, Integer> coreIdxs = new HashMap<>();
+        Map<Integer, Cpu> byId = new HashMap<>();
+        int cores = 0;
+        Cpu last = null;
+        for (Cpu c : sorted) {
+            if (last == null || !last.sameCore(c)) {
+                cores++;
+            }
+            coreIdxs.put(c.getId(), cores - 1);
+            byId.put(c.getId(), c);
+            last = c;
+        }
+
+        List<ThreadParams> result = new ArrayList<>();
+        for (ThreadParams tp : threads) {
+            int cpu = cpus[tp.getThreadIndex()];
+            Cpu c = byId.get(cpu);
+            int coreIdx = (c != null) ? coreIdxs.get(cpu) : cores + cpu;
+            int nodeIdx = (c != null) ? c.getNode() : 0;
+            result.add(new ThreadParams(
+                    tp.getThreadIndex(), tp.getThreadCount(),
+                    tp.getGroupIndex(), tp.getGroupCount(),
+                    tp.getSubgroupIndex(), tp.getSubgroupCount(),
+                    tp.getGroupThreadIndex(), tp.getGroupThreadCount(),
+                    tp.getSubgroupThreadIndex(), tp.getSubgroupThreadCount(),
+                    cpu, coreIdx, nodeIdx));
+        }
+        return result;
+    }
+
+    private static Comparator<Cpu> comparator(ThreadPlacement.Policy policy) {
+        switch (policy) {
+            case COMPACT:
+                return Comparator.<Cpu>comparingInt(Cpu::getSibling)
+                        .thenComparingInt(Cpu::getPackage)
+                        .thenComparingInt(Cpu::getCore)
+                        .thenComparingInt(Cpu::getId);
+            case SCATTER:
+                return Comparator.<Cpu>comparingInt(Cpu::getSibling)
+                        .thenComparingInt(Cpu::getCoreRank)
+                        .thenComparingInt(Cpu::getNode)
+                        .thenComparingInt(Cpu::getId);
+            case SMT:
+                return Comparator.<Cpu>comparingInt(Cpu::getPackage)
+                        .thenComparingInt(Cpu::getCore)
+                        .thenComparingInt(Cpu::getSibling)
+                        .thenComparingInt(Cpu::getId);
+            default:
+                throw new IllegalArgumentException("Unknown policy: " + policy);
+        }
+    }
+
+    static String describe(int[] cpus) {
+        StringBuilder sb = new StringBuilder();
+        for (int cpu : cpus) {
+            if (sb.length() > 0) {
+                sb.append(",");
+            }
+            sb.append(cpu);
+        }
+        return sb.toString();
+    }
+
+}
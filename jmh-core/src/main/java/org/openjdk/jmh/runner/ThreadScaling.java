@@ -0,0 +1,372 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.runner;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.BenchmarkResult;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.ScalarResult;
+import org.openjdk.jmh.runner.format.OutputFormat;
+import org.openjdk.jmh.util.ClassUtils;
+
+import java.util.*;
+
+/**
+ * Thread scaling runs the benchmark with the ladder of thread counts, and fits the scalability
+ * models to the throughput at every step:
+ * <ul>
+ *     <li>Amdahl's law: X(p) = &lambda;p / (1 + &sigma;(p - 1))</li>
+ *     <li>Universal Scalability Law: X(p) = &lambda;p / (1 + &sigma;(p - 1) + &kappa;p(p - 1))</li>
+ * </ul>
+ * Here, &sigma; is the contention coefficient, &kappa; is the coherency coefficient, and the scale p
+ * is the thread count relative to the first step of the ladder. Both models are fitted with
+ * least squares in their linearized form, p / C(p) - 1 = &sigma;(p - 1) + &kappa;p(p - 1),
+ * where C(p) = X(p) / X(1) is the relative capacity.
+ *
+ * <p>Thread count of every step is carried as the workload parameter, so that the steps
+ * are told apart everywhere the results are matched by their parameters.</p>
+ */
+class ThreadScaling {
+
+    /**
+     * Workload parameter that carries the thread count of the step.
+     */
+    static final String PARAM = "threads";
+
+    static final String SPEEDUP = "scaling.speedup";
+    static final String EFFICIENCY = "scaling.efficiency";
+
+    /**
+     * Builds the ladder of thread counts: the powers of two multiples of the group size,
+     * followed by the largest multiple that fits into the maximum thread count.
+     *
+     * @param maxThreads maximum thread count
+     * @param groupSize number of threads in the group
+     * @return thread counts
+     */
+    static List<Integer> ladder(int maxThreads, int groupSize) {
+        int maxGroups = Math.max(1, maxThreads / groupSize);
+        List<Integer> ladder = new ArrayList<>();
+        for (long g = 1; g <= maxGroups; g *= 2) {
+            ladder.add((int) g * groupSize);
+        }
+        if (ladder.get(ladder.size() - 1) != maxGroups * groupSize) {
+            ladder.add(maxGroups * groupSize);
+        }
+        return ladder;
+    }
+
+    /**
+     * Scales the thread groups to the given thread count, multiplying the subgroup thread counts.
+     *
+     * @param groups thread groups
+     * @param threads total thread count, multiple of the group size
+     * @return scaled thread groups
+     */
+    static int[] scaleGroups(int[] groups, int threads) {
+        int factor = Math.max(1, threads / Math.max(1, sum(groups)));
+        int[] scaled = new int[groups.length];
+        for (int i = 0; i < groups.length; i++) {
+            scaled[i] = groups[i] * factor;
+        }
+        return scaled;
+    }
+
+    private static int sum(int[] groups) {
+        int s = 0;
+        for (int g : groups) {
+            s += g;
+        }
+        return s;
+    }
+
+    static class Fit {
+        private final double lambda;
+        private final double amdahlSigma;
+        private final double sigma;
+        private final double kappa;
+        private final double r2;
+
+        Fit(double lambda, double amdahlSigma, double sigma, double kappa, double r2) {
+            this.lambda = lambda;
+            this.amdahlSigma = amdahlSigma;
+            this.sigma = sigma;
+            this.kappa = kappa;
+            this.r2 = r2;
+        }
+
+        double getLambda() {
+            return lambda;
+        }
+
+        double getAmdahlSigma() {
+            return amdahlSigma;
+        }
+
+        double getSigma() {
+            return sigma;
+        }
+
+        double getKappa() {
+            return kappa;
+        }
+
+        /**
+         * @return coefficient of determination of the Universal Scalability Law against the throughput
+         */
+        double getR2() {
+            return r2;
+        }
+
+        /**
+         * @return scale with the peak throughput; NaN, if the throughput never peaks
+         */
+        double getPeak() {
+            if (kappa > 0 && sigma < 1) {
+                return Math.sqrt((1 - sigma) / kappa);
+            }
+            return Double.NaN;
+        }
+
+        double predict(double p) {
+            return lambda * p / (1 + sigma * (p - 1) + kappa * p * (p - 1));
+        }
+    }
+
+    /**
+     * Fits the scalability models.
+     *
+     * @param p scales, starting with 1
+     * @param x throughput at every scale
+     * @return fit
+     */
+    static Fit fit(double[] p, double[] x) {
+        double lambda = x[0];
+
+        double saa = 0, sab = 0, sbb = 0, say = 0, sby = 0;
+        int points = 0;
+        for (int i = 0; i < p.length; i++) {
+            if (p[i] <= 1) {
+                continue;
+            }
+            double c = x[i] / lambda;
+            double y = p[i] / c - 1;
+            double a = p[i] - 1;
+            double b = p[i] * (p[i] - 1);
+            saa += a * a;
+            sab += a * b;
+            sbb += b * b;
+            say += a * y;
+            sby += b * y;
+            points++;
+        }
+
+        if (points == 0) {
+            return new Fit(lambda, Double.NaN, Double.NaN, Double.NaN, Double.NaN);
+        }
+
+        double amdahlSigma = Math.max(0, say / saa);
+
+        double sigma;
+        double kappa;
+        double det = saa * sbb - sab * sab;
+        if (points < 2 || Math.abs(det) <= 1e-12 * saa * sbb) {
+            sigma = amdahlSigma;
+            kappa = 0;
+        } else {
+            sigma = (say * sbb - sby * sab) / det;
+            kappa = (saa * sby - sab * say) / det;
+            if (sigma < 0) {
+                sigma = 0;
+                kappa = Math.max(0, sby / sbb);
+            } else if (kappa < 0) {
+                sigma = amdahlSigma;
+                kappa = 0;
+            }
+        }
+
+        Fit fit = new Fit(lambda, amdahlSigma, sigma, kappa, Double.NaN);
+
+        double mean = 0;
+        for (double v : x) {
+            mean += v;
+        }
+        mean /= x.length;
+
+        double ssRes = 0;
+        double ssTot = 0;
+        for (int i = 0; i < p.length; i++) {
+            double e = x[i] - fit.predict(p[i]);
+            ssRes += e * e;
+            ssTot += (x[i] - mean) * (x[i] - mean);
+        }
+        double r2 = (ssTot > 0) ? 1 - ssRes / ssTot : Double.NaN;
+
+        return new Fit(lambda, amdahlSigma, sigma, kappa, r2);
+    }
+
+    static class Series {
+        private final BenchmarkParams params;
+        private final int[] threads;
+        private final double[] speedup;
+        private final Fit fit;
+
+        Series(BenchmarkParams params, int[] threads, double[] speedup, Fit fit) {
+            this.params = params;
+            this.threads = threads;
+            this.speedup = speedup;
+            this.fit = fit;
+        }
+
+        BenchmarkParams getParams() {
+            return params;
+        }
+
+        int[] getThreads() {
+            return threads;
+        }
+
+        double[] getSpeedup() {
+            return speedup;
+        }
+
+        Fit getFit() {
+            return fit;
+        }
+    }
+
+    /**
+     * Groups the results of the thread scaling steps, fits the scalability models to every group,
+     * and adds the speedup and efficiency of every step to its results.
+     *
+     * @param results run results
+     * @return fitted series, one per benchmark, mode and other parameters
+     */
+    static List<Series> analyze(Collection<RunResult> results) {
+        Map<String, List<RunResult>> groups = new LinkedHashMap<>();
+        for (RunResult r : results) {
+            BenchmarkParams params = r.getParams();
+            if (!params.getParamsKeys().contains(PARAM) || params.getMode() == Mode.FixedRate) {
+                // Fixed rate runs do not saturate the threads, nothing to scale
+                continue;
+            }
+            String key = seriesKey(params);
+            List<RunResult> steps = groups.get(key);
+            if (steps == null) {
+                steps = new ArrayList<>();
+                groups.put(key, steps);
+            }
+            steps.add(r);
+        }
+
+        List<Series> series = new ArrayList<>();
+        for (List<RunResult> steps : groups.values()) {
+            steps.sort(Comparator.comparingInt(r -> r.getParams().getThreads()));
+
+            int n = steps.size();
+            int[] threads = new int[n];
+            double[] p = new double[n];
+            double[] x = new double[n];
+            for (int i = 0; i < n; i++) {
+                RunResult r = steps.get(i);
+                threads[i] = r.getParams().getThreads();
+                p[i] = 1.0 * threads[i] / threads[0];
+                x[i] = throughput(r);
+            }
+
+            double[] speedup = new double[n];
+            for (int i = 0; i < n; i++) {
+                speedup[i] = x[i] / x[0];
+                for (BenchmarkResult br : steps.get(i).getBenchmarkResults()) {
+                    br.addBenchmarkResult(new ScalarResult(SPEEDUP, speedup[i], "x", AggregationPolicy.AVG));
+                    br.addBenchmarkResult(new ScalarResult(EFFICIENCY, 100 * speedup[i] / p[i], "%", AggregationPolicy.AVG));
+                }
+            }
+
+            if (n > 1) {
+                series.add(new Series(steps.get(0).getParams(), threads, speedup, fit(p, x)));
+            }
+        }
+        return series;
+    }
+
+    private static String seriesKey(BenchmarkParams params) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(params.getBenchmark()).append(" ").append(params.getMode());
+        for (String key : params.getParamsKeys()) {
+            if (!key.equals(PARAM)) {
+                sb.append(" ").append(key).append("=").append(params.getParam(key));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Throughput modes report the throughput of all threads, time modes report the time
+     * of the single operation in every thread.
+     */
+    private static double throughput(RunResult r) {
+        double score = r.getPrimaryResult().getScore();
+        if (r.getParams().getMode() == Mode.Throughput) {
+            return score;
+        }
+        return r.getParams().getThreads() / score;
+    }
+
+    static void print(OutputFormat out, List<Series> series) {
+        out.println("");
+        out.println("# Thread scaling: X(p) = lambda * p / (1 + sigma * (p - 1) + kappa * p * (p - 1)), p is the thread count relative to the first step");
+        out.println("");
+
+        Set<String> names = new TreeSet<>();
+        for (Series s : series) {
+            names.add(s.params.getBenchmark());
+        }
+        Map<String, String> dense = ClassUtils.denseClassNames(names);
+
+        SummaryTable table = new SummaryTable(
+                new String[]{"Benchmark", "Mode", "Threads", "Speedup", "Amdahl sigma", "USL sigma", "USL kappa", "Peak", "R^2"},
+                0, 1);
+        for (Series s : series) {
+            int last = s.threads.length - 1;
+            double peak = s.fit.getPeak() * s.threads[0];
+            table.addRow(
+                    dense.get(s.params.getBenchmark()) + SummaryTable.paramsLabel(s.params, PARAM),
+                    s.params.getMode().shortLabel(),
+                    s.threads[0] + ".." + s.threads[last],
+                    SummaryTable.format("%.2fx", s.speedup[last]),
+                    SummaryTable.format("%.4f", s.fit.getAmdahlSigma()),
+                    SummaryTable.format("%.4f", s.fit.getSigma()),
+                    SummaryTable.format("%.6f", s.fit.getKappa()),
+                    SummaryTable.format("%.1f", peak),
+                    SummaryTable.format("%.3f", s.fit.getR2()));
+        }
+        table.print(out);
+    }
+
+
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.runner;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.results.ResultRole;
+import org.openjdk.jmh.results.TimelineResult;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Intra-iteration timeline: worker threads publish their operation counts here, and the
+ * benchmark handler thread periodically snapshots them to record the operations done in
+ * every sub-interval of the iteration.
+ */
+public final class Timeline {
+
+    /**
+     * Counters are padded apart to avoid false sharing between the worker threads.
+     */
+    private static final int PAD = 16;
+
+    private final AtomicLongArray counters;
+    private final int threads;
+    private final long intervalNs;
+
+    private long lastSum;
+    private long lastTime;
+    private long nextTick;
+
+    private long[] ops;
+    private long[] durations;
+    private int count;
+
+    /**
+     * @param threads number of worker threads
+     * @param intervalNs sub-interval duration, in nanoseconds
+     */
+    Timeline(int threads, long intervalNs) {
+        if (intervalNs <= 0) {
+            throw new IllegalArgumentException("Timeline interval should be positive: " + intervalNs);
+        }
+        this.threads = threads;
+        this.intervalNs = intervalNs;
+        this.counters = new AtomicLongArray((threads + 2) * PAD);
+        this.ops = new long[16];
+        this.durations = new long[16];
+    }
+
+    /**
+     * Creates the timeline for the iteration, if requested.
+     *
+     * @param benchmarkParams benchmark parameters
+     * @return timeline; null, if timeline is disabled or not supported by the benchmark mode
+     */
+    static Timeline forParams(BenchmarkParams benchmarkParams) {
+        long intervalNs = benchmarkParams.getTimelineInterval().convertTo(TimeUnit.NANOSECONDS);
+        if (intervalNs <= 0) {
+            return null;
+        }
+        Mode mode = benchmarkParams.getMode();
+        if (mode != Mode.Throughput && mode != Mode.AverageTime) {
+            return null;
+        }
+        return new Timeline(benchmarkParams.getThreads(), intervalNs);
+    }
+
+    /**
+     * Publishes the number of operations the worker thread has done in this iteration so far.
+     *
+     * @param thread worker thread index
+     * @param operations operation count
+     */
+    public void publish(int thread, long operations) {
+        counters.lazySet((thread + 1) * PAD, operations);
+    }
+
+    long sum() {
+        long s = 0;
+        for (int t = 0; t < threads; t++) {
+            s += counters.get((t + 1) * PAD);
+        }
+        return s;
+    }
+
+    /**
+     * Starts recording the sub-intervals from now on.
+     */
+    void start() {
+        lastSum = sum();
+        lastTime = System.nanoTime();
+        nextTick = lastTime + intervalNs;
+    }
+
+    /**
+     * @return the time the next sub-interval ends, as given by {@link System#nanoTime()}
+     */
+    long nextTick() {
+        return nextTick;
+    }
+
+    /**
+     * Records the operations done since the previous tick.
+     */
+    void tick() {
+        long time = System.nanoTime();
+        long sum = sum();
+
+        if (count == ops.length) {
+            ops = Arrays.copyOf(ops, count * 2);
+            durations = Arrays.copyOf(durations, count * 2);
+        }
+        ops[count] = sum - lastSum;
+        durations[count] = time - lastTime;
+        count++;
+
+        lastSum = sum;
+        lastTime = time;
+
+        // Do not try to catch up with the missed ticks, otherwise we would record
+        // the bursts of short sub-intervals.
+        nextTick += intervalNs;
+        if (nextTick <= time) {
+            nextTick = time + intervalNs;
+        }
+    }
+
+    /**
+     * @return number of recorded sub-intervals
+     */
+    int size() {
+        return count;
+    }
+
+    /**
+     * @param benchmarkParams benchmark parameters
+     * @param iterationParams iteration parameters
+     * @return throughput in every recorded sub-interval; null, if there are no sub-intervals recorded
+     */
+    TimelineResult getResult(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+        if (count == 0) {
+            return null;
+        }
+
+        // The same adjustments as the generated code does for the primary result
+        double opsMultiplier = 1.0 * benchmarkParams.getOpsPerInvocation() / iterationParams.getBatchSize();
+        TimeUnit tu = benchmarkParams.getTimeUnit();
+        double tuNs = TimeUnit.NANOSECONDS.convert(1, tu);
+
+        double[] rates = new double[count];
+        for (int c = 0; c < count; c++) {
+            rates[c] = ops[c] * opsMultiplier * tuNs / durations[c];
+        }
+        return new TimelineResult(ResultRole.SECONDARY, "timeline", rates, tu);
+    }
+
+}
@@ -34,6 +34,7 @@ import org.openjdk.jmh.results.RunResult;
 import org.openjdk.jmh.results.format.ResultFormatFactory;
 import org.openjdk.jmh.results.format.ResultFormatType;
 import org.openjdk.jmh.runner.CompilerHints;
+import org.openjdk.jmh.runner.Defaults;
 import org.openjdk.jmh.runner.IterationType;
 import org.openjdk.jmh.runner.options.TimeValue;
 import org.openjdk.jmh.runner.options.VerboseMode;
@@ -128,6 +129,16 @@ class TextReportFormat extends AbstractOutputFormat {
 
 
         out.println("# Benchmark mode: " + params.getMode().longLabel());
+        if (params.getMode() == Mode.FixedRate) {
+            out.println("# Target rate: " + params.getTargetRate() + " ops/s per thread");
+        }
+        if (params.getInFlight() != Defaults.IN_FLIGHT) {
+            out.println("# Operations in flight: " + params.getInFlight() + " per thread, for asynchronous benchmarks");
+        }
+        if (params.getTimelineInterval().getTime() > 0 &&
+                (params.getMode() == Mode.Throughput || params.getMode() == Mode.AverageTime)) {
+            out.println("# Timeline: " + params.getTimelineInterval() + " sub-intervals");
+        }
         out.println("# Benchmark: " + params.getBenchmark());
         if (!params.getParamsKeys().isEmpty()) {
             String s = "";
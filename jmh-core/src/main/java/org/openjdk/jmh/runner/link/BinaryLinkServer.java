@@ -61,6 +61,10 @@ import java.util.concurrent.atomic.AtomicReference;
  * Accepts the binary data from the forked VM and pushes it to parent VM
  * as appropriate. This server assumes there is only the one and only
  * client at any given point of time.
+ *
+ * <p>Action plan requests from the forked VM are parked until the action plan
+ * is set. This allows to start the forked VM ahead of time, and let it wait
+ * for the action plan.</p>
  */
 public final class BinaryLinkServer {
 
@@ -77,6 +81,8 @@ public final class BinaryLinkServer {
     private final AtomicReference<BenchmarkException> exception;
     private final AtomicReference<ActionPlan> plan;
     private volatile long clientPid;
+    private volatile long planRequestTime;
+    private volatile boolean terminated;
 
     public BinaryLinkServer(Options opts, OutputFormat out) throws IOException {
         this.opts = opts;
@@ -109,6 +115,11 @@ public final class BinaryLinkServer {
     }
 
     public void terminate() {
+        terminated = true;
+        synchronized (plan) {
+            plan.notifyAll();
+        }
+
         acceptor.close();
 
         Handler h = handler.getAndSet(null);
@@ -155,7 +166,19 @@ public final class BinaryLinkServer {
     }
 
     public void setPlan(ActionPlan actionPlan) {
-        this.plan.set(actionPlan);
+        synchronized (plan) {
+            plan.set(actionPlan);
+            plan.notifyAll();
+        }
+    }
+
+    private ActionPlan awaitPlan() throws InterruptedException {
+        synchronized (plan) {
+            while (plan.get() == null && !terminated) {
+                plan.wait();
+            }
+            return plan.get();
+        }
     }
 
     private InetAddress getListenAddress() {
@@ -204,6 +227,14 @@ public final class BinaryLinkServer {
         return clientPid;
     }
 
+    /**
+     * @return {@link System#nanoTime()} timestamp of the last action plan request from the
+     *         forked VM, i.e. when the forked VM had started up and was ready to run; 0, if none
+     */
+    public long getPlanRequestTime() {
+        return planRequestTime;
+    }
+
     private final class Acceptor extends Thread {
 
         private final ServerSocket server;
@@ -314,9 +345,12 @@ public final class BinaryLinkServer {
             } catch (EOFException e) {
                 // ignore
             } catch (Exception e) {
-                out.println("<binary link had failed, forked VM corrupted the stream? Use " + VerboseMode.EXTRA + " verbose to print exception>");
-                if (opts.verbosity().orElse(Defaults.VERBOSITY).equalsOrHigherThan(VerboseMode.EXTRA)) {
-                    out.println(Utils.throwableToString(e));
+                // terminated server closes the link on its own, nothing to report
+                if (!terminated) {
+                    out.println("<binary link had failed, forked VM corrupted the stream? Use " + VerboseMode.EXTRA + " verbose to print exception>");
+                    if (opts.verbosity().orElse(Defaults.VERBOSITY).equalsOrHigherThan(VerboseMode.EXTRA)) {
+                        out.println(Utils.throwableToString(e));
+                    }
                 }
             } finally {
                 close();
@@ -359,7 +393,18 @@ public final class BinaryLinkServer {
         private void handleInfra(InfraFrame req) throws IOException {
             switch (req.getType()) {
                 case ACTION_PLAN_REQUEST:
-                    oos.writeObject(new ActionPlanFrame(plan.get()));
+                    planRequestTime = System.nanoTime();
+                    ActionPlan actionPlan;
+                    try {
+                        actionPlan = awaitPlan();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    if (actionPlan == null) {
+                        // terminated before the plan was set
+                        return;
+                    }
+                    oos.writeObject(new ActionPlanFrame(actionPlan));
                     oos.flush();
                     break;
                 default:
@@ -24,6 +24,7 @@
  */
 package org.openjdk.jmh.runner.options;
 
+import org.openjdk.jmh.annotations.Exploration;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.profile.Profiler;
 import org.openjdk.jmh.results.format.ResultFormatType;
@@ -89,6 +90,39 @@ public interface ChainedOptionsBuilder {
      */
     ChainedOptionsBuilder result(String filename);
 
+    /**
+     * Journal filename to persist the benchmark results to, as soon as they complete
+     * @param filename file name
+     * @return builder
+     */
+    ChainedOptionsBuilder journal(String filename);
+
+    /**
+     * Journal filename to resume the run from: benchmarks already recorded in
+     * the journal are skipped, and their results are merged into the final results
+     * @param filename file name
+     * @return builder
+     */
+    ChainedOptionsBuilder resume(String filename);
+
+    /**
+     * Results file to compare the run against: JSON result file, or journal file.
+     * Runner throws {@link org.openjdk.jmh.runner.RegressionException} if some
+     * benchmarks regress against it.
+     * @param filename file name
+     * @return builder
+     */
+    ChainedOptionsBuilder baseline(String filename);
+
+    /**
+     * Minimal relative change of the score against the baseline to report it
+     * as the improvement or the regression.
+     * @param value threshold, e.g. 0.05 for 5%
+     * @return builder
+     * @see org.openjdk.jmh.runner.Defaults#BASELINE_THRESHOLD
+     */
+    ChainedOptionsBuilder baselineThreshold(double value);
+
     /**
      * Should do GC between measurementIterations?
      * @param value flag
@@ -161,6 +195,25 @@ public interface ChainedOptionsBuilder {
      */
     ChainedOptionsBuilder threadGroups(int... groups);
 
+    /**
+     * Should run every benchmark with the ladder of thread counts, up to the number of
+     * threads requested, or the number of CPUs, and fit the scalability model to the results?
+     * @param value flag
+     * @return builder
+     * @see org.openjdk.jmh.runner.Defaults#THREAD_SCALING
+     */
+    ChainedOptionsBuilder threadScaling(boolean value);
+
+    /**
+     * Placement of the worker threads on CPUs. Placement pins every worker thread
+     * to a single CPU, chosen with regard to the machine topology.
+     * @param placement placement policy
+     * @return builder
+     * @see ThreadPlacement
+     * @see org.openjdk.jmh.runner.Defaults#THREAD_PLACEMENT
+     */
+    ChainedOptionsBuilder threadPlacement(ThreadPlacement placement);
+
     /**
      * Should synchronize measurementIterations?
      * @param value flag
@@ -205,6 +258,25 @@ public interface ChainedOptionsBuilder {
      */
     ChainedOptionsBuilder warmupMode(WarmupMode mode);
 
+    /**
+     * Stop warmup as soon as steady state is detected. Steady state is detected when the scores
+     * in the window of recent warmup iterations have both the relative standard deviation and
+     * the relative drift under the threshold. Warmup iterations count becomes the maximum.
+     * @param value threshold, e.g. 0.02 for 2%
+     * @return builder
+     * @see #warmupSteadyStateWindow(int)
+     */
+    ChainedOptionsBuilder warmupSteadyStateThreshold(double value);
+
+    /**
+     * Number of recent warmup iterations to analyze for steady state.
+     * @param value window size
+     * @return builder
+     * @see #warmupSteadyStateThreshold(double)
+     * @see org.openjdk.jmh.runner.Defaults#WARMUP_STEADY_STATE_WINDOW
+     */
+    ChainedOptionsBuilder warmupSteadyStateWindow(int value);
+
     /**
      * What other benchmarks to warmup along the way
      * @param regexp to match benchmarks against
@@ -231,6 +303,27 @@ public interface ChainedOptionsBuilder {
      */
     ChainedOptionsBuilder measurementBatchSize(int value);
 
+    /**
+     * Maximum number of measurement iterations to do, when target error is set.
+     * The number of measurement iterations becomes the minimum in this case.
+     * @param count number of iterations
+     * @return builder
+     * @see #targetRelativeError(double)
+     * @see org.openjdk.jmh.runner.Defaults#MAX_MEASUREMENT_ITERATIONS
+     */
+    ChainedOptionsBuilder maxMeasurementIterations(int count);
+
+    /**
+     * Target relative error for the benchmark score. Harness would run more measurement
+     * iterations and forks, until the score error at 99.9% confidence drops below the target,
+     * or maximum number of iterations and forks is reached.
+     * @param value relative error, e.g. 0.01 for 1%
+     * @return builder
+     * @see #maxMeasurementIterations(int)
+     * @see #maxForks(int)
+     */
+    ChainedOptionsBuilder targetRelativeError(double value);
+
     /**
      * How long each measurement iteration should take?
      * @param value time
@@ -287,6 +380,76 @@ public interface ChainedOptionsBuilder {
      */
     ChainedOptionsBuilder warmupForks(int value);
 
+    /**
+     * Maximum number of forks to use in the run, when target error is set.
+     * The number of forks becomes the minimum in this case.
+     * @param value number of forks
+     * @return builder
+     * @see #targetRelativeError(double)
+     * @see org.openjdk.jmh.runner.Defaults#MAX_FORKS
+     */
+    ChainedOptionsBuilder maxForks(int value);
+
+    /**
+     * Number of forked VMs to run concurrently. Each concurrent fork is pinned
+     * to its own disjoint set of CPUs, when the platform supports it.
+     * @param value number of concurrent forks; 1 to run forks one after another
+     * @return builder
+     * @see org.openjdk.jmh.runner.Defaults#PARALLEL_FORKS
+     */
+    ChainedOptionsBuilder parallelForks(int value);
+
+    /**
+     * Should start the next forked VM ahead of time, while the current fork is running?
+     * Standby VM completes its startup and parks until the current fork finishes.
+     * @param value flag
+     * @return builder
+     * @see org.openjdk.jmh.runner.Defaults#STANDBY_FORKS
+     */
+    ChainedOptionsBuilder standbyForks(boolean value);
+
+    /**
+     * Should create the dynamic class data sharing archive with the first fork, and start
+     * the later forks with it? Requires JDK 13+ in forked VMs.
+     * @param value flag
+     * @return builder
+     * @see org.openjdk.jmh.runner.Defaults#CLASS_DATA_SHARING
+     */
+    ChainedOptionsBuilder classDataSharing(boolean value);
+
+    /**
+     * Should run the external profilers post-processing in background, while the next
+     * fork runs? The results are joined before the benchmark results are printed.
+     * @param value flag
+     * @return builder
+     * @see org.openjdk.jmh.runner.Defaults#PIPELINE_PROFILERS
+     */
+    ChainedOptionsBuilder pipelineProfilers(boolean value);
+
+    /**
+     * In which order to run the forks of different benchmarks.
+     * @param value fork schedule
+     * @return builder
+     * @see org.openjdk.jmh.runner.Defaults#FORK_SCHEDULE
+     */
+    ChainedOptionsBuilder forkSchedule(ForkSchedule value);
+
+    /**
+     * Seed for the {@link ForkSchedule#RANDOM} fork schedule.
+     * @param seed seed
+     * @return builder
+     */
+    ChainedOptionsBuilder forkScheduleSeed(long seed);
+
+    /**
+     * Run only the given shard of the benchmark plan.
+     * @param index shard index, from 1 to count
+     * @param count total number of shards
+     * @return builder
+     * @see Shard
+     */
+    ChainedOptionsBuilder shard(int index, int count);
+
     /**
      * Forked JVM to use.
      *
@@ -343,6 +506,33 @@ public interface ChainedOptionsBuilder {
      */
     ChainedOptionsBuilder param(String name, String... values);
 
+    /**
+     * Which combinations of parameter values to run.
+     * @param value exploration strategy
+     * @return builder
+     * @see org.openjdk.jmh.annotations.ParamExploration
+     * @see org.openjdk.jmh.runner.Defaults#PARAM_EXPLORATION
+     */
+    ChainedOptionsBuilder paramExploration(Exploration value);
+
+    /**
+     * Number of parameter combinations to run with the sampling exploration strategies.
+     * @param value number of combinations
+     * @return builder
+     * @see org.openjdk.jmh.annotations.ParamExploration
+     * @see org.openjdk.jmh.runner.Defaults#PARAM_EXPLORATION_SAMPLES
+     */
+    ChainedOptionsBuilder paramExplorationSamples(int value);
+
+    /**
+     * Random seed for the sampling exploration strategies.
+     * @param value seed
+     * @return builder
+     * @see org.openjdk.jmh.annotations.ParamExploration
+     * @see org.openjdk.jmh.runner.Defaults#PARAM_EXPLORATION_SEED
+     */
+    ChainedOptionsBuilder paramExplorationSeed(int value);
+
     /**
      * How long to wait for iteration execution?
      * @param value time
@@ -351,4 +541,41 @@ public interface ChainedOptionsBuilder {
      */
     ChainedOptionsBuilder timeout(TimeValue value);
 
+    /**
+     * Target rate for {@link org.openjdk.jmh.annotations.Mode#FixedRate} mode.
+     * @param value operations per second per thread
+     * @return builder
+     * @see org.openjdk.jmh.runner.Defaults#TARGET_RATE
+     */
+    ChainedOptionsBuilder targetRate(double value);
+
+    /**
+     * Number of significant digits for latency histograms in
+     * {@link org.openjdk.jmh.annotations.Mode#SampleTime} and
+     * {@link org.openjdk.jmh.annotations.Mode#FixedRate} modes.
+     * @param value number of significant digits, from 1 to 5
+     * @return builder
+     * @see org.openjdk.jmh.runner.Defaults#HISTOGRAM_DIGITS
+     */
+    ChainedOptionsBuilder histogramDigits(int value);
+
+    /**
+     * Number of asynchronous operations each worker thread keeps outstanding,
+     * for benchmark methods returning {@link java.util.concurrent.CompletionStage}.
+     * @param value number of operations in flight per thread
+     * @return builder
+     * @see org.openjdk.jmh.runner.Defaults#IN_FLIGHT
+     */
+    ChainedOptionsBuilder inFlight(int value);
+
+    /**
+     * Record the operation counts within the iteration in sub-intervals of this duration, in
+     * {@link org.openjdk.jmh.annotations.Mode#Throughput} and
+     * {@link org.openjdk.jmh.annotations.Mode#AverageTime} modes.
+     * @param value sub-interval duration; zero, to disable timeline
+     * @return builder
+     * @see org.openjdk.jmh.runner.Defaults#TIMELINE_INTERVAL
+     */
+    ChainedOptionsBuilder timelineInterval(TimeValue value);
+
 }
@@ -25,6 +25,7 @@
 package org.openjdk.jmh.runner.options;
 
 import joptsimple.*;
+import org.openjdk.jmh.annotations.Exploration;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.profile.ProfilerFactory;
 import org.openjdk.jmh.results.format.ResultFormatType;
@@ -32,6 +33,7 @@ import org.openjdk.jmh.runner.Defaults;
 import org.openjdk.jmh.util.HashMultimap;
 import org.openjdk.jmh.util.Multimap;
 import org.openjdk.jmh.util.Optional;
+import org.openjdk.jmh.util.SampleBuffer;
 import org.openjdk.jmh.util.Utils;
 
 import java.io.IOException;
@@ -45,14 +47,24 @@ public class CommandLineOptions implements Options {
     private static final long serialVersionUID = 5565183446360224399L;
 
     private final Optional<Integer> iterations;
+    private final Optional<Integer> maxIterations;
+    private final Optional<Double> targetError;
     private final Optional<TimeValue> timeout;
+    private final Optional<Double> targetRate;
+    private final Optional<Integer> histogramDigits;
+    private final Optional<Integer> inFlight;
+    private final Optional<TimeValue> timelineInterval;
     private final Optional<TimeValue> runTime;
     private final Optional<Integer> batchSize;
     private final Optional<Integer> warmupIterations;
     private final Optional<TimeValue> warmupTime;
     private final Optional<Integer> warmupBatchSize;
+    private final Optional<Double> warmupSteadyThreshold;
+    private final Optional<Integer> warmupSteadyWindow;
     private final List<Mode> benchMode = new ArrayList<>();
     private final Optional<Integer> threads;
+    private final Optional<Boolean> threadScaling;
+    private final Optional<ThreadPlacement> threadPlacement;
     private final List<Integer> threadGroups = new ArrayList<>();
     private final Optional<Boolean> synchIterations;
     private final Optional<Boolean> gcEachIteration;
@@ -64,8 +76,20 @@ public class CommandLineOptions implements Options {
     private final List<String> regexps = new ArrayList<>();
     private final Optional<Integer> fork;
     private final Optional<Integer> warmupFork;
+    private final Optional<Integer> maxFork;
+    private final Optional<Integer> parallelForks;
+    private final Optional<Boolean> standbyForks;
+    private final Optional<Boolean> classDataSharing;
+    private final Optional<Boolean> pipelineProfilers;
+    private final Optional<ForkSchedule> forkSchedule;
+    private final Optional<Long> forkScheduleSeed;
+    private final Optional<Shard> shard;
     private final Optional<String> output;
     private final Optional<String> result;
+    private final Optional<String> journal;
+    private final Optional<String> resume;
+    private final Optional<String> baseline;
+    private final Optional<Double> baselineThreshold;
     private final Optional<ResultFormatType> resultFormat;
     private final Optional<String> jvm;
     private final Optional<Collection<String>> jvmArgs;
@@ -75,6 +99,10 @@ public class CommandLineOptions implements Options {
     private final Optional<WarmupMode> warmupMode;
     private final List<String> warmupMicros = new ArrayList<>();
     private final Multimap<String, String> params = new HashMultimap<>();
+    private final Optional<Exploration> paramExploration;
+    private final Optional<Integer> paramExplorationSamples;
+    private final Optional<Integer> paramExplorationSeed;
+    private final List<String> mergeFiles = new ArrayList<>();
     private final boolean list;
     private final boolean listWithParams;
     private final boolean listResultFormats;
@@ -98,6 +126,18 @@ public class CommandLineOptions implements Options {
                 Defaults.MEASUREMENT_ITERATIONS + " for all other modes)")
                 .withRequiredArg().withValuesConvertedBy(IntegerValueConverter.POSITIVE).describedAs("int");
 
+        OptionSpec<Double> optTargetError = parser.accepts("re", "Target relative error for the benchmark score, " +
+                "e.g. 0.01 for 1%. When set, harness keeps running measurement iterations until the score error at " +
+                "99.9% confidence drops below the target, treating -i as the minimum number of iterations and -mi as " +
+                "the maximum. The same applies to forks, using -f as minimum and -mf as maximum. " +
+                "(default: none)")
+                .withRequiredArg().ofType(Double.class).describedAs("double");
+
+        OptionSpec<Integer> optMaxMeasureCount = parser.accepts("mi", "Maximum number of measurement iterations " +
+                "to do when target error is set with -re. " +
+                "(default: " + Defaults.MAX_MEASUREMENT_ITERATIONS + ")")
+                .withRequiredArg().withValuesConvertedBy(IntegerValueConverter.POSITIVE).describedAs("int");
+
         OptionSpec<Integer> optMeasureBatchSize = parser.accepts("bs", "Batch size: number of benchmark method " +
                 "calls per operation. Some benchmark modes may ignore this setting, please check this separately. " +
                 "(default: " + Defaults.MEASUREMENT_BATCHSIZE + ")")
@@ -124,17 +164,69 @@ public class CommandLineOptions implements Options {
                 "(default: " + Defaults.WARMUP_TIME + ")")
                 .withRequiredArg().ofType(TimeValue.class).describedAs("time");
 
+        OptionSpec<Double> optWarmupSteadyThreshold = parser.accepts("wst", "Stop warmup as soon as the benchmark " +
+                "reaches steady state, treating -wi as the maximum number of warmup iterations. Steady state is " +
+                "reached when the scores in the window of recent warmup iterations have both relative standard " +
+                "deviation and relative drift under this threshold, e.g. 0.02 for 2%. " +
+                "(default: none)")
+                .withRequiredArg().ofType(Double.class).describedAs("double");
+
+        OptionSpec<Integer> optWarmupSteadyWindow = parser.accepts("wsw", "Number of recent warmup iterations to " +
+                "analyze for steady state, see -wst. " +
+                "(default: " + Defaults.WARMUP_STEADY_STATE_WINDOW + ")")
+                .withRequiredArg().withValuesConvertedBy(new IntegerValueConverter(2)).describedAs("int");
+
         OptionSpec<TimeValue> optTimeoutTime = parser.accepts("to", "Timeout for benchmark iteration. After reaching " +
                 "this timeout, JMH will try to interrupt the running tasks. Non-cooperating benchmarks may ignore " +
                 "this timeout. " +
                 "(default: " + Defaults.TIMEOUT + ")")
                 .withRequiredArg().ofType(TimeValue.class).describedAs("time");
 
+        OptionSpec<Double> optTargetRate = parser.accepts("tr", "Target rate for the fixed rate mode, in operations " +
+                "per second per thread. Every thread calls the benchmark on the fixed schedule at this rate, and " +
+                "measures every call from its intended start time on the schedule. " +
+                "(default: " + Defaults.TARGET_RATE + ")")
+                .withRequiredArg().ofType(Double.class).describedAs("ops/s");
+
+        OptionSpec<Integer> optHistogramDigits = parser.accepts("hd", "Number of significant digits for latency " +
+                "histograms in the sample time and fixed rate modes, from 1 to " + SampleBuffer.MAX_DIGITS + ". " +
+                "Higher precision makes the tail percentiles more accurate, at the expense of the histogram footprint. " +
+                "(default: " + Defaults.HISTOGRAM_DIGITS + ")")
+                .withRequiredArg().withValuesConvertedBy(IntegerValueConverter.POSITIVE).describedAs("int");
+
+        OptionSpec<Integer> optInFlight = parser.accepts("inflight", "Number of asynchronous operations each worker " +
+                "thread keeps outstanding, for benchmark methods returning CompletionStage. The thread issues the next " +
+                "operation as soon as the number of outstanding operations drops below this limit. " +
+                "(default: " + Defaults.IN_FLIGHT + ")")
+                .withRequiredArg().withValuesConvertedBy(IntegerValueConverter.POSITIVE).describedAs("int");
+
+        OptionSpec<TimeValue> optTimelineInterval = parser.accepts("tl", "Record the operation counts within every " +
+                "iteration in sub-intervals of this duration, in the throughput and average time modes. The timeline " +
+                "is reported as the secondary result, and helps to correlate the throughput dips with GC pauses, " +
+                "deoptimizations and other transient events. Zero disables the timeline. " +
+                "(default: " + Defaults.TIMELINE_INTERVAL + ")")
+                .withRequiredArg().ofType(TimeValue.class).describedAs("time");
+
         OptionSpec<Integer> optThreads = parser.accepts("t", "Number of worker threads to run with. 'max' means the " +
                 "maximum number of hardware threads available on the machine, figured out by JMH itself. 'halfmax' means 'max/2'" +
                 "(default: " + Defaults.THREADS + ")")
                 .withRequiredArg().withValuesConvertedBy(ThreadsValueConverter.INSTANCE).describedAs("int");
 
+        OptionSpec<Boolean> optThreadScaling = parser.accepts("ts", "Should JMH run every benchmark with the ladder " +
+                "of thread counts: 1, 2, 4, and so on, up to the number of threads given with -t, or the number of " +
+                "CPUs? Group benchmarks scale the thread counts of all subgroups. JMH then reports the speedup and " +
+                "efficiency of every step, and fits the Amdahl's and Universal Scalability Law models to the throughput. " +
+                "(default: " + Defaults.THREAD_SCALING + ")")
+                .withRequiredArg().ofType(Boolean.class).describedAs("bool");
+
+        OptionSpec<String> optThreadPlacement = parser.accepts("tp", "Pin every worker thread to a single CPU, " +
+                "chosen with regard to the CPU topology. Available policies are: none; compact, to pack the threads on " +
+                "distinct cores of the same socket; scatter, to spread the threads across NUMA nodes; smt, to put the " +
+                "consecutive threads on SMT siblings of the same core; socket, to put the threads of each group on " +
+                "different sockets; or the explicit CPU list, e.g. 0,2,4-7. Requires Linux and taskset. " +
+                "(default: " + Defaults.THREAD_PLACEMENT + ")")
+                .withRequiredArg().ofType(String.class).describedAs("policy");
+
         OptionSpec<String> optBenchmarkMode = parser.accepts("bm", "Benchmark mode. Available modes are: " + Mode.getKnown() + ". " +
                 "(default: " + Defaults.BENCHMARK_MODE + ")")
                 .withRequiredArg().ofType(String.class).withValuesSeparatedBy(',').describedAs("mode");
@@ -177,6 +269,54 @@ public class CommandLineOptions implements Options {
                 "(default: " + Defaults.WARMUP_FORKS + ")")
                 .withRequiredArg().withValuesConvertedBy(IntegerValueConverter.NON_NEGATIVE).describedAs("int");
 
+        OptionSpec<Integer> optMaxForks = parser.accepts("mf", "Maximum number of forks to make for a single " +
+                "benchmark when target error is set with -re. " +
+                "(default: " + Defaults.MAX_FORKS + ")")
+                .withRequiredArg().withValuesConvertedBy(IntegerValueConverter.POSITIVE).describedAs("int");
+
+        OptionSpec<Integer> optParallelForks = parser.accepts("pf", "How many forked VMs to run concurrently. Every " +
+                "concurrent fork is pinned to its own disjoint set of CPUs, and reports only these CPUs to the " +
+                "benchmark. Use this to cut the wall time for large suites on machines with many CPUs. Note that " +
+                "concurrent forks still share caches, memory bandwidth and thermal budget. " +
+                "(default: " + Defaults.PARALLEL_FORKS + ")")
+                .withRequiredArg().withValuesConvertedBy(IntegerValueConverter.POSITIVE).describedAs("int");
+
+        OptionSpec<Boolean> optStandbyForks = parser.accepts("sbf", "Should JMH start the next forked VM ahead of " +
+                "time? Standby VM starts up while the current fork runs its warmup, and parks until the current fork " +
+                "finishes. This hides the VM startup time for suites with many short forks, at the expense of " +
+                "running the VM startup alongside the warmup of the current fork. Not used with external profilers " +
+                "and concurrent forks. " +
+                "(default: " + Defaults.STANDBY_FORKS + ")")
+                .withRequiredArg().ofType(Boolean.class).describedAs("bool");
+
+        OptionSpec<Boolean> optClassDataSharing = parser.accepts("cds", "Should JMH create the dynamic class data " +
+                "sharing archive with the first fork, and start the later forks with it? This cuts the time forked " +
+                "VMs spend on loading and verifying JMH and benchmark classes. Forks with different JVM or JVM " +
+                "options get their own archives. Requires JDK 13+ in forked VMs. " +
+                "(default: " + Defaults.CLASS_DATA_SHARING + ")")
+                .withRequiredArg().ofType(Boolean.class).describedAs("bool");
+
+        OptionSpec<String> optForkSchedule = parser.accepts("fs", "In which order to run the forks of different " +
+                "benchmarks. Fork schedules are: " + forkSchedulesDesc() +
+                "Interleaved schedules spread the forks of every benchmark over the whole run, so that slow drift " +
+                "in machine state does not show up as the difference between benchmarks. Results are still " +
+                "reported per benchmark. Not used with external profilers. " +
+                "(default: " + Defaults.FORK_SCHEDULE + ")")
+                .withRequiredArg().ofType(String.class).describedAs("schedule");
+
+        OptionSpec<Long> optForkScheduleSeed = parser.accepts("fss", "Seed for the RANDOM fork schedule. Use the " +
+                "seed printed by the previous run to repeat its fork order. " +
+                "(default: new seed for every run)")
+                .withRequiredArg().ofType(Long.class).describedAs("long");
+
+        OptionSpec<String> optShard = parser.accepts("shard", "Run only the given shard of the benchmark plan, " +
+                "e.g. 2/4 for the second of four shards. Benchmarks are assigned to shards deterministically, " +
+                "balancing the projected running time, so that hosts running all shards with the same benchmarks " +
+                "and options run every benchmark exactly once. Use -journal to record the shard results, and " +
+                "-merge to combine them. " +
+                "(default: none)")
+                .withRequiredArg().ofType(String.class).describedAs("index/count");
+
         OptionSpec<String> optOutput = parser.accepts("o", "Redirect human-readable output to a given file.")
                 .withRequiredArg().ofType(String.class).describedAs("filename");
 
@@ -186,6 +326,36 @@ public class CommandLineOptions implements Options {
                 "(default: " + Defaults.RESULT_FILE_PREFIX + ".<result-format>)")
                 .withRequiredArg().ofType(String.class).describedAs("filename");
 
+        OptionSpec<String> optJournal = parser.accepts("journal", "Append the results of every benchmark to a given " +
+                "journal file as soon as the benchmark completes. The journal survives the crashes and interrupts " +
+                "of the run, and can be used to resume it with -resume.")
+                .withRequiredArg().ofType(String.class).describedAs("filename");
+
+        OptionSpec<String> optResume = parser.accepts("resume", "Resume the run from a given journal file. " +
+                "Benchmarks with results in the journal are not run again, and their results are merged into " +
+                "the final results. Results of the remaining benchmarks are appended to the same journal, " +
+                "unless -journal is set.")
+                .withRequiredArg().ofType(String.class).describedAs("filename");
+
+        OptionSpec<String> optBaseline = parser.accepts("baseline", "Compare the run against the results in a given " +
+                "JSON result file or journal file. Every benchmark is matched with the baseline by benchmark name, " +
+                "mode and parameters, and the iteration scores are compared with the Mann-Whitney U test at " +
+                "99% confidence. Harness exits with the non-zero code if any benchmark regresses.")
+                .withRequiredArg().ofType(String.class).describedAs("filename");
+
+        OptionSpec<Double> optBaselineThreshold = parser.accepts("bt", "Minimal relative change of the score against " +
+                "the baseline to report it as the improvement or the regression, e.g. 0.05 for 5%. Use this to " +
+                "ignore the changes that are statistically significant, but too small to matter. " +
+                "(default: " + Defaults.BASELINE_THRESHOLD + ")")
+                .withRequiredArg().ofType(Double.class).describedAs("double");
+
+        OptionSpec<Boolean> optPipelineProfilers = parser.accepts("ppp", "Should JMH run the heavy post-processing " +
+                "of external profilers in background, while the next fork runs? Post-processing runs with low " +
+                "priority, and on Linux, is pinned to a reserved core, with forks pinned away from it. " +
+                "Results are joined before the benchmark results are printed. " +
+                "(default: " + Defaults.PIPELINE_PROFILERS + ")")
+                .withRequiredArg().ofType(Boolean.class).describedAs("bool");
+
         OptionSpec<String> optProfilers = parser.accepts("prof", "Use profilers to collect additional benchmark data. " +
                 "Some profilers are not available on all JVMs and/or all OSes. Please see the list of available " +
                 "profilers with -lprof.")
@@ -242,11 +412,34 @@ public class CommandLineOptions implements Options {
                 "Parameter values should be separated with commas.")
                 .withRequiredArg().ofType(String.class).describedAs("param={v,}*");
 
+        OptionSpec<String> optParamExploration = parser.accepts("pe", "Which combinations of benchmark parameter " +
+                "values to run, instead of every combination. Exploration strategies are: " + explorationsDesc() +
+                "Overrides @ParamExploration annotation. " +
+                "(default: " + Defaults.PARAM_EXPLORATION + ")")
+                .withRequiredArg().ofType(String.class).describedAs("strategy");
+
+        OptionSpec<Integer> optParamExplorationSamples = parser.accepts("pen", "Number of parameter combinations to " +
+                "run with RANDOM and LATIN_HYPERCUBE exploration strategies. " +
+                "(default: " + Defaults.PARAM_EXPLORATION_SAMPLES + ")")
+                .withRequiredArg().withValuesConvertedBy(IntegerValueConverter.POSITIVE).describedAs("int");
+
+        OptionSpec<Integer> optParamExplorationSeed = parser.accepts("pes", "Random seed for RANDOM and " +
+                "LATIN_HYPERCUBE exploration strategies. Runs with the same seed and the same parameter values " +
+                "run the same combinations. " +
+                "(default: " + Defaults.PARAM_EXPLORATION_SEED + ")")
+                .withRequiredArg().ofType(Integer.class).describedAs("int");
+
         OptionSpec<String> optWarmupBenchmarks = parser.accepts("wmb", "Warmup benchmarks to include in the run in " +
                 "addition to already selected by the primary filters. Harness will not measure these benchmarks, but " +
                 "only use them for the warmup.")
                 .withRequiredArg().withValuesSeparatedBy(',').ofType(String.class).describedAs("regexp+");
 
+        OptionSpec<String> optMerge = parser.accepts("merge", "Merge the results from given journal or JSON " +
+                "result files, print them, write them to the result file (see -rf, -rff), and exit. Results for " +
+                "the same benchmark from different files are aggregated together, as if they came from the " +
+                "different forks of a single run.")
+                .withRequiredArg().withValuesSeparatedBy(',').ofType(String.class).describedAs("filename+");
+
         parser.accepts("l", "List the benchmarks that match a filter, and exit.");
         parser.accepts("lp", "List the benchmarks that match a filter, along with parameters, and exit.");
         parser.accepts("lrf", "List machine-readable result formats, and exit.");
@@ -316,20 +509,85 @@ public class CommandLineOptions implements Options {
             listProfilers = set.has("lprof");
 
             iterations = toOptional(optMeasureCount, set);
+            maxIterations = toOptional(optMaxMeasureCount, set);
+            targetError = toOptional(optTargetError, set);
+            if (targetError.hasValue() && !(targetError.get() > 0)) {
+                throw new CommandLineOptionException("Target relative error should be positive, but it is " + targetError.get());
+            }
             batchSize = toOptional(optMeasureBatchSize, set);
             runTime = toOptional(optMeasureTime, set);
             warmupIterations = toOptional(optWarmupCount, set);
             warmupBatchSize = toOptional(optWarmupBatchSize, set);
             warmupTime = toOptional(optWarmupTime, set);
+            warmupSteadyThreshold = toOptional(optWarmupSteadyThreshold, set);
+            if (warmupSteadyThreshold.hasValue() && !(warmupSteadyThreshold.get() > 0)) {
+                throw new CommandLineOptionException("Warmup steady state threshold should be positive, but it is " + warmupSteadyThreshold.get());
+            }
+            warmupSteadyWindow = toOptional(optWarmupSteadyWindow, set);
             timeout = toOptional(optTimeoutTime, set);
+            targetRate = toOptional(optTargetRate, set);
+            if (targetRate.hasValue() && !(targetRate.get() > 0)) {
+                throw new CommandLineOptionException("Target rate should be positive, but it is " + targetRate.get());
+            }
+            histogramDigits = toOptional(optHistogramDigits, set);
+            inFlight = toOptional(optInFlight, set);
+            timelineInterval = toOptional(optTimelineInterval, set);
+            if (histogramDigits.hasValue() && histogramDigits.get() > SampleBuffer.MAX_DIGITS) {
+                throw new CommandLineOptionException("Histogram digits should be at most " + SampleBuffer.MAX_DIGITS + ", but it is " + histogramDigits.get());
+            }
             threads = toOptional(optThreads, set);
+            threadScaling = toOptional(optThreadScaling, set);
+
+            if (set.has(optThreadPlacement)) {
+                try {
+                    threadPlacement = Optional.of(ThreadPlacement.fromString(optThreadPlacement.value(set)));
+                } catch (IllegalArgumentException iae) {
+                    throw new CommandLineOptionException(iae.getMessage(), iae);
+                }
+            } else {
+                threadPlacement = Optional.none();
+            }
+
             synchIterations = toOptional(optSyncIters, set);
             gcEachIteration = toOptional(optGC, set);
             failOnError = toOptional(optFOE, set);
             fork = toOptional(optForks, set);
             warmupFork = toOptional(optWarmupForks, set);
+            maxFork = toOptional(optMaxForks, set);
+            parallelForks = toOptional(optParallelForks, set);
+            standbyForks = toOptional(optStandbyForks, set);
+            classDataSharing = toOptional(optClassDataSharing, set);
+            pipelineProfilers = toOptional(optPipelineProfilers, set);
             output = toOptional(optOutput, set);
             result = toOptional(optOutputResults, set);
+            journal = toOptional(optJournal, set);
+            resume = toOptional(optResume, set);
+            baseline = toOptional(optBaseline, set);
+            baselineThreshold = toOptional(optBaselineThreshold, set);
+            if (baselineThreshold.hasValue() && !(baselineThreshold.get() >= 0)) {
+                throw new CommandLineOptionException("Baseline threshold should be non-negative, but it is " + baselineThreshold.get());
+            }
+
+            if (set.has(optForkSchedule)) {
+                try {
+                    forkSchedule = Optional.of(ForkSchedule.valueOf(optForkSchedule.value(set).toUpperCase()));
+                } catch (IllegalArgumentException iae) {
+                    throw new CommandLineOptionException(iae.getMessage(), iae);
+                }
+            } else {
+                forkSchedule = Optional.none();
+            }
+            forkScheduleSeed = toOptional(optForkScheduleSeed, set);
+
+            if (set.has(optShard)) {
+                try {
+                    shard = Optional.of(Shard.fromString(optShard.value(set)));
+                } catch (IllegalArgumentException iae) {
+                    throw new CommandLineOptionException(iae.getMessage(), iae);
+                }
+            } else {
+                shard = Optional.none();
+            }
 
             if (set.has(optBenchmarkMode)) {
                 try {
@@ -383,6 +641,10 @@ public class CommandLineOptions implements Options {
                 }
             }
 
+            if (set.has(optMerge)) {
+                mergeFiles.addAll(optMerge.values(set));
+            }
+
             jvm = toOptional(optJvm, set);
 
             jvmArgs = treatQuoted(set, optJvmArgs);
@@ -399,6 +661,18 @@ public class CommandLineOptions implements Options {
                 }
             }
 
+            if (set.has(optParamExploration)) {
+                try {
+                    paramExploration = Optional.of(Exploration.valueOf(optParamExploration.value(set).toUpperCase()));
+                } catch (IllegalArgumentException iae) {
+                    throw new CommandLineOptionException(iae.getMessage(), iae);
+                }
+            } else {
+                paramExploration = Optional.none();
+            }
+            paramExplorationSamples = toOptional(optParamExplorationSamples, set);
+            paramExplorationSeed = toOptional(optParamExplorationSeed, set);
+
         } catch (OptionException e) {
             String message = e.getMessage();
             Throwable cause = e.getCause();
@@ -409,6 +683,52 @@ public class CommandLineOptions implements Options {
         }
     }
 
+    private String explorationsDesc() {
+        StringBuilder sb = new StringBuilder();
+        for (Exploration e : Exploration.values()) {
+            sb.append(e);
+            sb.append(" = ");
+            switch (e) {
+                case FULL:
+                    sb.append("Every combination. ");
+                    break;
+                case RANDOM:
+                    sb.append("Distinct combinations picked at random. ");
+                    break;
+                case LATIN_HYPERCUBE:
+                    sb.append("Combinations with every value of every parameter picked about equally often. ");
+                    break;
+                case PAIRWISE:
+                    sb.append("Combinations covering every pair of values for every pair of parameters. ");
+                    break;
+                case ONE_FACTOR_AT_A_TIME:
+                    sb.append("First values of all parameters, then every other value of one parameter at a time. ");
+                    break;
+            }
+        }
+        return sb.toString();
+    }
+
+    private String forkSchedulesDesc() {
+        StringBuilder sb = new StringBuilder();
+        for (ForkSchedule schedule : ForkSchedule.values()) {
+            sb.append(schedule);
+            sb.append(" = ");
+            switch (schedule) {
+                case SEQUENTIAL:
+                    sb.append("Run all forks of one benchmark, then move to the next one. ");
+                    break;
+                case ROUND_ROBIN:
+                    sb.append("Run one fork of every benchmark in turn, and repeat. ");
+                    break;
+                case RANDOM:
+                    sb.append("Same as ROUND_ROBIN, but shuffle the benchmark order in every round. ");
+                    break;
+            }
+        }
+        return sb.toString();
+    }
+
     private String warmupModesDesc() {
         StringBuilder sb = new StringBuilder();
         for (WarmupMode mode : WarmupMode.values()) {
@@ -553,6 +873,54 @@ public class CommandLineOptions implements Options {
         return warmupFork;
     }
 
+    @Override
+    public Optional<Integer> getMaxForkCount() {
+        return maxFork;
+    }
+
+    @Override
+    public Optional<Integer> getParallelForks() {
+        return parallelForks;
+    }
+
+    @Override
+    public Optional<Boolean> shouldUseStandbyForks() {
+        return standbyForks;
+    }
+
+    @Override
+    public Optional<Boolean> shouldUseClassDataSharing() {
+        return classDataSharing;
+    }
+
+    @Override
+    public Optional<Boolean> shouldPipelineProfilers() {
+        return pipelineProfilers;
+    }
+
+    @Override
+    public Optional<ForkSchedule> getForkSchedule() {
+        return forkSchedule;
+    }
+
+    @Override
+    public Optional<Long> getForkScheduleSeed() {
+        return forkScheduleSeed;
+    }
+
+    @Override
+    public Optional<Shard> getShard() {
+        return shard;
+    }
+
+    /**
+     * Result files to merge, instead of running the benchmarks.
+     * @return list of file names; empty, if no merge is requested
+     */
+    public List<String> getMergeFiles() {
+        return mergeFiles;
+    }
+
     @Override
     public Optional<String> getOutput() {
         return output;
@@ -568,11 +936,41 @@ public class CommandLineOptions implements Options {
         return result;
     }
 
+    @Override
+    public Optional<String> getJournal() {
+        return journal;
+    }
+
+    @Override
+    public Optional<String> getResume() {
+        return resume;
+    }
+
+    @Override
+    public Optional<String> getBaseline() {
+        return baseline;
+    }
+
+    @Override
+    public Optional<Double> getBaselineThreshold() {
+        return baselineThreshold;
+    }
+
     @Override
     public Optional<Integer> getMeasurementIterations() {
         return iterations;
     }
 
+    @Override
+    public Optional<Integer> getMaxMeasurementIterations() {
+        return maxIterations;
+    }
+
+    @Override
+    public Optional<Double> getTargetRelativeError() {
+        return targetError;
+    }
+
     @Override
     public Optional<Integer> getMeasurementBatchSize() {
         return batchSize;
@@ -593,6 +991,16 @@ public class CommandLineOptions implements Options {
         return warmupIterations;
     }
 
+    @Override
+    public Optional<Double> getWarmupSteadyStateThreshold() {
+        return warmupSteadyThreshold;
+    }
+
+    @Override
+    public Optional<Integer> getWarmupSteadyStateWindow() {
+        return warmupSteadyWindow;
+    }
+
     @Override
     public Optional<Integer> getWarmupBatchSize() {
         return warmupBatchSize;
@@ -603,6 +1011,16 @@ public class CommandLineOptions implements Options {
         return threads;
     }
 
+    @Override
+    public Optional<Boolean> shouldScaleThreads() {
+        return threadScaling;
+    }
+
+    @Override
+    public Optional<ThreadPlacement> getThreadPlacement() {
+        return threadPlacement;
+    }
+
     @Override
     public Optional<int[]> getThreadGroups() {
         if (threadGroups.isEmpty()) {
@@ -660,4 +1078,39 @@ public class CommandLineOptions implements Options {
     public Optional<TimeValue> getTimeout() {
         return timeout;
     }
+
+    @Override
+    public Optional<Double> getTargetRate() {
+        return targetRate;
+    }
+
+    @Override
+    public Optional<Integer> getHistogramDigits() {
+        return histogramDigits;
+    }
+
+    @Override
+    public Optional<Integer> getInFlight() {
+        return inFlight;
+    }
+
+    @Override
+    public Optional<TimeValue> getTimelineInterval() {
+        return timelineInterval;
+    }
+
+    @Override
+    public Optional<Exploration> getParamExploration() {
+        return paramExploration;
+    }
+
+    @Override
+    public Optional<Integer> getParamExplorationSamples() {
+        return paramExplorationSamples;
+    }
+
+    @Override
+    public Optional<Integer> getParamExplorationSeed() {
+        return paramExplorationSeed;
+    }
 }
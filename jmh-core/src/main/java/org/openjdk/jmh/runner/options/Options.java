@@ -24,6 +24,7 @@
  */
 package org.openjdk.jmh.runner.options;
 
+import org.openjdk.jmh.annotations.Exploration;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.results.format.ResultFormatType;
 import org.openjdk.jmh.util.Optional;
@@ -65,6 +66,35 @@ public interface Options extends Serializable {
      */
     Optional<String> getResult();
 
+    /**
+     * Which file to use for the run journal. Journal persists the results of
+     * every benchmark as soon as it completes.
+     * @return file name
+     */
+    Optional<String> getJournal();
+
+    /**
+     * Which run journal to resume from. Benchmarks that have results in the
+     * journal are not run again, and their results are merged into the final results.
+     * @return file name
+     */
+    Optional<String> getResume();
+
+    /**
+     * Which results to compare the run against. Every benchmark is compared with
+     * the baseline result for the same benchmark, mode and parameters.
+     * @return JSON result file or journal file
+     */
+    Optional<String> getBaseline();
+
+    /**
+     * Minimal relative change of the score against the baseline to report it
+     * as the improvement or the regression.
+     * @return threshold, e.g. 0.05 for 5%
+     * @see #getBaseline()
+     */
+    Optional<Double> getBaselineThreshold();
+
     /**
      * Should force GC between iterations?
      * @return should GC?
@@ -105,6 +135,20 @@ public interface Options extends Serializable {
      */
     Optional<int[]> getThreadGroups();
 
+    /**
+     * Should run every benchmark with the ladder of thread counts, and fit the scalability
+     * model to the results? Thread groups are scaled by multiplying the subgroup thread counts.
+     * @return should we?
+     */
+    Optional<Boolean> shouldScaleThreads();
+
+    /**
+     * Placement of the worker threads on CPUs.
+     * @return placement policy
+     * @see ThreadPlacement
+     */
+    Optional<ThreadPlacement> getThreadPlacement();
+
     /**
      * Should synchronize iterations?
      * @return should we?
@@ -132,6 +176,22 @@ public interface Options extends Serializable {
      */
     Optional<Integer> getWarmupBatchSize();
 
+    /**
+     * Steady state threshold for warmup. When set, warmup stops as soon as the
+     * scores in the sliding window of recent iterations have both relative deviation
+     * and relative drift under this threshold.
+     * @return threshold, e.g. 0.02 for 2%
+     * @see #getWarmupSteadyStateWindow()
+     */
+    Optional<Double> getWarmupSteadyStateThreshold();
+
+    /**
+     * Number of recent warmup iterations to analyze for steady state.
+     * @return window size
+     * @see #getWarmupSteadyStateThreshold()
+     */
+    Optional<Integer> getWarmupSteadyStateWindow();
+
     /**
      * Warmup mode.
      * @return warmup mode
@@ -152,6 +212,23 @@ public interface Options extends Serializable {
      */
     Optional<Integer> getMeasurementIterations();
 
+    /**
+     * Maximum number of measurement iterations, when target error is set.
+     * @return maximum number of measurement iterations
+     * @see #getTargetRelativeError()
+     */
+    Optional<Integer> getMaxMeasurementIterations();
+
+    /**
+     * Target relative error for the benchmark score. When set, harness runs
+     * more measurement iterations and forks, until the score error at 99.9%
+     * confidence drops below this target, or maximum counts are reached.
+     * @return target relative error, e.g. 0.01 for 1%
+     * @see #getMaxMeasurementIterations()
+     * @see #getMaxForkCount()
+     */
+    Optional<Double> getTargetRelativeError();
+
     /**
      * The duration for measurement iterations
      * @return duration
@@ -194,6 +271,60 @@ public interface Options extends Serializable {
      */
     Optional<Integer> getForkCount();
 
+    /**
+     * Maximum fork count, when target error is set.
+     * @return maximum fork count
+     * @see #getTargetRelativeError()
+     */
+    Optional<Integer> getMaxForkCount();
+
+    /**
+     * Number of forked VMs to run concurrently
+     * @return number of concurrent forks; 1, to run forks one after another
+     */
+    Optional<Integer> getParallelForks();
+
+    /**
+     * Should harness start the next forked VM ahead of time, while the current fork is running?
+     * @return should we?
+     */
+    Optional<Boolean> shouldUseStandbyForks();
+
+    /**
+     * Should harness create the class data sharing archive with the first fork, and start
+     * the later forks with it?
+     * @return should we?
+     */
+    Optional<Boolean> shouldUseClassDataSharing();
+
+    /**
+     * Should harness run the external profilers post-processing in background,
+     * while the next fork runs?
+     * @return should we?
+     */
+    Optional<Boolean> shouldPipelineProfilers();
+
+    /**
+     * In which order to run the forks of different benchmarks. Interleaved schedules
+     * spread the forks of every benchmark over the whole run.
+     * @return fork schedule
+     * @see org.openjdk.jmh.runner.options.ForkSchedule
+     */
+    Optional<ForkSchedule> getForkSchedule();
+
+    /**
+     * Seed for the {@link ForkSchedule#RANDOM} fork schedule.
+     * @return seed; none, to pick a new seed for every run
+     */
+    Optional<Long> getForkScheduleSeed();
+
+    /**
+     * Which shard of the benchmark plan to run. Benchmarks are assigned to shards
+     * deterministically, balancing the projected running time.
+     * @return shard; none, to run the entire plan
+     */
+    Optional<Shard> getShard();
+
     /**
      * Number of initial forks to ignore the results for
      * @return initial fork count; 0, to disable
@@ -238,10 +369,59 @@ public interface Options extends Serializable {
      */
     Optional<Collection<String>> getParameter(String name);
 
+    /**
+     * Which combinations of parameter values to run.
+     * @return exploration strategy
+     * @see org.openjdk.jmh.annotations.ParamExploration
+     */
+    Optional<Exploration> getParamExploration();
+
+    /**
+     * Number of parameter combinations to run with the sampling exploration strategies.
+     * @return number of combinations
+     * @see org.openjdk.jmh.annotations.ParamExploration
+     */
+    Optional<Integer> getParamExplorationSamples();
+
+    /**
+     * Random seed for the sampling exploration strategies.
+     * @return seed
+     * @see org.openjdk.jmh.annotations.ParamExploration
+     */
+    Optional<Integer> getParamExplorationSeed();
+
     /**
      * Timeout: how long to wait for an iteration to complete.
      * @return duration
      */
     Optional<TimeValue> getTimeout();
 
+    /**
+     * Target rate for {@link org.openjdk.jmh.annotations.Mode#FixedRate} mode.
+     * @return operations per second per thread
+     */
+    Optional<Double> getTargetRate();
+
+    /**
+     * Number of significant digits for latency histograms.
+     * @return number of significant digits
+     * @see org.openjdk.jmh.util.SampleBuffer
+     */
+    Optional<Integer> getHistogramDigits();
+
+    /**
+     * Number of asynchronous operations each worker thread keeps outstanding,
+     * for benchmark methods returning {@link java.util.concurrent.CompletionStage}.
+     * @return number of operations in flight per thread
+     */
+    Optional<Integer> getInFlight();
+
+    /**
+     * Timeline interval: how often to record the operation counts within the iteration,
+     * in {@link org.openjdk.jmh.annotations.Mode#Throughput} and
+     * {@link org.openjdk.jmh.annotations.Mode#AverageTime} modes.
+     * @return sub-interval duration; zero, if timeline is disabled
+     */
+    Optional<TimeValue> getTimelineInterval();
+
 }
@@ -24,6 +24,7 @@
  */
 package org.openjdk.jmh.runner.options;
 
+import org.openjdk.jmh.annotations.Exploration;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.Threads;
 import org.openjdk.jmh.profile.Profiler;
@@ -31,6 +32,7 @@ import org.openjdk.jmh.results.format.ResultFormatType;
 import org.openjdk.jmh.util.HashMultimap;
 import org.openjdk.jmh.util.Multimap;
 import org.openjdk.jmh.util.Optional;
+import org.openjdk.jmh.util.SampleBuffer;
 import org.openjdk.jmh.util.Utils;
 
 import java.lang.management.ManagementFactory;
@@ -173,6 +175,85 @@ public class OptionsBuilder implements Options, ChainedOptionsBuilder {
 
     // ---------------------------------------------------------------------------
 
+    private Optional<String> journal = Optional.none();
+
+    @Override
+    public ChainedOptionsBuilder journal(String filename) {
+        this.journal = Optional.of(filename);
+        return this;
+    }
+
+    @Override
+    public Optional<String> getJournal() {
+        if (otherOptions != null) {
+            return journal.orAnother(otherOptions.getJournal());
+        } else {
+            return journal;
+        }
+    }
+
+    // ---------------------------------------------------------------------------
+
+    private Optional<String> resume = Optional.none();
+
+    @Override
+    public ChainedOptionsBuilder resume(String filename) {
+        this.resume = Optional.of(filename);
+        return this;
+    }
+
+    @Override
+    public Optional<String> getResume() {
+        if (otherOptions != null) {
+            return resume.orAnother(otherOptions.getResume());
+        } else {
+            return resume;
+        }
+    }
+
+    // ---------------------------------------------------------------------------
+
+    private Optional<String> baseline = Optional.none();
+
+    @Override
+    public ChainedOptionsBuilder baseline(String filename) {
+        this.baseline = Optional.of(filename);
+        return this;
+    }
+
+    @Override
+    public Optional<String> getBaseline() {
+        if (otherOptions != null) {
+            return baseline.orAnother(otherOptions.getBaseline());
+        } else {
+            return baseline;
+        }
+    }
+
+    // ---------------------------------------------------------------------------
+
+    private Optional<Double> baselineThreshold = Optional.none();
+
+    @Override
+    public ChainedOptionsBuilder baselineThreshold(double value) {
+        if (!(value >= 0)) {
+            throw new IllegalArgumentException("Baseline threshold (" + value + ") should be non-negative");
+        }
+        this.baselineThreshold = Optional.of(value);
+        return this;
+    }
+
+    @Override
+    public Optional<Double> getBaselineThreshold() {
+        if (otherOptions != null) {
+            return baselineThreshold.orAnother(otherOptions.getBaselineThreshold());
+        } else {
+            return baselineThreshold;
+        }
+    }
+
+    // ---------------------------------------------------------------------------
+
     private Optional<Boolean> shouldDoGC = Optional.none();
 
     @Override
@@ -315,6 +396,47 @@ public class OptionsBuilder implements Options, ChainedOptionsBuilder {
 
     // ---------------------------------------------------------------------------
 
+    private Optional<Boolean> threadScaling = Optional.none();
+
+    @Override
+    public ChainedOptionsBuilder threadScaling(boolean value) {
+        this.threadScaling = Optional.of(value);
+        return this;
+    }
+
+    @Override
+    public Optional<Boolean> shouldScaleThreads() {
+        if (otherOptions != null) {
+            return threadScaling.orAnother(otherOptions.shouldScaleThreads());
+        } else {
+            return threadScaling;
+        }
+    }
+
+    // ---------------------------------------------------------------------------
+
+    private Optional<ThreadPlacement> threadPlacement = Optional.none();
+
+    @Override
+    public ChainedOptionsBuilder threadPlacement(ThreadPlacement placement) {
+        if (placement == null) {
+            throw new IllegalArgumentException("Thread placement should not be null");
+        }
+        this.threadPlacement = Optional.of(placement);
+        return this;
+    }
+
+    @Override
+    public Optional<ThreadPlacement> getThreadPlacement() {
+        if (otherOptions != null) {
+            return threadPlacement.orAnother(otherOptions.getThreadPlacement());
+        } else {
+            return threadPlacement;
+        }
+    }
+
+    // ---------------------------------------------------------------------------
+
     private Optional<Boolean> syncIterations = Optional.none();
 
     @Override
@@ -412,6 +534,48 @@ public class OptionsBuilder implements Options, ChainedOptionsBuilder {
 
     // ---------------------------------------------------------------------------
 
+    private Optional<Double> warmupSteadyThreshold = Optional.none();
+
+    @Override
+    public ChainedOptionsBuilder warmupSteadyStateThreshold(double value) {
+        if (!(value > 0)) {
+            throw new IllegalArgumentException("Warmup steady state threshold (" + value + ") should be positive");
+        }
+        this.warmupSteadyThreshold = Optional.of(value);
+        return this;
+    }
+
+    @Override
+    public Optional<Double> getWarmupSteadyStateThreshold() {
+        if (otherOptions != null) {
+            return warmupSteadyThreshold.orAnother(otherOptions.getWarmupSteadyStateThreshold());
+        } else {
+            return warmupSteadyThreshold;
+        }
+    }
+
+    // ---------------------------------------------------------------------------
+
+    private Optional<Integer> warmupSteadyWindow = Optional.none();
+
+    @Override
+    public ChainedOptionsBuilder warmupSteadyStateWindow(int value) {
+        checkGreaterOrEqual(value, 2, "Warmup steady state window");
+        this.warmupSteadyWindow = Optional.of(value);
+        return this;
+    }
+
+    @Override
+    public Optional<Integer> getWarmupSteadyStateWindow() {
+        if (otherOptions != null) {
+            return warmupSteadyWindow.orAnother(otherOptions.getWarmupSteadyStateWindow());
+        } else {
+            return warmupSteadyWindow;
+        }
+    }
+
+    // ---------------------------------------------------------------------------
+
     private final List<String> warmupMicros = new ArrayList<>();
 
     @Override
@@ -490,6 +654,48 @@ public class OptionsBuilder implements Options, ChainedOptionsBuilder {
     }
 
 
+    // ---------------------------------------------------------------------------
+
+    private Optional<Integer> maxIterations = Optional.none();
+
+    @Override
+    public ChainedOptionsBuilder maxMeasurementIterations(int count) {
+        checkGreaterOrEqual(count, 1, "Maximum measurement iterations");
+        this.maxIterations = Optional.of(count);
+        return this;
+    }
+
+    @Override
+    public Optional<Integer> getMaxMeasurementIterations() {
+        if (otherOptions != null) {
+            return maxIterations.orAnother(otherOptions.getMaxMeasurementIterations());
+        } else {
+            return maxIterations;
+        }
+    }
+
+    // ---------------------------------------------------------------------------
+
+    private Optional<Double> targetError = Optional.none();
+
+    @Override
+    public ChainedOptionsBuilder targetRelativeError(double value) {
+        if (!(value > 0)) {
+            throw new IllegalArgumentException("Target relative error (" + value + ") should be positive");
+        }
+        this.targetError = Optional.of(value);
+        return this;
+    }
+
+    @Override
+    public Optional<Double> getTargetRelativeError() {
+        if (otherOptions != null) {
+            return targetError.orAnother(otherOptions.getTargetRelativeError());
+        } else {
+            return targetError;
+        }
+    }
+
     // ---------------------------------------------------------------------------
 
     private final EnumSet<Mode> benchModes = EnumSet.noneOf(Mode.class);
@@ -590,6 +796,160 @@ public class OptionsBuilder implements Options, ChainedOptionsBuilder {
 
     // ---------------------------------------------------------------------------
 
+    private Optional<Integer> maxForks = Optional.none();
+
+    @Override
+    public ChainedOptionsBuilder maxForks(int value) {
+        checkGreaterOrEqual(value, 1, "Maximum forks");
+        this.maxForks = Optional.of(value);
+        return this;
+    }
+
+    @Override
+    public Optional<Integer> getMaxForkCount() {
+        if (otherOptions != null) {
+            return maxForks.orAnother(otherOptions.getMaxForkCount());
+        } else {
+            return maxForks;
+        }
+    }
+
+    // ---------------------------------------------------------------------------
+
+    private Optional<Integer> parallelForks = Optional.none();
+
+    @Override
+    public ChainedOptionsBuilder parallelForks(int value) {
+        checkGreaterOrEqual(value, 1, "Parallel forks");
+        this.parallelForks = Optional.of(value);
+        return this;
+    }
+
+    @Override
+    public Optional<Integer> getParallelForks() {
+        if (otherOptions != null) {
+            return parallelForks.orAnother(otherOptions.getParallelForks());
+        } else {
+            return parallelForks;
+        }
+    }
+
+    // ---------------------------------------------------------------------------
+
+    private Optional<Boolean> standbyForks = Optional.none();
+
+    @Override
+    public ChainedOptionsBuilder standbyForks(boolean value) {
+        this.standbyForks = Optional.of(value);
+        return this;
+    }
+
+    @Override
+    public Optional<Boolean> shouldUseStandbyForks() {
+        if (otherOptions != null) {
+            return standbyForks.orAnother(otherOptions.shouldUseStandbyForks());
+        } else {
+            return standbyForks;
+        }
+    }
+
+    // ---------------------------------------------------------------------------
+
+    private Optional<Boolean> classDataSharing = Optional.none();
+
+    @Override
+    public ChainedOptionsBuilder classDataSharing(boolean value) {
+        this.classDataSharing = Optional.of(value);
+        return this;
+    }
+
+    @Override
+    public Optional<Boolean> shouldUseClassDataSharing() {
+        if (otherOptions != null) {
+            return classDataSharing.orAnother(otherOptions.shouldUseClassDataSharing());
+        } else {
+            return classDataSharing;
+        }
+    }
+
+    // ---------------------------------------------------------------------------
+
+    private Optional<Boolean> pipelineProfilers = Optional.none();
+
+    @Override
+    public ChainedOptionsBuilder pipelineProfilers(boolean value) {
+        this.pipelineProfilers = Optional.of(value);
+        return this;
+    }
+
+    @Override
+    public Optional<Boolean> shouldPipelineProfilers() {
+        if (otherOptions != null) {
+            return pipelineProfilers.orAnother(otherOptions.shouldPipelineProfilers());
+        } else {
+            return pipelineProfilers;
+        }
+    }
+
+    // ---------------------------------------------------------------------------
+
+    private Optional<ForkSchedule> forkSchedule = Optional.none();
+
+    @Override
+    public ChainedOptionsBuilder forkSchedule(ForkSchedule value) {
+        this.forkSchedule = Optional.of(value);
+        return this;
+    }
+
+    @Override
+    public Optional<ForkSchedule> getForkSchedule() {
+        if (otherOptions != null) {
+            return forkSchedule.orAnother(otherOptions.getForkSchedule());
+        } else {
+            return forkSchedule;
+        }
+    }
+
+    // ---------------------------------------------------------------------------
+
+    private Optional<Long> forkScheduleSeed = Optional.none();
+
+    @Override
+    public ChainedOptionsBuilder forkScheduleSeed(long seed) {
+        this.forkScheduleSeed = Optional.of(seed);
+        return this;
+    }
+
+    @Override
+    public Optional<Long> getForkScheduleSeed() {
+        if (otherOptions != null) {
+            return forkScheduleSeed.orAnother(otherOptions.getForkScheduleSeed());
+        } else {
+            return forkScheduleSeed;
+        }
+    }
+
+    // ---------------------------------------------------------------------------
+
+    private Optional<Shard> shard = Optional.none();
+
+    @Override
+    public ChainedOptionsBuilder shard(int index, int count) {
+        this.shard = Optional.of(new Shard(index, count));
+        return this;
+    }
+
+    @Override
+    public Optional<Shard> getShard() {
+        if (otherOptions != null) {
+            return shard.orAnother(otherOptions.getShard());
+        } else {
+            return shard;
+        }
+    }
+
+    // ---------------------------------------------------------------------------
+
     private Optional<String> jvmBinary = Optional.none();
 
     @Override
@@ -698,6 +1058,64 @@ public class OptionsBuilder implements Options, ChainedOptionsBuilder {
 
     // ---------------------------------------------------------------------------
 
+    private Optional<Exploration> paramExploration = Optional.none();
+
+    @Override
+    public ChainedOptionsBuilder paramExploration(Exploration value) {
+        this.paramExploration = Optional.of(value);
+        return this;
+    }
+
+    @Override
+    public Optional<Exploration> getParamExploration() {
+        if (otherOptions != null) {
+            return paramExploration.orAnother(otherOptions.getParamExploration());
+        } else {
+            return paramExploration;
+        }
+    }
+
+    // ---------------------------------------------------------------------------
+
+    private Optional<Integer> paramExplorationSamples = Optional.none();
+
+    @Override
+    public ChainedOptionsBuilder paramExplorationSamples(int value) {
+        checkGreaterOrEqual(value, 1, "Parameter exploration samples");
+        this.paramExplorationSamples = Optional.of(value);
+        return this;
+    }
+
+    @Override
+    public Optional<Integer> getParamExplorationSamples() {
+        if (otherOptions != null) {
+            return paramExplorationSamples.orAnother(otherOptions.getParamExplorationSamples());
+        } else {
+            return paramExplorationSamples;
+        }
+    }
+
+    // ---------------------------------------------------------------------------
+
+    private Optional<Integer> paramExplorationSeed = Optional.none();
+
+    @Override
+    public ChainedOptionsBuilder paramExplorationSeed(int value) {
+        this.paramExplorationSeed = Optional.of(value);
+        return this;
+    }
+
+    @Override
+    public Optional<Integer> getParamExplorationSeed() {
+        if (otherOptions != null) {
+            return paramExplorationSeed.orAnother(otherOptions.getParamExplorationSeed());
+        } else {
+            return paramExplorationSeed;
+        }
+    }
+
+    // ---------------------------------------------------------------------------
+
     private Optional<TimeValue> timeout = Optional.none();
 
     @Override
@@ -717,4 +1135,92 @@ public class OptionsBuilder implements Options, ChainedOptionsBuilder {
 
     // ---------------------------------------------------------------------------
 
+    private Optional<Double> targetRate = Optional.none();
+
+    @Override
+    public ChainedOptionsBuilder targetRate(double value) {
+        if (!(value > 0)) {
+            throw new IllegalArgumentException("Target rate (" + value + ") should be positive");
+        }
+        this.targetRate = Optional.of(value);
+        return this;
+    }
+
+    @Override
+    public Optional<Double> getTargetRate() {
+        if (otherOptions != null) {
+            return targetRate.orAnother(otherOptions.getTargetRate());
+        } else {
+            return targetRate;
+        }
+    }
+
+    // ---------------------------------------------------------------------------
+
+    private Optional<Integer> histogramDigits = Optional.none();
+
+    @Override
+    public ChainedOptionsBuilder histogramDigits(int value) {
+        if (value < 1 || value > SampleBuffer.MAX_DIGITS) {
+            throw new IllegalArgumentException("Histogram digits (" + value + ") should be between 1 and " + SampleBuffer.MAX_DIGITS);
+        }
+        this.histogramDigits = Optional.of(value);
+        return this;
+    }
+
+    @Override
+    public Optional<Integer> getHistogramDigits() {
+        if (otherOptions != null) {
+            return histogramDigits.orAnother(otherOptions.getHistogramDigits());
+        } else {
+            return histogramDigits;
+        }
+    }
+
+    // ---------------------------------------------------------------------------
+
+    private Optional<Integer> inFlight = Optional.none();
+
+    @Override
+    public ChainedOptionsBuilder inFlight(int value) {
+        if (value < 1) {
+            throw new IllegalArgumentException("Operations in flight (" + value + ") should be positive");
+        }
+        this.inFlight = Optional.of(value);
+        return this;
+    }
+
+    @Override
+    public Optional<Integer> getInFlight() {
+        if (otherOptions != null) {
+            return inFlight.orAnother(otherOptions.getInFlight());
+        } else {
+            return inFlight;
+        }
+    }
+
+    // ---------------------------------------------------------------------------
+
+    private Optional<TimeValue> timelineInterval = Optional.none();
+
+    @Override
+    public ChainedOptionsBuilder timelineInterval(TimeValue value) {
+        if (value.getTime() < 0) {
+            throw new IllegalArgumentException("Timeline interval (" + value + ") should not be negative");
+        }
+        this.timelineInterval = Optional.of(value);
+        return this;
+    }
+
+    @Override
+    public Optional<TimeValue> getTimelineInterval() {
+        if (otherOptions != null) {
+            return timelineInterval.orAnother(otherOptions.getTimelineInterval());
+        } else {
+            return timelineInterval;
+        }
+    }
+
+    // ---------------------------------------------------------------------------
+
 }
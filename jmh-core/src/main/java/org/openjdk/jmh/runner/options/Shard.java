@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2005, 2013, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.runner.options;
+
+import java.io.Serializable;
+
+/**
+ * Selects one of the equal parts of the benchmark plan.
+ * Running all the shards of the same plan runs every benchmark exactly once.
+ */
+public class Shard implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int index;
+    private final int count;
+
+    /**
+     * @param index shard index, from 1 to count
+     * @param count total number of shards
+     */
+    public Shard(int index, int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Shard count should be positive: " + count);
+        }
+        if (index < 1 || index > count) {
+            throw new IllegalArgumentException("Shard index should be between 1 and " + count + ": " + index);
+        }
+        this.index = index;
+        this.count = count;
+    }
+
+    /**
+     * @return shard index, from 1 to {@link #getCount()}
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * @return total number of shards
+     */
+    public int getCount() {
+        return count;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * index + count;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        final Shard other = (Shard) obj;
+        return index == other.index && count == other.count;
+    }
+
+    @Override
+    public String toString() {
+        return index + "/" + count;
+    }
+
+    /**
+     * Parses shard from a string representation.
+     * This method is called by joptsimple to resolve string values.
+     * @param shardString string representation of a shard, e.g. "2/4"
+     * @return Shard value
+     */
+    public static Shard valueOf(String shardString) {
+        return fromString(shardString);
+    }
+
+    public static Shard fromString(String shardString) {
+        if (shardString == null) {
+            throw new IllegalArgumentException("String is null");
+        }
+        String[] parts = shardString.replaceAll(" ", "").split("/");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Shard should be specified as index/count, e.g. 2/4: " + shardString);
+        }
+        return new Shard(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+    }
+
+}
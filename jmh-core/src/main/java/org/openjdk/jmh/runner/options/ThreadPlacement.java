@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2005, 2013, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.runner.options;
+
+import org.openjdk.jmh.util.CpuTopology;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Placement policy for the benchmark worker threads.
+ * Placement pins each worker thread to a single CPU chosen with regard to the machine topology.
+ */
+public class ThreadPlacement implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public enum Policy {
+        /**
+         * Do not pin worker threads.
+         */
+        NONE,
+
+        /**
+         * Pack threads on distinct physical cores of the first socket, then the next sockets.
+         * SMT siblings are used only when all the physical cores are taken.
+         */
+        COMPACT,
+
+        /**
+         * Spread threads round-robin across NUMA nodes, using distinct physical cores first.
+         */
+        SCATTER,
+
+        /**
+         * Place consecutive threads on SMT siblings of the same physical core.
+         * Threads of the same group land on the same core, if it has enough hardware threads.
+         */
+        SMT,
+
+        /**
+         * Place the threads of each group on different sockets:
+         * i-th thread in the group goes to (i mod sockets)-th socket.
+         */
+        SOCKET,
+
+        /**
+         * Place i-th thread on (i mod N)-th CPU from the explicit list of N CPUs.
+         */
+        LIST,
+    }
+
+    public static final ThreadPlacement NONE = new ThreadPlacement(Policy.NONE, null);
+    public static final ThreadPlacement COMPACT = new ThreadPlacement(Policy.COMPACT, null);
+    public static final ThreadPlacement SCATTER = new ThreadPlacement(Policy.SCATTER, null);
+    public static final ThreadPlacement SMT = new ThreadPlacement(Policy.SMT, null);
+    public static final ThreadPlacement SOCKET = new ThreadPlacement(Policy.SOCKET, null);
+
+    private final Policy policy;
+    private final int[] cpus;
+
+    private ThreadPlacement(Policy policy, int[] cpus) {
+        this.policy = policy;
+        this.cpus = cpus;
+    }
+
+    /**
+     * Explicit placement: i-th thread is pinned to (i mod N)-th CPU of the list.
+     * @param cpus CPU ids
+     * @return placement
+     */
+    public static ThreadPlacement cpus(int... cpus) {
+        if (cpus == null || cpus.length == 0) {
+            throw new IllegalArgumentException("CPU list should not be empty");
+        }
+        for (int cpu : cpus) {
+            if (cpu < 0) {
+                throw new IllegalArgumentException("CPU id should not be negative: " + cpu);
+            }
+        }
+        return new ThreadPlacement(Policy.LIST, cpus.clone());
+    }
+
+    /**
+     * @return placement policy
+     */
+    public Policy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * @return explicit CPU list for {@link Policy#LIST}; null otherwise
+     */
+    public int[] getCpus() {
+        return (cpus == null) ? null : cpus.clone();
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * policy.hashCode() + Arrays.hashCode(cpus);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        final ThreadPlacement other = (ThreadPlacement) obj;
+        return policy == other.policy && Arrays.equals(cpus, other.cpus);
+    }
+
+    @Override
+    public String toString() {
+        if (policy == Policy.LIST) {
+            StringBuilder sb = new StringBuilder();
+            for (int cpu : cpus) {
+                if (sb.length() > 0) {
+                    sb.append(",");
+                }
+                sb.append(cpu);
+            }
+            return sb.toString();
+        }
+        return policy.name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Parses placement from a string representation.
+     * This method is called by joptsimple to resolve string values.
+     * @param placementString policy name, or CPU list, e.g. "0,2,4-7"
+     * @return ThreadPlacement value
+     */
+    public static ThreadPlacement valueOf(String placementString) {
+        return fromString(placementString);
+    }
+
+    public static ThreadPlacement fromString(String placementString) {
+        if (placementString == null) {
+            throw new IllegalArgumentException("String is null");
+        }
+        String s = placementString.replaceAll(" ", "");
+        for (Policy p : Policy.values()) {
+            if (p != Policy.LIST && p.name().equalsIgnoreCase(s)) {
+                return new ThreadPlacement(p, null);
+            }
+        }
+        try {
+            List<Integer> list = CpuTopology.parseList(s);
+            if (list.isEmpty()) {
+                throw new IllegalArgumentException("Empty CPU list");
+            }
+            int[] cpus = new int[list.size()];
+            for (int i = 0; i < cpus.length; i++) {
+                cpus[i] = list.get(i);
+            }
+            return cpus(cpus);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Thread placement should be one of none, compact, scatter, smt, socket, " +
+                    "or the CPU list, e.g. 0,2,4-7: " + placementString);
+        }
+    }
+
+}
@@ -0,0 +1,388 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * CPU topology of the current machine, as reported by Linux sysfs.
+ * The topology only includes the CPUs that are online, and available
+ * to the current process.
+ */
+public class CpuTopology {
+
+    private static final String SYSFS_CPU = "/sys/devices/system/cpu";
+    private static final String PROC_STATUS = "/proc/self/status";
+
+    private final List<Cpu> cpus;
+
+    private CpuTopology(List<Cpu> cpus) {
+        List<Cpu> sorted = new ArrayList<>(cpus);
+        Collections.sort(sorted);
+        rank(sorted);
+        this.cpus = Collections.unmodifiableList(sorted);
+    }
+
+    /**
+     * Computes the sibling and core ranks. CPUs are sorted by node, package, core and id.
+     */
+    private static void rank(List<Cpu> sorted) {
+        Cpu last = null;
+        for (Cpu c : sorted) {
+            if (last != null && last.sameCore(c)) {
+                c.sibling = last.sibling + 1;
+                c.coreRank = last.coreRank;
+            } else if (last != null && last.node == c.node) {
+                c.coreRank = last.coreRank + 1;
+            }
+            last = c;
+        }
+    }
+
+    /**
+     * Detects the topology of the current machine.
+     * @return topology, or {@link Optional#none()} if topology is not available
+     */
+    public static Optional<CpuTopology> detect() {
+        if (!Utils.isLinux()) {
+            return Optional.none();
+        }
+        try {
+            Collection<Integer> allowed = null;
+            File status = new File(PROC_STATUS);
+            if (status.canRead()) {
+                for (String line : FileUtils.readAllLines(status)) {
+                    if (line.startsWith("Cpus_allowed_list:")) {
+                        allowed = parseList(line.substring(line.indexOf(':') + 1));
+                    }
+                }
+            }
+            CpuTopology topology = read(new File(SYSFS_CPU), allowed);
+            if (topology.size() == 0) {
+                return Optional.none();
+            }
+            return Optional.of(topology);
+        } catch (IOException | IllegalArgumentException e) {
+            return Optional.none();
+        }
+    }
+
+    /**
+     * Reads the topology from sysfs-like directory.
+     *
+     * @param sysCpu directory with sysfs CPU layout, normally /sys/devices/system/cpu
+     * @param allowed CPUs allowed for the current process; null, if all CPUs are allowed
+     * @return topology
+     * @throws IOException if sysfs is not readable
+     */
+    public static CpuTopology read(File sysCpu, Collection<Integer> allowed) throws IOException {
+        List<Integer> online;
+        File onlineFile = new File(sysCpu, "online");
+        if (onlineFile.isFile()) {
+            online = parseList(readLine(onlineFile));
+        } else {
+            // Older kernels: every present CPU directory is online
+            online = new ArrayList<>();
+            String[] names = sysCpu.list();
+            if (names == null) {
+                throw new IOException("CPU topology is not available: " + sysCpu);
+            }
+            for (String name : names) {
+                if (name.matches("cpu[0-9]+")) {
+                    online.add(Integer.parseInt(name.substring("cpu".length())));
+                }
+            }
+            Collections.sort(online);
+        }
+
+        List<Cpu> cpus = new ArrayList<>();
+        for (int id : online) {
+            if (allowed != null && !allowed.contains(id)) {
+                continue;
+            }
+
+            File cpuDir = new File(sysCpu, "cpu" + id);
+            File topoDir = new File(cpuDir, "topology");
+
+            int core = readInt(new File(topoDir, "core_id"), id);
+            // Some platforms report -1 for the unknown package
+            int pkg = Math.max(0, readInt(new File(topoDir, "physical_package_id"), 0));
+
+            int node = 0;
+            String[] entries = cpuDir.list();
+            if (entries != null) {
+                for (String e : entries) {
+                    if (e.startsWith("node")) {
+                        try {
+                            node = Integer.parseInt(e.substring("node".length()));
+                        } catch (NumberFormatException nfe) {
+                            // not a node link, ignore
+                        }
+                    }
+                }
+            }
+
+            cpus.add(new Cpu(id, core, pkg, node));
+        }
+        return new CpuTopology(cpus);
+    }
+
+    /**
+     * @return all CPUs, ordered by NUMA node, package, core and CPU id
+     */
+    public List<Cpu> getCpus() {
+        return cpus;
+    }
+
+    public int size() {
+        return cpus.size();
+    }
+
+    /**
+     * Splits the CPUs into the given number of disjoint sets. The split tries to keep
+     * the hardware threads of a single core together, and the sets within a single package
+     * and NUMA node. If there are less cores than requested sets, cores are split.
+     *
+     * @param parts number of sets to produce
+     * @return list of CPU sets
+     * @throws IllegalArgumentException if there are not enough CPUs to produce the sets
+     */
+    public List<List<Integer>> partition(int parts) {
+        if (parts <= 0) {
+            throw new IllegalArgumentException("Number of parts should be positive: " + parts);
+        }
+        if (parts > cpus.size()) {
+            throw new IllegalArgumentException("Cannot split " + cpus.size() + " CPUs into " + parts + " sets");
+        }
+
+        // Build the units to distribute: whole cores, if we have enough of them, single CPUs otherwise.
+        List<List<Integer>> units = new ArrayList<>();
+        if (getCores().size() >= parts) {
+            units.addAll(getCores());
+        } else {
+            for (Cpu c : cpus) {
+                units.add(Collections.singletonList(c.getId()));
+            }
+        }
+
+        List<List<Integer>> result = new ArrayList<>();
+        for (int p = 0; p < parts; p++) {
+            result.add(new ArrayList<>());
+        }
+
+        // Contiguous assignment keeps neighboring units, which are likely to share
+        // the package and node, in the same set.
+        for (int u = 0; u < units.size(); u++) {
+            int p = (int) ((long) u * parts / units.size());
+            result.get(p).addAll(units.get(u));
+        }
+        return result;
+    }
+
+    /**
+     * @return CPU ids grouped by physical core
+     */
+    public List<List<Integer>> getCores() {
+        List<List<Integer>> result = new ArrayList<>();
+        Cpu last = null;
+        for (Cpu c : cpus) {
+            if (last == null || !last.sameCore(c)) {
+                result.add(new ArrayList<>());
+            }
+            result.get(result.size() - 1).add(c.getId());
+            last = c;
+        }
+        return result;
+    }
+
+    /**
+     * Parses the Linux CPU list format, e.g. "0-3,8,10-11".
+     *
+     * @param src string to parse
+     * @return list of CPU ids
+     * @throws IllegalArgumentException if the string is malformed
+     */
+    public static List<Integer> parseList(String src) {
+        List<Integer> result = new ArrayList<>();
+        for (String range : src.trim().split(",")) {
+            range = range.trim();
+            if (range.isEmpty()) {
+                continue;
+            }
+            try {
+                int dashIdx = range.indexOf('-');
+                if (dashIdx == -1) {
+                    result.add(Integer.parseInt(range));
+                } else {
+                    int from = Integer.parseInt(range.substring(0, dashIdx).trim());
+                    int to = Integer.parseInt(range.substring(dashIdx + 1).trim());
+                    if (from > to) {
+                        throw new IllegalArgumentException("Cannot parse CPU list, illegal range: " + src);
+                    }
+                    for (int c = from; c <= to; c++) {
+                        result.add(c);
+                    }
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Cannot parse CPU list: " + src, e);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Formats CPU ids into the Linux CPU list format, e.g. "0-3,8,10-11".
+     *
+     * @param cpus CPU ids
+     * @return formatted string
+     */
+    public static String formatList(Collection<Integer> cpus) {
+        List<Integer> sorted = new ArrayList<>(new TreeSet<>(cpus));
+        StringBuilder sb = new StringBuilder();
+        int i = 0;
+        while (i < sorted.size()) {
+            int j = i;
+            while (j + 1 < sorted.size() && sorted.get(j + 1) == sorted.get(j) + 1) {
+                j++;
+            }
+            if (sb.length() > 0) {
+                sb.append(",");
+            }
+            sb.append(sorted.get(i));
+            if (j > i) {
+                sb.append("-").append(sorted.get(j));
+            }
+            i = j + 1;
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Pins the calling thread to the given CPUs. Java has no affinity API, but on Linux
+     * the affinity is per-thread, and can be changed with taskset given the native thread id.
+     *
+     * @param cpus CPU ids
+     * @throws IOException if pinning failed
+     */
+    public static void pinCurrentThread(Collection<Integer> cpus) throws IOException {
+        String tid = Utils.getNativeThreadId();
+        Collection<String> errs = Utils.tryWith("taskset", "-p", "-c", formatList(cpus), tid);
+        if (!errs.isEmpty()) {
+            throw new IOException("Cannot pin thread " + tid + " to CPUs " + formatList(cpus) + ": " + Utils.join(errs, " ").trim());
+        }
+    }
+
+    private static String readLine(File f) throws IOException {
+        Collection<String> lines = FileUtils.readAllLines(f);
+        if (lines.isEmpty()) {
+            throw new IOException("Empty file: " + f);
+        }
+        return lines.iterator().next();
+    }
+
+    private static int readInt(File f, int def) {
+        if (!f.canRead()) {
+            return def;
+        }
+        try {
+            return Integer.parseInt(readLine(f).trim());
+        } catch (IOException | NumberFormatException e) {
+            return def;
+        }
+    }
+
+    public static class Cpu implements Comparable<Cpu> {
+        private final int id;
+        private final int core;
+        private final int pkg;
+        private final int node;
+        private int sibling;
+        private int coreRank;
+
+        public Cpu(int id, int core, int pkg, int node) {
+            this.id = id;
+            this.core = core;
+            this.pkg = pkg;
+            this.node = node;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public int getCore() {
+            return core;
+        }
+
+        public int getPackage() {
+            return pkg;
+        }
+
+        public int getNode() {
+            return node;
+        }
+
+        /**
+         * @return rank of this CPU among the hardware threads of its core
+         */
+        public int getSibling() {
+            return sibling;
+        }
+
+        /**
+         * @return rank of the core of this CPU within its NUMA node
+         */
+        public int getCoreRank() {
+            return coreRank;
+        }
+
+        /**
+         * @param other CPU to compare with
+         * @return true, if both CPUs are the hardware threads of the same physical core
+         */
+        public boolean sameCore(Cpu other) {
+            return node == other.node && pkg == other.pkg && core == other.core;
+        }
+
+        @Override
+        public int compareTo(Cpu o) {
+            int c = Integer.compare(node, o.node);
+            if (c != 0) return c;
+            c = Integer.compare(pkg, o.pkg);
+            if (c != 0) return c;
+            c = Integer.compare(core, o.core);
+            if (c != 0) return c;
+            return Integer.compare(id, o.id);
+        }
+
+        @Override
+        public String toString() {
+            return "CPU " + id + " (core " + core + ", package " + pkg + ", node " + node + ", thread " + sibling + ")";
+        }
+    }
+
+}
@@ -24,87 +24,130 @@
  */
 package org.openjdk.jmh.util;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.SortedMap;
-import java.util.TreeMap;
+import java.util.List;
 
+/**
+ * Maps the address intervals to values.
+ *
+ * <p>The intervals are accumulated in the primitive arrays, and sorted into
+ * the compact index on the first lookup after the modification. Lookups do the
+ * binary search over the sorted interval starts.</p>
+ */
 public class IntervalMap<T>  {
 
-    static final class Interval implements Comparable<Interval> {
-        final long from, to;
+    private long[] froms;
+    private long[] tos;
+    private Object[] values;
+    private int size;
+    private boolean sorted;
 
-        public Interval(long from, long to) {
-            this.from = from;
-            this.to = to;
-        }
+    public IntervalMap() {
+        froms = new long[16];
+        tos = new long[16];
+        values = new Object[16];
+        sorted = true;
+    }
 
-        @Override
-        public int compareTo(Interval other) {
-            return Long.compare(from, other.from);
+    public synchronized void add(T val, long from, long to) {
+        // TODO: Check for intersections
+        if (size == froms.length) {
+            int len = size * 2;
+            froms = Arrays.copyOf(froms, len);
+            tos = Arrays.copyOf(tos, len);
+            values = Arrays.copyOf(values, len);
         }
+        froms[size] = from;
+        tos[size] = to;
+        values[size] = val;
+        size++;
+        sorted = false;
+    }
+
+    @SuppressWarnings("unchecked")
+    public synchronized T get(long k) {
+        ensureSorted();
 
-        @Override
-        public int hashCode() {
-            final int prime = 31;
-            int result = 1;
-            result = prime * result + (int) (from ^ (from >>> 32));
-            return result;
+        int idx = Arrays.binarySearch(froms, 0, size, k);
+        if (idx >= 0) {
+            return (T) values[idx];
         }
 
-        @Override
-        public boolean equals(Object obj) {
-            if (this == obj) {
-                return true;
-            }
-            if (obj == null) {
-                return false;
-            }
-            if (getClass() != obj.getClass()) {
-                return false;
-            }
-            Interval other = (Interval) obj;
-            if (from != other.from) {
-                return false;
-            }
-            return true;
+        // Interval that starts before k
+        int last = -idx - 2;
+        if (last < 0) {
+            return null;
+        }
+        if (k >= froms[last] && k < tos[last]) {
+            return (T) values[last]; // Interval from..to contains k
+        } else {
+            return null;
         }
     }
 
-    final SortedMap<Interval, T> from;
-
-    public IntervalMap() {
-        from = new TreeMap<>();
+    @SuppressWarnings("unchecked")
+    public synchronized Collection<T> allValues() {
+        ensureSorted();
+        List<T> res = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            res.add((T) values[i]);
+        }
+        return res;
     }
 
-    public void add(T val, long from, long to) {
-        // TODO: Check for intersections
-        this.from.put(new Interval(from, to), val);
+    @SuppressWarnings("unchecked")
+    public void merge(IntervalMap<T> other) {
+        long[] oFroms;
+        long[] oTos;
+        Object[] oValues;
+        int oSize;
+        synchronized (other) {
+            oFroms = Arrays.copyOf(other.froms, other.size);
+            oTos = Arrays.copyOf(other.tos, other.size);
+            oValues = Arrays.copyOf(other.values, other.size);
+            oSize = other.size;
+        }
+        for (int i = 0; i < oSize; i++) {
+            add((T) oValues[i], oFroms[i], oTos[i]);
+        }
     }
 
-    public T get(long k) {
-        Interval i = new Interval(k, k);
-        T key = from.get(i);
-        if (key != null) {
-            return key;
+    /**
+     * Sorts the intervals by their starts. The interval added later replaces
+     * the earlier one with the same start.
+     */
+    private void ensureSorted() {
+        if (sorted) {
+            return;
         }
-        SortedMap<Interval, T> head = from.headMap(i);
-        if (head.isEmpty()) {
-            return null;
-        } else {
-            Interval last = head.lastKey();
-            if (k >= last.from && k < last.to) {
-                return from.get(last);  // Interval from..to contains k
-            } else {
-                return null;
-            }
+
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
         }
-    }
+        // Stable sort keeps the insertion order for the same starts
+        Arrays.sort(order, (a, b) -> Long.compare(froms[a], froms[b]));
 
-    public Collection<T> allValues() {
-        return from.values();
-    }
+        long[] nFroms = new long[Math.max(16, size)];
+        long[] nTos = new long[nFroms.length];
+        Object[] nValues = new Object[nFroms.length];
+        int n = 0;
+        for (int i : order) {
+            if (n > 0 && nFroms[n - 1] == froms[i]) {
+                n--;
+            }
+            nFroms[n] = froms[i];
+            nTos[n] = tos[i];
+            nValues[n] = values[i];
+            n++;
+        }
 
-    public void merge(IntervalMap<T> other) {
-        from.putAll(other.from);
+        froms = nFroms;
+        tos = nTos;
+        values = nValues;
+        size = n;
+        sorted = true;
     }
 }
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2014, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.util;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * {@link Multiset} of primitive longs, backed by the open-addressing hash table.
+ * Avoids boxing the elements when the primitive methods are used.
+ */
+public class LongHashMultiset implements Multiset<Long>, Serializable {
+    private static final long serialVersionUID = -2473806264089446468L;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] keys;
+    private long[] counts;
+    private int distinct;
+    private long size;
+
+    // Zero is the empty slot marker in keys, count it separately
+    private long zeroCount;
+
+    public LongHashMultiset() {
+        keys = new long[INITIAL_CAPACITY];
+        counts = new long[INITIAL_CAPACITY];
+    }
+
+    public void add(long element) {
+        add(element, 1);
+    }
+
+    public void add(long element, long add) {
+        if (add == 0) {
+            return;
+        }
+        size += add;
+
+        if (element == 0) {
+            zeroCount += add;
+            return;
+        }
+
+        int idx = find(keys, element);
+        if (keys[idx] == element) {
+            counts[idx] += add;
+        } else {
+            keys[idx] = element;
+            counts[idx] = add;
+            distinct++;
+            if (distinct * 2 > keys.length) {
+                resize();
+            }
+        }
+    }
+
+    public long count(long element) {
+        if (element == 0) {
+            return zeroCount;
+        }
+        int idx = find(keys, element);
+        return (keys[idx] == element) ? counts[idx] : 0;
+    }
+
+    /**
+     * Adds all elements from another multiset.
+     *
+     * @param other multiset to add
+     */
+    public void addAll(LongHashMultiset other) {
+        add(0, other.zeroCount);
+        for (int i = 0; i < other.keys.length; i++) {
+            if (other.keys[i] != 0) {
+                add(other.keys[i], other.counts[i]);
+            }
+        }
+    }
+
+    /**
+     * @return distinct elements, in no particular order
+     */
+    public long[] elements() {
+        long[] res = new long[distinct + (zeroCount != 0 ? 1 : 0)];
+        int pos = 0;
+        if (zeroCount != 0) {
+            res[pos++] = 0;
+        }
+        for (long k : keys) {
+            if (k != 0) {
+                res[pos++] = k;
+            }
+        }
+        return res;
+    }
+
+    private static int find(long[] keys, long element) {
+        int mask = keys.length - 1;
+        int idx = mix(element) & mask;
+        while (keys[idx] != 0 && keys[idx] != element) {
+            idx = (idx + 1) & mask;
+        }
+        return idx;
+    }
+
+    private static int mix(long element) {
+        long h = element * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        long[] oldCounts = counts;
+        keys = new long[oldKeys.length * 2];
+        counts = new long[oldCounts.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int idx = find(keys, oldKeys[i]);
+                keys[idx] = oldKeys[i];
+                counts[idx] = oldCounts[i];
+            }
+        }
+    }
+
+    @Override
+    public void add(Long element) {
+        add(element.longValue(), 1);
+    }
+
+    @Override
+    public void add(Long element, long count) {
+        add(element.longValue(), count);
+    }
+
+    @Override
+    public long count(Long element) {
+        return count(element.longValue());
+    }
+
+    @Override
+    public Collection<Map.Entry<Long, Long>> entrySet() {
+        List<Map.Entry<Long, Long>> res = new ArrayList<>();
+        for (long k : elements()) {
+            res.add(new AbstractMap.SimpleImmutableEntry<>(k, count(k)));
+        }
+        return res;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public Collection<Long> keys() {
+        List<Long> res = new ArrayList<>();
+        for (long k : elements()) {
+            res.add(k);
+        }
+        return res;
+    }
+
+    @Override
+    public void clear() {
+        keys = new long[INITIAL_CAPACITY];
+        counts = new long[INITIAL_CAPACITY];
+        distinct = 0;
+        size = 0;
+        zeroCount = 0;
+    }
+
+}
@@ -25,27 +25,91 @@
 package org.openjdk.jmh.util;
 
 import java.io.Serializable;
+import java.util.Collection;
 
 /**
  * Sampling buffer accepts samples.
+ *
+ * <p>Samples are counted in the log-linear histogram: every power-of-two range of sample
+ * values is split into the same number of linear sub-buckets. The layout is the same as
+ * in HdrHistogram, so that the buffer created for the given number of significant digits
+ * keeps the relative error of every recorded value under one part in 10^digits, and can
+ * be exported into the HdrHistogram encoding as is. Buffers are merged by adding up the
+ * counts; the buffers with different precision are merged at the coarser precision, which
+ * loses nothing, because every finer sub-bucket is contained in the coarser one.</p>
  */
 public class SampleBuffer implements Serializable {
-    private static final long serialVersionUID = 6124923853916845327L;
+    private static final long serialVersionUID = -3829742960282932174L;
+
+    /**
+     * Maximum number of significant digits supported.
+     */
+    public static final int MAX_DIGITS = 5;
 
     private static final int PRECISION_BITS = 10;
-    private static final int BUCKETS = Long.SIZE - PRECISION_BITS;
 
-    private final int[][] hdr;
+    private final int precisionBits;
+    private final long[][] hdr;
 
+    /**
+     * Creates the buffer with the default precision of 10 bits.
+     */
     public SampleBuffer() {
-        hdr = new int[BUCKETS][];
+        precisionBits = PRECISION_BITS;
+        hdr = new long[Long.SIZE - precisionBits][];
+    }
+
+    /**
+     * Creates the buffer that keeps the given number of significant digits for every sample.
+     * @param significantDigits number of significant digits, from 1 to {@link #MAX_DIGITS}
+     */
+    public SampleBuffer(int significantDigits) {
+        precisionBits = precisionBits(significantDigits);
+        hdr = new long[Long.SIZE - precisionBits][];
+    }
+
+    /**
+     * Computes the number of sub-bucket bits that resolve the given number of significant digits,
+     * the same way HdrHistogram does.
+     * @param significantDigits number of significant digits
+     * @return number of sub-bucket bits
+     */
+    public static int precisionBits(int significantDigits) {
+        if (significantDigits < 1 || significantDigits > MAX_DIGITS) {
+            throw new IllegalArgumentException("Significant digits (" + significantDigits + ") should be between 1 and " + MAX_DIGITS);
+        }
+        long largestSingleUnitValue = 2;
+        for (int d = 0; d < significantDigits; d++) {
+            largestSingleUnitValue *= 10;
+        }
+        return Long.SIZE - Long.numberOfLeadingZeros(largestSingleUnitValue - 1);
+    }
+
+    /**
+     * @return number of sub-bucket bits
+     */
+    public int getPrecisionBits() {
+        return precisionBits;
+    }
+
+    /**
+     * @return largest number of significant digits this buffer resolves in full
+     */
+    public int getSignificantDigits() {
+        for (int d = MAX_DIGITS; d > 1; d--) {
+            if (precisionBits(d) <= precisionBits) {
+                return d;
+            }
+        }
+        // Buffers are never coarser than one digit
+        return 1;
     }
 
     public void half() {
-        for (int[] bucket : hdr) {
+        for (long[] bucket : hdr) {
             if (bucket != null) {
                 for (int j = 0; j < bucket.length; j++) {
-                    int nV = bucket[j] / 2;
+                    long nV = bucket[j] / 2;
                     if (nV != 0) { // prevent halving to zero
                         bucket[j] = nV;
                     }
@@ -55,38 +119,69 @@ public class SampleBuffer implements Serializable {
     }
 
     public void add(long sample) {
-        int bucket = Math.max(0, BUCKETS - Long.numberOfLeadingZeros(sample));
-        int subBucket = (int) (sample >> bucket);
+        add(sample, 1);
+    }
+
+    public void add(long sample, long count) {
+        int bucket = Math.max(0, hdr.length - Long.numberOfLeadingZeros(sample));
+        int subBucket = (int) (sample >> bucket) - offset(bucket);
 
-        int[] b = hdr[bucket];
+        long[] b = hdr[bucket];
         if (b == null) {
-            b = new int[1 << PRECISION_BITS];
+            b = new long[size(bucket)];
             hdr[bucket] = b;
         }
-        b[subBucket]++;
+        b[subBucket] += count;
     }
 
-    public Statistics getStatistics(double multiplier) {
-        MultisetStatistics stat = new MultisetStatistics();
+    /**
+     * The first bucket covers all values under 2^precisionBits, the other buckets
+     * only cover the upper half of their sub-buckets: the lower half is covered by
+     * the buckets before.
+     */
+    private int offset(int bucket) {
+        return (bucket == 0) ? 0 : (1 << (precisionBits - 1));
+    }
+
+    private int size(int bucket) {
+        return (bucket == 0) ? (1 << precisionBits) : (1 << (precisionBits - 1));
+    }
+
+    /**
+     * Visits all non-empty sub-buckets, in the order of increasing values.
+     * @param visitor visitor that accepts the lowest value in the sub-bucket, and its count
+     */
+    public void forEach(Visitor visitor) {
         for (int i = 0; i < hdr.length; i++) {
-            int[] bucket = hdr[i];
+            long[] bucket = hdr[i];
             if (bucket != null) {
+                int offset = offset(i);
                 for (int j = 0; j < bucket.length; j++) {
-                    long ns = (long) j << i;
-                    stat.addValue(multiplier * ns, bucket[j]);
+                    if (bucket[j] != 0) {
+                        visitor.visit((long) (j + offset) << i, bucket[j]);
+                    }
                 }
             }
         }
+    }
+
+    public Statistics getStatistics(double multiplier) {
+        MultisetStatistics stat = new MultisetStatistics();
+        forEach((value, count) -> stat.addValue(multiplier * value, count));
         return stat;
     }
 
     public void addAll(SampleBuffer other) {
+        if (other.precisionBits != precisionBits) {
+            other.forEach(this::add);
+            return;
+        }
         for (int i = 0; i < other.hdr.length; i++) {
-            int[] otherBucket = other.hdr[i];
+            long[] otherBucket = other.hdr[i];
             if (otherBucket != null) {
-                int[] myBucket = hdr[i];
+                long[] myBucket = hdr[i];
                 if (myBucket == null) {
-                    myBucket = new int[1 << PRECISION_BITS];
+                    myBucket = new long[size(i)];
                     hdr[i] = myBucket;
                 }
                 for (int j = 0; j < otherBucket.length; j++) {
@@ -96,15 +191,43 @@ public class SampleBuffer implements Serializable {
         }
     }
 
-    public int count() {
-        int count = 0;
-        for (int[] bucket : hdr) {
+    /**
+     * Merges the buffers into the new buffer, at the coarsest precision of all of them.
+     * @param buffers buffers to merge
+     * @return merged buffer
+     */
+    public static SampleBuffer merge(Collection<SampleBuffer> buffers) {
+        SampleBuffer coarsest = null;
+        for (SampleBuffer b : buffers) {
+            if (coarsest == null || b.precisionBits < coarsest.precisionBits) {
+                coarsest = b;
+            }
+        }
+        SampleBuffer result = (coarsest == null || coarsest.precisionBits == PRECISION_BITS) ?
+                new SampleBuffer() :
+                new SampleBuffer(coarsest.getSignificantDigits());
+        for (SampleBuffer b : buffers) {
+            result.addAll(b);
+        }
+        return result;
+    }
+
+    public long count() {
+        long count = 0;
+        for (long[] bucket : hdr) {
             if (bucket != null) {
-                for (int v : bucket) {
+                for (long v : bucket) {
                     count += v;
                 }
             }
         }
         return count;
     }
+
+    /**
+     * Accepts the sub-buckets of the buffer.
+     */
+    public interface Visitor {
+        void visit(long value, long count);
+    }
 }
@@ -41,7 +41,7 @@ public class TempFileManager {
         refs = new HashSet<>();
     }
 
-    public TempFile create(String suffix) throws IOException {
+    public synchronized TempFile create(String suffix) throws IOException {
         purge();
         File file = File.createTempFile("jmh", suffix);
         file.deleteOnExit();
@@ -50,7 +50,7 @@ public class TempFileManager {
         return tf;
     }
 
-    public void purge() {
+    public synchronized void purge() {
         TempFileReference ref;
         while ((ref = (TempFileReference) rq.poll()) != null) {
             if (ref.file != null) {
@@ -32,6 +32,8 @@ import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.security.AccessControlException;
 import java.util.*;
 import java.util.concurrent.*;
@@ -495,6 +497,19 @@ public class Utils {
         return 0;
     }
 
+    /**
+     * @return native id of the calling thread
+     * @throws IOException if native id is not available, which is the case outside Linux
+     */
+    public static String getNativeThreadId() throws IOException {
+        try {
+            // /proc/thread-self links to <pid>/task/<tid> of the calling thread
+            return Files.readSymbolicLink(Paths.get("/proc/thread-self")).getFileName().toString();
+        } catch (UnsupportedOperationException e) {
+            throw new IOException("Native thread id is not available", e);
+        }
+    }
+
     public static Collection<String> tryWith(String... cmd) {
         Collection<String> messages = new ArrayList<>();
         try {
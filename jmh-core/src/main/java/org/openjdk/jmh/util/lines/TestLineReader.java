@@ -93,6 +93,14 @@ public class TestLineReader {
         return correct;
     }
 
+    /**
+     * @return true, if there are more values in the line; lines written by
+     * older versions may lack the newer trailing values
+     */
+    public boolean hasNext() {
+        return cursor < line.length();
+    }
+
     public Optional<Integer> nextOptionalInt() {
         char tag = readChar();
         if (tag == Constants.TAG_EMPTY_OPTIONAL) {
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2016, Red Hat Inc.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.profile;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class PerfControlTest {
+
+    @Test
+    public void roundTrip() throws Exception {
+        PerfControl host;
+        try {
+            host = PerfControl.create("test");
+        } catch (IOException e) {
+            Assume.assumeNoException("Cannot create FIFOs", e);
+            return;
+        }
+
+        List<String> opts = host.perfOptions();
+        Assert.assertEquals("--delay", opts.get(0));
+        Assert.assertEquals("-1", opts.get(1));
+        Assert.assertEquals("--control", opts.get(2));
+
+        String[] paths = opts.get(3).substring("fifo:".length()).split(",");
+        Assert.assertEquals(2, paths.length);
+
+        String jvmOpt = host.jvmOption();
+        Assert.assertTrue(jvmOpt, jvmOpt.startsWith("-Djmh.perf.control.test="));
+        String prop = jvmOpt.substring(2, jvmOpt.indexOf('='));
+        String value = jvmOpt.substring(jvmOpt.indexOf('=') + 1);
+
+        // Emulate perf: holds both FIFOs open for read and write, acknowledges every command
+        // with "ack\n\0", including the trailing NUL, like perf does
+        final List<String> commands = Collections.synchronizedList(new ArrayList<String>());
+        try (final RandomAccessFile ctl = new RandomAccessFile(paths[0], "rw");
+             final RandomAccessFile ack = new RandomAccessFile(paths[1], "rw")) {
+            Thread perf = new Thread(() -> {
+                try {
+                    String cmd;
+                    while ((cmd = ctl.readLine()) != null) {
+                        commands.add(cmd);
+                        ack.write("ack\n\0".getBytes());
+                        if (cmd.equals("disable")) {
+                            return;
+                        }
+                    }
+                } catch (IOException e) {
+                    // test will fail on missing commands
+                }
+            });
+            perf.setDaemon(true);
+            perf.start();
+
+            System.setProperty(prop, value);
+            try {
+                PerfControl forked = PerfControl.fromProperty("test");
+                Assert.assertNotNull(forked);
+                forked.enable();
+                forked.disable();
+            } finally {
+                System.clearProperty(prop);
+            }
+
+            perf.join(10_000);
+        }
+
+        Assert.assertEquals(2, commands.size());
+        Assert.assertEquals("enable", commands.get(0));
+        Assert.assertEquals("disable", commands.get(1));
+    }
+
+    @Test(timeout = 10_000)
+    public void noAck() throws Exception {
+        PerfControl host;
+        try {
+            host = PerfControl.create("test");
+        } catch (IOException e) {
+            Assume.assumeNoException("Cannot create FIFOs", e);
+            return;
+        }
+
+        String[] paths = host.perfOptions().get(3).substring("fifo:".length()).split(",");
+        String jvmOpt = host.jvmOption();
+        String prop = jvmOpt.substring(2, jvmOpt.indexOf('='));
+        String value = jvmOpt.substring(jvmOpt.indexOf('=') + 1);
+
+        // Emulate hung perf: holds both FIFOs open, never acknowledges
+        try (RandomAccessFile ctl = new RandomAccessFile(paths[0], "rw");
+             RandomAccessFile ack = new RandomAccessFile(paths[1], "rw")) {
+            System.setProperty(prop, value);
+            try {
+                PerfControl forked = PerfControl.fromProperty("test");
+                Assert.assertNotNull(forked);
+                forked.command("enable", 100);
+                Assert.fail("Should have timed out");
+            } catch (IllegalStateException e) {
+                Assert.assertTrue(e.getMessage(), e.getMessage().contains("did not acknowledge \"enable\" in 100 ms"));
+            } finally {
+                System.clearProperty(prop);
+            }
+        }
+    }
+
+    @Test
+    public void noProperty() {
+        Assert.assertNull(PerfControl.fromProperty("absent"));
+    }
+
+}
@@ -27,7 +27,11 @@ package org.openjdk.jmh.profile;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 public class PerfParseTest {
@@ -102,4 +106,48 @@ public class PerfParseTest {
         Assert.assertEquals("branches", stripped.get(2));
     }
 
+    @Test
+    public void parseEventsChunked() throws IOException {
+        File file = File.createTempFile("jmh", "perfscript");
+        file.deleteOnExit();
+
+        StringBuilder longSymbol = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            longSymbol.append("Long::symbol");
+        }
+
+        try (PrintWriter pw = new PrintWriter(file)) {
+            pw.println("# perf script header");
+            for (int i = 0; i < 1000; i++) {
+                String sym = (i % 7 == 0) ? longSymbol.toString() : "Method" + (i % 10) + "::run";
+                String ev = (i % 3 == 0) ? "instructions" : "cycles";
+                pw.printf("%.6f: %s:      %x %s (/lib/libjvm.so)%n", 1000.0 + i * 0.001, ev, 0x1000 + (i % 50) * 4, sym);
+            }
+        }
+
+        List<String> evNames = Arrays.asList("cycles", "instructions");
+
+        // Reference: single chunk
+        AbstractPerfAsmProfiler.PerfEvents ref = LinuxPerfAsmProfiler.parseEvents(file, evNames, 0, Double.MAX_VALUE, Integer.MAX_VALUE / 2);
+
+        // Chunks smaller than lines, and chunks that split lines at odd places
+        for (int chunkSize : new int[] {333, 4096, 50_000}) {
+            AbstractPerfAsmProfiler.PerfEvents evs = LinuxPerfAsmProfiler.parseEvents(file, evNames, 0, Double.MAX_VALUE, chunkSize);
+            for (String ev : evNames) {
+                Assert.assertEquals(ref.getTotalEvents(ev), evs.getTotalEvents(ev));
+                for (long addr = 0x1000; addr < 0x1000 + 50 * 4; addr += 4) {
+                    Assert.assertEquals(ref.get(ev).count(addr), evs.get(ev).count(addr));
+                }
+            }
+        }
+
+        Assert.assertEquals(666L, (long) ref.getTotalEvents("cycles"));
+        Assert.assertEquals(334L, (long) ref.getTotalEvents("instructions"));
+
+        // Time window relative to the first sample
+        AbstractPerfAsmProfiler.PerfEvents window = LinuxPerfAsmProfiler.parseEvents(file, evNames, 0.1, 0.2, 4096);
+        long total = window.getTotalEvents("cycles") + window.getTotalEvents("instructions");
+        Assert.assertTrue("Window total: " + total, total >= 99 && total <= 101);
+    }
+
 }
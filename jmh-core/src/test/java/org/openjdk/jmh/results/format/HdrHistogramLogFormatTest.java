@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2014, 2015, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.results.format;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.results.*;
+import org.openjdk.jmh.runner.IterationType;
+import org.openjdk.jmh.runner.WorkloadParams;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.openjdk.jmh.util.SampleBuffer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Inflater;
+
+public class HdrHistogramLogFormatTest {
+
+    /**
+     * Decodes the compressed histogram the way HdrHistogram does, and returns the
+     * counts keyed by the lowest value of every sub-bucket.
+     */
+    private static SortedMap<Long, Long> decode(byte[] compressed) throws Exception {
+        ByteBuffer cb = ByteBuffer.wrap(compressed);
+        Assert.assertEquals(HdrHistogramLogFormat.COMPRESSED_ENCODING_COOKIE, cb.getInt());
+        int compressedLength = cb.getInt();
+        Assert.assertEquals(compressed.length - 8, compressedLength);
+
+        Inflater inflater = new Inflater();
+        inflater.setInput(compressed, 8, compressedLength);
+        byte[] raw = new byte[1 << 20];
+        int rawLength = inflater.inflate(raw);
+        Assert.assertTrue(inflater.finished());
+        inflater.end();
+
+        ByteBuffer bb = ByteBuffer.wrap(raw, 0, rawLength);
+        Assert.assertEquals(HdrHistogramLogFormat.ENCODING_COOKIE, bb.getInt());
+        int payloadLength = bb.getInt();
+        Assert.assertEquals(0, bb.getInt());
+        int digits = bb.getInt();
+        Assert.assertEquals(1, bb.getLong());
+        bb.getLong();
+        Assert.assertEquals(1.0, bb.getDouble(), 0);
+        Assert.assertEquals(rawLength - 40, payloadLength);
+
+        int halfMagnitude = SampleBuffer.precisionBits(digits) - 1;
+        SortedMap<Long, Long> counts = new TreeMap<>();
+        long index = 0;
+        while (bb.hasRemaining()) {
+            long v = 0;
+            int shift = 0;
+            int b;
+            do {
+                b = bb.get() & 0xFF;
+                v |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            long count = (v >>> 1) ^ -(v & 1);
+            if (count < 0) {
+                index -= count;
+            } else {
+                if (count > 0) {
+                    // Inverse of HdrHistogram counts index computation.
+                    long bucket = (index >> halfMagnitude) - 1;
+                    long subBucket = (index & ((1L << halfMagnitude) - 1)) + (1L << halfMagnitude);
+                    if (bucket < 0) {
+                        bucket = 0;
+                        subBucket -= (1L << halfMagnitude);
+                    }
+                    counts.put(subBucket << bucket, count);
+                }
+                index++;
+            }
+        }
+        return counts;
+    }
+
+    private static SortedMap<Long, Long> contents(SampleBuffer buffer) {
+        SortedMap<Long, Long> counts = new TreeMap<>();
+        buffer.forEach(counts::put);
+        return counts;
+    }
+
+    @Test
+    public void testEncoding() throws Exception {
+        Random r = new Random(1);
+        for (int d = 1; d <= SampleBuffer.MAX_DIGITS; d++) {
+            SampleBuffer buffer = new SampleBuffer(d);
+            for (int c = 0; c < 10_000; c++) {
+                buffer.add(r.nextLong() >>> (8 + r.nextInt(50)));
+            }
+            Assert.assertEquals(contents(buffer), decode(HdrHistogramLogFormat.encodeCompressed(buffer)));
+        }
+    }
+
+    @Test
+    public void testEncodingDefaultPrecision() throws Exception {
+        Random r = new Random(2);
+        SampleBuffer buffer = new SampleBuffer();
+        for (int c = 0; c < 10_000; c++) {
+            buffer.add(r.nextInt(10_000_000));
+        }
+
+        // Default buffer has no HdrHistogram counterpart, and gets re-bucketed
+        // to the digits it resolves in full.
+        Assert.assertEquals(2, buffer.getSignificantDigits());
+        SampleBuffer expected = new SampleBuffer(buffer.getSignificantDigits());
+        expected.addAll(buffer);
+        Assert.assertEquals(contents(expected), decode(HdrHistogramLogFormat.encodeCompressed(buffer)));
+    }
+
+    @Test
+    public void testMaxValue() {
+        SampleBuffer buffer = new SampleBuffer(2);
+        buffer.add(1_000_000);
+        long max = HdrHistogramLogFormat.maxValue(buffer);
+        Assert.assertTrue(max >= 1_000_000);
+        Assert.assertTrue((max - 1_000_000) < 1_000_000 / 100);
+    }
+
+    @Test
+    public void testLog() throws Exception {
+        BenchmarkParams params = new BenchmarkParams(
+                "org.openjdk.Bench.sample",
+                "org.openjdk.Bench.sample_" + Mode.SampleTime,
+                false,
+                1,
+                new int[]{1},
+                Collections.<String>emptyList(),
+                1,
+                0,
+                new IterationParams(IterationType.WARMUP, 1, TimeValue.seconds(1), 1),
+                new IterationParams(IterationType.MEASUREMENT, 3, TimeValue.milliseconds(500), 1),
+                Mode.SampleTime,
+                new WorkloadParams(),
+                TimeUnit.MICROSECONDS, 1,
+                "java",
+                Collections.<String>emptyList(),
+                "17", "vm", "1.0", "1.0",
+                TimeValue.minutes(1));
+
+        List<SampleBuffer> buffers = new ArrayList<>();
+        Collection<IterationResult> iterations = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            SampleBuffer buffer = new SampleBuffer(3);
+            buffer.add(1000 * (i + 1), 10);
+            buffer.add(2_000_000);
+            buffers.add(buffer);
+            IterationResult ir = new IterationResult(params, params.getMeasurement(), null);
+            ir.addResult(new SampleTimeResult(ResultRole.PRIMARY, "sample", buffer, TimeUnit.MICROSECONDS));
+            iterations.add(ir);
+        }
+        RunResult result = new RunResult(params, Collections.singleton(new BenchmarkResult(params, iterations)));
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        PrintStream ps = new PrintStream(bos, true, "UTF-8");
+        ResultFormatFactory.getInstance(ResultFormatType.HLOG, ps).writeOut(Collections.singleton(result));
+        ps.close();
+
+        List<String> lines = new ArrayList<>();
+        for (String line : bos.toString("UTF-8").split("\n")) {
+            if (!line.startsWith("#") && !line.startsWith("\"")) {
+                lines.add(line);
+            }
+        }
+        Assert.assertEquals(3, lines.size());
+        for (int i = 0; i < 3; i++) {
+            String[] fields = lines.get(i).split(",");
+            Assert.assertEquals(5, fields.length);
+            Assert.assertEquals("Tag=" + params.id(), fields[0]);
+            Assert.assertEquals(0.5 * i, Double.parseDouble(fields[1]), 1e-9);
+            Assert.assertEquals(0.5, Double.parseDouble(fields[2]), 1e-9);
+            Assert.assertEquals(2.0, Double.parseDouble(fields[3]), 0.001);
+            Assert.assertEquals(contents(buffers.get(i)), decode(Base64.getDecoder().decode(fields[4])));
+        }
+    }
+
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2005, 2013, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.results.format;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.results.*;
+import org.openjdk.jmh.runner.IterationType;
+import org.openjdk.jmh.runner.WorkloadParams;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.openjdk.jmh.util.FileUtils;
+import org.openjdk.jmh.util.SampleBuffer;
+import org.openjdk.jmh.util.Utils;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+public class JSONResultReaderTest {
+
+    private static String golden(String name) throws IOException {
+        InputStream is = JSONResultReaderTest.class.getResourceAsStream("/org/openjdk/jmh/results/format/" + name);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8))) {
+            return Utils.join(FileUtils.readAllLines(reader), "\n");
+        }
+    }
+
+    private static String write(ResultFormatType type, Collection<RunResult> results) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        PrintStream ps = new PrintStream(bos, true, "UTF-8");
+        ResultFormatFactory.getInstance(type, ps).writeOut(results);
+        ps.close();
+        try (BufferedReader reader = new BufferedReader(new StringReader(bos.toString("UTF-8")))) {
+            return Utils.join(FileUtils.readAllLines(reader), "\n");
+        }
+    }
+
+    private static Collection<RunResult> read(String s) throws IOException {
+        return new JSONResultReader().read(new StringReader(s));
+    }
+
+    @Test
+    public void testRoundTripJSON() throws IOException {
+        String golden = golden("output-golden.json");
+        Assert.assertEquals(golden, write(ResultFormatType.JSON, read(golden)));
+    }
+
+    @Test
+    public void testRoundTripJSONL() throws IOException {
+        String golden = golden("output-golden.jsonl");
+        Assert.assertEquals(golden, write(ResultFormatType.JSONL, read(golden)));
+    }
+
+    @Test
+    public void testSameResultsFromJSONAndJSONL() throws IOException {
+        Collection<RunResult> json = read(golden("output-golden.json"));
+        Collection<RunResult> jsonl = read(golden("output-golden.jsonl"));
+        Assert.assertEquals(write(ResultFormatType.JSON, json), write(ResultFormatType.JSON, jsonl));
+    }
+
+    @Test
+    public void testSampleTime() throws IOException {
+        BenchmarkParams params = new BenchmarkParams(
+                "org.openjdk.Bench.sample",
+                "org.openjdk.Bench.sample_" + Mode.SampleTime,
+                false,
+                1,
+                new int[]{1},
+                Collections.<String>emptyList(),
+                2,
+                0,
+                new IterationParams(IterationType.WARMUP, 1, TimeValue.seconds(1), 1),
+                new IterationParams(IterationType.MEASUREMENT, 2, TimeValue.milliseconds(100), 1),
+                Mode.SampleTime,
+                new WorkloadParams(),
+                TimeUnit.MICROSECONDS, 1,
+                "java",
+                Collections.<String>emptyList(),
+                "17", "vm", "1.0", "1.0",
+                TimeValue.minutes(1));
+
+        Random r = new Random(42);
+        Collection<BenchmarkResult> forks = new ArrayList<>();
+        for (int f = 0; f < 2; f++) {
+            Collection<IterationResult> iterations = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                SampleBuffer buffer = new SampleBuffer();
+                for (int s = 0; s < 100; s++) {
+                    buffer.add(1000 + r.nextInt(100_000));
+                }
+                IterationResult ir = new IterationResult(params, params.getMeasurement(), null);
+                ir.addResult(new SampleTimeResult(ResultRole.PRIMARY, "sample", buffer, TimeUnit.MICROSECONDS));
+                ir.addResult(new ScalarResult("gc.count", 1 + r.nextInt(10), "counts", AggregationPolicy.SUM));
+                ir.addResult(new ScalarResult("gc.alloc.rate", r.nextInt(1000), "MB/sec", AggregationPolicy.AVG));
+                iterations.add(ir);
+            }
+            forks.add(new BenchmarkResult(params, iterations));
+        }
+        RunResult original = new RunResult(params, forks);
+
+        String json = write(ResultFormatType.JSON, Collections.singleton(original));
+        Collection<RunResult> restored = read(json);
+        Assert.assertEquals(1, restored.size());
+
+        RunResult result = restored.iterator().next();
+        Assert.assertEquals(Mode.SampleTime, result.getParams().getMode());
+        Assert.assertEquals(TimeUnit.MICROSECONDS, result.getParams().getTimeUnit());
+        Assert.assertEquals(2, result.getBenchmarkResults().size());
+        Assert.assertEquals(original.getPrimaryResult().getSampleCount(), result.getPrimaryResult().getSampleCount());
+        Assert.assertEquals(original.getPrimaryResult().getScore(), result.getPrimaryResult().getScore(), 1e-9);
+        Assert.assertEquals(original.getPrimaryResult().getStatistics().getPercentile(99),
+                result.getPrimaryResult().getStatistics().getPercentile(99), 1e-9);
+
+        Map<String, Result> secondaries = result.getSecondaryResults();
+        Assert.assertEquals(original.getSecondaryResults().keySet(), secondaries.keySet());
+        Assert.assertEquals(original.getSecondaryResults().get("gc.count").getScore(), secondaries.get("gc.count").getScore(), 1e-9);
+        Assert.assertEquals(original.getSecondaryResults().get("gc.alloc.rate").getScore(), secondaries.get("gc.alloc.rate").getScore(), 1e-9);
+
+        Assert.assertEquals(json, write(ResultFormatType.JSON, restored));
+    }
+
+    @Test
+    public void testTimeline() throws IOException {
+        BenchmarkParams params = new BenchmarkParams(
+                "org.openjdk.Bench.thrpt",
+                "org.openjdk.Bench.thrpt_" + Mode.Throughput,
+                false,
+                1,
+                new int[]{1},
+                Collections.<String>emptyList(),
+                1,
+                0,
+                new IterationParams(IterationType.WARMUP, 1, TimeValue.seconds(1), 1),
+                new IterationParams(IterationType.MEASUREMENT, 2, TimeValue.milliseconds(100), 1),
+                Mode.Throughput,
+                new WorkloadParams(),
+                TimeUnit.MILLISECONDS, 1,
+                "java",
+                Collections.<String>emptyList(),
+                "17", "vm", "1.0", "1.0",
+                TimeValue.minutes(1), 1000, 3, 1, TimeValue.milliseconds(10));
+
+        Collection<IterationResult> iterations = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            IterationResult ir = new IterationResult(params, params.getMeasurement(), null);
+            ir.addResult(new ThroughputResult(ResultRole.PRIMARY, "thrpt", 1000 * (i + 1), 1_000_000, TimeUnit.MILLISECONDS));
+            ir.addResult(new TimelineResult(ResultRole.SECONDARY, "timeline", new double[]{i, 2 * i, 3 * i}, TimeUnit.MILLISECONDS));
+            iterations.add(ir);
+        }
+        RunResult original = new RunResult(params, Collections.singleton(new BenchmarkResult(params, iterations)));
+
+        String json = write(ResultFormatType.JSON, Collections.singleton(original));
+        Assert.assertTrue(json, json.contains("\"timelineInterval\" : \"10 ms\""));
+        Assert.assertTrue(json, json.contains("\"rawDataTimeline\""));
+
+        RunResult result = read(json).iterator().next();
+        Assert.assertEquals(TimeValue.milliseconds(10), result.getParams().getTimelineInterval());
+
+        Result timeline = result.getSecondaryResults().get("timeline");
+        Assert.assertTrue(timeline instanceof TimelineResult);
+        Assert.assertArrayEquals(new double[]{0, 0, 0, 1, 2, 3}, ((TimelineResult) timeline).getTimeline(), 1e-9);
+        Assert.assertEquals(json, write(ResultFormatType.JSON, Collections.singleton(result)));
+    }
+
+    @Test
+    public void testMerge() throws IOException {
+        JSONResultReader reader = new JSONResultReader();
+        List<RunResult> results = new ArrayList<>();
+        results.addAll(reader.read(new StringReader(golden("output-golden.json"))));
+        results.addAll(reader.read(new StringReader(golden("output-golden.jsonl"))));
+
+        Collection<RunResult> single = read(golden("output-golden.json"));
+        SortedSet<RunResult> merged = RunResult.merge(results);
+        Assert.assertEquals(single.size(), merged.size());
+
+        Iterator<RunResult> it = single.iterator();
+        for (RunResult m : merged) {
+            RunResult s = it.next();
+            Assert.assertEquals(s.getParams().id(), m.getParams().id());
+            Assert.assertEquals(2 * s.getBenchmarkResults().size(), m.getBenchmarkResults().size());
+            Assert.assertEquals(2 * s.getPrimaryResult().getSampleCount(), m.getPrimaryResult().getSampleCount());
+            Assert.assertEquals(s.getPrimaryResult().getScore(), m.getPrimaryResult().getScore(), 1e-9);
+        }
+    }
+
+    @Test
+    public void testMalformed() {
+        try {
+            read("[ { \"benchmark\" : ");
+            Assert.fail();
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+}
@@ -163,6 +163,21 @@ public class ResultFormatTest {
         test(ResultFormatType.JSON, new Locale("RU"), "");
     }
 
+    @Test
+    public void jsonlTest_ROOT() throws IOException {
+        test(ResultFormatType.JSONL, Locale.ROOT, "");
+    }
+
+    @Test
+    public void jsonlTest_US() throws IOException {
+        test(ResultFormatType.JSONL, Locale.US, "");
+    }
+
+    @Test
+    public void jsonlTest_RU() throws IOException {
+        test(ResultFormatType.JSONL, new Locale("RU"), "");
+    }
+
     /*
      * CSV and SCSV data should conform to the Locale.
      */
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.runner;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.util.ListStatistics;
+
+public class TestAdaptivePolicy {
+
+    @Test
+    public void testDisabledByDefault() {
+        Assert.assertNull(AdaptivePolicy.fromOptions(new OptionsBuilder().build()));
+    }
+
+    @Test
+    public void testMaxCounts() {
+        AdaptivePolicy policy = AdaptivePolicy.fromOptions(new OptionsBuilder()
+                .targetRelativeError(0.01)
+                .maxMeasurementIterations(20)
+                .maxForks(3)
+                .build());
+        Assert.assertEquals(20, policy.getMaxIterations(5));
+        Assert.assertEquals(30, policy.getMaxIterations(30));
+        Assert.assertEquals(3, policy.getMaxForks(1));
+        Assert.assertEquals(5, policy.getMaxForks(5));
+    }
+
+    @Test
+    public void testMaxCounts_Default() {
+        AdaptivePolicy policy = AdaptivePolicy.fromOptions(new OptionsBuilder().targetRelativeError(0.01).build());
+        Assert.assertEquals(Defaults.MAX_MEASUREMENT_ITERATIONS, policy.getMaxIterations(1));
+        Assert.assertEquals(Defaults.MAX_FORKS, policy.getMaxForks(1));
+    }
+
+    @Test
+    public void testNotEnoughData() {
+        AdaptivePolicy policy = AdaptivePolicy.fromOptions(new OptionsBuilder().targetRelativeError(0.5).build());
+        ListStatistics stats = new ListStatistics(new double[] {100, 100});
+        Assert.assertFalse(policy.isConverged(stats));
+    }
+
+    @Test
+    public void testConverged() {
+        AdaptivePolicy policy = AdaptivePolicy.fromOptions(new OptionsBuilder().targetRelativeError(0.01).build());
+        Assert.assertTrue(policy.isConverged(new ListStatistics(new double[] {100, 100.1, 99.9, 100, 100.05})));
+        Assert.assertFalse(policy.isConverged(new ListStatistics(new double[] {100, 150, 50, 120, 80})));
+    }
+
+    @Test
+    public void testConvergedWithNext() {
+        AdaptivePolicy policy = AdaptivePolicy.fromOptions(new OptionsBuilder().targetRelativeError(0.01).build());
+
+        // Two samples are not enough to claim convergence, but they are enough to project it.
+        ListStatistics stats = new ListStatistics(new double[] {100, 100.01});
+        Assert.assertFalse(policy.isConverged(stats));
+        Assert.assertTrue(policy.isConvergedWithNext(stats));
+
+        Assert.assertFalse(policy.isConvergedWithNext(new ListStatistics(new double[] {100})));
+        Assert.assertFalse(policy.isConvergedWithNext(new ListStatistics(new double[] {100, 150, 50})));
+    }
+
+}
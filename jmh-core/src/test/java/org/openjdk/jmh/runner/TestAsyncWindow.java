@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.runner;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openjdk.jmh.util.SampleBuffer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class TestAsyncWindow {
+
+    @Test
+    public void testCompleted() throws Throwable {
+        AsyncWindow w = new AsyncWindow(1);
+        for (int c = 0; c < 10; c++) {
+            w.submit(System.nanoTime(), CompletableFuture.completedFuture(c));
+        }
+        Assert.assertEquals(0, w.outstanding());
+    }
+
+    @Test
+    public void testLimit() throws Throwable {
+        AsyncWindow w = new AsyncWindow(3);
+        List<CompletableFuture<Integer>> fs = new ArrayList<>();
+        for (int c = 0; c < 2; c++) {
+            CompletableFuture<Integer> f = new CompletableFuture<>();
+            fs.add(f);
+            w.submit(System.nanoTime(), f);
+        }
+        Assert.assertEquals(2, w.outstanding());
+
+        ScheduledExecutorService ses = Executors.newSingleThreadScheduledExecutor();
+        try {
+            ses.schedule(() -> fs.get(0).complete(0), 100, TimeUnit.MILLISECONDS);
+
+            // third submission fills the window, and waits for the first completion
+            CompletableFuture<Integer> f = new CompletableFuture<>();
+            w.submit(System.nanoTime(), f);
+            Assert.assertTrue(fs.get(0).isDone());
+            Assert.assertEquals(2, w.outstanding());
+
+            ses.schedule(() -> fs.get(1).complete(1), 50, TimeUnit.MILLISECONDS);
+            ses.schedule(() -> f.complete(2), 100, TimeUnit.MILLISECONDS);
+            w.drain();
+            Assert.assertEquals(0, w.outstanding());
+        } finally {
+            ses.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFailure() throws Throwable {
+        AsyncWindow w = new AsyncWindow(2);
+        CompletableFuture<Integer> f = new CompletableFuture<>();
+        w.submit(System.nanoTime(), f);
+        f.completeExceptionally(new IllegalStateException("Expected"));
+        try {
+            w.drain();
+            Assert.fail("Should have thrown");
+        } catch (IllegalStateException e) {
+            Assert.assertEquals("Expected", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testWrappedFailure() throws Throwable {
+        AsyncWindow w = new AsyncWindow(1);
+        try {
+            w.submit(System.nanoTime(), CompletableFuture.supplyAsync(() -> {
+                throw new IllegalStateException("Expected");
+            }));
+            w.drain();
+            Assert.fail("Should have thrown");
+        } catch (IllegalStateException e) {
+            Assert.assertEquals("Expected", e.getMessage());
+        }
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNull() throws Throwable {
+        new AsyncWindow(1).submit(System.nanoTime(), null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroLimit() {
+        new AsyncWindow(0);
+    }
+
+    @Test
+    public void testRecording() throws Throwable {
+        SampleBuffer buffer = new SampleBuffer();
+        AsyncWindow w = new AsyncWindow(4, buffer, 1);
+
+        w.submit(System.nanoTime(), CompletableFuture.completedFuture(0));
+        Assert.assertEquals(0, buffer.count());
+
+        w.startRecording();
+        CompletableFuture<Integer> f = new CompletableFuture<>();
+        w.submit(System.nanoTime(), f);
+        for (int c = 0; c < 3; c++) {
+            w.submit(System.nanoTime(), CompletableFuture.completedFuture(c));
+        }
+        w.stopRecording();
+
+        // recording is decided at submission time
+        f.complete(0);
+        w.drain();
+        Assert.assertEquals(4, buffer.count());
+    }
+
+}
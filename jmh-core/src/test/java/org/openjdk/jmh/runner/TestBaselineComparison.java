@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.runner;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.results.*;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class TestBaselineComparison {
+
+    private static RunResult runResult(String name, Mode mode, double... scores) {
+        BenchmarkParams params = new BenchmarkParams(
+                name,
+                name + "_" + mode,
+                false,
+                1,
+                new int[]{1},
+                Collections.<String>emptyList(),
+                1,
+                0,
+                new IterationParams(IterationType.WARMUP, 1, TimeValue.seconds(1), 1),
+                new IterationParams(IterationType.MEASUREMENT, scores.length, TimeValue.seconds(1), 1),
+                mode,
+                new WorkloadParams(),
+                TimeUnit.MILLISECONDS, 1,
+                "java",
+                Collections.<String>emptyList(),
+                "1.8", "vm", "1.0", "1.0",
+                TimeValue.minutes(1));
+
+        List<IterationResult> irs = new ArrayList<>();
+        for (double score : scores) {
+            IterationResult ir = new IterationResult(params, params.getMeasurement(), null);
+            ir.addResult(new ThroughputResult(ResultRole.PRIMARY, "test", score, 1000 * 1000, TimeUnit.MILLISECONDS));
+            irs.add(ir);
+        }
+        return new RunResult(params, Collections.singleton(new BenchmarkResult(params, irs)));
+    }
+
+    private static BaselineComparison.Comparison compare(RunResult baseline, RunResult result, double threshold) {
+        List<BaselineComparison.Comparison> cs = BaselineComparison.compare(
+                Collections.singleton(baseline), Collections.singleton(result), threshold);
+        Assert.assertEquals(1, cs.size());
+        return cs.get(0);
+    }
+
+    @Test
+    public void testPValue() {
+        // Matches wilcox.test(exact = FALSE, correct = TRUE) in R.
+        List<Double> xs = Arrays.asList(1.0, 2.0, 3.0, 4.0, 5.0);
+        List<Double> ys = Arrays.asList(6.0, 7.0, 8.0, 9.0, 10.0);
+        double u = BaselineComparison.uStatistic(xs, ys);
+        Assert.assertEquals(0, u, 0);
+        Assert.assertEquals(0.01219, BaselineComparison.pValue(xs, ys, u), 0.00001);
+    }
+
+    @Test
+    public void testPValueTies() {
+        List<Double> xs = Arrays.asList(1.0, 1.0, 1.0);
+        List<Double> ys = Arrays.asList(1.0, 1.0, 1.0);
+        Assert.assertEquals(1.0, BaselineComparison.pValue(xs, ys, BaselineComparison.uStatistic(xs, ys)), 0);
+    }
+
+    @Test
+    public void testThroughputRegressed() {
+        BaselineComparison.Comparison c = compare(
+                runResult("bench", Mode.Throughput, 100, 101, 99, 100, 102, 98, 100, 101),
+                runResult("bench", Mode.Throughput, 90, 91, 89, 90, 92, 88, 90, 91),
+                0);
+        Assert.assertEquals(BaselineComparison.Verdict.REGRESSED, c.getVerdict());
+        Assert.assertEquals(-0.1, c.getChange(), 0.001);
+        Assert.assertEquals(-1, c.getDelta(), 0);
+    }
+
+    @Test
+    public void testAverageTimeImproved() {
+        BaselineComparison.Comparison c = compare(
+                runResult("bench", Mode.AverageTime, 100, 101, 99, 100, 102, 98, 100, 101),
+                runResult("bench", Mode.AverageTime, 90, 91, 89, 90, 92, 88, 90, 91),
+                0);
+        Assert.assertEquals(BaselineComparison.Verdict.IMPROVED, c.getVerdict());
+    }
+
+    @Test
+    public void testUnchanged() {
+        BaselineComparison.Comparison c = compare(
+                runResult("bench", Mode.Throughput, 100, 101, 99, 100, 102, 98, 100, 101),
+                runResult("bench", Mode.Throughput, 101, 99, 100, 102, 98, 100, 101, 100),
+                0);
+        Assert.assertEquals(BaselineComparison.Verdict.UNCHANGED, c.getVerdict());
+    }
+
+    @Test
+    public void testBelowThreshold() {
+        BaselineComparison.Comparison c = compare(
+                runResult("bench", Mode.Throughput, 100, 101, 99, 100, 102, 98, 100, 101),
+                runResult("bench", Mode.Throughput, 90, 91, 89, 90, 92, 88, 90, 91),
+                0.2);
+        Assert.assertEquals(BaselineComparison.Verdict.UNCHANGED, c.getVerdict());
+    }
+
+    @Test
+    public void testNotEnoughData() {
+        BaselineComparison.Comparison c = compare(
+                runResult("bench", Mode.Throughput, 100),
+                runResult("bench", Mode.Throughput, 50),
+                0);
+        Assert.assertEquals(BaselineComparison.Verdict.UNCHANGED, c.getVerdict());
+    }
+
+    @Test
+    public void testNoBaseline() {
+        BaselineComparison.Comparison c = compare(
+                runResult("other", Mode.Throughput, 100, 101, 99),
+                runResult("bench", Mode.Throughput, 100, 101, 99),
+                0);
+        Assert.assertEquals(BaselineComparison.Verdict.NO_BASELINE, c.getVerdict());
+    }
+
+    @Test
+    public void testModeMismatch() {
+        BaselineComparison.Comparison c = compare(
+                runResult("bench", Mode.AverageTime, 100, 101, 99),
+                runResult("bench", Mode.Throughput, 100, 101, 99),
+                0);
+        Assert.assertEquals(BaselineComparison.Verdict.NO_BASELINE, c.getVerdict());
+    }
+
+}
@@ -26,6 +26,7 @@ package org.openjdk.jmh.runner;
 
 import org.junit.BeforeClass;
 import org.junit.Test;
+import org.openjdk.jmh.annotations.Exploration;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.runner.format.OutputFormat;
 import org.openjdk.jmh.runner.format.OutputFormatFactory;
@@ -71,7 +72,10 @@ public class TestBenchmarkList {
                 Optional.<Map<String, String[]>>none(),
                 Optional.<TimeUnit>none(),
                 Optional.<Integer>none(),
-                Optional.<TimeValue>none()
+                Optional.<TimeValue>none(),
+                Optional.<Exploration>none(),
+                Optional.<Integer>none(),
+                Optional.<Integer>none()
         );
 
         sb.append(br.toLine());
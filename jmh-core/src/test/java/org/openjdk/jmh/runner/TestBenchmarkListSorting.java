@@ -25,6 +25,7 @@
 package org.openjdk.jmh.runner;
 
 import org.junit.Test;
+import org.openjdk.jmh.annotations.Exploration;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.runner.options.TimeValue;
 import org.openjdk.jmh.util.Optional;
@@ -62,7 +63,10 @@ public class TestBenchmarkListSorting {
                 Optional.<Map<String, String[]>>none(),
                 Optional.<TimeUnit>none(),
                 Optional.<Integer>none(),
-                Optional.<TimeValue>none()
+                Optional.<TimeValue>none(),
+                Optional.<Exploration>none(),
+                Optional.<Integer>none(),
+                Optional.<Integer>none()
         );
         return br;
     }
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.runner;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class TestClassDataSharing {
+
+    private static BenchmarkParams params(String jdkVersion) {
+        return new BenchmarkParams(
+                "bench",
+                "bench_" + Mode.Throughput,
+                false,
+                1,
+                new int[]{1},
+                Collections.<String>emptyList(),
+                1,
+                0,
+                new IterationParams(IterationType.WARMUP, 1, TimeValue.seconds(1), 1),
+                new IterationParams(IterationType.MEASUREMENT, 1, TimeValue.seconds(1), 1),
+                Mode.Throughput,
+                new WorkloadParams(),
+                TimeUnit.SECONDS, 1,
+                "java",
+                Collections.<String>emptyList(),
+                jdkVersion, "vm", "1.0", "1.0",
+                TimeValue.minutes(1));
+    }
+
+    private static List<String> command() {
+        return Arrays.asList("java", "-cp", "bench.jar", ForkedMain.class.getName(), "localhost", "1234");
+    }
+
+    private static String archiveOption(List<String> command, String prefix) {
+        for (String opt : command) {
+            if (opt.startsWith(prefix)) {
+                return opt.substring(prefix.length());
+            }
+        }
+        return null;
+    }
+
+    @Test
+    public void testOldJDK() {
+        ClassDataSharing cds = new ClassDataSharing();
+        Assert.assertEquals(command(), cds.prepare(params("1.8.0_292"), command()));
+    }
+
+    @Test
+    public void testDumpThenShare() throws IOException {
+        ClassDataSharing cds = new ClassDataSharing();
+
+        List<String> first = cds.prepare(params("17.0.2"), command());
+        String dump = archiveOption(first, "-XX:ArchiveClassesAtExit=");
+        Assert.assertNotNull(dump);
+        Assert.assertTrue(first.indexOf(ForkedMain.class.getName()) > first.indexOf("-XX:ArchiveClassesAtExit=" + dump));
+
+        // Archive is not ready until the first fork exits.
+        Assert.assertEquals(command(), cds.prepare(params("17.0.2"), command()));
+
+        File archive = new File(dump);
+        try {
+            try (FileOutputStream fos = new FileOutputStream(archive)) {
+                fos.write(42);
+            }
+            cds.forkFinished(first, 0, 1);
+
+            List<String> next = cds.prepare(params("17.0.2"), command());
+            Assert.assertEquals(dump, archiveOption(next, "-XX:SharedArchiveFile="));
+            Assert.assertNull(archiveOption(next, "-XX:ArchiveClassesAtExit="));
+        } finally {
+            archive.delete();
+        }
+    }
+
+    @Test
+    public void testFailedDump() {
+        ClassDataSharing cds = new ClassDataSharing();
+
+        List<String> first = cds.prepare(params("17.0.2"), command());
+        Assert.assertNotNull(archiveOption(first, "-XX:ArchiveClassesAtExit="));
+
+        // The fork died without writing the archive.
+        cds.forkFinished(first, 0, 0);
+        Assert.assertEquals(command(), cds.prepare(params("17.0.2"), command()));
+    }
+
+}
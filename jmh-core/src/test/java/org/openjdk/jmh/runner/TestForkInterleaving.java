@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.runner;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openjdk.jmh.runner.options.ForkSchedule;
+
+import java.util.List;
+
+public class TestForkInterleaving {
+
+    private static String format(List<int[]> order) {
+        StringBuilder sb = new StringBuilder();
+        for (int[] job : order) {
+            if (sb.length() > 0) {
+                sb.append(" ");
+            }
+            sb.append((char) ('A' + job[0])).append(job[1]);
+        }
+        return sb.toString();
+    }
+
+    @Test
+    public void testSequential() {
+        List<int[]> order = ForkInterleaving.order(new int[]{2, 3}, ForkSchedule.SEQUENTIAL, 0);
+        Assert.assertEquals("A0 A1 B0 B1 B2", format(order));
+    }
+
+    @Test
+    public void testRoundRobin() {
+        List<int[]> order = ForkInterleaving.order(new int[]{2, 3, 1}, ForkSchedule.ROUND_ROBIN, 0);
+        Assert.assertEquals("A0 B0 C0 A1 B1 B2", format(order));
+    }
+
+    @Test
+    public void testRandomKeepsRounds() {
+        int[] forks = {3, 3, 3, 3};
+        List<int[]> order = ForkInterleaving.order(forks, ForkSchedule.RANDOM, 12345);
+        Assert.assertEquals(12, order.size());
+        for (int i = 0; i < order.size(); i++) {
+            Assert.assertEquals(i / 4, order.get(i)[1]);
+        }
+
+        boolean[][] seen = new boolean[4][3];
+        for (int[] job : order) {
+            Assert.assertFalse(seen[job[0]][job[1]]);
+            seen[job[0]][job[1]] = true;
+        }
+    }
+
+    @Test
+    public void testRandomSeeded() {
+        int[] forks = {5, 5, 5, 5, 5};
+        Assert.assertEquals(
+                format(ForkInterleaving.order(forks, ForkSchedule.RANDOM, 42)),
+                format(ForkInterleaving.order(forks, ForkSchedule.RANDOM, 42)));
+        Assert.assertNotEquals(
+                format(ForkInterleaving.order(forks, ForkSchedule.ROUND_ROBIN, 42)),
+                format(ForkInterleaving.order(forks, ForkSchedule.RANDOM, 42)));
+    }
+
+    @Test
+    public void testEmpty() {
+        Assert.assertTrue(ForkInterleaving.order(new int[0], ForkSchedule.ROUND_ROBIN, 0).isEmpty());
+    }
+
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.runner;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Exploration;
+
+import java.util.*;
+
+public class TestParamSpace {
+
+    private static ParamSpace space(int... sizes) {
+        ParamSpace space = new ParamSpace();
+        for (int k = 0; k < sizes.length; k++) {
+            List<String> values = new ArrayList<>();
+            for (int v = 0; v < sizes[k]; v++) {
+                values.add("v" + v);
+            }
+            space.add("p" + k, values);
+        }
+        return space;
+    }
+
+    private static List<WorkloadParams> list(Iterable<WorkloadParams> ps) {
+        List<WorkloadParams> result = new ArrayList<>();
+        for (WorkloadParams p : ps) {
+            result.add(p);
+        }
+        return result;
+    }
+
+    private static Set<String> pairs(int[] sizes, List<int[]> points) {
+        Set<String> pairs = new HashSet<>();
+        for (int[] point : points) {
+            for (int i = 0; i < sizes.length; i++) {
+                for (int j = i + 1; j < sizes.length; j++) {
+                    pairs.add(i + "=" + point[i] + "," + j + "=" + point[j]);
+                }
+            }
+        }
+        return pairs;
+    }
+
+    @Test
+    public void testFull() {
+        List<WorkloadParams> ps = list(space(2, 3, 4).full());
+        Assert.assertEquals(24, ps.size());
+        Assert.assertEquals(24, new HashSet<>(ps).size());
+        Assert.assertEquals("v0", ps.get(0).get("p2"));
+        Assert.assertEquals("v1", ps.get(1).get("p2"));
+        Assert.assertEquals("v1", ps.get(23).get("p0"));
+    }
+
+    @Test
+    public void testFullEmpty() {
+        Assert.assertEquals(1, list(space().full()).size());
+    }
+
+    @Test
+    public void testFullIsLazy() {
+        ParamSpace space = space(8, 8, 8, 8, 8, 8, 8, 8, 8, 8);
+        Assert.assertEquals(1L << 30, space.size());
+        Iterator<WorkloadParams> it = space.full().iterator();
+        Assert.assertTrue(it.hasNext());
+        Assert.assertEquals("v0", it.next().get("p9"));
+        Assert.assertEquals("v1", it.next().get("p9"));
+    }
+
+    @Test
+    public void testSizeOverflow() {
+        int[] sizes = new int[70];
+        Arrays.fill(sizes, 2);
+        Assert.assertEquals(Long.MAX_VALUE, space(sizes).size());
+    }
+
+    @Test
+    public void testRandom() {
+        ParamSpace space = space(6, 8, 5, 4, 7, 8);
+        List<WorkloadParams> ps = list(space.explore(Exploration.RANDOM, 50, 42));
+        Assert.assertEquals(50, ps.size());
+        Assert.assertEquals(50, new HashSet<>(ps).size());
+        Assert.assertEquals(ps, list(space.explore(Exploration.RANDOM, 50, 42)));
+        Assert.assertNotEquals(ps, list(space.explore(Exploration.RANDOM, 50, 43)));
+    }
+
+    @Test
+    public void testRandomMoreThanSpace() {
+        Assert.assertEquals(6, list(space(2, 3).explore(Exploration.RANDOM, 100, 42)).size());
+    }
+
+    @Test
+    public void testLatinHypercube() {
+        int[] sizes = {4, 8, 2};
+        List<int[]> points = space(sizes).latinHypercube(16, 42);
+        Assert.assertEquals(16, points.size());
+        for (int k = 0; k < sizes.length; k++) {
+            int[] counts = new int[sizes[k]];
+            for (int[] point : points) {
+                counts[point[k]]++;
+            }
+            for (int c : counts) {
+                Assert.assertEquals(16 / sizes[k], c);
+            }
+        }
+    }
+
+    @Test
+    public void testPairwise() {
+        int[] sizes = {6, 8, 5, 4, 7, 8};
+        List<int[]> points = space(sizes).pairwise();
+
+        int allPairs = 0;
+        for (int i = 0; i < sizes.length; i++) {
+            for (int j = i + 1; j < sizes.length; j++) {
+                allPairs += sizes[i] * sizes[j];
+            }
+        }
+        Assert.assertEquals(allPairs, pairs(sizes, points).size());
+
+        // Lower bound is 8 * 8 = 64, the full space is 53760.
+        Assert.assertTrue("Too many combinations: " + points.size(), points.size() < 120);
+    }
+
+    @Test
+    public void testPairwiseSingle() {
+        Assert.assertEquals(5, space(5).pairwise().size());
+    }
+
+    @Test
+    public void testOneFactorAtATime() {
+        List<WorkloadParams> ps = list(space(3, 4, 2).explore(Exploration.ONE_FACTOR_AT_A_TIME, 0, 0));
+        Assert.assertEquals(1 + 2 + 3 + 1, ps.size());
+        Assert.assertEquals(ps.size(), new HashSet<>(ps).size());
+        for (WorkloadParams p : ps) {
+            int changed = 0;
+            for (int k = 0; k < 3; k++) {
+                if (!p.get("p" + k).equals("v0")) {
+                    changed++;
+                }
+            }
+            Assert.assertTrue(changed <= 1);
+        }
+    }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.runner;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.results.*;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.openjdk.jmh.util.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class TestRunJournal {
+
+    private static RunResult runResult(String name, double score) {
+        BenchmarkParams params = new BenchmarkParams(
+                name,
+                name + "_" + Mode.Throughput,
+                false,
+                1,
+                new int[]{1},
+                Collections.<String>emptyList(),
+                1,
+                0,
+                new IterationParams(IterationType.WARMUP, 1, TimeValue.seconds(1), 1),
+                new IterationParams(IterationType.MEASUREMENT, 1, TimeValue.seconds(1), 1),
+                Mode.Throughput,
+                new WorkloadParams(),
+                TimeUnit.SECONDS, 1,
+                "java",
+                Collections.<String>emptyList(),
+                "1.8", "vm", "1.0", "1.0",
+                TimeValue.minutes(1));
+
+        IterationResult ir = new IterationResult(params, params.getMeasurement(), null);
+        ir.addResult(new ThroughputResult(ResultRole.PRIMARY, "test", score, 1000 * 1000, TimeUnit.MILLISECONDS));
+        return new RunResult(params, Collections.singleton(new BenchmarkResult(params, Collections.singleton(ir))));
+    }
+
+    @Test
+    public void testMissing() throws IOException {
+        File f = FileUtils.tempFile("journal");
+        Assert.assertTrue(f.delete());
+        Assert.assertTrue(RunJournal.read(f.getAbsolutePath()).isEmpty());
+    }
+
+    @Test
+    public void testAppendAndRead() throws IOException {
+        File f = FileUtils.tempFile("journal");
+
+        try (RunJournal journal = new RunJournal(f.getAbsolutePath())) {
+            journal.append(runResult("bench1", 10));
+        }
+        try (RunJournal journal = new RunJournal(f.getAbsolutePath())) {
+            journal.append(runResult("bench2", 20));
+        }
+
+        List<RunResult> results = RunJournal.read(f.getAbsolutePath());
+        Assert.assertEquals(2, results.size());
+        Assert.assertEquals("bench1", results.get(0).getParams().getBenchmark());
+        Assert.assertEquals("bench2", results.get(1).getParams().getBenchmark());
+        Assert.assertEquals(20, results.get(1).getPrimaryResult().getScore(), 0.001);
+    }
+
+    @Test
+    public void testTornRecord() throws IOException {
+        File f = FileUtils.tempFile("journal");
+
+        try (RunJournal journal = new RunJournal(f.getAbsolutePath())) {
+            journal.append(runResult("bench1", 10));
+            journal.append(runResult("bench2", 20));
+        }
+
+        // Simulate the crash in the middle of writing the last record.
+        try (RandomAccessFile raf = new RandomAccessFile(f, "rw")) {
+            raf.setLength(raf.length() - 10);
+        }
+
+        Assert.assertEquals(1, RunJournal.read(f.getAbsolutePath()).size());
+
+        // Torn record is dropped, and new records go after the last complete one.
+        try (RunJournal journal = new RunJournal(f.getAbsolutePath())) {
+            journal.append(runResult("bench3", 30));
+        }
+
+        List<RunResult> results = RunJournal.read(f.getAbsolutePath());
+        Assert.assertEquals(2, results.size());
+        Assert.assertEquals("bench1", results.get(0).getParams().getBenchmark());
+        Assert.assertEquals("bench3", results.get(1).getParams().getBenchmark());
+    }
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.runner;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestShardAssignment {
+
+    private static long[] loads(long[] times, int[] assignment, int count) {
+        long[] loads = new long[count];
+        for (int i = 0; i < times.length; i++) {
+            loads[assignment[i]] += times[i];
+        }
+        return loads;
+    }
+
+    @Test
+    public void testBalanced() {
+        long[] times = {10, 10, 10, 10, 20, 20, 20, 20};
+        int[] assignment = ShardAssignment.assign(times, 4);
+        Assert.assertArrayEquals(new long[]{30, 30, 30, 30}, loads(times, assignment, 4));
+    }
+
+    @Test
+    public void testLongestFirst() {
+        long[] times = {1, 1, 1, 1, 4};
+        int[] assignment = ShardAssignment.assign(times, 2);
+        Assert.assertArrayEquals(new long[]{4, 4}, loads(times, assignment, 2));
+    }
+
+    @Test
+    public void testDeterministic() {
+        long[] times = {5, 3, 5, 3, 5, 3, 7};
+        Assert.assertArrayEquals(ShardAssignment.assign(times, 3), ShardAssignment.assign(times, 3));
+    }
+
+    @Test
+    public void testMoreShardsThanBenchmarks() {
+        long[] times = {5, 5};
+        int[] assignment = ShardAssignment.assign(times, 4);
+        Assert.assertArrayEquals(new int[]{0, 1}, assignment);
+    }
+
+    @Test
+    public void testSingleShard() {
+        long[] times = {5, 3, 1};
+        Assert.assertArrayEquals(new int[]{0, 0, 0}, ShardAssignment.assign(times, 1));
+    }
+
+}
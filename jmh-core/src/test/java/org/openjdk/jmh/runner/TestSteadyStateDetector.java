@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.runner;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+public class TestSteadyStateDetector {
+
+    @Test
+    public void testDisabledByDefault() {
+        Assert.assertNull(SteadyStateDetector.fromOptions(new OptionsBuilder().build()));
+    }
+
+    @Test
+    public void testNotEnoughData() {
+        SteadyStateDetector d = new SteadyStateDetector(0.05, 3);
+        d.add(100);
+        d.add(100);
+        Assert.assertFalse(d.isSteady());
+        d.add(100);
+        Assert.assertTrue(d.isSteady());
+    }
+
+    @Test
+    public void testNoisy() {
+        SteadyStateDetector d = new SteadyStateDetector(0.05, 4);
+        for (double s : new double[] {100, 130, 80, 110}) {
+            d.add(s);
+        }
+        Assert.assertFalse(d.isSteady());
+    }
+
+    @Test
+    public void testDrifting() {
+        // Low deviation from the mean, but the scores are still climbing.
+        SteadyStateDetector d = new SteadyStateDetector(0.03, 5);
+        for (double s : new double[] {98, 99, 100, 101, 102}) {
+            d.add(s);
+        }
+        Assert.assertFalse(d.isSteady());
+    }
+
+    @Test
+    public void testSettlesAfterWarmup() {
+        SteadyStateDetector d = new SteadyStateDetector(0.02, 3);
+        double[] scores = {10, 50, 90, 99, 100, 100, 101};
+        int steadyAt = -1;
+        for (int i = 0; i < scores.length; i++) {
+            d.add(scores[i]);
+            if (d.isSteady()) {
+                steadyAt = i + 1;
+                break;
+            }
+        }
+        Assert.assertEquals(6, steadyAt);
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.runner;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.runner.format.OutputFormatFactory;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.openjdk.jmh.runner.options.VerboseMode;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+public class TestSummaryTable {
+
+    private static BenchmarkParams params(WorkloadParams workload) {
+        return new BenchmarkParams("Bench.test", "Bench.test_Throughput", false,
+                1, new int[]{1}, Collections.<String>emptyList(),
+                1, 0,
+                new IterationParams(IterationType.WARMUP, 1, TimeValue.seconds(1), 1),
+                new IterationParams(IterationType.MEASUREMENT, 1, TimeValue.seconds(1), 1),
+                Mode.Throughput, workload,
+                TimeUnit.SECONDS, 1,
+                "java", Collections.<String>emptyList(),
+                "1.8", "vm", "1.0", "1.0",
+                TimeValue.minutes(1));
+    }
+
+    @Test
+    public void testPrint() {
+        SummaryTable table = new SummaryTable(new String[]{"Name", "Score", "Unit"}, 0, 2);
+        table.addRow("a", SummaryTable.format("%.1f", 1.5), "s");
+        table.addRow("long", SummaryTable.format("%.1f", Double.NaN), "ops/s");
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        PrintStream ps = new PrintStream(bos);
+        table.print(OutputFormatFactory.createFormatInstance(ps, VerboseMode.NORMAL));
+        ps.flush();
+
+        String[] lines = bos.toString().split("\\R");
+        Assert.assertArrayEquals(new String[]{
+                "Name  Score  Unit",
+                "a       1.5  s",
+                "long    N/A  ops/s",
+        }, lines);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRowSize() {
+        new SummaryTable(new String[]{"Name", "Score"}, 0).addRow("a");
+    }
+
+    @Test
+    public void testParamsLabel() {
+        WorkloadParams workload = new WorkloadParams();
+        workload.put("threads", "4", 0);
+        workload.put("size", "10", 0);
+
+        Assert.assertEquals(" (size=10, threads=4)", SummaryTable.paramsLabel(params(workload), null));
+        Assert.assertEquals(" (size=10)", SummaryTable.paramsLabel(params(workload), "threads"));
+        Assert.assertEquals("", SummaryTable.paramsLabel(params(new WorkloadParams()), null));
+    }
+
+}
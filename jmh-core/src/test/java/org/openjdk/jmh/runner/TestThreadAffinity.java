@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.runner;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.openjdk.jmh.runner.options.ThreadPlacement;
+import org.openjdk.jmh.util.CpuTopology;
+import org.openjdk.jmh.util.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class TestThreadAffinity {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    /**
+     * Two sockets, one NUMA node each, two cores per socket, two SMT threads per core.
+     * CPUs 0-3 are the first threads of the cores, CPUs 4-7 are their siblings.
+     */
+    private File twoSockets() throws IOException {
+        File root = tmp.newFolder();
+        FileUtils.writeLines(new File(root, "online"), Collections.singleton("0-7"));
+        for (int id = 0; id < 8; id++) {
+            int socket = (id % 4) / 2;
+            int core = id % 2;
+            File dir = new File(root, "cpu" + id);
+            File topo = new File(dir, "topology");
+            Assert.assertTrue(topo.mkdirs());
+            Assert.assertTrue(new File(dir, "node" + socket).mkdirs());
+            FileUtils.writeLines(new File(topo, "physical_package_id"), Collections.singleton(String.valueOf(socket)));
+            FileUtils.writeLines(new File(topo, "core_id"), Collections.singleton(String.valueOf(core)));
+        }
+        return root;
+    }
+
+    private int[] assign(ThreadPlacement placement, int threads, int... groups) throws IOException {
+        List<CpuTopology.Cpu> topo = CpuTopology.read(twoSockets(), null).getCpus();
+        return ThreadAffinity.assign(placement, topo, BenchmarkHandler.distributeThreads(threads, groups));
+    }
+
+    @Test
+    public void testNone() throws IOException {
+        Assert.assertNull(assign(ThreadPlacement.NONE, 4, 1));
+    }
+
+    @Test
+    public void testCompact() throws IOException {
+        Assert.assertArrayEquals(new int[]{0, 1, 2, 3, 4, 5, 6, 7}, assign(ThreadPlacement.COMPACT, 8, 1));
+    }
+
+    @Test
+    public void testScatter() throws IOException {
+        Assert.assertArrayEquals(new int[]{0, 2, 1, 3, 4, 6, 5, 7}, assign(ThreadPlacement.SCATTER, 8, 1));
+    }
+
+    @Test
+    public void testSmt() throws IOException {
+        Assert.assertArrayEquals(new int[]{0, 4, 1, 5, 2, 6, 3, 7}, assign(ThreadPlacement.SMT, 8, 1, 1));
+    }
+
+    @Test
+    public void testSocket() throws IOException {
+        // groups of two: each group spans both sockets
+        Assert.assertArrayEquals(new int[]{0, 2, 1, 3, 4, 6}, assign(ThreadPlacement.SOCKET, 6, 1, 1));
+
+        // groups of three: the third thread of the group goes back to the first socket
+        Assert.assertArrayEquals(new int[]{0, 2, 1, 4, 3, 5}, assign(ThreadPlacement.SOCKET, 6, 2, 1));
+
+        // the first socket is full, the last thread spills to the second one
+        Assert.assertArrayEquals(new int[]{0, 2, 1, 4, 3, 5, 6, 7}, assign(ThreadPlacement.SOCKET, 8, 2, 1));
+    }
+
+    @Test
+    public void testList() {
+        List<ThreadParams> threads = BenchmarkHandler.distributeThreads(2, new int[]{1});
+        int[] cpus = ThreadAffinity.assign(ThreadPlacement.cpus(5, 7, 9), Collections.emptyList(), threads);
+        Assert.assertArrayEquals(new int[]{5, 7}, cpus);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOversubscribed() throws IOException {
+        assign(ThreadPlacement.SCATTER, 9, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOversubscribed_List() {
+        List<ThreadParams> threads = BenchmarkHandler.distributeThreads(3, new int[]{1});
+        ThreadAffinity.assign(ThreadPlacement.cpus(5, 7, 5), Collections.emptyList(), threads);
+    }
+
+    @Test
+    public void testPlace() throws IOException {
+        List<CpuTopology.Cpu> topo = CpuTopology.read(twoSockets(), null).getCpus();
+        List<ThreadParams> threads = BenchmarkHandler.distributeThreads(3, new int[]{1});
+        List<ThreadParams> placed = ThreadAffinity.place(threads, new int[]{6, 2, 1}, topo);
+
+        Assert.assertEquals(6, placed.get(0).getCpu());
+        Assert.assertEquals(2, placed.get(1).getCpu());
+        Assert.assertEquals(1, placed.get(2).getCpu());
+
+        // CPUs 2 and 6 are the siblings on the socket 1 core 0
+        Assert.assertEquals(2, placed.get(0).getCoreIndex());
+        Assert.assertEquals(2, placed.get(1).getCoreIndex());
+        Assert.assertEquals(1, placed.get(2).getCoreIndex());
+
+        Assert.assertEquals(1, placed.get(0).getNodeIndex());
+        Assert.assertEquals(1, placed.get(1).getNodeIndex());
+        Assert.assertEquals(0, placed.get(2).getNodeIndex());
+
+        Assert.assertEquals(2, placed.get(2).getThreadIndex());
+        Assert.assertEquals(3, placed.get(2).getThreadCount());
+    }
+
+    @Test
+    public void testPlace_NodesInPackage() {
+        // Sub-NUMA clustering: two nodes in one package reuse the core ids
+        List<CpuTopology.Cpu> topo = Arrays.asList(
+                new CpuTopology.Cpu(0, 0, 0, 0),
+                new CpuTopology.Cpu(1, 0, 0, 1),
+                new CpuTopology.Cpu(2, 0, 0, 0));
+        List<ThreadParams> threads = BenchmarkHandler.distributeThreads(3, new int[]{1});
+        List<ThreadParams> placed = ThreadAffinity.place(threads, new int[]{0, 1, 2}, topo);
+
+        Assert.assertEquals(0, placed.get(0).getCoreIndex());
+        Assert.assertEquals(1, placed.get(1).getCoreIndex());
+        Assert.assertEquals(0, placed.get(2).getCoreIndex());
+
+        Assert.assertEquals(0, placed.get(0).getNodeIndex());
+        Assert.assertEquals(1, placed.get(1).getNodeIndex());
+        Assert.assertEquals(0, placed.get(2).getNodeIndex());
+    }
+
+    @Test
+    public void testUnplaced() {
+        List<ThreadParams> threads = BenchmarkHandler.distributeThreads(2, new int[]{1});
+        for (ThreadParams tp : threads) {
+            Assert.assertEquals(-1, tp.getCpu());
+            Assert.assertEquals(tp.getThreadIndex(), tp.getCoreIndex());
+            Assert.assertEquals(0, tp.getNodeIndex());
+        }
+    }
+
+    @Test
+    public void testParse() {
+        Assert.assertEquals(ThreadPlacement.SMT, ThreadPlacement.fromString("SMT"));
+        Assert.assertEquals(ThreadPlacement.cpus(1, 2, 3, 8), ThreadPlacement.fromString("1-3, 8"));
+        Assert.assertEquals("1,2,3,8", ThreadPlacement.fromString("1-3,8").toString());
+        Assert.assertEquals("compact", ThreadPlacement.COMPACT.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParseNegative() {
+        ThreadPlacement.fromString("-1");
+    }
+
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.runner;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.results.*;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.openjdk.jmh.util.SingletonStatistics;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+public class TestThreadScaling {
+
+    @Test
+    public void testLadder() {
+        Assert.assertEquals(Arrays.asList(1, 2, 4, 8), ThreadScaling.ladder(8, 1));
+        Assert.assertEquals(Arrays.asList(1, 2, 4, 8, 12), ThreadScaling.ladder(12, 1));
+        Assert.assertEquals(Collections.singletonList(1), ThreadScaling.ladder(1, 1));
+    }
+
+    @Test
+    public void testLadderGroups() {
+        Assert.assertEquals(Arrays.asList(3, 6, 12, 15), ThreadScaling.ladder(16, 3));
+        Assert.assertEquals(Collections.singletonList(4), ThreadScaling.ladder(2, 4));
+    }
+
+    @Test
+    public void testScaleGroups() {
+        Assert.assertArrayEquals(new int[]{1, 3}, ThreadScaling.scaleGroups(new int[]{1, 3}, 4));
+        Assert.assertArrayEquals(new int[]{4, 12}, ThreadScaling.scaleGroups(new int[]{1, 3}, 16));
+        Assert.assertArrayEquals(new int[]{8}, ThreadScaling.scaleGroups(new int[]{1}, 8));
+    }
+
+    private static double usl(double lambda, double sigma, double kappa, double p) {
+        return lambda * p / (1 + sigma * (p - 1) + kappa * p * (p - 1));
+    }
+
+    @Test
+    public void testFitUSL() {
+        double[] p = {1, 2, 4, 8, 16, 32};
+        double[] x = new double[p.length];
+        for (int i = 0; i < p.length; i++) {
+            x[i] = usl(1000, 0.05, 0.002, p[i]);
+        }
+        ThreadScaling.Fit fit = ThreadScaling.fit(p, x);
+        Assert.assertEquals(1000, fit.getLambda(), 1e-9);
+        Assert.assertEquals(0.05, fit.getSigma(), 1e-9);
+        Assert.assertEquals(0.002, fit.getKappa(), 1e-9);
+        Assert.assertEquals(1.0, fit.getR2(), 1e-9);
+        Assert.assertEquals(Math.sqrt(0.95 / 0.002), fit.getPeak(), 1e-6);
+    }
+
+    @Test
+    public void testFitAmdahl() {
+        double[] p = {1, 2, 4, 8};
+        double[] x = new double[p.length];
+        for (int i = 0; i < p.length; i++) {
+            x[i] = usl(50, 0.1, 0, p[i]);
+        }
+        ThreadScaling.Fit fit = ThreadScaling.fit(p, x);
+        Assert.assertEquals(0.1, fit.getAmdahlSigma(), 1e-9);
+        Assert.assertEquals(0.1, fit.getSigma(), 1e-9);
+        Assert.assertEquals(0, fit.getKappa(), 1e-9);
+        Assert.assertTrue(Double.isNaN(fit.getPeak()) || fit.getPeak() > 1000);
+    }
+
+    @Test
+    public void testFitLinear() {
+        ThreadScaling.Fit fit = ThreadScaling.fit(new double[]{1, 2, 4}, new double[]{10, 20, 40});
+        Assert.assertEquals(0, fit.getSigma(), 1e-9);
+        Assert.assertEquals(0, fit.getKappa(), 1e-9);
+    }
+
+    @Test
+    public void testFitTwoSteps() {
+        ThreadScaling.Fit fit = ThreadScaling.fit(new double[]{1, 2}, new double[]{10, 15});
+        // 2 / 1.5 - 1 = sigma
+        Assert.assertEquals(1.0 / 3, fit.getAmdahlSigma(), 1e-9);
+        Assert.assertEquals(1.0 / 3, fit.getSigma(), 1e-9);
+        Assert.assertEquals(0, fit.getKappa(), 1e-9);
+    }
+
+    private static RunResult result(Mode mode, String param, int threads, double score) {
+        WorkloadParams ps = new WorkloadParams();
+        ps.put("size", param, 0);
+        ps.put(ThreadScaling.PARAM, String.valueOf(threads), threads);
+        BenchmarkParams params = new BenchmarkParams("org.openjdk.Bench.test", "org.openjdk.Bench.test_" + mode, false,
+                threads, new int[]{threads}, Collections.<String>emptyList(),
+                1, 0,
+                new IterationParams(IterationType.WARMUP, 1, TimeValue.seconds(1), 1),
+                new IterationParams(IterationType.MEASUREMENT, 1, TimeValue.seconds(1), 1),
+                mode, ps, TimeUnit.SECONDS, 1,
+                "java", Collections.<String>emptyList(),
+                "17", "vm", "1.0", "1.0",
+                TimeValue.minutes(1));
+        IterationResult ir = new IterationResult(params, params.getMeasurement(), null);
+        if (mode == Mode.Throughput) {
+            ir.addResult(new ThroughputResult(ResultRole.PRIMARY, "test", new SingletonStatistics(score), "ops/s", AggregationPolicy.SUM));
+        } else {
+            ir.addResult(new AverageTimeResult(ResultRole.PRIMARY, "test", new SingletonStatistics(score), "s/op"));
+        }
+        return new RunResult(params, Collections.singleton(new BenchmarkResult(params, Collections.singleton(ir))));
+    }
+
+    @Test
+    public void testAnalyze() {
+        List<RunResult> results = new ArrayList<>();
+        for (int t : new int[]{1, 2, 4}) {
+            results.add(result(Mode.Throughput, "10", t, usl(100, 0.1, 0.01, t)));
+            results.add(result(Mode.Throughput, "20", t, 50 * t));
+            // Time modes report the time per operation in every thread
+            results.add(result(Mode.AverageTime, "10", t, t / usl(100, 0.1, 0.01, t)));
+        }
+
+        List<ThreadScaling.Series> series = ThreadScaling.analyze(results);
+        Assert.assertEquals(3, series.size());
+        for (ThreadScaling.Series s : series) {
+            Assert.assertArrayEquals(new int[]{1, 2, 4}, s.getThreads());
+            if (s.getParams().getParam("size").equals("20")) {
+                Assert.assertEquals(0, s.getFit().getSigma(), 1e-9);
+                Assert.assertEquals(4, s.getSpeedup()[2], 1e-9);
+            } else {
+                Assert.assertEquals(0.1, s.getFit().getSigma(), 1e-6);
+                Assert.assertEquals(0.01, s.getFit().getKappa(), 1e-6);
+            }
+        }
+
+        for (RunResult r : results) {
+            Map<String, Result> secondary = r.getSecondaryResults();
+            Assert.assertTrue(secondary.containsKey(ThreadScaling.SPEEDUP));
+            Assert.assertTrue(secondary.containsKey(ThreadScaling.EFFICIENCY));
+            if (r.getParams().getParam("size").equals("20")) {
+                Assert.assertEquals(100, secondary.get(ThreadScaling.EFFICIENCY).getScore(), 1e-9);
+            }
+        }
+    }
+
+}
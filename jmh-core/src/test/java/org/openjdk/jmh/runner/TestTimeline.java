@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.runner;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.results.TimelineResult;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+public class TestTimeline {
+
+    private static BenchmarkParams params(Mode mode, TimeValue interval) {
+        return new BenchmarkParams("Bench.test", "Bench.test_" + mode, true,
+                2, new int[]{2}, Collections.<String>emptyList(),
+                1, 0,
+                new IterationParams(IterationType.WARMUP, 1, TimeValue.seconds(1), 1),
+                new IterationParams(IterationType.MEASUREMENT, 1, TimeValue.seconds(1), 2),
+                mode, new WorkloadParams(),
+                TimeUnit.SECONDS, 4,
+                "java", Collections.<String>emptyList(),
+                "17", "vm", "1.0", "1.0",
+                TimeValue.minutes(1), Defaults.TARGET_RATE, Defaults.HISTOGRAM_DIGITS, Defaults.IN_FLIGHT,
+                interval);
+    }
+
+    @Test
+    public void testForParams() {
+        Assert.assertNotNull(Timeline.forParams(params(Mode.Throughput, TimeValue.milliseconds(10))));
+        Assert.assertNotNull(Timeline.forParams(params(Mode.AverageTime, TimeValue.milliseconds(10))));
+        Assert.assertNull(Timeline.forParams(params(Mode.SampleTime, TimeValue.milliseconds(10))));
+        Assert.assertNull(Timeline.forParams(params(Mode.Throughput, TimeValue.NONE)));
+    }
+
+    @Test
+    public void testSum() {
+        Timeline t = new Timeline(3, 1_000_000);
+        t.publish(0, 10);
+        t.publish(1, 20);
+        t.publish(2, 30);
+        Assert.assertEquals(60, t.sum());
+        t.publish(1, 25);
+        Assert.assertEquals(65, t.sum());
+    }
+
+    @Test
+    public void testTicks() throws InterruptedException {
+        Timeline t = new Timeline(2, TimeUnit.MILLISECONDS.toNanos(10));
+        t.publish(0, 100);
+        long start = System.nanoTime();
+        t.start();
+        Assert.assertNull(t.getResult(params(Mode.Throughput, TimeValue.milliseconds(10)), null));
+
+        t.publish(0, 1100);
+        t.publish(1, 1000);
+        t.tick();
+        t.publish(0, 2100);
+        t.tick();
+        long elapsed = System.nanoTime() - start;
+
+        Assert.assertEquals(2, t.size());
+
+        BenchmarkParams bp = params(Mode.Throughput, TimeValue.milliseconds(10));
+        TimelineResult r = t.getResult(bp, bp.getMeasurement());
+        Assert.assertNotNull(r);
+        Assert.assertEquals(2, r.getTimeline().length);
+        Assert.assertEquals("ops/s", r.getScoreUnit());
+
+        // 3000 invocations, 4 ops per invocation, batch size 2: 6000 ops
+        double total = 0;
+        for (double v : r.getTimeline()) {
+            Assert.assertTrue(v > 0);
+            total += v;
+        }
+        Assert.assertTrue("Rates should account for at least 6000 ops over the elapsed time", total * elapsed / 1e9 >= 6000);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroInterval() {
+        new Timeline(1, 0);
+    }
+
+}
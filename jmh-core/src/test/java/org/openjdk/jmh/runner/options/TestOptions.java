@@ -27,6 +27,7 @@ package org.openjdk.jmh.runner.options;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.openjdk.jmh.annotations.Exploration;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.Threads;
 import org.openjdk.jmh.results.format.ResultFormatType;
@@ -34,6 +35,7 @@ import org.openjdk.jmh.results.format.ResultFormatType;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.ObjectOutputStream;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.concurrent.TimeUnit;
 
@@ -780,4 +782,519 @@ public class TestOptions {
         Assert.assertEquals(EMPTY_BUILDER.getTimeout(), EMPTY_CMDLINE.getTimeout());
     }
 
+    @Test
+    public void testParallelForks() throws Exception {
+        CommandLineOptions cmdLine = new CommandLineOptions("-pf", "4");
+        Options builder = new OptionsBuilder().parallelForks(4).build();
+        Assert.assertEquals(builder.getParallelForks(), cmdLine.getParallelForks());
+    }
+
+    @Test
+    public void testStandbyForks_True() throws Exception {
+        CommandLineOptions cmdLine = new CommandLineOptions("-sbf", "true");
+        Options builder = new OptionsBuilder().standbyForks(true).build();
+        Assert.assertEquals(builder.shouldUseStandbyForks(), cmdLine.shouldUseStandbyForks());
+    }
+
+    @Test
+    public void testStandbyForks_False() throws Exception {
+        CommandLineOptions cmdLine = new CommandLineOptions("-sbf", "false");
+        Options builder = new OptionsBuilder().standbyForks(false).build();
+        Assert.assertEquals(builder.shouldUseStandbyForks(), cmdLine.shouldUseStandbyForks());
+    }
+
+    @Test
+    public void testStandbyForks_Default() {
+        Assert.assertEquals(EMPTY_BUILDER.shouldUseStandbyForks(), EMPTY_CMDLINE.shouldUseStandbyForks());
+    }
+
+    @Test
+    public void testClassDataSharing_True() throws Exception {
+        CommandLineOptions cmdLine = new CommandLineOptions("-cds", "true");
+        Options builder = new OptionsBuilder().classDataSharing(true).build();
+        Assert.assertEquals(builder.shouldUseClassDataSharing(), cmdLine.shouldUseClassDataSharing());
+    }
+
+    @Test
+    public void testClassDataSharing_False() throws Exception {
+        CommandLineOptions cmdLine = new CommandLineOptions("-cds", "false");
+        Options builder = new OptionsBuilder().classDataSharing(false).build();
+        Assert.assertEquals(builder.shouldUseClassDataSharing(), cmdLine.shouldUseClassDataSharing());
+    }
+
+    @Test
+    public void testClassDataSharing_Default() {
+        Assert.assertEquals(EMPTY_BUILDER.shouldUseClassDataSharing(), EMPTY_CMDLINE.shouldUseClassDataSharing());
+    }
+
+    @Test
+    public void testPipelineProfilers_True() throws Exception {
+        CommandLineOptions cmdLine = new CommandLineOptions("-ppp", "true");
+        Options builder = new OptionsBuilder().pipelineProfilers(true).build();
+        Assert.assertEquals(builder.shouldPipelineProfilers(), cmdLine.shouldPipelineProfilers());
+    }
+
+    @Test
+    public void testPipelineProfilers_False() throws Exception {
+        CommandLineOptions cmdLine = new CommandLineOptions("-ppp", "false");
+        Options builder = new OptionsBuilder().pipelineProfilers(false).build();
+        Assert.assertEquals(builder.shouldPipelineProfilers(), cmdLine.shouldPipelineProfilers());
+    }
+
+    @Test
+    public void testPipelineProfilers_Default() {
+        Assert.assertEquals(EMPTY_BUILDER.shouldPipelineProfilers(), EMPTY_CMDLINE.shouldPipelineProfilers());
+    }
+
+    @Test
+    public void testBaseline() throws Exception {
+        CommandLineOptions cmdLine = new CommandLineOptions("-baseline", "base.json");
+        Options builder = new OptionsBuilder().baseline("base.json").build();
+        Assert.assertEquals(builder.getBaseline(), cmdLine.getBaseline());
+    }
+
+    @Test
+    public void testBaseline_Default() {
+        Assert.assertEquals(EMPTY_BUILDER.getBaseline(), EMPTY_CMDLINE.getBaseline());
+    }
+
+    @Test
+    public void testBaselineThreshold() throws Exception {
+        CommandLineOptions cmdLine = new CommandLineOptions("-bt", "0.05");
+        Options builder = new OptionsBuilder().baselineThreshold(0.05).build();
+        Assert.assertEquals(builder.getBaselineThreshold(), cmdLine.getBaselineThreshold());
+    }
+
+    @Test
+    public void testBaselineThreshold_Default() {
+        Assert.assertEquals(EMPTY_BUILDER.getBaselineThreshold(), EMPTY_CMDLINE.getBaselineThreshold());
+    }
+
+    @Test(expected = CommandLineOptionException.class)
+    public void testBaselineThreshold_Negative() throws Exception {
+        new CommandLineOptions("-bt", "-0.05");
+    }
+
+    @Test
+    public void testTargetRate() throws Exception {
+        CommandLineOptions cmdLine = new CommandLineOptions("-tr", "500");
+        Options builder = new OptionsBuilder().targetRate(500).build();
+        Assert.assertEquals(builder.getTargetRate(), cmdLine.getTargetRate());
+    }
+
+    @Test
+    public void testTargetRate_Default() {
+        Assert.assertEquals(EMPTY_BUILDER.getTargetRate(), EMPTY_CMDLINE.getTargetRate());
+    }
+
+    @Test(expected = CommandLineOptionException.class)
+    public void testTargetRate_Zero() throws Exception {
+        new CommandLineOptions("-tr", "0");
+    }
+
+    @Test
+    public void testThreadScaling_True() throws Exception {
+        CommandLineOptions cmdLine = new CommandLineOptions("-ts", "true");
+        Options builder = new OptionsBuilder().threadScaling(true).build();
+        Assert.assertEquals(builder.shouldScaleThreads(), cmdLine.shouldScaleThreads());
+    }
+
+    @Test
+    public void testThreadScaling_False() throws Exception {
+        CommandLineOptions cmdLine = new CommandLineOptions("-ts", "false");
+        Options builder = new OptionsBuilder().threadScaling(false).build();
+        Assert.assertEquals(builder.shouldScaleThreads(), cmdLine.shouldScaleThreads());
+    }
+
+    @Test
+    public void testThreadScaling_Default() {
+        Assert.assertEquals(EMPTY_BUILDER.shouldScaleThreads(), EMPTY_CMDLINE.shouldScaleThreads());
+    }
+
+    @Test
+    public void testThreadPlacement() throws Exception {
+        CommandLineOptions cmdLine = new CommandLineOptions("-tp", "scatter");
+        Options builder = new OptionsBuilder().threadPlacement(ThreadPlacement.SCATTER).build();
+        Assert.assertEquals(builder.getThreadPlacement(), cmdLine.getThreadPlacement());
+    }
+
+    @Test
+    public void testThreadPlacement_List() throws Exception {
+        CommandLineOptions cmdLine = new CommandLineOptions("-tp", "0,2,4-6");
+        Options builder = new OptionsBuilder().threadPlacement(ThreadPlacement.cpus(0, 2, 4, 5, 6)).build();
+        Assert.assertEquals(builder.getThreadPlacement(), cmdLine.getThreadPlacement());
+        Assert.assertEquals("0,2,4,5,6", cmdLine.getThreadPlacement().get().toString());
+    }
+
+    @Test
+    public void testThreadPlacement_Default() {
+        Assert.assertEquals(EMPTY_BUILDER.getThreadPlacement(), EMPTY_CMDLINE.getThreadPlacement());
+    }
+
+    @Test
+    public void testThreadPlacement_Malformed() {
+        try {
+            new CommandLineOptions("-tp", "everywhere");
+            Assert.fail();
+        } catch (CommandLineOptionException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testThreadPlacement_Range() {
+        try {
+            new CommandLineOptions("-tp", "4-2");
+            Assert.fail();
+        } catch (CommandLineOptionException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testHistogramDigits() throws Exception {
+        CommandLineOptions cmdLine = new CommandLineOptions("-hd", "4");
+        Options builder = new OptionsBuilder().histogramDigits(4).build();
+        Assert.assertEquals(builder.getHistogramDigits(), cmdLine.getHistogramDigits());
+    }
+
+    @Test
+    public void testHistogramDigits_Default() {
+        Assert.assertEquals(EMPTY_BUILDER.getHistogramDigits(), EMPTY_CMDLINE.getHistogramDigits());
+    }
+
+    @Test(expected = CommandLineOptionException.class)
+    public void testHistogramDigits_TooMany() throws Exception {
+        new CommandLineOptions("-hd", "6");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testHistogramDigits_Builder() {
+        new OptionsBuilder().histogramDigits(0);
+    }
+
+    @Test
+    public void testInFlight() throws Exception {
+        CommandLineOptions cmdLine = new CommandLineOptions("-inflight", "16");
+        Options builder = new OptionsBuilder().inFlight(16).build();
+        Assert.assertEquals(builder.getInFlight(), cmdLine.getInFlight());
+    }
+
+    @Test
+    public void testInFlight_Default() {
+        Assert.assertEquals(EMPTY_BUILDER.getInFlight(), EMPTY_CMDLINE.getInFlight());
+    }
+
+    @Test(expected = CommandLineOptionException.class)
+    public void testInFlight_Zero() throws Exception {
+        new CommandLineOptions("-inflight", "0");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInFlight_Builder() {
+        new OptionsBuilder().inFlight(0);
+    }
+
+    @Test
+    public void testTimelineInterval() throws Exception {
+        CommandLineOptions cmdLine = new CommandLineOptions("-tl", "10ms");
+        Options builder = new OptionsBuilder().timelineInterval(TimeValue.milliseconds(10)).build();
+        Assert.assertEquals(builder.getTimelineInterval(), cmdLine.getTimelineInterval());
+    }
+
+    @Test
+    public void testTimelineInterval_Default() {
+        Assert.assertEquals(EMPTY_BUILDER.getTimelineInterval(), EMPTY_CMDLINE.getTimelineInterval());
+    }
+
+    @Test
+    public void testParamExploration() throws Exception {
+        CommandLineOptions cmdLine = new CommandLineOptions("-pe", "pairwise");
+        Options builder = new OptionsBuilder().paramExploration(Exploration.PAIRWISE).build();
+        Assert.assertEquals(builder.getParamExploration(), cmdLine.getParamExploration());
+    }
+
+    @Test
+    public void testParamExploration_Default() {
+        Assert.assertEquals(EMPTY_BUILDER.getParamExploration(), EMPTY_CMDLINE.getParamExploration());
+    }
+
+    @Test(expected = CommandLineOptionException.class)
+    public void testParamExploration_Unknown() throws Exception {
+        new CommandLineOptions("-pe", "everything");
+    }
+
+    @Test
+    public void testParamExplorationSamples() throws Exception {
+        CommandLineOptions cmdLine = new CommandLineOptions("-pen", "50");
+        Options builder = new OptionsBuilder().paramExplorationSamples(50).build();
+        Assert.assertEquals(builder.getParamExplorationSamples(), cmdLine.getParamExplorationSamples());
+    }
+
+    @Test
+    public void testParamExplorationSamples_Default() {
+        Assert.assertEquals(EMPTY_BUILDER.getParamExplorationSamples(), EMPTY_CMDLINE.getParamExplorationSamples());
+    }
+
+    @Test
+    public void testParamExplorationSeed() throws Exception {
+        CommandLineOptions cmdLine = new CommandLineOptions("-pes", "42");
+        Options builder = new OptionsBuilder().paramExplorationSeed(42).build();
+        Assert.assertEquals(builder.getParamExplorationSeed(), cmdLine.getParamExplorationSeed());
+    }
+
+    @Test
+    public void testParamExplorationSeed_Default() {
+        Assert.assertEquals(EMPTY_BUILDER.getParamExplorationSeed(), EMPTY_CMDLINE.getParamExplorationSeed());
+    }
+
+    @Test
+    public void testForkSchedule() throws Exception {
+        CommandLineOptions cmdLine = new CommandLineOptions("-fs", "round_robin");
+        Options builder = new OptionsBuilder().forkSchedule(ForkSchedule.ROUND_ROBIN).build();
+        Assert.assertEquals(builder.getForkSchedule(), cmdLine.getForkSchedule());
+    }
+
+    @Test
+    public void testForkSchedule_Default() {
+        Assert.assertEquals(EMPTY_BUILDER.getForkSchedule(), EMPTY_CMDLINE.getForkSchedule());
+    }
+
+    @Test(expected = CommandLineOptionException.class)
+    public void testForkSchedule_Unknown() throws Exception {
+        new CommandLineOptions("-fs", "sideways");
+    }
+
+    @Test
+    public void testForkScheduleSeed() throws Exception {
+        CommandLineOptions cmdLine = new CommandLineOptions("-fss", "42");
+        Options builder = new OptionsBuilder().forkScheduleSeed(42).build();
+        Assert.assertEquals(builder.getForkScheduleSeed(), cmdLine.getForkScheduleSeed());
+    }
+
+    @Test
+    public void testForkScheduleSeed_Default() {
+        Assert.assertEquals(EMPTY_BUILDER.getForkScheduleSeed(), EMPTY_CMDLINE.getForkScheduleSeed());
+    }
+
+    @Test
+    public void testShard() throws Exception {
+        CommandLineOptions cmdLine = new CommandLineOptions("-shard", "2/4");
+        Options builder = new OptionsBuilder().shard(2, 4).build();
+        Assert.assertEquals(builder.getShard(), cmdLine.getShard());
+        Assert.assertEquals(2, cmdLine.getShard().get().getIndex());
+        Assert.assertEquals(4, cmdLine.getShard().get().getCount());
+    }
+
+    @Test
+    public void testShard_Default() {
+        Assert.assertEquals(EMPTY_BUILDER.getShard(), EMPTY_CMDLINE.getShard());
+    }
+
+    @Test
+    public void testShard_OutOfRange() {
+        try {
+            new CommandLineOptions("-shard", "5/4");
+            Assert.fail();
+        } catch (CommandLineOptionException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testShard_Malformed() {
+        try {
+            new CommandLineOptions("-shard", "2");
+            Assert.fail();
+        } catch (CommandLineOptionException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testShard_OutOfRange_OptionsBuilder() {
+        try {
+            new OptionsBuilder().shard(0, 4);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testMerge() throws Exception {
+        CommandLineOptions cmdLine = new CommandLineOptions("-merge", "shard1.jrn,shard2.jrn");
+        Assert.assertEquals(Arrays.asList("shard1.jrn", "shard2.jrn"), cmdLine.getMergeFiles());
+        Assert.assertTrue(EMPTY_CMDLINE.getMergeFiles().isEmpty());
+    }
+
+    @Test
+    public void testParallelForks_Default() {
+        Assert.assertEquals(EMPTY_BUILDER.getParallelForks(), EMPTY_CMDLINE.getParallelForks());
+    }
+
+    @Test
+    public void testParallelForks_Zero() {
+        try {
+            new CommandLineOptions("-pf", "0");
+            Assert.fail();
+        } catch (CommandLineOptionException e) {
+            Assert.assertEquals("Cannot parse argument '0' of option pf. The given value 0 should be positive", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testParallelForks_Zero_OptionsBuilder() {
+        try {
+            new OptionsBuilder().parallelForks(0);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertEquals("Parallel forks (0) should be positive", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testTargetRelativeError() throws Exception {
+        CommandLineOptions cmdLine = new CommandLineOptions("-re", "0.01");
+        Options builder = new OptionsBuilder().targetRelativeError(0.01).build();
+        Assert.assertEquals(builder.getTargetRelativeError(), cmdLine.getTargetRelativeError());
+    }
+
+    @Test
+    public void testTargetRelativeError_Default() {
+        Assert.assertEquals(EMPTY_BUILDER.getTargetRelativeError(), EMPTY_CMDLINE.getTargetRelativeError());
+    }
+
+    @Test
+    public void testTargetRelativeError_Zero() {
+        try {
+            new CommandLineOptions("-re", "0");
+            Assert.fail();
+        } catch (CommandLineOptionException e) {
+            Assert.assertEquals("Target relative error should be positive, but it is 0.0", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testTargetRelativeError_Zero_OptionsBuilder() {
+        try {
+            new OptionsBuilder().targetRelativeError(0);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertEquals("Target relative error (0.0) should be positive", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testMaxMeasurementIterations() throws Exception {
+        CommandLineOptions cmdLine = new CommandLineOptions("-mi", "34");
+        Options builder = new OptionsBuilder().maxMeasurementIterations(34).build();
+        Assert.assertEquals(builder.getMaxMeasurementIterations(), cmdLine.getMaxMeasurementIterations());
+    }
+
+    @Test
+    public void testMaxMeasurementIterations_Default() {
+        Assert.assertEquals(EMPTY_BUILDER.getMaxMeasurementIterations(), EMPTY_CMDLINE.getMaxMeasurementIterations());
+    }
+
+    @Test
+    public void testMaxForks() throws Exception {
+        CommandLineOptions cmdLine = new CommandLineOptions("-mf", "12");
+        Options builder = new OptionsBuilder().maxForks(12).build();
+        Assert.assertEquals(builder.getMaxForkCount(), cmdLine.getMaxForkCount());
+    }
+
+    @Test
+    public void testMaxForks_Default() {
+        Assert.assertEquals(EMPTY_BUILDER.getMaxForkCount(), EMPTY_CMDLINE.getMaxForkCount());
+    }
+
+    @Test
+    public void testWarmupSteadyStateThreshold() throws Exception {
+        CommandLineOptions cmdLine = new CommandLineOptions("-wst", "0.02");
+        Options builder = new OptionsBuilder().warmupSteadyStateThreshold(0.02).build();
+        Assert.assertEquals(builder.getWarmupSteadyStateThreshold(), cmdLine.getWarmupSteadyStateThreshold());
+    }
+
+    @Test
+    public void testWarmupSteadyStateThreshold_Default() {
+        Assert.assertEquals(EMPTY_BUILDER.getWarmupSteadyStateThreshold(), EMPTY_CMDLINE.getWarmupSteadyStateThreshold());
+    }
+
+    @Test
+    public void testWarmupSteadyStateThreshold_Zero() {
+        try {
+            new CommandLineOptions("-wst", "0");
+            Assert.fail();
+        } catch (CommandLineOptionException e) {
+            Assert.assertEquals("Warmup steady state threshold should be positive, but it is 0.0", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testWarmupSteadyStateThreshold_Zero_OptionsBuilder() {
+        try {
+            new OptionsBuilder().warmupSteadyStateThreshold(0);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertEquals("Warmup steady state threshold (0.0) should be positive", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testWarmupSteadyStateWindow() throws Exception {
+        CommandLineOptions cmdLine = new CommandLineOptions("-wsw", "7");
+        Options builder = new OptionsBuilder().warmupSteadyStateWindow(7).build();
+        Assert.assertEquals(builder.getWarmupSteadyStateWindow(), cmdLine.getWarmupSteadyStateWindow());
+    }
+
+    @Test
+    public void testWarmupSteadyStateWindow_Default() {
+        Assert.assertEquals(EMPTY_BUILDER.getWarmupSteadyStateWindow(), EMPTY_CMDLINE.getWarmupSteadyStateWindow());
+    }
+
+    @Test
+    public void testWarmupSteadyStateWindow_One() {
+        try {
+            new CommandLineOptions("-wsw", "1");
+            Assert.fail();
+        } catch (CommandLineOptionException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testWarmupSteadyStateWindow_One_OptionsBuilder() {
+        try {
+            new OptionsBuilder().warmupSteadyStateWindow(1);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testJournal() throws Exception {
+        CommandLineOptions cmdLine = new CommandLineOptions("-journal", "sample.journal");
+        Options builder = new OptionsBuilder().journal("sample.journal").build();
+        Assert.assertEquals(builder.getJournal(), cmdLine.getJournal());
+    }
+
+    @Test
+    public void testJournal_Default() {
+        Assert.assertEquals(EMPTY_BUILDER.getJournal(), EMPTY_CMDLINE.getJournal());
+    }
+
+    @Test
+    public void testResume() throws Exception {
+        CommandLineOptions cmdLine = new CommandLineOptions("-resume", "sample.journal");
+        Options builder = new OptionsBuilder().resume("sample.journal").build();
+        Assert.assertEquals(builder.getResume(), cmdLine.getResume());
+    }
+
+    @Test
+    public void testResume_Default() {
+        Assert.assertEquals(EMPTY_BUILDER.getResume(), EMPTY_CMDLINE.getResume());
+    }
+
 }
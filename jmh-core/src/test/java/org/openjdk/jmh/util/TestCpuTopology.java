@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.util;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+public class TestCpuTopology {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    private static void write(File f, String content) throws IOException {
+        f.getParentFile().mkdirs();
+        FileUtils.writeLines(f, Collections.singleton(content));
+    }
+
+    /**
+     * Two packages, each with two cores, each with two hardware threads.
+     * Hardware threads of the same core are numbered N and N+4, as usual on x86.
+     */
+    private File fakeSysfs() throws IOException {
+        File root = tmp.newFolder("sysfs");
+        write(new File(root, "online"), "0-7");
+        for (int cpu = 0; cpu < 8; cpu++) {
+            int core = cpu % 4;
+            int pkg = core / 2;
+            File topo = new File(root, "cpu" + cpu + "/topology");
+            write(new File(topo, "core_id"), String.valueOf(core % 2));
+            write(new File(topo, "physical_package_id"), String.valueOf(pkg));
+            new File(root, "cpu" + cpu + "/node" + pkg).mkdirs();
+        }
+        return root;
+    }
+
+    @Test
+    public void testParseList() {
+        Assert.assertEquals(Arrays.asList(0, 1, 2, 3, 8, 10, 11), CpuTopology.parseList("0-3,8,10-11"));
+        Assert.assertEquals(Collections.singletonList(5), CpuTopology.parseList(" 5\n"));
+        Assert.assertEquals(Collections.emptyList(), CpuTopology.parseList(""));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParseList_Malformed() {
+        CpuTopology.parseList("0-x");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParseList_Range() {
+        CpuTopology.parseList("4-2");
+    }
+
+    @Test
+    public void testFormatList() {
+        Assert.assertEquals("0-3,8,10-11", CpuTopology.formatList(Arrays.asList(11, 10, 8, 3, 2, 1, 0)));
+        Assert.assertEquals("4", CpuTopology.formatList(Collections.singletonList(4)));
+        Assert.assertEquals("", CpuTopology.formatList(Collections.<Integer>emptyList()));
+    }
+
+    @Test
+    public void testRead() throws IOException {
+        CpuTopology topo = CpuTopology.read(fakeSysfs(), null);
+        Assert.assertEquals(8, topo.size());
+        Assert.assertEquals(
+                Arrays.asList(Arrays.asList(0, 4), Arrays.asList(1, 5), Arrays.asList(2, 6), Arrays.asList(3, 7)),
+                topo.getCores());
+        for (CpuTopology.Cpu cpu : topo.getCpus()) {
+            Assert.assertEquals(cpu.getPackage(), cpu.getNode());
+        }
+    }
+
+    @Test
+    public void testRead_Allowed() throws IOException {
+        CpuTopology topo = CpuTopology.read(fakeSysfs(), Arrays.asList(0, 1, 4));
+        Assert.assertEquals(3, topo.size());
+        Assert.assertEquals(Arrays.asList(Arrays.asList(0, 4), Collections.singletonList(1)), topo.getCores());
+    }
+
+    @Test
+    public void testRanks() throws IOException {
+        CpuTopology topo = CpuTopology.read(fakeSysfs(), null);
+        for (CpuTopology.Cpu cpu : topo.getCpus()) {
+            Assert.assertEquals(cpu.toString(), (cpu.getId() < 4) ? 0 : 1, cpu.getSibling());
+            Assert.assertEquals(cpu.toString(), cpu.getCore(), cpu.getCoreRank());
+        }
+    }
+
+    @Test
+    public void testRanks_Allowed() throws IOException {
+        CpuTopology topo = CpuTopology.read(fakeSysfs(), Arrays.asList(1, 5));
+        Assert.assertEquals(2, topo.size());
+        Assert.assertEquals(1, topo.getCpus().get(0).getId());
+        Assert.assertEquals(0, topo.getCpus().get(0).getSibling());
+        Assert.assertEquals(5, topo.getCpus().get(1).getId());
+        Assert.assertEquals(1, topo.getCpus().get(1).getSibling());
+    }
+
+    @Test
+    public void testRead_NoOnline() throws IOException {
+        File root = fakeSysfs();
+        Assert.assertTrue(new File(root, "online").delete());
+        Assert.assertEquals(8, CpuTopology.read(root, null).size());
+    }
+
+    @Test
+    public void testPartition_Packages() throws IOException {
+        CpuTopology topo = CpuTopology.read(fakeSysfs(), null);
+        Assert.assertEquals(
+                Arrays.asList(Arrays.asList(0, 4, 1, 5), Arrays.asList(2, 6, 3, 7)),
+                topo.partition(2));
+    }
+
+    @Test
+    public void testPartition_Cores() throws IOException {
+        CpuTopology topo = CpuTopology.read(fakeSysfs(), null);
+        List<List<Integer>> sets = topo.partition(4);
+        Assert.assertEquals(topo.getCores(), sets);
+    }
+
+    @Test
+    public void testPartition_Disjoint() throws IOException {
+        CpuTopology topo = CpuTopology.read(fakeSysfs(), null);
+        for (int parts = 1; parts <= 8; parts++) {
+            Set<Integer> seen = new HashSet<>();
+            List<List<Integer>> sets = topo.partition(parts);
+            Assert.assertEquals(parts, sets.size());
+            for (List<Integer> set : sets) {
+                Assert.assertFalse("Empty set for " + parts + " parts", set.isEmpty());
+                for (int cpu : set) {
+                    Assert.assertTrue("Duplicate CPU " + cpu + " for " + parts + " parts", seen.add(cpu));
+                }
+            }
+            Assert.assertEquals(8, seen.size());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPartition_TooMany() throws IOException {
+        CpuTopology.read(fakeSysfs(), null).partition(9);
+    }
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestIntervalMap {
+
+    @Test
+    public void testLookup() {
+        IntervalMap<String> map = new IntervalMap<>();
+        map.add("c", 300, 400);
+        map.add("a", 100, 200);
+        map.add("b", 200, 250);
+
+        Assert.assertNull(map.get(50));
+        Assert.assertEquals("a", map.get(100));
+        Assert.assertEquals("a", map.get(199));
+        Assert.assertEquals("b", map.get(200));
+        Assert.assertEquals("b", map.get(249));
+        Assert.assertNull(map.get(250));
+        Assert.assertNull(map.get(299));
+        Assert.assertEquals("c", map.get(300));
+        Assert.assertNull(map.get(400));
+    }
+
+    @Test
+    public void testExactStart() {
+        IntervalMap<String> map = new IntervalMap<>();
+        map.add("empty", 100, 100);
+        Assert.assertEquals("empty", map.get(100));
+        Assert.assertNull(map.get(101));
+    }
+
+    @Test
+    public void testReplaceAndMerge() {
+        IntervalMap<String> map = new IntervalMap<>();
+        map.add("a", 100, 200);
+        Assert.assertEquals("a", map.get(150));
+
+        map.add("a2", 100, 200);
+        Assert.assertEquals("a2", map.get(150));
+
+        IntervalMap<String> other = new IntervalMap<>();
+        other.add("x", 500, 600);
+        map.merge(other);
+
+        Assert.assertEquals("x", map.get(550));
+        Assert.assertEquals(2, map.allValues().size());
+    }
+
+    @Test
+    public void testGrow() {
+        IntervalMap<Integer> map = new IntervalMap<>();
+        for (int i = 999; i >= 0; i--) {
+            map.add(i, i * 10, i * 10 + 5);
+        }
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertEquals(Integer.valueOf(i), map.get(i * 10 + 3));
+            Assert.assertNull(map.get(i * 10 + 7));
+        }
+    }
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class TestLongHashMultiset {
+
+    @Test
+    public void testAgainstHashMultiset() {
+        LongHashMultiset set = new LongHashMultiset();
+        Map<Long, Long> ref = new HashMap<>();
+
+        Random r = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            long v = r.nextInt(5000) - 100;
+            set.add(v);
+            ref.merge(v, 1L, Long::sum);
+        }
+
+        Assert.assertEquals(100_000, set.size());
+        Assert.assertEquals(ref.size(), set.elements().length);
+        Assert.assertEquals(ref.size(), set.keys().size());
+        for (Map.Entry<Long, Long> e : ref.entrySet()) {
+            Assert.assertEquals((long) e.getValue(), set.count(e.getKey().longValue()));
+        }
+        Assert.assertEquals(0, set.count(10_000L));
+    }
+
+    @Test
+    public void testZero() {
+        LongHashMultiset set = new LongHashMultiset();
+        Assert.assertEquals(0, set.count(0L));
+        set.add(0L);
+        set.add(0L, 2);
+        Assert.assertEquals(3, set.count(0L));
+        Assert.assertEquals(1, set.elements().length);
+        Assert.assertEquals(3, set.size());
+    }
+
+    @Test
+    public void testAddAll() {
+        LongHashMultiset a = new LongHashMultiset();
+        LongHashMultiset b = new LongHashMultiset();
+        a.add(1L);
+        a.add(0L);
+        b.add(1L, 5);
+        b.add(Long.MIN_VALUE);
+        b.add(0L);
+
+        a.addAll(b);
+        Assert.assertEquals(6, a.count(1L));
+        Assert.assertEquals(2, a.count(0L));
+        Assert.assertEquals(1, a.count(Long.MIN_VALUE));
+        Assert.assertEquals(9, a.size());
+    }
+
+    @Test
+    public void testClear() {
+        LongHashMultiset set = new LongHashMultiset();
+        set.add(1L);
+        set.add(0L);
+        set.clear();
+        Assert.assertTrue(set.isEmpty());
+        Assert.assertEquals(0, set.count(1L));
+        Assert.assertEquals(0, set.count(0L));
+        Assert.assertEquals(0, set.elements().length);
+    }
+
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2014, 2015, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jmh.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class TestSampleBuffer {
+
+    @Test
+    public void testPrecisionBits() {
+        // Same sub-bucket counts as HdrHistogram uses.
+        Assert.assertEquals(5, SampleBuffer.precisionBits(1));
+        Assert.assertEquals(8, SampleBuffer.precisionBits(2));
+        Assert.assertEquals(11, SampleBuffer.precisionBits(3));
+        Assert.assertEquals(15, SampleBuffer.precisionBits(4));
+        Assert.assertEquals(18, SampleBuffer.precisionBits(5));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooManyDigits() {
+        new SampleBuffer(SampleBuffer.MAX_DIGITS + 1);
+    }
+
+    @Test
+    public void testSignificantDigits() {
+        for (int d = 1; d <= SampleBuffer.MAX_DIGITS; d++) {
+            Assert.assertEquals(d, new SampleBuffer(d).getSignificantDigits());
+        }
+
+        // Default buffer has 10 bits: enough for 2 digits, but not for 3, which need 11 bits
+        Assert.assertEquals(10, new SampleBuffer().getPrecisionBits());
+        Assert.assertEquals(2, new SampleBuffer().getSignificantDigits());
+    }
+
+    @Test
+    public void testRelativeError() {
+        Random r = new Random(1);
+        for (int d = 1; d <= 4; d++) {
+            double maxError = Math.pow(10, -d);
+            for (int c = 0; c < 10_000; c++) {
+                long v = 1 + (r.nextLong() >>> (1 + r.nextInt(62)));
+                SampleBuffer b = new SampleBuffer(d);
+                b.add(v);
+                double recorded = b.getStatistics(1).getMax();
+                Assert.assertTrue("Value " + v + " recorded as " + recorded + " with " + d + " digits",
+                        recorded <= v && (v - recorded) / v < maxError);
+            }
+        }
+    }
+
+    @Test
+    public void testSmallValuesExact() {
+        SampleBuffer b = new SampleBuffer(3);
+        for (int v = 0; v < 2048; v++) {
+            b.add(v);
+        }
+        Assert.assertEquals(2048, b.count());
+        Assert.assertEquals(0, b.getStatistics(1).getMin(), 0);
+        Assert.assertEquals(2047, b.getStatistics(1).getMax(), 0);
+        Assert.assertEquals(1023.5, b.getStatistics(1).getMean(), 0);
+    }
+
+    @Test
+    public void testAddWithCount() {
+        SampleBuffer b1 = new SampleBuffer(2);
+        SampleBuffer b2 = new SampleBuffer(2);
+        for (int c = 0; c < 1000; c++) {
+            b1.add(12345);
+        }
+        b2.add(12345, 1000);
+        Assert.assertEquals(1000, b2.count());
+        Assert.assertEquals(b1.getStatistics(1).getMean(), b2.getStatistics(1).getMean(), 0);
+    }
+
+    @Test
+    public void testMergeSamePrecision() {
+        Random r = new Random(2);
+        SampleBuffer all = new SampleBuffer(3);
+        SampleBuffer b1 = new SampleBuffer(3);
+        SampleBuffer b2 = new SampleBuffer(3);
+        for (int c = 0; c < 10_000; c++) {
+            long v = r.nextInt(1_000_000);
+            all.add(v);
+            (r.nextBoolean() ? b1 : b2).add(v);
+        }
+
+        SampleBuffer merged = SampleBuffer.merge(Arrays.asList(b1, b2));
+        Assert.assertEquals(all.getPrecisionBits(), merged.getPrecisionBits());
+        Assert.assertEquals(all.count(), merged.count());
+        for (double p : new double[] {0, 50, 90, 99, 99.9, 99.99, 100}) {
+            Assert.assertEquals(all.getStatistics(1).getPercentile(p), merged.getStatistics(1).getPercentile(p), 0);
+        }
+    }
+
+    @Test
+    public void testMergeDifferentPrecision() {
+        Random r = new Random(3);
+        SampleBuffer coarse = new SampleBuffer(2);
+        SampleBuffer fine = new SampleBuffer(4);
+        SampleBuffer expected = new SampleBuffer(2);
+        for (int c = 0; c < 10_000; c++) {
+            long v = r.nextInt(1_000_000);
+            expected.add(v);
+            (r.nextBoolean() ? coarse : fine).add(v);
+        }
+
+        // Merging at the coarser precision gives the same result as recording at it.
+        SampleBuffer merged = SampleBuffer.merge(Arrays.asList(fine, coarse));
+        Assert.assertEquals(coarse.getPrecisionBits(), merged.getPrecisionBits());
+        Assert.assertEquals(expected.count(), merged.count());
+        for (double p : new double[] {0, 50, 90, 99, 99.9, 99.99, 100}) {
+            Assert.assertEquals(expected.getStatistics(1).getPercentile(p), merged.getStatistics(1).getPercentile(p), 0);
+        }
+    }
+
+    @Test
+    public void testHalf() {
+        SampleBuffer b = new SampleBuffer(3);
+        b.add(100, 10);
+        b.add(200, 1);
+        b.half();
+        Assert.assertEquals(6, b.count());
+    }
+
+}